@@ -0,0 +1,127 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result against a stored baseline and prints the score and the allocation per operation
+ * of both runs together with the relative change of each benchmark.
+ */
+public final class BaselineComparison {
+
+  private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+  private BaselineComparison() {
+    // Private constructor
+  }
+
+  /**
+   * Prints the comparison.
+   *
+   * @param args The baseline file and optionally the current result file, defaults to baselines/current.json.
+   * @throws IOException if a result file cannot be read.
+   */
+  public static void main(String[] args) throws IOException {
+
+    if (args.length == 0) {
+      System.err.println("Usage: BaselineComparison <baseline.json> [current.json]");
+      System.exit(1);
+    }
+
+    final Map<String, JsonNode> baseline = read(Paths.get(args[0]));
+    final Map<String, JsonNode> current = read(Paths.get(args.length > 1 ? args[1] : BenchmarkRunner.DEFAULT_RESULT_FILE));
+
+    print(baseline, current, System.out);
+  }
+
+  static Map<String, JsonNode> read(Path file) throws IOException {
+
+    final Map<String, JsonNode> results = new LinkedHashMap<>();
+
+    for (JsonNode result : OBJECT_MAPPER.readTree(file.toFile())) {
+      results.put(key(result), result);
+    }
+
+    return results;
+  }
+
+  static void print(Map<String, JsonNode> baseline, Map<String, JsonNode> current, PrintStream out) {
+
+    out.printf(Locale.ROOT, "%-70s %14s %14s %9s %12s %12s %9s%n", "Benchmark", "Baseline", "Current", "Change",
+        "Base B/op", "Curr B/op", "Change");
+
+    for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+
+      final JsonNode currentResult = entry.getValue();
+      final JsonNode baselineResult = baseline.get(entry.getKey());
+
+      final double currentScore = currentResult.path("primaryMetric").path("score").asDouble();
+      final double currentAllocation = allocation(currentResult);
+
+      if (baselineResult == null) {
+        out.printf(Locale.ROOT, "%-70s %14s %14.3f %9s %12s %12.1f %9s%n", entry.getKey(), "-", currentScore, "-", "-",
+            currentAllocation, "-");
+        continue;
+      }
+
+      final double baselineScore = baselineResult.path("primaryMetric").path("score").asDouble();
+      final double baselineAllocation = allocation(baselineResult);
+
+      out.printf(Locale.ROOT, "%-70s %14.3f %14.3f %9s %12.1f %12.1f %9s%n", entry.getKey(), baselineScore, currentScore,
+          change(baselineScore, currentScore), baselineAllocation, currentAllocation,
+          change(baselineAllocation, currentAllocation));
+    }
+  }
+
+  private static String key(JsonNode result) {
+
+    final String benchmark = result.path("benchmark").asText();
+    final StringBuilder key = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1));
+
+    final Iterator<Map.Entry<String, JsonNode>> params = result.path("params").fields();
+    while (params.hasNext()) {
+      Map.Entry<String, JsonNode> param = params.next();
+      key.append(key.indexOf(":") < 0 ? ":" : ",").append(param.getKey()).append('=').append(param.getValue().asText());
+    }
+
+    return key.toString();
+  }
+
+  private static double allocation(JsonNode result) {
+    return result.path("secondaryMetrics").path(ALLOCATION_METRIC).path("score").asDouble(Double.NaN);
+  }
+
+  private static String change(double baseline, double current) {
+    if (baseline == 0 || Double.isNaN(baseline) || Double.isNaN(current)) {
+      return "-";
+    }
+    return String.format(Locale.ROOT, "%+.1f%%", (current - baseline) * 100 / baseline);
+  }
+
+}
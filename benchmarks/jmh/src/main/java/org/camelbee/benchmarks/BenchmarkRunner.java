@@ -0,0 +1,71 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.benchmarks;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the CamelBee benchmarks with the GC profiler and writes the results as JSON.
+ * Accepts the regular JMH command line options, the result file defaults to baselines/current.json
+ * so that a run can be compared against a stored baseline with {@link BaselineComparison}.
+ */
+public final class BenchmarkRunner {
+
+  /**
+   * The default result file.
+   */
+  static final String DEFAULT_RESULT_FILE = "baselines/current.json";
+
+  private BenchmarkRunner() {
+    // Private constructor
+  }
+
+  /**
+   * Runs the benchmarks.
+   *
+   * @param args The JMH command line options.
+   * @throws Exception if the options are invalid or a benchmark fails.
+   */
+  public static void main(String[] args) throws Exception {
+
+    final CommandLineOptions commandLineOptions = new CommandLineOptions(args);
+
+    final OptionsBuilder options = new OptionsBuilder();
+    options.parent(commandLineOptions);
+    options.addProfiler(GCProfiler.class);
+
+    if (!commandLineOptions.getResultFormat().hasValue()) {
+      options.resultFormat(ResultFormatType.JSON);
+    }
+
+    if (!commandLineOptions.getResult().hasValue()) {
+      final Path resultFile = Paths.get(DEFAULT_RESULT_FILE);
+      Files.createDirectories(resultFile.toAbsolutePath().getParent());
+      options.result(resultFile.toString());
+    }
+
+    new Runner(options.build()).run();
+  }
+
+}
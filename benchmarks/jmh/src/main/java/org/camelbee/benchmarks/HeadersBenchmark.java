@@ -0,0 +1,86 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.camelbee.utils.ExchangeUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures ExchangeUtils.getHeaders for different numbers of message headers.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class HeadersBenchmark {
+
+  @Param({"5", "20", "50", "100"})
+  public int headerCount;
+
+  private CamelContext camelContext;
+
+  private Exchange exchange;
+
+  /**
+   * Creates an exchange carrying the given number of headers with values of mixed types.
+   *
+   * @throws Exception if the Camel context cannot be started.
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    camelContext = new DefaultCamelContext();
+    camelContext.start();
+
+    exchange = new DefaultExchange(camelContext);
+    for (int i = 0; i < headerCount; i++) {
+      exchange.getIn().setHeader("header" + i, i % 2 == 0 ? "value" + i : Integer.valueOf(i));
+    }
+  }
+
+  /**
+   * Stops the Camel context.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    camelContext.stop();
+  }
+
+  @Benchmark
+  public String getHeaders() {
+    return ExchangeUtils.getHeaders(exchange);
+  }
+
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.camelbee.debugger.model.exchange.Message;
+import org.camelbee.debugger.model.exchange.MessageEventType;
+import org.camelbee.debugger.model.exchange.MessageType;
+import org.camelbee.debugger.service.MessageService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures MessageService.addMessage contended by 1 to 64 threads.
+ * The shared message list is cleared whenever it reaches the configured maximum, so the measured cost
+ * is the amortized cost of filling the list up to the maximum.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageServiceBenchmark {
+
+  @Param({"1000", "10000"})
+  public long maxTracedMessages;
+
+  private MessageService messageService;
+
+  private Message message;
+
+  /**
+   * Creates the shared MessageService.
+   */
+  @Setup(Level.Trial)
+  public void setUp() {
+    messageService = new MessageService(maxTracedMessages);
+    message = new Message("exchangeId", MessageEventType.SENDING, "body", "header:value\n", "routeId",
+        "direct:endpoint", "endpointId", MessageType.REQUEST, null);
+  }
+
+  private void addMessage() {
+    messageService.addMessage(message);
+    if (messageService.getMessageList().size() >= maxTracedMessages) {
+      messageService.reset();
+    }
+  }
+
+  @Benchmark
+  @Threads(1)
+  public void addMessage1Thread() {
+    addMessage();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void addMessage4Threads() {
+    addMessage();
+  }
+
+  @Benchmark
+  @Threads(16)
+  public void addMessage16Threads() {
+    addMessage();
+  }
+
+  @Benchmark
+  @Threads(64)
+  public void addMessage64Threads() {
+    addMessage();
+  }
+
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.converter.stream.InputStreamCache;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.camelbee.utils.ExchangeUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures ExchangeUtils.readBodyAsString for the body types seen on traced routes and different body sizes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class ReadBodyBenchmark {
+
+  /**
+   * The body types.
+   */
+  public enum BodyType {
+    STRING, BYTES, STREAM_CACHE, POJO
+  }
+
+  @Param({"STRING", "BYTES", "STREAM_CACHE", "POJO"})
+  public BodyType bodyType;
+
+  @Param({"256", "16384", "1048576"})
+  public int bodySize;
+
+  private CamelContext camelContext;
+
+  private Exchange exchange;
+
+  /**
+   * Creates an exchange carrying a body of the given type and size.
+   *
+   * @throws Exception if the Camel context cannot be started.
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    camelContext = new DefaultCamelContext();
+    camelContext.start();
+
+    final String text = "x".repeat(bodySize);
+
+    exchange = new DefaultExchange(camelContext);
+    exchange.getIn().setBody(switch (bodyType) {
+      case STRING -> text;
+      case BYTES -> text.getBytes(StandardCharsets.UTF_8);
+      case STREAM_CACHE -> new InputStreamCache(text.getBytes(StandardCharsets.UTF_8));
+      case POJO -> new Payload(text);
+    });
+  }
+
+  /**
+   * Stops the Camel context.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    camelContext.stop();
+  }
+
+  @Benchmark
+  public String readBodyAsString() {
+    return ExchangeUtils.readBodyAsString(exchange, true);
+  }
+
+  /**
+   * A body without a dedicated type converter, converted through its toString.
+   */
+  static final class Payload {
+
+    private final String content;
+
+    Payload(String content) {
+      this.content = content;
+    }
+
+    @Override
+    public String toString() {
+      return content;
+    }
+  }
+
+}
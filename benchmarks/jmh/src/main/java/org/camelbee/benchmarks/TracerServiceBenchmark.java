@@ -0,0 +1,240 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.event.ExchangeCompletedEvent;
+import org.apache.camel.impl.event.ExchangeCreatedEvent;
+import org.apache.camel.impl.event.ExchangeSendingEvent;
+import org.apache.camel.impl.event.ExchangeSentEvent;
+import org.apache.camel.support.DefaultExchange;
+import org.camelbee.debugger.service.MessageService;
+import org.camelbee.debugger.service.RouteContextService;
+import org.camelbee.logging.LogRateLimiter;
+import org.camelbee.logging.LoggingService;
+import org.camelbee.logging.TraceFileSink;
+import org.camelbee.tracers.ExchangeCompletedEventTracer;
+import org.camelbee.tracers.ExchangeCreatedEventTracer;
+import org.camelbee.tracers.ExchangeSendingEventTracer;
+import org.camelbee.tracers.ExchangeSentEventTracer;
+import org.camelbee.tracers.TracerService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of tracing a single Camel event through the TracerService, one benchmark per event type.
+ * Each benchmark gets a fresh exchange which has already passed the preceding events of its lifecycle,
+ * so only the traced event itself is measured. Logging and the trace file sink are disabled.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class TracerServiceBenchmark {
+
+  private static final String ROUTE_ID = "benchmarkRoute";
+
+  private static final String ENDPOINT_URI = "direct:benchmarkEndpoint";
+
+  private static final long MAX_TRACED_MESSAGES = 1000;
+
+  @Param({"256", "16384"})
+  public int bodySize;
+
+  @Param({"5", "20"})
+  public int headerCount;
+
+  private CamelContext camelContext;
+
+  private Endpoint endpoint;
+
+  private MessageService messageService;
+
+  private TracerService tracerService;
+
+  private String body;
+
+  /**
+   * Starts a Camel context and wires the TracerService as the Spring context would.
+   *
+   * @throws Exception if the Camel context cannot be started.
+   */
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    camelContext = new DefaultCamelContext();
+    camelContext.start();
+    endpoint = camelContext.getEndpoint(ENDPOINT_URI);
+
+    messageService = new MessageService(MAX_TRACED_MESSAGES);
+    tracerService = new TracerService(false, true, Long.MAX_VALUE, 1.0,
+        new ExchangeCreatedEventTracer(messageService),
+        new ExchangeSendingEventTracer(messageService, new RouteContextService()),
+        new ExchangeSentEventTracer(messageService),
+        new ExchangeCompletedEventTracer(messageService),
+        messageService,
+        new LoggingService(new LogRateLimiter(false, 1, 1, 60000)),
+        new TraceFileSink(false, "target", 1, 1, 1, 1));
+    tracerService.activateTracing(true);
+
+    body = "x".repeat(bodySize);
+  }
+
+  /**
+   * Stops the Camel context.
+   */
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    camelContext.stop();
+  }
+
+  Exchange newExchange() {
+    DefaultExchange exchange = new DefaultExchange(camelContext);
+    exchange.getExchangeExtension().setFromRouteId(ROUTE_ID);
+    exchange.getIn().setBody(body);
+    for (int i = 0; i < headerCount; i++) {
+      exchange.getIn().setHeader("header" + i, "value" + i);
+    }
+    return exchange;
+  }
+
+  void traceCreated(Exchange exchange) {
+    tracerService.traceExchangeCreateEvent(new ExchangeCreatedEvent(exchange));
+  }
+
+  void traceSending(Exchange exchange) {
+    tracerService.traceExchangeSendingEvent(new ExchangeSendingEvent(exchange, endpoint));
+  }
+
+  void traceSent(Exchange exchange) {
+    tracerService.traceExchangeSentEvent(new ExchangeSentEvent(exchange, endpoint, 0));
+  }
+
+  void traceCompleted(Exchange exchange) {
+    tracerService.traceExchangeCompletedEvent(new ExchangeCompletedEvent(exchange));
+  }
+
+  /**
+   * Clears the traced messages once the configured maximum is reached so that every invocation
+   * measures the path which actually stores the message.
+   */
+  void clearWhenFull() {
+    if (messageService.getMessageList().size() >= MAX_TRACED_MESSAGES) {
+      messageService.reset();
+    }
+  }
+
+  /**
+   * An exchange which is not traced yet.
+   */
+  @State(Scope.Thread)
+  public static class CreatedExchange {
+
+    Exchange exchange;
+
+    /**
+     * Prepares the exchange.
+     *
+     * @param benchmark The benchmark.
+     */
+    @Setup(Level.Invocation)
+    public void prepare(TracerServiceBenchmark benchmark) {
+      benchmark.clearWhenFull();
+      exchange = benchmark.newExchange();
+    }
+  }
+
+  /**
+   * An exchange whose created event is traced.
+   */
+  @State(Scope.Thread)
+  public static class StartedExchange {
+
+    Exchange exchange;
+
+    /**
+     * Prepares the exchange.
+     *
+     * @param benchmark The benchmark.
+     */
+    @Setup(Level.Invocation)
+    public void prepare(TracerServiceBenchmark benchmark) {
+      benchmark.clearWhenFull();
+      exchange = benchmark.newExchange();
+      benchmark.traceCreated(exchange);
+    }
+  }
+
+  /**
+   * An exchange whose created and sending events are traced.
+   */
+  @State(Scope.Thread)
+  public static class SendingExchange {
+
+    Exchange exchange;
+
+    /**
+     * Prepares the exchange.
+     *
+     * @param benchmark The benchmark.
+     */
+    @Setup(Level.Invocation)
+    public void prepare(TracerServiceBenchmark benchmark) {
+      benchmark.clearWhenFull();
+      exchange = benchmark.newExchange();
+      benchmark.traceCreated(exchange);
+      benchmark.traceSending(exchange);
+    }
+  }
+
+  @Benchmark
+  public void exchangeCreated(CreatedExchange state) {
+    traceCreated(state.exchange);
+  }
+
+  @Benchmark
+  public void exchangeSending(StartedExchange state) {
+    traceSending(state.exchange);
+  }
+
+  @Benchmark
+  public void exchangeSent(SendingExchange state) {
+    traceSent(state.exchange);
+  }
+
+  @Benchmark
+  public void exchangeCompleted(StartedExchange state) {
+    traceCompleted(state.exchange);
+  }
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.camelbee.quarkus.overhead.harness;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+/**
+ * Drives the requests of one mode with a fixed number of concurrent callers and computes the latency percentiles,
+ * and prints the comparison table of all modes. The settings can be overridden with the overhead.requests,
+ * overhead.warmup-requests and overhead.concurrency system properties.
+ */
+public final class OverheadDriver {
+
+  /**
+   * The number of measured requests per mode.
+   */
+  public static final int REQUESTS = Integer.getInteger("overhead.requests", 20000);
+
+  /**
+   * The number of requests sent before measuring.
+   */
+  public static final int WARMUP_REQUESTS = Integer.getInteger("overhead.warmup-requests", 10000);
+
+  /**
+   * The number of concurrent callers.
+   */
+  public static final int CONCURRENCY = Integer.getInteger("overhead.concurrency", 8);
+
+  /**
+   * The musician sent with every request.
+   */
+  public static final String MUSICIAN = """
+      {"name":"Ege","surname":"Karaosmanoglu","dateOfBirth":"1980-01-01","genre":"jazz",\
+      "songs":[{"name":"Autumn Leaves","duration":320},{"name":"Blue in Green","duration":337}]}""";
+
+  private OverheadDriver() {
+    // Private constructor
+  }
+
+  /**
+   * Sends a single request.
+   */
+  @FunctionalInterface
+  public interface RequestSender {
+
+    /**
+     * Sends the request and waits for its response.
+     *
+     * @param body The request body.
+     * @throws Exception if the request fails.
+     */
+    void send(String body) throws Exception;
+  }
+
+  /**
+   * Warms up and measures the mode.
+   *
+   * @param mode   The mode.
+   * @param sender The request sender.
+   * @return the result.
+   * @throws InterruptedException if interrupted while waiting for the callers.
+   */
+  public static OverheadResult run(OverheadMode mode, RequestSender sender) throws InterruptedException {
+
+    send(sender, WARMUP_REQUESTS, new long[WARMUP_REQUESTS]);
+
+    final long[] latencies = new long[REQUESTS];
+    final long start = System.nanoTime();
+    final int errors = send(sender, REQUESTS, latencies);
+    final long elapsed = System.nanoTime() - start;
+
+    Arrays.sort(latencies);
+
+    return new OverheadResult(mode, REQUESTS, errors, REQUESTS * (double) TimeUnit.SECONDS.toNanos(1) / elapsed,
+        percentile(latencies, 50), percentile(latencies, 90), percentile(latencies, 99), percentile(latencies, 99.9),
+        TimeUnit.NANOSECONDS.toMicros(latencies[latencies.length - 1]));
+  }
+
+  private static int send(RequestSender sender, int requests, long[] latencies) throws InterruptedException {
+
+    final AtomicInteger next = new AtomicInteger();
+    final AtomicInteger errors = new AtomicInteger();
+
+    final ExecutorService callers = Executors.newFixedThreadPool(CONCURRENCY);
+    try {
+      final List<Future<?>> futures = IntStream.range(0, CONCURRENCY)
+          .<Future<?>>mapToObj(i -> callers.submit(() -> {
+            for (int index = next.getAndIncrement(); index < requests; index = next.getAndIncrement()) {
+              final long requestStart = System.nanoTime();
+              try {
+                sender.send(MUSICIAN);
+              } catch (Exception e) {
+                errors.incrementAndGet();
+              }
+              latencies[index] = System.nanoTime() - requestStart;
+            }
+          }))
+          .toList();
+      for (Future<?> future : futures) {
+        future.get();
+      }
+    } catch (ExecutionException e) {
+      throw new IllegalStateException("Overhead caller failed", e.getCause());
+    } finally {
+      callers.shutdownNow();
+    }
+
+    return errors.get();
+  }
+
+  private static long percentile(long[] sortedLatencies, double percentile) {
+    final int index = (int) Math.ceil(percentile / 100 * sortedLatencies.length) - 1;
+    return TimeUnit.NANOSECONDS.toMicros(sortedLatencies[Math.max(0, index)]);
+  }
+
+  /**
+   * Formats the comparison table, the overhead columns are relative to the first result.
+   *
+   * @param title   The title of the table.
+   * @param results The results, the first one is the baseline.
+   * @return the table.
+   */
+  public static String formatTable(String title, List<OverheadResult> results) {
+
+    final StringBuilder table = new StringBuilder(512);
+    table.append(String.format(Locale.ROOT, "%n%s (%d requests, %d warmup, %d concurrent callers)%n", title, REQUESTS,
+        WARMUP_REQUESTS, CONCURRENCY));
+    table.append(String.format(Locale.ROOT, "%-22s %12s %9s %9s %9s %9s %9s %7s %11s %11s%n", "Mode", "Requests/s",
+        "p50 us", "p90 us", "p99 us", "p99.9 us", "max us", "Errors", "Throughput", "p99"));
+
+    final OverheadResult baseline = results.getFirst();
+
+    for (OverheadResult result : results) {
+      table.append(String.format(Locale.ROOT, "%-22s %12.1f %9d %9d %9d %9d %9d %7d %11s %11s%n",
+          result.getMode().getLabel(), result.getThroughput(), result.getP50Micros(), result.getP90Micros(),
+          result.getP99Micros(), result.getP999Micros(), result.getMaxMicros(), result.getErrors(),
+          change(baseline.getThroughput(), result.getThroughput()), change(baseline.getP99Micros(), result.getP99Micros())));
+    }
+
+    return table.toString();
+  }
+
+  private static String change(double baseline, double value) {
+    if (baseline == 0) {
+      return "-";
+    }
+    return String.format(Locale.ROOT, "%+.1f%%", (value - baseline) * 100 / baseline);
+  }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.camelbee.quarkus.overhead.harness;
+
+import java.util.Map;
+
+/**
+ * The CamelBee configurations compared by the overhead harness.
+ */
+public enum OverheadMode {
+
+  NONE("no CamelBee", false, false, Map.of(
+      "quarkus.arc.exclude-types", "org.camelbee.**")),
+
+  NOTIFIER("notifier only", true, false, Map.of(
+      "camelbee.logging-enabled", "false",
+      "camelbee.tracer-enabled", "false")),
+
+  LOGGING("logging", true, false, Map.of(
+      "camelbee.logging-enabled", "true",
+      "camelbee.tracer-enabled", "false")),
+
+  TRACING("tracing", true, true, Map.of(
+      "camelbee.logging-enabled", "false",
+      "camelbee.tracer-enabled", "true")),
+
+  SAMPLED_TRACING("tracing 10% sampled", true, true, Map.of(
+      "camelbee.logging-enabled", "false",
+      "camelbee.tracer-enabled", "true",
+      "camelbee.tracer-sampling-rate", "0.1"));
+
+  private final String label;
+
+  private final boolean camelBeeEnabled;
+
+  private final boolean tracingActivated;
+
+  private final Map<String, String> properties;
+
+  OverheadMode(String label, boolean camelBeeEnabled, boolean tracingActivated, Map<String, String> properties) {
+    this.label = label;
+    this.camelBeeEnabled = camelBeeEnabled;
+    this.tracingActivated = tracingActivated;
+    this.properties = properties;
+  }
+
+  public String getLabel() {
+    return label;
+  }
+
+  public boolean isCamelBeeEnabled() {
+    return camelBeeEnabled;
+  }
+
+  /**
+   * Whether the harness activates the tracing as the CamelBee WebGL application would do.
+   *
+   * @return true if the tracing is activated.
+   */
+  public boolean isTracingActivated() {
+    return tracingActivated;
+  }
+
+  public Map<String, String> getProperties() {
+    return properties;
+  }
+
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.camelbee.quarkus.overhead.harness;
+
+/**
+ * The throughput and latency percentiles measured for one mode.
+ */
+public class OverheadResult {
+
+  private final OverheadMode mode;
+  private final int requests;
+  private final int errors;
+  private final double throughput;
+  private final long p50Micros;
+  private final long p90Micros;
+  private final long p99Micros;
+  private final long p999Micros;
+  private final long maxMicros;
+
+  /**
+   * Constructor.
+   *
+   * @param mode       The mode.
+   * @param requests   The number of measured requests.
+   * @param errors     The number of failed requests.
+   * @param throughput The requests per second.
+   * @param p50Micros  The median latency in microseconds.
+   * @param p90Micros  The 90th percentile latency in microseconds.
+   * @param p99Micros  The 99th percentile latency in microseconds.
+   * @param p999Micros The 99.9th percentile latency in microseconds.
+   * @param maxMicros  The maximum latency in microseconds.
+   */
+  public OverheadResult(OverheadMode mode, int requests, int errors, double throughput, long p50Micros, long p90Micros,
+      long p99Micros, long p999Micros, long maxMicros) {
+    this.mode = mode;
+    this.requests = requests;
+    this.errors = errors;
+    this.throughput = throughput;
+    this.p50Micros = p50Micros;
+    this.p90Micros = p90Micros;
+    this.p99Micros = p99Micros;
+    this.p999Micros = p999Micros;
+    this.maxMicros = maxMicros;
+  }
+
+  public OverheadMode getMode() {
+    return mode;
+  }
+
+  public int getRequests() {
+    return requests;
+  }
+
+  public int getErrors() {
+    return errors;
+  }
+
+  public double getThroughput() {
+    return throughput;
+  }
+
+  public long getP50Micros() {
+    return p50Micros;
+  }
+
+  public long getP90Micros() {
+    return p90Micros;
+  }
+
+  public long getP99Micros() {
+    return p99Micros;
+  }
+
+  public long getP999Micros() {
+    return p999Micros;
+  }
+
+  public long getMaxMicros() {
+    return maxMicros;
+  }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.camelbee.quarkus.overhead.harness;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+/**
+ * Keeps the result of each mode in a file, every mode runs in its own Quarkus application
+ * so the results are collected outside of the application class loaders.
+ */
+public final class OverheadResultStore {
+
+  /**
+   * The directory of the result files.
+   */
+  public static final Path DIRECTORY = Paths.get("target", "overhead", "quarkus");
+
+  private OverheadResultStore() {
+    // Private constructor
+  }
+
+  /**
+   * Writes the result of a mode.
+   *
+   * @param result The result.
+   * @throws IOException if the file cannot be written.
+   */
+  public static void save(OverheadResult result) throws IOException {
+
+    final Properties properties = new Properties();
+    properties.setProperty("mode", result.getMode().name());
+    properties.setProperty("requests", String.valueOf(result.getRequests()));
+    properties.setProperty("errors", String.valueOf(result.getErrors()));
+    properties.setProperty("throughput", String.valueOf(result.getThroughput()));
+    properties.setProperty("p50", String.valueOf(result.getP50Micros()));
+    properties.setProperty("p90", String.valueOf(result.getP90Micros()));
+    properties.setProperty("p99", String.valueOf(result.getP99Micros()));
+    properties.setProperty("p999", String.valueOf(result.getP999Micros()));
+    properties.setProperty("max", String.valueOf(result.getMaxMicros()));
+
+    Files.createDirectories(DIRECTORY);
+    try (Writer writer = Files.newBufferedWriter(DIRECTORY.resolve(result.getMode().name() + ".properties"))) {
+      properties.store(writer, null);
+    }
+  }
+
+  /**
+   * Reads the stored results.
+   *
+   * @return the results in the order of the modes.
+   * @throws IOException if a file cannot be read.
+   */
+  public static List<OverheadResult> load() throws IOException {
+
+    final List<OverheadResult> results = new ArrayList<>();
+
+    for (OverheadMode mode : OverheadMode.values()) {
+
+      final Path file = DIRECTORY.resolve(mode.name() + ".properties");
+      if (!Files.exists(file)) {
+        continue;
+      }
+
+      final Properties properties = new Properties();
+      try (Reader reader = Files.newBufferedReader(file)) {
+        properties.load(reader);
+      }
+
+      results.add(new OverheadResult(mode, Integer.parseInt(properties.getProperty("requests")),
+          Integer.parseInt(properties.getProperty("errors")), Double.parseDouble(properties.getProperty("throughput")),
+          Long.parseLong(properties.getProperty("p50")), Long.parseLong(properties.getProperty("p90")),
+          Long.parseLong(properties.getProperty("p99")), Long.parseLong(properties.getProperty("p999")),
+          Long.parseLong(properties.getProperty("max"))));
+    }
+
+    return results;
+  }
+
+  /**
+   * Deletes the stored results.
+   *
+   * @throws IOException if a file cannot be deleted.
+   */
+  public static void clear() throws IOException {
+    for (OverheadMode mode : OverheadMode.values()) {
+      Files.deleteIfExists(DIRECTORY.resolve(mode.name() + ".properties"));
+    }
+  }
+
+}
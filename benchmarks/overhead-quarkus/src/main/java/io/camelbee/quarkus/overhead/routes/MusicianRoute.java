@@ -0,0 +1,178 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.camelbee.quarkus.overhead.routes;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Instance;
+import java.util.Map;
+import org.apache.camel.ExchangePattern;
+import org.apache.camel.builder.RouteBuilder;
+import org.camelbee.config.CamelBeeRouteConfigurer;
+
+/**
+ * In-memory version of the MusicianRoute of the allcomponent-quarkus-sample.
+ * The routing logic is kept as it is while the external endpoints (http, kafka, mqtt, jms, mongodb, jpa, file and rabbitmq)
+ * are replaced by direct, seda and mock stubs, so the measured latency is the cost of Camel and CamelBee only.
+ */
+@ApplicationScoped
+public class MusicianRoute extends RouteBuilder {
+
+  public static final String ENTRY_ENDPOINT = "direct:postMusician";
+
+  private static final String MUSICIAN_PROCESSOR_ROUTE = "direct:musicianProcessor";
+
+  private static final String ORIGINAL_BODY = "originalBody";
+
+  private static final String MOCK_OPTIONS = "?retainFirst=0&retainLast=0";
+
+  private static final String JMS_QUEUE = "seda:camelbee-southhbound-queue?size=100000";
+
+  final Instance<CamelBeeRouteConfigurer> camelBeeRouteConfigurer;
+
+  public MusicianRoute(Instance<CamelBeeRouteConfigurer> camelBeeRouteConfigurer) {
+    this.camelBeeRouteConfigurer = camelBeeRouteConfigurer;
+  }
+
+  @Override
+  public void configure() throws Exception {
+
+    if (camelBeeRouteConfigurer.isResolvable()) {
+      camelBeeRouteConfigurer.get().configureRoute(this);
+    }
+
+    from(ENTRY_ENDPOINT).routeId("postMusicianRoute")
+        .to(MUSICIAN_PROCESSOR_ROUTE);
+
+    from(MUSICIAN_PROCESSOR_ROUTE).routeId("musicianProcessorRoute")
+        .setProperty(ORIGINAL_BODY, body())
+        .to("direct:invokeHttpBin")
+        .to("direct:invokeKafka")
+        .wireTap("direct:invokeMqtt")
+        .multicast().parallelProcessing()
+        .to("direct:invokeMockA")
+        .to("direct:invokeMockB")
+        .end()
+        .enrich("direct:invokeJms")
+        .enrich().constant("direct:invokeMongoDb")
+        .recipientList().constant("direct:invokeJpa,direct:invokeFile,mock:httpBin6" + MOCK_OPTIONS)
+        .routingSlip().constant("direct:invokeMockA,direct:invokeMockB")
+        .dynamicRouter(method(this, "computeEndpoint"))
+        .removeHeaders("*")
+        .toD("direct:invokeRabbitMq")
+        .pollEnrich(JMS_QUEUE, 20000, (original, resource) -> resource)
+        .to("direct:invokeHttpBinError");
+
+    from("direct:invokeHttpBin").routeId("invokeHttpBinRoute")
+        .setHeader("hhId", constant("2"))
+        .toD("mock:httpBin${header.hhId}" + MOCK_OPTIONS)
+        .id("httpBinEndpoint")
+        .setBody(constant("{\"slideshow\":{\"author\":\"Yours Truly\",\"title\":\"Sample Slide Show\"}}"));
+
+    from("direct:invokeHttpBinError").routeId("invokeHttpBinErrorRoute")
+        .doTry()
+        .to("mock:httpBinError" + MOCK_OPTIONS)
+        .id("httpBinEndpointError")
+        .throwException(IllegalStateException.class, "HTTP operation failed with statusCode: 400")
+        .doCatch(Exception.class)
+        .endDoTry();
+
+    from("direct:invokeKafka").routeId("invokeKafkaRoute")
+        .to(ExchangePattern.InOnly, "seda:camelbee-southbound-topic?size=100000")
+        .id("kafkaEndpoint");
+
+    from("seda:camelbee-southbound-topic?size=100000").routeId("kafkaStubRoute")
+        .to("mock:kafka" + MOCK_OPTIONS);
+
+    from("direct:invokeMqtt").routeId("invokeMqttRoute")
+        .to("mock:mqtt" + MOCK_OPTIONS)
+        .id("mqttEndpoint");
+
+    from("direct:invokeRabbitMq").routeId("invokeRabbitMqRoute")
+        .setBody(exchangeProperty(ORIGINAL_BODY))
+        .convertBodyTo(String.class)
+        .to(ExchangePattern.InOnly, "mock:rabbitMq" + MOCK_OPTIONS)
+        .id("rabbitMqEndpoint");
+
+    from("direct:invokeMongoDb").routeId("invokeMongoDbRoute")
+        .setBody(exchangeProperty(ORIGINAL_BODY))
+        .to("mock:mongoDb" + MOCK_OPTIONS)
+        .id("mongoDbEndpoint");
+
+    from("direct:invokeJms").routeId("invokeJmsRoute")
+        .to(ExchangePattern.InOnly, JMS_QUEUE)
+        .id("jmsEndpoint");
+
+    from("direct:invokeJpa").routeId("invokeJpaRoute")
+        .setBody(constant("{\"id\":1,\"name\":\"song\"}"))
+        .to("mock:jpa" + MOCK_OPTIONS)
+        .id("jpaEndpoint");
+
+    from("direct:invokeFile").routeId("invokeFileRoute")
+        .setBody(exchangeProperty(ORIGINAL_BODY))
+        .convertBodyTo(String.class)
+        .to("mock:file" + MOCK_OPTIONS)
+        .id("fileEndpoint");
+
+    from("direct:invokeMockA").routeId("invokeMockARoute")
+        .setBody(constant("invokedMockABody"))
+        .to("mock:A" + MOCK_OPTIONS)
+        .id("mockAEndpoint");
+
+    from("direct:invokeMockB").routeId("invokeMockBRoute")
+        .setBody(constant("invokedMockBBody"))
+        .to("mock:B" + MOCK_OPTIONS)
+        .id("mockBEndpoint");
+
+    from("direct:invokeMockC").routeId("invokeMockCRoute")
+        .setBody(constant("invokedMockCBody"))
+        .to("mock:C" + MOCK_OPTIONS)
+        .id("mockCEndpoint");
+
+    from("direct:invokeMockD").routeId("invokeMockDRoute")
+        .setBody(constant("invokedMockDBody"))
+        .to("mock:D" + MOCK_OPTIONS)
+        .id("mockDEndpoint");
+
+  }
+
+  /**
+   * Compute new dynamic endpoint.
+   *
+   * @param properties The Exchange properties.
+   * @return target endpoint.
+   */
+  public String computeEndpoint(@org.apache.camel.ExchangeProperties Map<String, Object> properties) {
+    Integer invocationCount = (Integer) properties.get("invocationCount");
+    if (invocationCount == null) {
+      invocationCount = 0;
+    }
+    invocationCount++;
+    properties.put("invocationCount", invocationCount);
+
+    if (invocationCount == 1) {
+      return "direct:invokeMockC";
+    } else if (invocationCount == 2) {
+      return "direct:invokeMockD";
+    } else if (invocationCount == 3) {
+      return "mock:D" + MOCK_OPTIONS;
+    } else if (invocationCount == 4) {
+      return "mock:E" + MOCK_OPTIONS;
+    }
+    // no more so return null
+    return null;
+  }
+}
@@ -0,0 +1,66 @@
+package io.camelbee.quarkus.overhead;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.camelbee.quarkus.overhead.harness.OverheadDriver;
+import io.camelbee.quarkus.overhead.harness.OverheadMode;
+import io.camelbee.quarkus.overhead.harness.OverheadResult;
+import io.camelbee.quarkus.overhead.harness.OverheadResultStore;
+import io.camelbee.quarkus.overhead.routes.MusicianRoute;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import java.util.Map;
+import org.apache.camel.ProducerTemplate;
+import org.camelbee.tracers.TracerService;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Measures one mode, every mode is a test class with its own profile so that Quarkus is restarted
+ * with the configuration of the mode. Only active with the overhead profile.
+ */
+abstract class AbstractOverheadHarnessTest {
+
+  @Inject
+  ProducerTemplate producerTemplate;
+
+  @Inject
+  Instance<TracerService> tracerService;
+
+  abstract OverheadMode mode();
+
+  @Test
+  void shouldMeasureTheMode() throws Exception {
+    // Arrange
+    if (mode().isTracingActivated()) {
+      tracerService.get().activateTracing(true);
+      tracerService.get().keepTracingActive();
+    }
+
+    // Act
+    OverheadResult result = OverheadDriver.run(mode(),
+        body -> producerTemplate.requestBody(MusicianRoute.ENTRY_ENDPOINT, body));
+
+    // Assert
+    OverheadResultStore.save(result);
+    assertEquals(0, result.getErrors());
+  }
+
+  /**
+   * Applies the properties of a mode.
+   */
+  abstract static class ModeProfile implements QuarkusTestProfile {
+
+    private final OverheadMode mode;
+
+    ModeProfile(OverheadMode mode) {
+      this.mode = mode;
+    }
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return mode.getProperties();
+    }
+  }
+
+}
@@ -0,0 +1,23 @@
+package io.camelbee.quarkus.overhead;
+
+import io.camelbee.quarkus.overhead.harness.OverheadMode;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+@QuarkusTest
+@TestProfile(NoCamelBeeOverheadHarnessTest.Profile.class)
+class NoCamelBeeOverheadHarnessTest extends AbstractOverheadHarnessTest {
+
+  @Override
+  OverheadMode mode() {
+    return OverheadMode.NONE;
+  }
+
+  public static class Profile extends ModeProfile {
+
+    public Profile() {
+      super(OverheadMode.NONE);
+    }
+  }
+
+}
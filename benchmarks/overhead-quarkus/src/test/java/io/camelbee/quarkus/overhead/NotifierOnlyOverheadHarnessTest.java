@@ -0,0 +1,23 @@
+package io.camelbee.quarkus.overhead;
+
+import io.camelbee.quarkus.overhead.harness.OverheadMode;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+@QuarkusTest
+@TestProfile(NotifierOnlyOverheadHarnessTest.Profile.class)
+class NotifierOnlyOverheadHarnessTest extends AbstractOverheadHarnessTest {
+
+  @Override
+  OverheadMode mode() {
+    return OverheadMode.NOTIFIER;
+  }
+
+  public static class Profile extends ModeProfile {
+
+    public Profile() {
+      super(OverheadMode.NOTIFIER);
+    }
+  }
+
+}
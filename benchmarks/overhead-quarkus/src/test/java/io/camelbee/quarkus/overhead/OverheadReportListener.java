@@ -0,0 +1,42 @@
+package io.camelbee.quarkus.overhead;
+
+import io.camelbee.quarkus.overhead.harness.OverheadDriver;
+import io.camelbee.quarkus.overhead.harness.OverheadResult;
+import io.camelbee.quarkus.overhead.harness.OverheadResultStore;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.List;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * Prints the comparison table once all modes are measured.
+ */
+public class OverheadReportListener implements TestExecutionListener {
+
+  @Override
+  public void testPlanExecutionStarted(TestPlan testPlan) {
+    try {
+      OverheadResultStore.clear();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void testPlanExecutionFinished(TestPlan testPlan) {
+    try {
+      List<OverheadResult> results = OverheadResultStore.load();
+      if (results.isEmpty()) {
+        return;
+      }
+      String table = OverheadDriver.formatTable("CamelBee overhead on Quarkus", results);
+      System.out.println(table);
+      Files.writeString(OverheadResultStore.DIRECTORY.resolveSibling("quarkus.txt"), table);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+}
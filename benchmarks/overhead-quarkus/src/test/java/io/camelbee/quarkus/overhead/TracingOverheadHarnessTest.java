@@ -0,0 +1,23 @@
+package io.camelbee.quarkus.overhead;
+
+import io.camelbee.quarkus.overhead.harness.OverheadMode;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.TestProfile;
+
+@QuarkusTest
+@TestProfile(TracingOverheadHarnessTest.Profile.class)
+class TracingOverheadHarnessTest extends AbstractOverheadHarnessTest {
+
+  @Override
+  OverheadMode mode() {
+    return OverheadMode.TRACING;
+  }
+
+  public static class Profile extends ModeProfile {
+
+    public Profile() {
+      super(OverheadMode.TRACING);
+    }
+  }
+
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.camelbee.springboot.overhead.harness;
+
+import io.camelbee.springboot.overhead.OverheadApplication;
+import io.camelbee.springboot.overhead.routes.MusicianRoute;
+import java.util.ArrayList;
+import java.util.List;
+import org.apache.camel.ProducerTemplate;
+import org.camelbee.tracers.TracerService;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.ComponentScan;
+
+/**
+ * Starts the overhead application once per mode, CamelBee is added by scanning its packages as the applications
+ * using the CamelBee SpringBoot starter do, and measures the in-memory MusicianRoute.
+ * All modes share the JIT compiled code of the JVM, so the modes are measured in several rounds
+ * and only the last round is reported, which keeps the first mode from paying for the warm up of the others.
+ */
+public final class SpringBootOverheadHarness {
+
+  private SpringBootOverheadHarness() {
+    // Private constructor
+  }
+
+  /**
+   * Runs all modes.
+   *
+   * @return the results of the last round in the order of the modes.
+   * @throws InterruptedException if interrupted while waiting for the callers.
+   */
+  public static List<OverheadResult> run() throws InterruptedException {
+
+    final List<OverheadResult> results = new ArrayList<>();
+
+    for (int round = 0; round < OverheadDriver.ROUNDS; round++) {
+      results.clear();
+      for (OverheadMode mode : OverheadMode.values()) {
+        results.add(run(mode));
+      }
+    }
+
+    return results;
+  }
+
+  /**
+   * Runs a single mode.
+   *
+   * @param mode The mode.
+   * @return the result.
+   * @throws InterruptedException if interrupted while waiting for the callers.
+   */
+  public static OverheadResult run(OverheadMode mode) throws InterruptedException {
+
+    final SpringApplicationBuilder builder = new SpringApplicationBuilder(OverheadApplication.class);
+    if (mode.isCamelBeeEnabled()) {
+      builder.sources(CamelBeeScan.class);
+    }
+    mode.getProperties().forEach((key, value) -> builder.properties(key + "=" + value));
+
+    try (ConfigurableApplicationContext context = builder.run()) {
+
+      if (mode.isTracingActivated()) {
+        final TracerService tracerService = context.getBean(TracerService.class);
+        tracerService.activateTracing(true);
+        tracerService.keepTracingActive();
+      }
+
+      final ProducerTemplate producerTemplate = context.getBean(ProducerTemplate.class);
+
+      return OverheadDriver.run(mode, body -> producerTemplate.requestBody(MusicianRoute.ENTRY_ENDPOINT, body));
+    }
+  }
+
+  /**
+   * Adds the CamelBee beans.
+   */
+  @ComponentScan(basePackages = "org.camelbee")
+  static class CamelBeeScan {
+
+  }
+
+}
@@ -0,0 +1,35 @@
+package io.camelbee.springboot.overhead;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.camelbee.springboot.overhead.harness.OverheadDriver;
+import io.camelbee.springboot.overhead.harness.OverheadResult;
+import io.camelbee.springboot.overhead.harness.SpringBootOverheadHarness;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Runs the overhead harness, only active with the overhead profile.
+ */
+class SpringBootOverheadHarnessTest {
+
+  @Test
+  void shouldMeasureAllModes() throws Exception {
+    // Act
+    List<OverheadResult> results = SpringBootOverheadHarness.run();
+
+    // Assert
+    String table = OverheadDriver.formatTable("CamelBee overhead on SpringBoot", results);
+    System.out.println(table);
+
+    Path report = Paths.get("target", "overhead", "springboot.txt");
+    Files.createDirectories(report.getParent());
+    Files.writeString(report, table);
+
+    results.forEach(result -> assertEquals(0, result.getErrors(), result.getMode().getLabel()));
+  }
+
+}
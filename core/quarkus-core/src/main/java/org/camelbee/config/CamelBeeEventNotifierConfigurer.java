@@ -21,7 +21,9 @@ import jakarta.enterprise.event.Observes;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import org.apache.camel.CamelContext;
+import org.camelbee.debugger.service.RouteContextService;
 import org.camelbee.notifier.CamelBeeEventNotifier;
+import org.camelbee.notifier.RouteTopologyEventNotifier;
 import org.camelbee.tracers.TracerService;
 
 /**
@@ -36,6 +38,9 @@ public class CamelBeeEventNotifierConfigurer {
   @Inject
   TracerService tracerService;
 
+  @Inject
+  RouteContextService routeContextService;
+
   /**
    * Creates EventNotifierSupport bean.
    *
@@ -45,6 +50,10 @@ public class CamelBeeEventNotifierConfigurer {
   public void onStart(@Observes StartupEvent ev) {
     final CamelBeeEventNotifier camelBeeEventNotifier = new CamelBeeEventNotifier(tracerService);
     camelContext.getManagementStrategy().addEventNotifier(camelBeeEventNotifier);
+    camelContext.getManagementStrategy().addEventNotifier(new RouteTopologyEventNotifier(routeContextService));
+    if (camelContext.isStarted()) {
+      routeContextService.rebuild();
+    }
   }
 
 }
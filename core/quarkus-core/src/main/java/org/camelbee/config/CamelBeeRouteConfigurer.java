@@ -18,8 +18,11 @@ package org.camelbee.config;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.spi.ExecutorServiceManager;
 import org.apache.camel.spi.UnitOfWorkFactory;
 import org.camelbee.logging.CamelBeeUnitOfWork;
+import org.camelbee.utils.IdGenerator;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 /**
  * The route configurer which sets all listeners, interceptors and the MDCUnitOfWork.
@@ -27,6 +30,23 @@ import org.camelbee.logging.CamelBeeUnitOfWork;
 @ApplicationScoped
 public class CamelBeeRouteConfigurer {
 
+  private final boolean virtualThreadsEnabled;
+
+  private final IdGenerator idGenerator;
+
+  /**
+   * Constructor.
+   *
+   * @param virtualThreadsEnabled Whether the route thread pools run on virtual threads.
+   * @param idGenerator           The type of the request and transaction id generator, uuidv7, ulid or random.
+   */
+  public CamelBeeRouteConfigurer(
+      @ConfigProperty(name = "camelbee.virtual-threads-enabled", defaultValue = "false") boolean virtualThreadsEnabled,
+      @ConfigProperty(name = "camelbee.id-generator", defaultValue = "uuidv7") String idGenerator) {
+    this.virtualThreadsEnabled = virtualThreadsEnabled;
+    this.idGenerator = IdGenerator.of(idGenerator);
+  }
+
   /**
    * Configures a route for a CamelBee enabled Camel application.
    *
@@ -36,7 +56,15 @@ public class CamelBeeRouteConfigurer {
 
     routeBuilder.getContext().setStreamCaching(true);
     routeBuilder.getContext().setUseMDCLogging(true);
-    routeBuilder.getContext().getCamelContextExtension().addContextPlugin(UnitOfWorkFactory.class, CamelBeeUnitOfWork::new);
+    routeBuilder.getContext().getCamelContextExtension().addContextPlugin(UnitOfWorkFactory.class,
+        exchange -> new CamelBeeUnitOfWork(exchange, idGenerator));
+
+    if (virtualThreadsEnabled) {
+      ExecutorServiceManager executorServiceManager = routeBuilder.getContext().getExecutorServiceManager();
+      if (!(executorServiceManager.getThreadPoolFactory() instanceof VirtualThreadPoolFactory)) {
+        executorServiceManager.setThreadPoolFactory(new VirtualThreadPoolFactory(executorServiceManager.getThreadPoolFactory()));
+      }
+    }
   }
 
 }
@@ -21,20 +21,28 @@ import jakarta.inject.Inject;
 import jakarta.ws.rs.Consumes;
 import jakarta.ws.rs.DELETE;
 import jakarta.ws.rs.GET;
+import jakarta.ws.rs.HeaderParam;
 import jakarta.ws.rs.Path;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
 import java.lang.management.GarbageCollectorMXBean;
 import java.lang.management.ManagementFactory;
 import java.util.List;
 import java.util.stream.Collectors;
 import org.apache.camel.CamelContext;
 import org.camelbee.constants.CamelBeeConstants;
-import org.camelbee.debugger.model.exchange.MessageList;
+import org.camelbee.debugger.model.exchange.Message;
 import org.camelbee.debugger.model.route.CamelBeeContext;
 import org.camelbee.debugger.model.route.CamelRoute;
 import org.camelbee.debugger.service.MessageService;
+import org.camelbee.debugger.service.MessageStreamWriter;
+import org.camelbee.debugger.service.PayloadEncoder;
+import org.camelbee.debugger.service.PayloadEncoder.Format;
 import org.camelbee.debugger.service.RouteContextService;
+import org.camelbee.debugger.service.RoutesResponseCache;
+import org.camelbee.debugger.service.RoutesResponseCache.CachedRoutes;
 import org.eclipse.microprofile.config.Config;
 
 /**
@@ -44,6 +52,8 @@ import org.eclipse.microprofile.config.Config;
 @IfBuildProperty(name = "camelbee.context-enabled", stringValue = "true")
 public class ContextController {
 
+  private static final String VARY_HEADERS = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING;
+
   @Inject
   CamelContext camelContext;
 
@@ -53,22 +63,72 @@ public class ContextController {
   @Inject
   RouteContextService routeContextService;
 
+  @Inject
+  RoutesResponseCache routesResponseCache;
+
+  @Inject
+  MessageStreamWriter messageStreamWriter;
+
   @Inject
   Config config;
 
   /**
    * Returns the Routes list of the camelContext and their outputs.
+   * The serialized response is cached per topology snapshot in the format negotiated with the Accept header,
+   * gzip compressed if the client accepts it and answered with 304 if the client already has the current version.
    *
+   * @param accept         The Accept header.
+   * @param ifNoneMatch    The If-None-Match header.
+   * @param acceptEncoding The Accept-Encoding header.
    * @return CamelBeeContext The routes topology.
    */
   @GET
   @Consumes("application/json")
-  @Produces("application/json")
+  @Produces({"application/json", PayloadEncoder.COLUMNAR_JSON_MEDIA_TYPE, PayloadEncoder.CBOR_MEDIA_TYPE})
   @Path("/camelbee/routes")
-  public Response getWidgets() {
+  public Response getWidgets(@HeaderParam(HttpHeaders.ACCEPT) String accept,
+      @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch, @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
 
     List<CamelRoute> routes = routeContextService.getCamelRoutes();
 
+    CachedRoutes cachedRoutes = routesResponseCache.get(routes, () -> createCamelBeeContext(routes));
+
+    if (cachedRoutes.matches(ifNoneMatch)) {
+      return Response.notModified()
+          .header(HttpHeaders.ETAG, cachedRoutes.etag())
+          .header(HttpHeaders.VARY, VARY_HEADERS)
+          .build();
+    }
+
+    Format format = PayloadEncoder.negotiate(accept);
+    boolean gzip = PayloadEncoder.acceptsGzip(acceptEncoding);
+
+    Response.ResponseBuilder response = Response.ok()
+        .type(format.getMediaType())
+        .header(HttpHeaders.ETAG, cachedRoutes.etag())
+        .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+        .header(HttpHeaders.VARY, VARY_HEADERS);
+
+    if (gzip) {
+      return response.header(HttpHeaders.CONTENT_ENCODING, "gzip")
+          .entity(cachedRoutes.body(format, !isResteasyGzipEnabled())).build();
+    }
+
+    return response.entity(cachedRoutes.body(format, false)).build();
+  }
+
+  /**
+   * Checks if the resteasy gzip interceptor is enabled, which compresses every response with a gzip content encoding
+   * by itself.
+   *
+   * @return true if resteasy compresses the responses.
+   */
+  private boolean isResteasyGzipEnabled() {
+    return config.getOptionalValue("quarkus.resteasy.gzip.enabled", Boolean.class).orElse(false);
+  }
+
+  private CamelBeeContext createCamelBeeContext(List<CamelRoute> routes) {
+
     String name = camelContext.getName();
 
     String jvm = "%s - %s".formatted(System.getProperty(CamelBeeConstants.SYSTEM_JVM_VENDOR),
@@ -85,18 +145,39 @@ public class ContextController {
     String garbageCollectors = ManagementFactory.getGarbageCollectorMXBeans().stream().map(GarbageCollectorMXBean::getName)
         .collect(Collectors.joining(", "));
 
-    return Response
-        .ok(new CamelBeeContext(routes, name, jvm, jvmInputParameters, garbageCollectors, framework, camelVersion))
-        .build();
+    return new CamelBeeContext(routes, name, jvm, jvmInputParameters, garbageCollectors, framework, camelVersion);
   }
 
+  /**
+   * Streams the traced messages in the format negotiated with the Accept header,
+   * gzip compressed if the client accepts it.
+   *
+   * @param accept         The Accept header.
+   * @param acceptEncoding The Accept-Encoding header.
+   * @return MessageList The traced messages.
+   */
   @GET
   @Consumes("application/json")
-  @Produces("application/json")
+  @Produces({"application/json", PayloadEncoder.COLUMNAR_JSON_MEDIA_TYPE, PayloadEncoder.CBOR_MEDIA_TYPE})
   @Path("/camelbee/messages")
-  public Response getMessages() {
-    return Response.ok(new MessageList(messageService.getMessageList())).build();
+  public Response getMessages(@HeaderParam(HttpHeaders.ACCEPT) String accept,
+      @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
+
+    Format format = PayloadEncoder.negotiate(accept);
+    boolean gzip = PayloadEncoder.acceptsGzip(acceptEncoding);
+
+    Response.ResponseBuilder response = Response.ok()
+        .type(format.getMediaType())
+        .header(HttpHeaders.VARY, VARY_HEADERS);
+
+    if (gzip) {
+      response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+
+    List<Message> messages = messageService.getMessageList();
+    boolean compress = gzip && !isResteasyGzipEnabled();
 
+    return response.entity((StreamingOutput) out -> messageStreamWriter.write(messages, format, compress, out)).build();
   }
 
   /**
@@ -0,0 +1,53 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.debugger.controller;
+
+import io.quarkus.arc.properties.IfBuildProperty;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.DefaultValue;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Response;
+import org.camelbee.debugger.service.InflightInspector;
+
+/**
+ * InflightController exposes the inflight and the stuck exchanges.
+ */
+@Path("/")
+@IfBuildProperty(name = "camelbee.context-enabled", stringValue = "true")
+@IfBuildProperty(name = "camelbee.inflight-enabled", stringValue = "true")
+public class InflightController {
+
+  @Inject
+  InflightInspector inflightInspector;
+
+  /**
+   * Returns the oldest inflight exchanges per route and the stuck exchanges.
+   *
+   * @param limit The maximum number of exchanges per route.
+   * @return InflightReport The inflight exchanges.
+   */
+  @GET
+  @Produces("application/json")
+  @Path("/camelbee/inflight")
+  public Response getInflight(@QueryParam("limit") @DefaultValue("10") int limit) {
+    return Response.ok(inflightInspector.getReport(limit)).build();
+  }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.debugger.controller;
+
+import io.quarkus.arc.properties.IfBuildProperty;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Response;
+import java.util.concurrent.TimeUnit;
+import org.camelbee.debugger.service.JvmMetricsSampler;
+
+/**
+ * MetricsController exposes the sampled runtime metrics.
+ */
+@Path("/")
+@IfBuildProperty(name = "camelbee.context-enabled", stringValue = "true")
+public class MetricsController {
+
+  @Inject
+  JvmMetricsSampler jvmMetricsSampler;
+
+  /**
+   * Returns the sampled JVM metrics as columnar arrays.
+   *
+   * @param window The window in seconds, all kept samples are returned if it is not given.
+   * @return JvmMetrics The samples.
+   */
+  @GET
+  @Produces("application/json")
+  @Path("/camelbee/metrics/jvm")
+  public Response getJvmMetrics(@QueryParam("window") Long window) {
+    return Response.ok(jvmMetricsSampler.getMetrics(window != null ? TimeUnit.SECONDS.toMillis(window) : null)).build();
+  }
+
+}
@@ -16,26 +16,40 @@
 
 package org.camelbee.debugger.controller;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.quarkus.arc.properties.IfBuildProperty;
 import jakarta.inject.Inject;
 import jakarta.validation.Valid;
 import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
 import jakarta.ws.rs.POST;
 import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
 import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Context;
+import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.sse.Sse;
+import jakarta.ws.rs.sse.SseEventSink;
+import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
 import org.apache.camel.ProducerTemplate;
+import org.apache.camel.ResolveEndpointFailedException;
 import org.apache.camel.builder.ExchangeBuilder;
 import org.apache.commons.lang3.StringUtils;
 import org.camelbee.constants.CamelBeeConstants;
+import org.camelbee.debugger.model.loadtest.LoadTestRequest;
+import org.camelbee.debugger.model.loadtest.LoadTestStatus;
+import org.camelbee.debugger.model.produce.ProduceJobStatus;
 import org.camelbee.debugger.model.produce.ProduceMessage;
+import org.camelbee.debugger.service.LoadTestService;
+import org.camelbee.debugger.service.ProduceJobService;
+import org.camelbee.debugger.service.ProducerTargetRegistry;
 import org.camelbee.tracers.TracerService;
 import org.eclipse.microprofile.config.Config;
 
@@ -47,21 +61,29 @@ import org.eclipse.microprofile.config.Config;
 @IfBuildProperty(name = "camelbee.producer-enabled", stringValue = "true")
 public class ProducerController {
 
+  private static final long LOADTEST_STREAM_INTERVAL_MILLIS = 1000;
+
   @Inject
   CamelContext camelContext;
 
   @Inject
   ProducerTemplate producerTemplate;
 
-  @Inject
-  ObjectMapper objectMapper;
-
   @Inject
   Config config;
 
   @Inject
   TracerService tracerService;
 
+  @Inject
+  LoadTestService loadTestService;
+
+  @Inject
+  ProducerTargetRegistry producerTargetRegistry;
+
+  @Inject
+  ProduceJobService produceJobService;
+
   /**
    * Call the route.
    *
@@ -77,36 +99,13 @@ public class ProducerController {
     // first set the tracing status
     tracerService.activateTracing(Boolean.TRUE.equals(produceMessage.getTraceEnabled()));
 
-    Exchange exchange = ExchangeBuilder.anExchange(camelContext).build();
-
-    // setting this to exclude the events for this exchange from event notifiers
-    exchange.setProperty(CamelBeeConstants.CAMELBEE_PRODUCED_EXCHANGE, "true");
-    Map<String, Object> defaultHeaders = produceMessage.getHeaders().getHeaders().stream()
-        .collect(Collectors.toMap(p -> p.getKey(), p -> p.getValue()));
-
-    exchange.getIn().setHeaders(defaultHeaders);
-
-    final Object request;
-
     String response = "";
 
     try {
 
-      if (produceMessage.getMediaType() != null && produceMessage.getMediaType().equals("json")
-          && !StringUtils.isEmpty(produceMessage.getClazz())) {
-        request = objectMapper.readValue(produceMessage.getMessage(), loadClass(produceMessage.getClazz()));
-
-      } else if (produceMessage.getMediaType() != null && produceMessage.getMediaType().equals("xml")) {
-
-        request = produceMessage.getMessage();
-
-      } else {
-        request = produceMessage.getMessage();
-      }
-
-      exchange.getIn().setBody(request);
+      Exchange exchange = createExchange(produceMessage);
 
-      Exchange result = producerTemplate.send(adjustRouteName(produceMessage.getRouteName()), exchange);
+      Exchange result = producerTemplate.send(producerTargetRegistry.getEndpoint(produceMessage.getRouteName()), exchange);
       response = result.getMessage().getBody(String.class);
 
     } catch (Exception e) {
@@ -118,53 +117,214 @@ public class ProducerController {
   }
 
   /**
-   * Replaces the placeholders with the actual environment variables.
+   * Calls the route asynchronously and returns the id of the produce job right away.
    *
-   * @param routeName The route name.
-   * @return String The adjusted route name.
+   * @param produceMessage The ProduceMessage.
+   * @return ProduceJobStatus The status of the submitted job.
    */
-  public String adjustRouteName(String routeName) {
+  @POST
+  @Consumes("application/json")
+  @Produces("application/json")
+  @Path("/camelbee/produce/direct/async")
+  public Response produceDirectAsync(@Valid ProduceMessage produceMessage) {
+    return submitProduceJob(List.of(produceMessage), 1);
+  }
 
-    String adjustedRouteName = null;
+  /**
+   * Calls the routes of the messages in parallel and returns the id of the produce job right away.
+   *
+   * @param produceMessages The ProduceMessages.
+   * @param concurrency     The number of messages in flight at the same time.
+   * @return ProduceJobStatus The status of the submitted job.
+   */
+  @POST
+  @Consumes("application/json")
+  @Produces("application/json")
+  @Path("/camelbee/produce/direct/batch")
+  public Response produceDirectBatch(@Valid List<ProduceMessage> produceMessages, @QueryParam("concurrency") Integer concurrency) {
+    return submitProduceJob(produceMessages, concurrency);
+  }
 
-    if (routeName.startsWith("From[rest:")) {
-      adjustedRouteName = "http:localhost:{{quarkus.http.port}}" + applyPattern(routeName, "://[a-zA-Z]+:(/[^?]+)")
-          + "?throwExceptionOnFailure=false";
-    } else if (routeName.startsWith("From[jpa:")) {
-      adjustedRouteName = applyPattern(routeName, "From\\[(jpa:[^?]+)");
-    } else {
-      adjustedRouteName = applyPattern(routeName, "\\[([^\\]]+)\\]");
+  /**
+   * Returns the status and the results of a produce job.
+   *
+   * @param id The id of the produce job.
+   * @return ProduceJobStatus The status.
+   */
+  @GET
+  @Produces("application/json")
+  @Path("/camelbee/produce/jobs/{id}")
+  public Response getProduceJob(@PathParam("id") String id) {
+    ProduceJobStatus status = produceJobService.getStatus(id);
+    return status != null ? Response.ok(status).build() : Response.status(Response.Status.NOT_FOUND).build();
+  }
+
+  private Response submitProduceJob(List<ProduceMessage> produceMessages, Integer concurrency) {
+
+    if (produceMessages != null) {
+      tracerService.activateTracing(produceMessages.stream().anyMatch(m -> Boolean.TRUE.equals(m.getTraceEnabled())));
     }
 
-    return adjustedRouteName;
+    try {
+      return Response.accepted(produceJobService.submit(produceMessages, concurrency, this::createExchange)).build();
+    } catch (IllegalArgumentException e) {
+      return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+    } catch (RejectedExecutionException e) {
+      return Response.status(Response.Status.TOO_MANY_REQUESTS).entity(e.getMessage()).build();
+    }
   }
 
   /**
-   * Applies regex pattern on the route name.
+   * Starts a load test which sends the message concurrently to the route.
    *
-   * @param input      The route name.
-   * @param patternVal The regex.
-   * @return String The updated route name.
+   * @param loadTestRequest The LoadTestRequest.
+   * @return LoadTestStatus The status of the started load test.
    */
-  public static String applyPattern(String input, String patternVal) {
+  @POST
+  @Consumes("application/json")
+  @Produces("application/json")
+  @Path("/camelbee/loadtest")
+  public Response startLoadTest(@Valid LoadTestRequest loadTestRequest) {
+
+    ProduceMessage produceMessage = loadTestRequest.getProduceMessage();
+
+    if (produceMessage == null) {
+      return Response.status(Response.Status.BAD_REQUEST).entity("produceMessage is required").build();
+    }
 
-    Pattern pattern = Pattern.compile(patternVal);
-    Matcher matcher = pattern.matcher(input);
-    if (matcher.find()) {
-      return matcher.group(1);
+    tracerService.activateTracing(Boolean.TRUE.equals(produceMessage.getTraceEnabled()));
+
+    try {
+      return Response.ok(loadTestService.start(loadTestRequest, producerTargetRegistry.getEndpoint(produceMessage.getRouteName()),
+          createHeaders(produceMessage), () -> createRequest(produceMessage))).build();
+    } catch (IllegalArgumentException | ResolveEndpointFailedException e) {
+      return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+    } catch (RejectedExecutionException e) {
+      return Response.status(Response.Status.TOO_MANY_REQUESTS).entity(e.getMessage()).build();
     }
-    return null;
   }
 
   /**
-   * this is needed in quarkus for class loading in quarkus:dev mode.
+   * Returns the status of a load test.
+   *
+   * @param id The id of the load test.
+   * @return LoadTestStatus The status.
    */
-  private Class<?> loadClass(String className) throws ClassNotFoundException {
-    try {
-      return Class.forName(className);
-    } catch (ClassNotFoundException e) {
-      return Thread.currentThread().getContextClassLoader().loadClass(className);
+  @GET
+  @Produces("application/json")
+  @Path("/camelbee/loadtest/{id}")
+  public Response getLoadTest(@PathParam("id") String id) {
+    LoadTestStatus status = loadTestService.getStatus(id);
+    return status != null ? Response.ok(status).build() : Response.status(Response.Status.NOT_FOUND).build();
+  }
+
+  /**
+   * Streams the status of a load test as server sent events until it is finished.
+   *
+   * @param id        The id of the load test.
+   * @param eventSink The event sink.
+   * @param sse       The sse.
+   */
+  @GET
+  @Produces(MediaType.SERVER_SENT_EVENTS)
+  @Path("/camelbee/loadtest/{id}/stream")
+  public void streamLoadTest(@PathParam("id") String id, @Context SseEventSink eventSink, @Context Sse sse) {
+
+    Thread.ofVirtual().name("camelbee-loadtest-stream").start(() -> {
+      try (eventSink) {
+        boolean finished;
+        do {
+          finished = loadTestService.awaitCompletion(id, LOADTEST_STREAM_INTERVAL_MILLIS);
+          LoadTestStatus status = loadTestService.getStatus(id);
+          if (status != null) {
+            eventSink.send(sse.newEventBuilder().name("status").mediaType(MediaType.APPLICATION_JSON_TYPE)
+                .data(LoadTestStatus.class, status).build());
+          }
+        } while (!finished && !eventSink.isClosed());
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    });
+  }
+
+  /**
+   * Cancels a load test.
+   *
+   * @param id The id of the load test.
+   * @return LoadTestStatus The status.
+   */
+  @DELETE
+  @Produces("application/json")
+  @Path("/camelbee/loadtest/{id}")
+  public Response cancelLoadTest(@PathParam("id") String id) {
+    LoadTestStatus status = loadTestService.cancel(id);
+    return status != null ? Response.ok(status).build() : Response.status(Response.Status.NOT_FOUND).build();
+  }
+
+  /**
+   * Creates the exchange of a produce message.
+   *
+   * @param produceMessage The ProduceMessage.
+   * @return Exchange The exchange.
+   * @throws Exception if the json message can not be read.
+   */
+  private Exchange createExchange(ProduceMessage produceMessage) throws Exception {
+
+    Exchange exchange = ExchangeBuilder.anExchange(camelContext).build();
+
+    // setting this to exclude the events for this exchange from event notifiers
+    exchange.setProperty(CamelBeeConstants.CAMELBEE_PRODUCED_EXCHANGE, "true");
+    exchange.getIn().setHeaders(createHeaders(produceMessage));
+    exchange.getIn().setBody(createRequest(produceMessage));
+
+    return exchange;
+  }
+
+  /**
+   * Creates the headers of the exchange.
+   *
+   * @param produceMessage The ProduceMessage.
+   * @return Map The headers.
+   */
+  private Map<String, Object> createHeaders(ProduceMessage produceMessage) {
+    return produceMessage.getHeaders().getHeaders().stream()
+        .collect(Collectors.toMap(p -> p.getKey(), p -> p.getValue()));
+  }
+
+  /**
+   * Creates the request body of the exchange.
+   *
+   * @param produceMessage The ProduceMessage.
+   * @return Object The request body.
+   * @throws Exception if the json message can not be read.
+   */
+  private Object createRequest(ProduceMessage produceMessage) throws Exception {
+
+    final Object request;
+
+    if (produceMessage.getMediaType() != null && produceMessage.getMediaType().equals("json")
+        && !StringUtils.isEmpty(produceMessage.getClazz())) {
+      request = producerTargetRegistry.readPayload(produceMessage.getMessage(), produceMessage.getClazz());
+
+    } else if (produceMessage.getMediaType() != null && produceMessage.getMediaType().equals("xml")) {
+
+      request = produceMessage.getMessage();
+
+    } else {
+      request = produceMessage.getMessage();
     }
+
+    return request;
+  }
+
+  /**
+   * Replaces the placeholders with the actual environment variables.
+   *
+   * @param routeName The route name.
+   * @return String The adjusted route name.
+   */
+  public String adjustRouteName(String routeName) {
+    return ProducerTargetRegistry.adjustRouteName(routeName);
   }
 
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.debugger.controller;
+
+import io.quarkus.arc.properties.IfBuildProperty;
+import jakarta.inject.Inject;
+import jakarta.validation.Valid;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.DELETE;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.POST;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.PathParam;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.QueryParam;
+import jakarta.ws.rs.core.Response;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import org.camelbee.debugger.model.replay.ReplayRequest;
+import org.camelbee.debugger.model.replay.ReplayStatus;
+import org.camelbee.debugger.service.ReplayService;
+
+/**
+ * ReplayController replays captured traffic into the consumer routes.
+ */
+@Path("/")
+@IfBuildProperty(name = "camelbee.context-enabled", stringValue = "true")
+@IfBuildProperty(name = "camelbee.producer-enabled", stringValue = "true")
+public class ReplayController {
+
+  @Inject
+  ReplayService replayService;
+
+  /**
+   * Replays the requests captured by the tracer in the given window.
+   *
+   * @param replayRequest The ReplayRequest.
+   * @return ReplayStatus The status of the started replay.
+   */
+  @POST
+  @Consumes("application/json")
+  @Produces("application/json")
+  @Path("/camelbee/replay")
+  public Response replayCaptured(@Valid ReplayRequest replayRequest) {
+    try {
+      return Response.accepted(replayService.startCaptured(replayRequest)).build();
+    } catch (IllegalArgumentException e) {
+      return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+    } catch (RejectedExecutionException e) {
+      return Response.status(Response.Status.TOO_MANY_REQUESTS).entity(e.getMessage()).build();
+    }
+  }
+
+  /**
+   * Replays the requests of an uploaded capture file.
+   *
+   * @param capture             The traced messages as JSON or the JSON Lines of the trace file sink.
+   * @param routeIds            The routes to replay, all routes if empty.
+   * @param speed               The speed factor of the original timing, 0 to replay as fast as possible.
+   * @param concurrencyPerRoute The number of concurrent requests per route.
+   * @return ReplayStatus The status of the started replay.
+   */
+  @POST
+  @Produces("application/json")
+  @Path("/camelbee/replay/upload")
+  public Response replayUploaded(String capture, @QueryParam("routeIds") List<String> routeIds,
+      @QueryParam("speed") Double speed, @QueryParam("concurrencyPerRoute") Integer concurrencyPerRoute) {
+    try {
+      return Response.accepted(replayService.startUploaded(capture,
+          new ReplayRequest(null, null, routeIds, speed, concurrencyPerRoute, null))).build();
+    } catch (IllegalArgumentException | IOException e) {
+      return Response.status(Response.Status.BAD_REQUEST).entity(e.getMessage()).build();
+    } catch (RejectedExecutionException e) {
+      return Response.status(Response.Status.TOO_MANY_REQUESTS).entity(e.getMessage()).build();
+    }
+  }
+
+  /**
+   * Returns the status of a replay with the latency comparison per route.
+   *
+   * @param id The id of the replay.
+   * @return ReplayStatus The status.
+   */
+  @GET
+  @Produces("application/json")
+  @Path("/camelbee/replay/{id}")
+  public Response getReplay(@PathParam("id") String id) {
+    ReplayStatus status = replayService.getStatus(id);
+    return status != null ? Response.ok(status).build() : Response.status(Response.Status.NOT_FOUND).build();
+  }
+
+  /**
+   * Cancels a replay.
+   *
+   * @param id The id of the replay.
+   * @return ReplayStatus The status.
+   */
+  @DELETE
+  @Produces("application/json")
+  @Path("/camelbee/replay/{id}")
+  public Response cancelReplay(@PathParam("id") String id) {
+    ReplayStatus status = replayService.cancel(id);
+    return status != null ? Response.ok(status).build() : Response.status(Response.Status.NOT_FOUND).build();
+  }
+
+}
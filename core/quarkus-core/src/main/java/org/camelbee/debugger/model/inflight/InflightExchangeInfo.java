@@ -0,0 +1,114 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.debugger.model.inflight;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * InflightExchangeInfo, a snapshot of an inflight exchange.
+ */
+@RegisterForReflection
+public class InflightExchangeInfo {
+
+  private final String exchangeId;
+
+  private final String fromRouteId;
+
+  private final String atRouteId;
+
+  private final String nodeId;
+
+  private final long duration;
+
+  private final long elapsed;
+
+  private final String breadcrumbId;
+
+  private final String requestId;
+
+  private final String transactionId;
+
+  private final long timeStamp;
+
+  /**
+   * Constructor.
+   *
+   * @param exchangeId    The exchangeId.
+   * @param fromRouteId   The id of the route the exchange was created in.
+   * @param atRouteId     The id of the route the exchange is currently in.
+   * @param nodeId        The id of the node the exchange is currently at.
+   * @param duration      The milliseconds since the exchange was created.
+   * @param elapsed       The milliseconds the exchange spent at the current node.
+   * @param breadcrumbId  The breadcrumbId.
+   * @param requestId     The requestId.
+   * @param transactionId The transactionId.
+   * @param timeStamp     The epoch milliseconds of the snapshot.
+   */
+  public InflightExchangeInfo(String exchangeId, String fromRouteId, String atRouteId, String nodeId, long duration,
+      long elapsed, String breadcrumbId, String requestId, String transactionId, long timeStamp) {
+    this.exchangeId = exchangeId;
+    this.fromRouteId = fromRouteId;
+    this.atRouteId = atRouteId;
+    this.nodeId = nodeId;
+    this.duration = duration;
+    this.elapsed = elapsed;
+    this.breadcrumbId = breadcrumbId;
+    this.requestId = requestId;
+    this.transactionId = transactionId;
+    this.timeStamp = timeStamp;
+  }
+
+  public String getExchangeId() {
+    return exchangeId;
+  }
+
+  public String getFromRouteId() {
+    return fromRouteId;
+  }
+
+  public String getAtRouteId() {
+    return atRouteId;
+  }
+
+  public String getNodeId() {
+    return nodeId;
+  }
+
+  public long getDuration() {
+    return duration;
+  }
+
+  public long getElapsed() {
+    return elapsed;
+  }
+
+  public String getBreadcrumbId() {
+    return breadcrumbId;
+  }
+
+  public String getRequestId() {
+    return requestId;
+  }
+
+  public String getTransactionId() {
+    return transactionId;
+  }
+
+  public long getTimeStamp() {
+    return timeStamp;
+  }
+}
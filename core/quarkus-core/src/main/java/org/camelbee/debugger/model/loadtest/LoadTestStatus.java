@@ -0,0 +1,154 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.debugger.model.loadtest;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * LoadTestStatus, the progress of a load test with its throughput and latency histogram.
+ */
+@RegisterForReflection
+public class LoadTestStatus {
+
+  /**
+   * The state of a load test.
+   */
+  public enum State {
+    RUNNING, COMPLETED, CANCELLED
+  }
+
+  private final String id;
+
+  private final State state;
+
+  private final long sent;
+
+  private final long succeeded;
+
+  private final long failed;
+
+  private final long elapsedMillis;
+
+  private final double throughput;
+
+  private final long[] latencyBucketsMillis;
+
+  private final long[] latencyCounts;
+
+  private final double latencyAvgMillis;
+
+  private final long latencyMaxMillis;
+
+  private final long latencyP50Millis;
+
+  private final long latencyP90Millis;
+
+  private final long latencyP99Millis;
+
+  /**
+   * Constructor.
+   *
+   * @param id                   The id.
+   * @param state                The state.
+   * @param sent                 The number of sent exchanges.
+   * @param succeeded            The number of succeeded exchanges.
+   * @param failed               The number of failed exchanges.
+   * @param elapsedMillis        The elapsed time in milliseconds.
+   * @param throughput           The completed exchanges per second.
+   * @param latencyBucketsMillis The upper bounds of the latency buckets in milliseconds, the last bucket is unbounded.
+   * @param latencyCounts        The number of exchanges per latency bucket.
+   * @param latencyAvgMillis     The average latency in milliseconds.
+   * @param latencyMaxMillis     The maximum latency in milliseconds.
+   * @param latencyP50Millis     The upper bound of the bucket containing the 50th percentile.
+   * @param latencyP90Millis     The upper bound of the bucket containing the 90th percentile.
+   * @param latencyP99Millis     The upper bound of the bucket containing the 99th percentile.
+   */
+  public LoadTestStatus(String id, State state, long sent, long succeeded, long failed, long elapsedMillis,
+      double throughput, long[] latencyBucketsMillis, long[] latencyCounts, double latencyAvgMillis,
+      long latencyMaxMillis, long latencyP50Millis, long latencyP90Millis, long latencyP99Millis) {
+    this.id = id;
+    this.state = state;
+    this.sent = sent;
+    this.succeeded = succeeded;
+    this.failed = failed;
+    this.elapsedMillis = elapsedMillis;
+    this.throughput = throughput;
+    this.latencyBucketsMillis = latencyBucketsMillis;
+    this.latencyCounts = latencyCounts;
+    this.latencyAvgMillis = latencyAvgMillis;
+    this.latencyMaxMillis = latencyMaxMillis;
+    this.latencyP50Millis = latencyP50Millis;
+    this.latencyP90Millis = latencyP90Millis;
+    this.latencyP99Millis = latencyP99Millis;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public State getState() {
+    return state;
+  }
+
+  public long getSent() {
+    return sent;
+  }
+
+  public long getSucceeded() {
+    return succeeded;
+  }
+
+  public long getFailed() {
+    return failed;
+  }
+
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+
+  public double getThroughput() {
+    return throughput;
+  }
+
+  public long[] getLatencyBucketsMillis() {
+    return latencyBucketsMillis;
+  }
+
+  public long[] getLatencyCounts() {
+    return latencyCounts;
+  }
+
+  public double getLatencyAvgMillis() {
+    return latencyAvgMillis;
+  }
+
+  public long getLatencyMaxMillis() {
+    return latencyMaxMillis;
+  }
+
+  public long getLatencyP50Millis() {
+    return latencyP50Millis;
+  }
+
+  public long getLatencyP90Millis() {
+    return latencyP90Millis;
+  }
+
+  public long getLatencyP99Millis() {
+    return latencyP99Millis;
+  }
+}
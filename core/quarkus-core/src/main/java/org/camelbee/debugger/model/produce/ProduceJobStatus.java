@@ -0,0 +1,89 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.debugger.model.produce;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import java.util.List;
+
+/**
+ * ProduceJobStatus, the progress and the results of an asynchronous produce job.
+ */
+@RegisterForReflection
+public class ProduceJobStatus {
+
+  /**
+   * The state of a produce job.
+   */
+  public enum State {
+    RUNNING, COMPLETED, CANCELLED
+  }
+
+  private final String id;
+
+  private final State state;
+
+  private final int total;
+
+  private final int completed;
+
+  private final int failed;
+
+  private final List<ProduceJobResult> results;
+
+  /**
+   * Constructor.
+   *
+   * @param id        The id.
+   * @param state     The state.
+   * @param total     The number of messages.
+   * @param completed The number of completed messages.
+   * @param failed    The number of failed messages.
+   * @param results   The results of the completed messages ordered by their index.
+   */
+  public ProduceJobStatus(String id, State state, int total, int completed, int failed, List<ProduceJobResult> results) {
+    this.id = id;
+    this.state = state;
+    this.total = total;
+    this.completed = completed;
+    this.failed = failed;
+    this.results = results;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public State getState() {
+    return state;
+  }
+
+  public int getTotal() {
+    return total;
+  }
+
+  public int getCompleted() {
+    return completed;
+  }
+
+  public int getFailed() {
+    return failed;
+  }
+
+  public List<ProduceJobResult> getResults() {
+    return results;
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.debugger.model.replay;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * LatencySummary, the latency statistics of the requests of a route in one run.
+ */
+@RegisterForReflection
+public class LatencySummary {
+
+  private final long count;
+
+  private final double avgMillis;
+
+  private final long p50Millis;
+
+  private final long p90Millis;
+
+  private final long p99Millis;
+
+  private final long maxMillis;
+
+  /**
+   * Constructor.
+   *
+   * @param count     The number of requests with a known latency.
+   * @param avgMillis The average latency in milliseconds.
+   * @param p50Millis The median latency in milliseconds.
+   * @param p90Millis The 90th percentile latency in milliseconds.
+   * @param p99Millis The 99th percentile latency in milliseconds.
+   * @param maxMillis The maximum latency in milliseconds.
+   */
+  public LatencySummary(long count, double avgMillis, long p50Millis, long p90Millis, long p99Millis, long maxMillis) {
+    this.count = count;
+    this.avgMillis = avgMillis;
+    this.p50Millis = p50Millis;
+    this.p90Millis = p90Millis;
+    this.p99Millis = p99Millis;
+    this.maxMillis = maxMillis;
+  }
+
+  public long getCount() {
+    return count;
+  }
+
+  public double getAvgMillis() {
+    return avgMillis;
+  }
+
+  public long getP50Millis() {
+    return p50Millis;
+  }
+
+  public long getP90Millis() {
+    return p90Millis;
+  }
+
+  public long getP99Millis() {
+    return p99Millis;
+  }
+
+  public long getMaxMillis() {
+    return maxMillis;
+  }
+}
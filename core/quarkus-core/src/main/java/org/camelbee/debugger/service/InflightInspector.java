@@ -0,0 +1,263 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.debugger.service;
+
+import io.quarkus.runtime.StartupEvent;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Route;
+import org.apache.camel.spi.InflightRepository;
+import org.apache.camel.spi.InflightRepository.InflightExchange;
+import org.camelbee.debugger.model.inflight.InflightExchangeInfo;
+import org.camelbee.debugger.model.inflight.InflightReport;
+import org.camelbee.logging.model.RequestContext;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Inspects the inflight exchanges of the Camel InflightRepository and detects the stuck ones.
+ * An exchange is stuck when it is inflight longer than the threshold of its current route, the latest stuck exchanges
+ * are kept as bounded snapshots so that they can still be inspected after they complete or time out.
+ */
+@ApplicationScoped
+public class InflightInspector {
+
+  /**
+   * The logger.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(InflightInspector.class);
+
+  private final CamelContext camelContext;
+  private final boolean enabled;
+  private final long threshold;
+  private final Map<String, Long> routeThresholds;
+  private final long checkInterval;
+  private final int maxSnapshots;
+
+  private final Map<String, InflightExchangeInfo> stuckSnapshots;
+
+  private volatile Map<String, Integer> stuckCountPerRoute = Map.of();
+
+  private volatile int stuckCount;
+
+  private long stuckTotal;
+
+  private ScheduledExecutorService scheduler;
+
+  /**
+   * Constructor.
+   *
+   * @param camelContext    The camelContext.
+   * @param enabled         The enabled.
+   * @param threshold       The default stuck threshold in milliseconds.
+   * @param routeThresholds The stuck thresholds per route as routeId=milliseconds pairs separated by commas.
+   * @param checkInterval   The interval of the stuck exchange detection in milliseconds.
+   * @param maxSnapshots    The number of stuck exchange snapshots kept.
+   */
+  public InflightInspector(CamelContext camelContext,
+      @ConfigProperty(name = "camelbee.inflight-enabled", defaultValue = "false") boolean enabled,
+      @ConfigProperty(name = "camelbee.stuck-exchange-threshold", defaultValue = "30000") long threshold,
+      @ConfigProperty(name = "camelbee.stuck-exchange-route-thresholds") Optional<String> routeThresholds,
+      @ConfigProperty(name = "camelbee.stuck-exchange-check-interval", defaultValue = "5000") long checkInterval,
+      @ConfigProperty(name = "camelbee.stuck-exchange-snapshots", defaultValue = "100") int maxSnapshots) {
+    this.camelContext = camelContext;
+    this.enabled = enabled;
+    this.threshold = threshold;
+    this.routeThresholds = parseRouteThresholds(routeThresholds.orElse(null));
+    this.checkInterval = Math.max(1, checkInterval);
+    this.maxSnapshots = Math.max(1, maxSnapshots);
+    this.stuckSnapshots = new LinkedHashMap<>(16, 0.75f, false) {
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, InflightExchangeInfo> eldest) {
+        return size() > InflightInspector.this.maxSnapshots;
+      }
+    };
+  }
+
+  /**
+   * Starts the inspector at startup.
+   *
+   * @param ev The StartupEvent.
+   */
+  void onStart(@Observes StartupEvent ev) {
+    start();
+  }
+
+  /**
+   * Enables browsing the inflight repository and starts the stuck exchange detector if the inspector is enabled.
+   */
+  public void start() {
+    if (!enabled || scheduler != null) {
+      return;
+    }
+    camelContext.getInflightRepository().setInflightBrowseEnabled(true);
+    scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "camelbee-stuck-exchange-detector");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleWithFixedDelay(this::detectStuckExchanges, checkInterval, checkInterval, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops the stuck exchange detector.
+   */
+  @PreDestroy
+  public void stop() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      scheduler = null;
+    }
+  }
+
+  /**
+   * Returns the oldest inflight exchanges per route together with the stuck exchanges.
+   *
+   * @param limit The maximum number of exchanges per route.
+   * @return the report.
+   */
+  public InflightReport getReport(int limit) {
+
+    InflightRepository inflightRepository = camelContext.getInflightRepository();
+
+    Map<String, List<InflightExchangeInfo>> routes = new LinkedHashMap<>();
+
+    for (Route route : camelContext.getRoutes()) {
+      if (inflightRepository.size(route.getId()) > 0) {
+        List<InflightExchangeInfo> exchanges = inflightRepository.browse(route.getId(), limit, true).stream()
+            .map(InflightInspector::toInfo)
+            .toList();
+        if (!exchanges.isEmpty()) {
+          routes.put(route.getId(), exchanges);
+        }
+      }
+    }
+
+    synchronized (this) {
+      return new InflightReport(inflightRepository.size(), routes, stuckCount, stuckTotal, stuckCountPerRoute,
+          List.copyOf(stuckSnapshots.values()));
+    }
+  }
+
+  /**
+   * Flags the exchanges which are inflight longer than the threshold of their current route.
+   *
+   * @return the number of currently stuck exchanges.
+   */
+  public int detectStuckExchanges() {
+    try {
+      final Collection<InflightExchange> inflightExchanges = camelContext.getInflightRepository().browse(-1, true);
+      final long minThreshold = routeThresholds.values().stream().reduce(threshold, Math::min);
+
+      Map<String, Integer> countPerRoute = new HashMap<>();
+      List<InflightExchangeInfo> stuck = new ArrayList<>();
+
+      for (InflightExchange inflightExchange : inflightExchanges) {
+        if (inflightExchange.getDuration() < minThreshold) {
+          // sorted by the longest duration, the rest is younger
+          break;
+        }
+        String routeId = inflightExchange.getAtRouteId() != null ? inflightExchange.getAtRouteId()
+            : inflightExchange.getFromRouteId();
+        if (inflightExchange.getDuration() >= routeThresholds.getOrDefault(routeId, threshold)) {
+          countPerRoute.merge(routeId, 1, Integer::sum);
+          stuck.add(toInfo(inflightExchange));
+        }
+      }
+
+      synchronized (this) {
+        for (InflightExchangeInfo info : stuck) {
+          if (stuckSnapshots.remove(info.getExchangeId()) == null) {
+            stuckTotal++;
+            LOGGER.warn("Stuck exchange detected: exchangeId={} routeId={} nodeId={} duration={}ms",
+                info.getExchangeId(), info.getAtRouteId(), info.getNodeId(), info.getDuration());
+          }
+          stuckSnapshots.put(info.getExchangeId(), info);
+        }
+        stuckCountPerRoute = Map.copyOf(countPerRoute);
+        stuckCount = stuck.size();
+      }
+
+      return stuck.size();
+
+    } catch (Exception e) {
+      LOGGER.warn("Could not detect the stuck exchanges with exception: {}", e.getMessage());
+      return stuckCount;
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public int getStuckCount() {
+    return stuckCount;
+  }
+
+  private static InflightExchangeInfo toInfo(InflightExchange inflightExchange) {
+
+    Exchange exchange = inflightExchange.getExchange();
+    RequestContext requestContext = RequestContext.from(exchange);
+
+    return new InflightExchangeInfo(exchange.getExchangeId(), inflightExchange.getFromRouteId(),
+        inflightExchange.getAtRouteId(), inflightExchange.getNodeId(), inflightExchange.getDuration(),
+        inflightExchange.getElapsed(), exchange.getIn().getHeader(Exchange.BREADCRUMB_ID, String.class),
+        requestContext != null ? requestContext.requestIdString() : null,
+        requestContext != null ? requestContext.transactionIdString() : null,
+        System.currentTimeMillis());
+  }
+
+  private static Map<String, Long> parseRouteThresholds(String routeThresholds) {
+
+    Map<String, Long> thresholds = new HashMap<>();
+
+    if (routeThresholds == null || routeThresholds.isBlank()) {
+      return thresholds;
+    }
+
+    for (String pair : routeThresholds.split(",")) {
+      String[] parts = pair.split("=");
+      if (parts.length == 2) {
+        try {
+          thresholds.put(parts[0].trim(), Long.parseLong(parts[1].trim()));
+        } catch (NumberFormatException e) {
+          LOGGER.warn("Invalid stuck exchange threshold: {}", pair);
+        }
+      } else {
+        LOGGER.warn("Invalid stuck exchange threshold: {}", pair);
+      }
+    }
+
+    return thresholds;
+  }
+
+}
@@ -0,0 +1,274 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.debugger.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Encodes the trace and topology payloads in the format negotiated with the Accept header.
+ * Besides the plain JSON objects, the payloads are available in a columnar JSON form where every array of objects
+ * is turned into one array per field, and as CBOR of the columnar form. Any of them can be gzip compressed.
+ * The payloads are written with the ObjectMapper of the application, the CBOR form with a copy of it on a CBORFactory.
+ */
+@ApplicationScoped
+public class PayloadEncoder {
+
+  /**
+   * The media type of the columnar JSON form.
+   */
+  public static final String COLUMNAR_JSON_MEDIA_TYPE = "application/vnd.camelbee.columnar+json";
+
+  /**
+   * The media type of the CBOR form.
+   */
+  public static final String CBOR_MEDIA_TYPE = "application/cbor";
+
+  private static final Pattern ZERO_QUALITY_PATTERN = Pattern.compile("q=0(\\.0*)?");
+
+  private final ObjectMapper jsonMapper;
+
+  private final ObjectMapper cborMapper;
+
+  /**
+   * The supported payload formats.
+   */
+  public enum Format {
+
+    JSON("application/json"), COLUMNAR_JSON(COLUMNAR_JSON_MEDIA_TYPE), CBOR(CBOR_MEDIA_TYPE);
+
+    private final String mediaType;
+
+    Format(String mediaType) {
+      this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+      return mediaType;
+    }
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param objectMapper The objectMapper of the application.
+   */
+  public PayloadEncoder(ObjectMapper objectMapper) {
+    this.jsonMapper = objectMapper;
+    this.cborMapper = objectMapper.copyWith(new CBORFactory());
+  }
+
+  /**
+   * Returns the ObjectMapper the given format is written with.
+   *
+   * @param format The format.
+   * @return the CBOR mapper for CBOR, the JSON mapper otherwise.
+   */
+  ObjectMapper mapper(Format format) {
+    return format == Format.CBOR ? cborMapper : jsonMapper;
+  }
+
+  /**
+   * Selects the format with the highest quality in the Accept header, JSON if none of the others is accepted.
+   *
+   * @param accept The Accept header.
+   * @return the format.
+   */
+  public static Format negotiate(String accept) {
+
+    if (accept == null) {
+      return Format.JSON;
+    }
+
+    Format selected = Format.JSON;
+    double selectedQuality = 0;
+
+    for (String range : accept.split(",")) {
+
+      String[] parts = range.trim().split(";");
+      Format format = toFormat(parts[0].trim());
+
+      double quality = 1;
+      for (int i = 1; i < parts.length; i++) {
+        String parameter = parts[i].trim();
+        if (parameter.startsWith("q=")) {
+          quality = parseQuality(parameter.substring(2));
+        }
+      }
+
+      if (format != null && quality > selectedQuality) {
+        selected = format;
+        selectedQuality = quality;
+      }
+    }
+
+    return selected;
+  }
+
+  private static Format toFormat(String mediaType) {
+    for (Format format : Format.values()) {
+      if (format.getMediaType().equalsIgnoreCase(mediaType)) {
+        return format;
+      }
+    }
+    return "*/*".equals(mediaType) || "application/*".equalsIgnoreCase(mediaType) ? Format.JSON : null;
+  }
+
+  private static double parseQuality(String quality) {
+    try {
+      return Double.parseDouble(quality);
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  /**
+   * Encodes the payload in the given format.
+   *
+   * @param payload The payload.
+   * @param format  The format.
+   * @return the encoded payload.
+   */
+  public byte[] encode(Object payload, Format format) {
+    try {
+      return switch (format) {
+        case JSON -> jsonMapper.writeValueAsBytes(payload);
+        case COLUMNAR_JSON -> jsonMapper.writeValueAsBytes(columnar(jsonMapper.valueToTree(payload)));
+        case CBOR -> cborMapper.writeValueAsBytes(columnar(jsonMapper.valueToTree(payload)));
+      };
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException("Could not encode the payload as " + format, e);
+    }
+  }
+
+  /**
+   * Turns every array of objects among the fields of the given object into an object of field arrays.
+   *
+   * @param tree The payload tree.
+   * @return the columnar tree.
+   */
+  static JsonNode columnar(JsonNode tree) {
+
+    if (!(tree instanceof ObjectNode object)) {
+      return tree;
+    }
+
+    final List<String> names = new ArrayList<>();
+    object.fieldNames().forEachRemaining(names::add);
+
+    for (String name : names) {
+      if (object.get(name) instanceof ArrayNode rows && isArrayOfObjects(rows)) {
+        object.set(name, toColumns(rows));
+      }
+    }
+
+    return object;
+  }
+
+  private static boolean isArrayOfObjects(ArrayNode rows) {
+    for (JsonNode row : rows) {
+      if (!row.isObject()) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static ObjectNode toColumns(ArrayNode rows) {
+
+    final Map<String, ArrayNode> columns = new LinkedHashMap<>();
+
+    for (int i = 0; i < rows.size(); i++) {
+      Iterator<Map.Entry<String, JsonNode>> fields = rows.get(i).fields();
+      while (fields.hasNext()) {
+        Map.Entry<String, JsonNode> field = fields.next();
+        ArrayNode column = columns.get(field.getKey());
+        if (column == null) {
+          column = rows.arrayNode();
+          for (int j = 0; j < i; j++) {
+            column.addNull();
+          }
+          columns.put(field.getKey(), column);
+        }
+        column.add(field.getValue());
+      }
+      for (ArrayNode column : columns.values()) {
+        if (column.size() == i) {
+          column.addNull();
+        }
+      }
+    }
+
+    final ObjectNode columnar = rows.objectNode();
+    columns.forEach(columnar::set);
+    return columnar;
+  }
+
+  /**
+   * Compresses the encoded payload with gzip.
+   *
+   * @param payload The encoded payload.
+   * @return the compressed payload.
+   */
+  public static byte[] gzip(byte[] payload) {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(payload.length / 4 + 64);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+      gzip.write(payload);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Could not compress the payload", e);
+    }
+    return bytes.toByteArray();
+  }
+
+  /**
+   * Checks if the Accept-Encoding header allows a gzip compressed response.
+   *
+   * @param acceptEncoding The Accept-Encoding header.
+   * @return true if gzip is accepted.
+   */
+  public static boolean acceptsGzip(String acceptEncoding) {
+
+    if (acceptEncoding == null) {
+      return false;
+    }
+
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.trim().split(";");
+      if (parts[0].trim().equalsIgnoreCase("gzip")) {
+        return parts.length == 1 || !ZERO_QUALITY_PATTERN.matcher(parts[1].replace(" ", "")).matches();
+      }
+    }
+
+    return false;
+  }
+
+}
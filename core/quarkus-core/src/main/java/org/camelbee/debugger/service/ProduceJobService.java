@@ -0,0 +1,320 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.debugger.service;
+
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.Cancellable;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.camelbee.debugger.model.produce.ProduceJobResult;
+import org.camelbee.debugger.model.produce.ProduceJobStatus;
+import org.camelbee.debugger.model.produce.ProduceJobStatus.State;
+import org.camelbee.debugger.model.produce.ProduceMessage;
+import org.camelbee.utils.UuidResolver;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sends produce messages asynchronously and keeps their results for polling.
+ * The messages of a job are handed over to the ProducerTemplate with asyncSend and merged as Mutiny Unis, at most
+ * the given number of them are in flight at the same time, so the calling thread returns right after the job is registered.
+ */
+@ApplicationScoped
+public class ProduceJobService {
+
+  /**
+   * The logger.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(ProduceJobService.class);
+
+  private final ProducerTemplate producerTemplate;
+  private final ProducerTargetRegistry producerTargetRegistry;
+  private final int maxConcurrency;
+  private final int maxBatchSize;
+  private final int retainedJobs;
+  private final int maxActiveJobs;
+
+  private final Map<String, ProduceJob> jobs;
+
+  /**
+   * Functional interface to create the exchange of a produce message.
+   */
+  @FunctionalInterface
+  public interface ExchangeFactory {
+
+    /**
+     * Creates the exchange.
+     *
+     * @param produceMessage The produce message.
+     * @return the exchange.
+     * @throws Exception if the exchange can not be created.
+     */
+    Exchange create(ProduceMessage produceMessage) throws Exception;
+  }
+
+  /**
+   * Constructor.
+   *
+   * @param producerTemplate       The producerTemplate.
+   * @param producerTargetRegistry The producerTargetRegistry.
+   * @param maxConcurrency         The maximum number of messages of a job in flight at the same time.
+   * @param maxBatchSize           The maximum number of messages of a job.
+   * @param retainedJobs           The number of jobs kept for the status queries.
+   * @param maxActiveJobs          The maximum number of jobs running at the same time.
+   */
+  public ProduceJobService(ProducerTemplate producerTemplate, ProducerTargetRegistry producerTargetRegistry,
+      @ConfigProperty(name = "camelbee.produce-batch-max-concurrency", defaultValue = "16") int maxConcurrency,
+      @ConfigProperty(name = "camelbee.produce-batch-max-size", defaultValue = "1000") int maxBatchSize,
+      @ConfigProperty(name = "camelbee.produce-jobs-retained", defaultValue = "100") int retainedJobs,
+      @ConfigProperty(name = "camelbee.produce-jobs-max-active", defaultValue = "10") int maxActiveJobs) {
+    this.producerTemplate = producerTemplate;
+    this.producerTargetRegistry = producerTargetRegistry;
+    this.maxConcurrency = Math.max(1, maxConcurrency);
+    this.maxBatchSize = Math.max(1, maxBatchSize);
+    this.retainedJobs = Math.max(1, retainedJobs);
+    this.maxActiveJobs = Math.max(1, maxActiveJobs);
+    this.jobs = new LinkedHashMap<>();
+  }
+
+  /**
+   * Submits a produce job.
+   *
+   * @param produceMessages The messages to send.
+   * @param concurrency     The number of messages in flight at the same time, defaults to the maximum.
+   * @param exchangeFactory Creates the exchange of each message.
+   * @return the status of the submitted job.
+   * @throws IllegalArgumentException   if there are no or too many messages or the concurrency is invalid.
+   * @throws RejectedExecutionException if the maximum number of jobs is already running.
+   */
+  public ProduceJobStatus submit(List<ProduceMessage> produceMessages, Integer concurrency, ExchangeFactory exchangeFactory) {
+
+    if (produceMessages == null || produceMessages.isEmpty() || produceMessages.size() > maxBatchSize) {
+      throw new IllegalArgumentException("the number of messages must be between 1 and " + maxBatchSize);
+    }
+
+    int permits = concurrency != null ? concurrency : maxConcurrency;
+
+    if (permits < 1 || permits > maxConcurrency) {
+      throw new IllegalArgumentException("concurrency must be between 1 and " + maxConcurrency);
+    }
+
+    ProduceJob job = new ProduceJob(UuidResolver.generate().toString(), List.copyOf(produceMessages), exchangeFactory);
+
+    synchronized (jobs) {
+      if (jobs.values().stream().filter(ProduceJob::isRunning).count() >= maxActiveJobs) {
+        throw new RejectedExecutionException("at most " + maxActiveJobs + " produce jobs can run at the same time");
+      }
+      jobs.put(job.id, job);
+      evictFinished();
+    }
+
+    job.start(permits);
+
+    return job.status();
+  }
+
+  /**
+   * Returns the status of a produce job.
+   *
+   * @param id The id of the job.
+   * @return the status, or null if the job is unknown.
+   */
+  public ProduceJobStatus getStatus(String id) {
+    ProduceJob job = find(id);
+    return job != null ? job.status() : null;
+  }
+
+  /**
+   * Waits until the produce job is finished.
+   *
+   * @param id            The id of the job.
+   * @param timeoutMillis The maximum time to wait in milliseconds.
+   * @return true if the job is finished or unknown, false if it is still running.
+   * @throws InterruptedException if the waiting thread is interrupted.
+   */
+  public boolean awaitCompletion(String id, long timeoutMillis) throws InterruptedException {
+    ProduceJob job = find(id);
+    return job == null || job.finished.await(timeoutMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Cancels the pending messages of the running jobs.
+   */
+  @PreDestroy
+  public void stop() {
+    synchronized (jobs) {
+      jobs.values().forEach(ProduceJob::cancel);
+    }
+  }
+
+  /**
+   * Removes the oldest finished jobs beyond the retained number, running jobs are kept.
+   */
+  private void evictFinished() {
+    Iterator<ProduceJob> iterator = jobs.values().iterator();
+    while (jobs.size() > retainedJobs && iterator.hasNext()) {
+      if (!iterator.next().isRunning()) {
+        iterator.remove();
+      }
+    }
+  }
+
+  private ProduceJob find(String id) {
+    synchronized (jobs) {
+      return jobs.get(id);
+    }
+  }
+
+  /**
+   * A running or finished produce job.
+   */
+  private final class ProduceJob {
+
+    private final String id;
+    private final List<ProduceMessage> produceMessages;
+    private final ExchangeFactory exchangeFactory;
+    private final AtomicReferenceArray<ProduceJobResult> results;
+    private final AtomicInteger completed = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    private volatile boolean cancelled;
+
+    private Cancellable subscription;
+
+    ProduceJob(String id, List<ProduceMessage> produceMessages, ExchangeFactory exchangeFactory) {
+      this.id = id;
+      this.produceMessages = produceMessages;
+      this.exchangeFactory = exchangeFactory;
+      this.results = new AtomicReferenceArray<>(produceMessages.size());
+    }
+
+    void start(int concurrency) {
+      subscription = Multi.createFrom().range(0, produceMessages.size())
+          .onItem().transformToUni(this::send).merge(concurrency)
+          .subscribe().with(this::record, failure -> LOGGER.warn("Produce job {} failed with exception: {}", id, failure));
+    }
+
+    void cancel() {
+      if (subscription != null && isRunning()) {
+        cancelled = true;
+        subscription.cancel();
+        for (int i = 0; i < produceMessages.size(); i++) {
+          record(new ProduceJobResult(i, null, "cancelled", 0));
+        }
+      }
+    }
+
+    boolean isRunning() {
+      return finished.getCount() > 0;
+    }
+
+    private Uni<ProduceJobResult> send(int index) {
+
+      final long sendStart = System.nanoTime();
+
+      final CompletableFuture<Exchange> future;
+
+      try {
+        ProduceMessage produceMessage = produceMessages.get(index);
+        Exchange exchange = exchangeFactory.create(produceMessage);
+        future = producerTemplate.asyncSend(producerTargetRegistry.getEndpoint(produceMessage.getRouteName()), exchange);
+      } catch (Exception e) {
+        return Uni.createFrom().item(createResult(index, null, e.getLocalizedMessage(), sendStart));
+      }
+
+      return Uni.createFrom().completionStage(future)
+          .onItemOrFailure().transform((result, throwable) -> complete(index, result, throwable, sendStart));
+    }
+
+    private ProduceJobResult complete(int index, Exchange result, Throwable throwable, long sendStart) {
+
+      if (throwable != null) {
+        return createResult(index, null, throwable.getLocalizedMessage(), sendStart);
+      }
+
+      String response;
+      try {
+        response = result.getMessage().getBody(String.class);
+      } catch (Exception e) {
+        response = null;
+      }
+
+      Integer responseCode = result.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class);
+
+      if (result.getException() != null) {
+        return createResult(index, response, result.getException().getLocalizedMessage(), sendStart);
+      } else if (responseCode != null && responseCode >= 400) {
+        return createResult(index, response, "HTTP " + responseCode, sendStart);
+      } else {
+        return createResult(index, response, null, sendStart);
+      }
+    }
+
+    private ProduceJobResult createResult(int index, String response, String error, long sendStart) {
+      return new ProduceJobResult(index, response, error, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sendStart));
+    }
+
+    private void record(ProduceJobResult result) {
+
+      if (!results.compareAndSet(result.getIndex(), null, result)) {
+        return;
+      }
+
+      if (result.getError() != null) {
+        failed.incrementAndGet();
+      }
+
+      if (completed.incrementAndGet() == produceMessages.size()) {
+        finished.countDown();
+        LOGGER.info("Produce job {} finished: total={} failed={}", id, produceMessages.size(), failed.get());
+      }
+    }
+
+    ProduceJobStatus status() {
+
+      final List<ProduceJobResult> completedResults = new ArrayList<>();
+      for (int i = 0; i < results.length(); i++) {
+        ProduceJobResult result = results.get(i);
+        if (result != null) {
+          completedResults.add(result);
+        }
+      }
+
+      final State state = isRunning() ? State.RUNNING : cancelled ? State.CANCELLED : State.COMPLETED;
+
+      return new ProduceJobStatus(id, state, produceMessages.size(),
+          completed.get(), failed.get(), completedResults);
+    }
+  }
+
+}
@@ -7,9 +7,14 @@ import jakarta.inject.Inject;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import org.apache.camel.CamelContext;
@@ -43,6 +48,8 @@ public class RouteContextService {
 
   private static final Pattern PLACEHOLDER_PATTERN = Pattern.compile("\\{\\{(.*?)}}");
 
+  private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
   /**
    * The logger.
    */
@@ -54,7 +61,11 @@ public class RouteContextService {
   @Inject
   Config config;
 
-  private List<CamelRoute> routes;
+  private final Map<String, RouteEntry> routeEntries = new LinkedHashMap<>();
+
+  private final Map<String, List<String>> openApiOperationIds = new ConcurrentHashMap<>();
+
+  private volatile List<CamelRoute> routes;
 
   /**
    * Returns CamelRoutes.
@@ -63,50 +74,106 @@ public class RouteContextService {
    */
   public List<CamelRoute> getCamelRoutes() {
 
-    if (routes != null) {
-      return routes;
+    List<CamelRoute> snapshot = routes;
+
+    if (snapshot != null) {
+      return snapshot;
     }
-    routes = new ArrayList<>();
 
-    List<CamelRoute> restRoutes = new ArrayList<>();
+    return rebuild();
+  }
 
-    for (Route route : camelContext.getRoutes()) {
-      String routeId = route.getId();
+  /**
+   * Builds the topology snapshot of all routes and publishes it.
+   *
+   * @return the published snapshot.
+   */
+  public synchronized List<CamelRoute> rebuild() {
 
-      RouteDefinition routeDefinition = ((ModelCamelContext) camelContext)
-          .getRouteDefinition(routeId);
+    routeEntries.clear();
 
-      List<CamelRouteOutput> outputs = new ArrayList<>();
+    for (Route route : camelContext.getRoutes()) {
+      routeEntries.put(route.getId(), buildRouteEntry(route.getId()));
+    }
 
-      extractOutputs(routeDefinition.getOutputs(), outputs);
+    return publish();
+  }
 
-      boolean isRestApiRoute = checkRestOpenApiRouteDefinition(routeDefinition, outputs);
+  /**
+   * Rebuilds the topology snapshot after a route is added at runtime.
+   * The other routes are taken from the cache, only the added route is read.
+   *
+   * @param routeId The id of the added route.
+   */
+  public synchronized void onRouteAdded(String routeId) {
+    if (routes == null) {
+      // not built yet, the first build reads all routes anyway
+      return;
+    }
+    routeEntries.remove(routeId);
+    routeEntries.put(routeId, buildRouteEntry(routeId));
+    publish();
+  }
 
-      String errorHandler = null;
+  /**
+   * Rebuilds the topology snapshot after a route is removed at runtime.
+   *
+   * @param routeId The id of the removed route.
+   */
+  public synchronized void onRouteRemoved(String routeId) {
+    if (routes == null || routeEntries.remove(routeId) == null) {
+      return;
+    }
+    publish();
+  }
 
-      if (routeDefinition.getErrorHandlerFactory() instanceof DeadLetterChannelBuilder deadLetterChannelBuilder) {
-        errorHandler = deadLetterChannelBuilder.getDeadLetterUri();
-      }
+  private List<CamelRoute> publish() {
 
-      CamelRoute metaRoute = new CamelRoute(routeDefinition.getId(),
-          updateWithSystemProperties(routeDefinition.getInput().toString()), outputs,
-          routeDefinition.isRest(), errorHandler);
+    Collection<RouteEntry> entries = routeEntries.values();
 
-      if (isRestApiRoute) {
-        restRoutes.add(metaRoute);
-      } else {
-        routes.add(metaRoute);
-      }
-
-    }
     /*
      set the rest property to true of the routes that are called
      directly from the rest-openapi route,
      this is not done by camel anymore if you use rest-openapi with a yaml file.
      */
-    adjustRestInputRoutes(restRoutes, routes);
+    Set<String> restInputs = new HashSet<>();
+    entries.stream()
+        .filter(RouteEntry::restApiRoute)
+        .forEach(e -> e.route().getOutputs().forEach(p -> restInputs.add(p.getDescription())));
+
+    List<CamelRoute> snapshot = entries.stream()
+        .filter(e -> !e.restApiRoute())
+        .map(e -> new CamelRoute(e.route().getId(), e.route().getInput(), e.route().getOutputs(),
+            restInputs.contains(e.route().getInput()) ? Boolean.TRUE : e.route().getRest(), e.route().getErrorHandler()))
+        .toList();
+
+    routes = snapshot;
+
+    return snapshot;
+  }
+
+  private RouteEntry buildRouteEntry(String routeId) {
+
+    RouteDefinition routeDefinition = ((ModelCamelContext) camelContext)
+        .getRouteDefinition(routeId);
+
+    List<CamelRouteOutput> outputs = new ArrayList<>();
+
+    extractOutputs(routeDefinition.getOutputs(), outputs);
+
+    boolean isRestApiRoute = checkRestOpenApiRouteDefinition(routeDefinition, outputs);
+
+    String errorHandler = null;
 
-    return routes;
+    if (routeDefinition.getErrorHandlerFactory() instanceof DeadLetterChannelBuilder deadLetterChannelBuilder) {
+      errorHandler = deadLetterChannelBuilder.getDeadLetterUri();
+    }
+
+    CamelRoute metaRoute = new CamelRoute(routeDefinition.getId(),
+        updateWithSystemProperties(routeDefinition.getInput().toString()), List.copyOf(outputs),
+        routeDefinition.isRest(), errorHandler);
+
+    return new RouteEntry(metaRoute, isRestApiRoute);
   }
 
   private void extractOutputs(List<ProcessorDefinition<?>> outputss,
@@ -185,13 +252,6 @@ public class RouteContextService {
     }
   }
 
-  private void adjustRestInputRoutes(List<CamelRoute> restApiRoutes, List<CamelRoute> routes) {
-
-    restApiRoutes.stream().forEach(e -> e.getOutputs().forEach(p -> routes.stream().filter(r -> r.getInput().equals(p.getDescription())).forEach(s -> s.setRest(
-        true))
-    ));
-  }
-
   private boolean checkRestOpenApiRouteDefinition(RouteDefinition routeDefinition, List<CamelRouteOutput> outputs) {
     String inputUri = routeDefinition.getInput() != null ? routeDefinition.getInput().getUri() : null;
 
@@ -205,9 +265,9 @@ public class RouteContextService {
       List<String> operationIds = null;
 
       if (openApiPath.endsWith(".json")) {
-        operationIds = readOperationIdsFromJson(openApiPath);
+        operationIds = openApiOperationIds.computeIfAbsent(openApiPath, this::readOperationIdsFromJson);
       } else if (openApiPath.endsWith(".yml") || openApiPath.endsWith(".yaml")) {
-        operationIds = readOperationIdsFromYaml(openApiPath);
+        operationIds = openApiOperationIds.computeIfAbsent(openApiPath, this::readOperationIdsFromYaml);
       } else {
         LOGGER.warn("Unknown file type for the OpenAPI spec: {}", openApiPath);
         return false;
@@ -246,18 +306,16 @@ public class RouteContextService {
       LOGGER.warn("Could not read the OpenApi spec: {} with exception: {}", openApiPath, e);
     }
 
-    return operationIds;
+    return List.copyOf(operationIds);
   }
 
   private List<String> readOperationIdsFromJson(String openApiPath) {
 
     List<String> operationIds = new ArrayList<>();
 
-    ObjectMapper mapper = new ObjectMapper();
-
     try (InputStream inputStream = Thread.currentThread().getContextClassLoader().getResourceAsStream(openApiPath)) {
 
-      JsonNode rootNode = mapper.readTree(inputStream);
+      JsonNode rootNode = OBJECT_MAPPER.readTree(inputStream);
 
       JsonNode pathsNode = rootNode.get("paths");
       if (pathsNode != null) {
@@ -276,7 +334,16 @@ public class RouteContextService {
       LOGGER.warn("Could not read the OpenApi spec: {} with exception: {}", openApiPath, e);
     }
 
-    return operationIds;
+    return List.copyOf(operationIds);
+  }
+
+  /**
+   * The cached topology of a route.
+   *
+   * @param route        The route.
+   * @param restApiRoute Whether the route is a rest-openapi route.
+   */
+  private record RouteEntry(CamelRoute route, boolean restApiRoute) {
   }
 
 }
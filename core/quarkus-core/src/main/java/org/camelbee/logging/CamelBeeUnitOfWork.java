@@ -17,24 +17,32 @@
 package org.camelbee.logging;
 
 import java.util.UUID;
+import org.apache.camel.AsyncCallback;
 import org.apache.camel.Exchange;
 import org.apache.camel.ExchangePropertyKey;
+import org.apache.camel.Processor;
 import org.apache.camel.impl.engine.MDCUnitOfWork;
+import org.apache.camel.spi.UnitOfWork;
 import org.camelbee.constants.CamelBeeConstants;
-import org.camelbee.logging.model.RequestId;
-import org.camelbee.logging.model.TransactionId;
+import org.camelbee.logging.model.RequestContext;
+import org.camelbee.utils.IdGenerator;
 import org.camelbee.utils.UuidResolver;
+import org.camelbee.utils.UuidV7Generator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Specialized UnitOfWork for Camel exchanges that handles request and transaction IDs.
- * Manages the lifecycle of these IDs in the MDC context and exchange headers.
+ * The IDs are created once per primary exchange and carried by the exchange as a {@link RequestContext},
+ * the MDC of the current thread is restored from it before each processor so thread hops of async EIPs
+ * and virtual threads keep the correct IDs.
  */
 public class CamelBeeUnitOfWork extends MDCUnitOfWork {
 
   private static final Logger logger = LoggerFactory.getLogger(CamelBeeUnitOfWork.class);
 
+  private final IdGenerator idGenerator;
+
   /**
    * Creates a new CamelBeeUnitOfWork for the given exchange.
    * Initializes request and transaction IDs if this is the primary route.
@@ -42,13 +50,56 @@ public class CamelBeeUnitOfWork extends MDCUnitOfWork {
    * @param exchange the Camel exchange
    */
   public CamelBeeUnitOfWork(Exchange exchange) {
+    this(exchange, UuidV7Generator.INSTANCE);
+  }
+
+  /**
+   * Creates a new CamelBeeUnitOfWork for the given exchange.
+   * Initializes request and transaction IDs with the given generator if this is the primary route.
+   *
+   * @param exchange    the Camel exchange
+   * @param idGenerator the generator of the request and transaction IDs
+   */
+  public CamelBeeUnitOfWork(Exchange exchange, IdGenerator idGenerator) {
     super(exchange, exchange.getContext().getInflightRepository(), "", false, false);
 
-    if (shouldSkipProcessing(exchange)) {
-      return;
+    this.idGenerator = idGenerator;
+
+    RequestContext context = RequestContext.from(exchange);
+
+    if (context == null && !shouldSkipProcessing(exchange)) {
+      context = initializeIds(exchange);
     }
 
-    initializeIds(exchange);
+    if (context != null) {
+      bindContext(context);
+    }
+  }
+
+  @Override
+  public UnitOfWork newInstance(Exchange exchange) {
+    return new CamelBeeUnitOfWork(exchange, idGenerator);
+  }
+
+  @Override
+  public AsyncCallback beforeProcess(Processor processor, Exchange exchange, AsyncCallback callback) {
+    AsyncCallback answer = super.beforeProcess(processor, exchange, callback);
+
+    RequestContext context = RequestContext.from(exchange);
+    if (context != null) {
+      bindContext(context);
+    }
+    return answer;
+  }
+
+  @Override
+  public void afterProcess(Processor processor, Exchange exchange, AsyncCallback callback, boolean doneSync) {
+    super.afterProcess(processor, exchange, callback, doneSync);
+
+    if (!doneSync) {
+      // the exchange continues on another thread, do not leave its ids on this one
+      MdcContext.clear(LoggingAttribute.REQUEST_ID, LoggingAttribute.TRANSACTION_ID);
+    }
   }
 
   private boolean shouldSkipProcessing(Exchange exchange) {
@@ -68,38 +119,42 @@ public class CamelBeeUnitOfWork extends MDCUnitOfWork {
     return false;
   }
 
-  private void initializeIds(Exchange exchange) {
-    clearContext();
-    initializeRequestId(exchange);
-    initializeTransactionId(exchange);
+  private RequestContext initializeIds(Exchange exchange) {
+    MdcContext.clearAll();
+
+    RequestContext context = new RequestContext(initializeRequestId(exchange), initializeTransactionId(exchange));
+    context.attach(exchange);
+    return context;
   }
 
-  private void clearContext() {
-    RequestId.remove();
-    TransactionId.remove();
-    MdcContext.clearAll();
+  private void bindContext(RequestContext context) {
+    // runs before every processing step, the MDC is only written when the thread carries other ids
+    bind(LoggingAttribute.REQUEST_ID, context.requestIdString());
+    bind(LoggingAttribute.TRANSACTION_ID, context.transactionIdString());
+  }
+
+  private static void bind(LoggingAttribute attribute, String value) {
+    if (!value.equals(MdcContext.get(attribute))) {
+      MdcContext.set(attribute, value);
+    }
   }
 
-  private void initializeRequestId(Exchange exchange) {
-    UUID requestId = UUID.randomUUID();
-    RequestId.set(requestId);
-    MdcContext.set(LoggingAttribute.REQUEST_ID, requestId.toString());
+  private UUID initializeRequestId(Exchange exchange) {
+    UUID requestId = idGenerator.generate();
     exchange.getMessage().setHeader(LoggingAttribute.REQUEST_ID.getAttributeName(), requestId.toString());
     logger.trace("Initialized request ID: {}", requestId);
+    return requestId;
   }
 
-  private void initializeTransactionId(Exchange exchange) {
+  private UUID initializeTransactionId(Exchange exchange) {
     String existingTxId = exchange.getMessage().getHeader(
         LoggingAttribute.TRANSACTION_ID.getAttributeName(),
         String.class
     );
 
     UUID transactionId = existingTxId != null
-        ? UuidResolver.resolveOrGenerate(existingTxId)
-        : UUID.randomUUID();
-
-    TransactionId.set(transactionId);
-    MdcContext.set(LoggingAttribute.TRANSACTION_ID, transactionId.toString());
+        ? UuidResolver.resolveOrGenerate(existingTxId, idGenerator)
+        : idGenerator.generate();
 
     if (existingTxId == null) {
       exchange.getMessage().setHeader(
@@ -109,5 +164,6 @@ public class CamelBeeUnitOfWork extends MDCUnitOfWork {
     }
 
     logger.trace("Initialized transaction ID: {}", transactionId);
+    return transactionId;
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.logging;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import org.camelbee.debugger.model.exchange.Message;
+
+/**
+ * Encodes messages as JSON Lines into a reusable direct ByteBuffer.
+ * The buffer is drained into the given channel whenever it is full, so an instance never allocates
+ * per message apart from growing its line builder. Not thread safe, meant to be owned by a single writer thread.
+ */
+public final class JsonLinesEncoder {
+
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private final StringBuilder line = new StringBuilder(1024);
+
+  private final CharsetEncoder charsetEncoder = StandardCharsets.UTF_8.newEncoder()
+      .onMalformedInput(CodingErrorAction.REPLACE)
+      .onUnmappableCharacter(CodingErrorAction.REPLACE);
+
+  private final ByteBuffer buffer;
+
+  /**
+   * Constructor.
+   *
+   * @param bufferSize The size of the direct buffer in bytes.
+   */
+  public JsonLinesEncoder(int bufferSize) {
+    this.buffer = ByteBuffer.allocateDirect(bufferSize);
+  }
+
+  /**
+   * Encodes the message as a single JSON line.
+   *
+   * @param message The message.
+   * @param channel The channel the buffer is drained into when it is full.
+   * @throws IOException if the channel write fails.
+   */
+  public void encode(Message message, WritableByteChannel channel) throws IOException {
+
+    line.setLength(0);
+    line.append('{');
+    appendField("exchangeId", message.getExchangeId(), true);
+    appendField("exchangeEventType", message.getExchangeEventType() != null ? message.getExchangeEventType().name() : null, false);
+    appendField("routeId", message.getRouteId(), false);
+    appendField("endpoint", message.getEndpoint(), false);
+    appendField("endpointId", message.getEndpointId(), false);
+    appendField("messageType", message.getMessageType() != null ? message.getMessageType().name() : null, false);
+    appendField("exception", message.getException(), false);
+    appendField("timeStamp", message.getTimeStamp(), false);
+    appendField("headers", message.getHeaders(), false);
+    appendField("messageBody", message.getMessageBody(), false);
+    line.append("}\n");
+
+    CharBuffer chars = CharBuffer.wrap(line);
+    charsetEncoder.reset();
+
+    CoderResult result = charsetEncoder.encode(chars, buffer, true);
+    while (result.isOverflow()) {
+      drain(channel);
+      result = charsetEncoder.encode(chars, buffer, true);
+    }
+
+    while (charsetEncoder.flush(buffer).isOverflow()) {
+      drain(channel);
+    }
+  }
+
+  /**
+   * Writes the pending bytes of the buffer into the channel.
+   *
+   * @param channel The channel.
+   * @throws IOException if the channel write fails.
+   */
+  public void flush(WritableByteChannel channel) throws IOException {
+    drain(channel);
+  }
+
+  private void drain(WritableByteChannel channel) throws IOException {
+    buffer.flip();
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+    buffer.clear();
+  }
+
+  private void appendField(String name, String value, boolean first) {
+    if (!first) {
+      line.append(',');
+    }
+    line.append('"').append(name).append("\":");
+
+    if (value == null) {
+      line.append("null");
+      return;
+    }
+
+    line.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"' -> line.append("\\\"");
+        case '\\' -> line.append("\\\\");
+        case '\n' -> line.append("\\n");
+        case '\r' -> line.append("\\r");
+        case '\t' -> line.append("\\t");
+        case '\b' -> line.append("\\b");
+        case '\f' -> line.append("\\f");
+        default -> {
+          if (c < 0x20) {
+            line.append("\\u00").append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0xF]);
+          } else {
+            line.append(c);
+          }
+        }
+      }
+    }
+    line.append('"');
+  }
+
+}
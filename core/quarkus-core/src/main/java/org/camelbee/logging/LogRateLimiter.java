@@ -0,0 +1,248 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.logging;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.camelbee.debugger.model.exchange.Message;
+import org.camelbee.debugger.model.exchange.MessageType;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Per endpoint token bucket rate limiter for the logging path.
+ * Events exceeding the rate of an endpoint are suppressed and counted, the counts are emitted
+ * periodically as one summary line per endpoint together with the error count and latency statistics.
+ * Error events always get through. The window of an endpoint without events since the last summary is dropped,
+ * so dynamic endpoint uris do not accumulate.
+ */
+@ApplicationScoped
+public class LogRateLimiter {
+
+  /**
+   * The logger.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(LogRateLimiter.class);
+
+  private final boolean enabled;
+  private final double permitsPerSecond;
+  private final double burst;
+  private final long summaryInterval;
+
+  private final Map<String, EndpointWindow> windows = new ConcurrentHashMap<>();
+
+  private ScheduledExecutorService scheduler;
+
+  /**
+   * Constructor.
+   *
+   * @param enabled          The enabled.
+   * @param permitsPerSecond The number of events logged per second and endpoint.
+   * @param burst            The number of events which can be logged at once per endpoint.
+   * @param summaryInterval  The interval of the summary lines in milliseconds.
+   */
+  public LogRateLimiter(@ConfigProperty(name = "camelbee.logging-rate-limit-enabled", defaultValue = "false") boolean enabled,
+      @ConfigProperty(name = "camelbee.logging-rate-limit-per-second", defaultValue = "100") double permitsPerSecond,
+      @ConfigProperty(name = "camelbee.logging-rate-limit-burst", defaultValue = "200") double burst,
+      @ConfigProperty(name = "camelbee.logging-summary-interval", defaultValue = "60000") long summaryInterval) {
+    this.enabled = enabled;
+    this.permitsPerSecond = permitsPerSecond;
+    this.burst = Math.max(1, burst);
+    this.summaryInterval = summaryInterval;
+  }
+
+  /**
+   * Starts the summary scheduler if the rate limiting is enabled.
+   */
+  @PostConstruct
+  public void start() {
+    if (!enabled || scheduler != null) {
+      return;
+    }
+    scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "camelbee-log-summary");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleAtFixedRate(this::emitSummaries, summaryInterval, summaryInterval, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops the summary scheduler and emits the pending summaries.
+   */
+  @PreDestroy
+  public void stop() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      scheduler = null;
+      emitSummaries();
+    }
+  }
+
+  /**
+   * Records the event and decides whether it should be logged.
+   *
+   * @param message       The message.
+   * @param latencyMillis The latency of the event in milliseconds or a negative value if not known.
+   * @return true if the event should be logged, false if it is suppressed.
+   */
+  public boolean tryAcquire(Message message, long latencyMillis) {
+
+    if (!enabled) {
+      return true;
+    }
+
+    boolean error = message.getMessageType() == MessageType.ERROR_RESPONSE || message.getException() != null;
+
+    return windows.computeIfAbsent(message.getEndpoint(), k -> new EndpointWindow(burst))
+        .record(error, latencyMillis, permitsPerSecond, burst);
+  }
+
+  /**
+   * Emits a summary line for each endpoint which had suppressed events since the last summary
+   * and drops the windows of the endpoints which had no events.
+   *
+   * @return The number of emitted summary lines.
+   */
+  public int emitSummaries() {
+
+    int emitted = 0;
+
+    for (Map.Entry<String, EndpointWindow> entry : windows.entrySet()) {
+
+      EndpointSummary summary = entry.getValue().reset();
+
+      if (summary.count() == 0) {
+        windows.remove(entry.getKey(), entry.getValue());
+      } else if (summary.suppressed() > 0) {
+        logSummary(entry.getKey(), summary);
+        emitted++;
+      }
+    }
+
+    return emitted;
+  }
+
+  int getWindowCount() {
+    return windows.size();
+  }
+
+  private void logSummary(String endpoint, EndpointSummary summary) {
+    try {
+      MdcContext.set(LoggingAttribute.ENDPOINT, endpoint);
+      if (summary.latencyCount() > 0) {
+        LOGGER.info("Log summary: endpoint={} events={} suppressed={} errors={} latencyMinMs={} latencyMaxMs={} latencyAvgMs={}",
+            endpoint, summary.count(), summary.suppressed(), summary.errors(), summary.latencyMin(), summary.latencyMax(),
+            summary.latencySum() / summary.latencyCount());
+      } else {
+        LOGGER.info("Log summary: endpoint={} events={} suppressed={} errors={}",
+            endpoint, summary.count(), summary.suppressed(), summary.errors());
+      }
+    } finally {
+      MdcContext.clear(LoggingAttribute.ENDPOINT);
+    }
+  }
+
+  /**
+   * Summary of an endpoint window.
+   *
+   * @param count        The number of events.
+   * @param suppressed   The number of suppressed events.
+   * @param errors       The number of error events.
+   * @param latencyCount The number of events with a latency.
+   * @param latencyMin   The minimum latency.
+   * @param latencyMax   The maximum latency.
+   * @param latencySum   The sum of the latencies.
+   */
+  record EndpointSummary(long count, long suppressed, long errors, long latencyCount, long latencyMin, long latencyMax,
+                         long latencySum) {
+  }
+
+  /**
+   * Token bucket and statistics of one endpoint.
+   */
+  private static final class EndpointWindow {
+
+    private double tokens;
+    private long lastRefill = System.nanoTime();
+
+    private long count;
+    private long suppressed;
+    private long errors;
+    private long latencyCount;
+    private long latencyMin = Long.MAX_VALUE;
+    private long latencyMax;
+    private long latencySum;
+
+    EndpointWindow(double burst) {
+      this.tokens = burst;
+    }
+
+    synchronized boolean record(boolean error, long latencyMillis, double permitsPerSecond, double burst) {
+
+      count++;
+
+      if (latencyMillis >= 0) {
+        latencyCount++;
+        latencyMin = Math.min(latencyMin, latencyMillis);
+        latencyMax = Math.max(latencyMax, latencyMillis);
+        latencySum += latencyMillis;
+      }
+
+      if (error) {
+        errors++;
+        return true;
+      }
+
+      long now = System.nanoTime();
+      tokens = Math.min(burst, tokens + (now - lastRefill) * permitsPerSecond / TimeUnit.SECONDS.toNanos(1));
+      lastRefill = now;
+
+      if (tokens >= 1) {
+        tokens--;
+        return true;
+      }
+
+      suppressed++;
+      return false;
+    }
+
+    synchronized EndpointSummary reset() {
+
+      final EndpointSummary summary = new EndpointSummary(count, suppressed, errors, latencyCount,
+          latencyCount > 0 ? latencyMin : 0, latencyMax, latencySum);
+
+      count = 0;
+      suppressed = 0;
+      errors = 0;
+      latencyCount = 0;
+      latencyMin = Long.MAX_VALUE;
+      latencyMax = 0;
+      latencySum = 0;
+
+      return summary;
+    }
+  }
+
+}
@@ -0,0 +1,246 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.logging;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.camelbee.debugger.model.exchange.Message;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Optional trace sink which writes the captured messages as JSON Lines into rolling local files.
+ * Messages are handed over through a bounded queue and written in batches by a dedicated writer thread,
+ * so the trace volume neither goes through the application logger nor touches the MDC.
+ * When the queue is full the message is dropped and counted instead of blocking the route thread.
+ * A message which cannot be encoded is skipped, the writer thread keeps writing the following ones.
+ */
+@ApplicationScoped
+public class TraceFileSink {
+
+  /**
+   * The logger.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(TraceFileSink.class);
+
+  private static final String FILE_PREFIX = "camelbee-trace-";
+
+  private static final String FILE_SUFFIX = ".jsonl";
+
+  private static final long POLL_TIMEOUT_MILLIS = 200;
+
+  private static final int ENCODER_BUFFER_SIZE = 64 * 1024;
+
+  private final boolean enabled;
+  private final Path directory;
+  private final long maxFileSize;
+  private final int maxFiles;
+  private final int batchSize;
+  private final BlockingQueue<Message> queue;
+
+  private final AtomicLong droppedCount = new AtomicLong();
+
+  private volatile boolean running;
+
+  private Thread writerThread;
+
+  private FileChannel channel;
+
+  private long fileSequence;
+
+  /**
+   * Constructor.
+   *
+   * @param enabled       The enabled.
+   * @param directory     The directory of the trace files.
+   * @param maxFileSize   The size in bytes after which the file is rolled.
+   * @param maxFiles      The number of trace files to keep.
+   * @param queueCapacity The capacity of the hand over queue.
+   * @param batchSize     The maximum number of messages written per batch.
+   */
+  public TraceFileSink(@ConfigProperty(name = "camelbee.trace-sink-enabled", defaultValue = "false") boolean enabled,
+      @ConfigProperty(name = "camelbee.trace-sink-directory", defaultValue = "camelbee-traces") String directory,
+      @ConfigProperty(name = "camelbee.trace-sink-max-file-size", defaultValue = "104857600") long maxFileSize,
+      @ConfigProperty(name = "camelbee.trace-sink-max-files", defaultValue = "10") int maxFiles,
+      @ConfigProperty(name = "camelbee.trace-sink-queue-capacity", defaultValue = "65536") int queueCapacity,
+      @ConfigProperty(name = "camelbee.trace-sink-batch-size", defaultValue = "512") int batchSize) {
+    this.enabled = enabled;
+    this.directory = Paths.get(directory);
+    this.maxFileSize = maxFileSize;
+    this.maxFiles = Math.max(1, maxFiles);
+    this.batchSize = Math.max(1, batchSize);
+    this.queue = new ArrayBlockingQueue<>(Math.max(1, queueCapacity));
+  }
+
+  /**
+   * Starts the writer thread if the sink is enabled.
+   */
+  @PostConstruct
+  public void start() {
+    if (!enabled || running) {
+      return;
+    }
+    running = true;
+    writerThread = new Thread(this::runWriter, "camelbee-trace-sink");
+    writerThread.setDaemon(true);
+    writerThread.start();
+  }
+
+  /**
+   * Stops the writer thread after the queued messages are written.
+   */
+  @PreDestroy
+  public void stop() {
+    running = false;
+    if (writerThread != null) {
+      try {
+        writerThread.join(TimeUnit.SECONDS.toMillis(5));
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      writerThread = null;
+    }
+  }
+
+  /**
+   * Hands the message over to the writer thread without blocking.
+   *
+   * @param message The message.
+   */
+  public void offer(Message message) {
+    if (!enabled || message == null) {
+      return;
+    }
+    if (!queue.offer(message) && droppedCount.getAndIncrement() == 0) {
+      LOGGER.warn("Trace sink queue is full, trace messages are dropped until the writer catches up");
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  public long getDroppedCount() {
+    return droppedCount.get();
+  }
+
+  private void runWriter() {
+
+    final JsonLinesEncoder encoder = new JsonLinesEncoder(ENCODER_BUFFER_SIZE);
+    final List<Message> batch = new ArrayList<>(batchSize);
+
+    while (running || !queue.isEmpty()) {
+      try {
+        Message first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+          continue;
+        }
+        batch.add(first);
+        queue.drainTo(batch, batchSize - 1);
+
+        writeBatch(encoder, batch);
+
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        running = false;
+      } catch (IOException e) {
+        LOGGER.warn("Could not write trace messages into: {} with exception: {}", directory, e);
+        closeChannel();
+      } catch (RuntimeException e) {
+        // the writer thread is the only consumer of the queue, it must outlive any failure
+        LOGGER.warn("Could not write trace messages into: {} with exception: {}", directory, e);
+      } finally {
+        batch.clear();
+      }
+    }
+
+    closeChannel();
+  }
+
+  private void writeBatch(JsonLinesEncoder encoder, List<Message> batch) throws IOException {
+
+    if (channel == null) {
+      openNextFile();
+    }
+
+    for (Message message : batch) {
+      try {
+        encoder.encode(message, channel);
+      } catch (RuntimeException e) {
+        LOGGER.warn("Could not encode trace message with exception: {}", e.getMessage());
+      }
+    }
+    encoder.flush(channel);
+
+    if (channel.size() >= maxFileSize) {
+      closeChannel();
+    }
+  }
+
+  private void openNextFile() throws IOException {
+    Files.createDirectories(directory);
+    deleteOldFiles();
+    long timestamp = System.currentTimeMillis();
+    fileSequence = Math.max(fileSequence + 1, timestamp);
+    Path file = directory.resolve(FILE_PREFIX + fileSequence + FILE_SUFFIX);
+    channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+  }
+
+  private void closeChannel() {
+    if (channel == null) {
+      return;
+    }
+    try {
+      channel.close();
+    } catch (IOException e) {
+      LOGGER.warn("Could not close trace file with exception: {}", e.getMessage());
+    }
+    channel = null;
+  }
+
+  private void deleteOldFiles() throws IOException {
+    List<Path> files;
+    try (Stream<Path> stream = Files.list(directory)) {
+      files = stream
+          .filter(p -> {
+            String name = p.getFileName().toString();
+            return name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX);
+          })
+          .sorted()
+          .toList();
+    }
+    for (int i = 0; i < files.size() - maxFiles + 1; i++) {
+      Files.deleteIfExists(files.get(i));
+    }
+  }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.notifier;
+
+import org.apache.camel.spi.CamelEvent;
+import org.apache.camel.spi.CamelEvent.CamelContextStartedEvent;
+import org.apache.camel.spi.CamelEvent.RouteAddedEvent;
+import org.apache.camel.spi.CamelEvent.RouteRemovedEvent;
+import org.apache.camel.support.EventNotifierSupport;
+import org.camelbee.debugger.service.RouteContextService;
+
+/**
+ * RouteTopologyEventNotifier for keeping the route topology snapshot up to date.
+ * The snapshot is built when the CamelContext is started and rebuilt when a route is added or removed at runtime.
+ */
+public class RouteTopologyEventNotifier extends EventNotifierSupport {
+
+  final RouteContextService routeContextService;
+
+  public RouteTopologyEventNotifier(RouteContextService routeContextService) {
+    this.routeContextService = routeContextService;
+  }
+
+  @Override
+  public void notify(CamelEvent event) throws Exception {
+
+    if (event instanceof CamelContextStartedEvent) {
+      routeContextService.rebuild();
+    } else if (event instanceof RouteAddedEvent routeAddedEvent) {
+      routeContextService.onRouteAdded(routeAddedEvent.getRoute().getId());
+    } else if (event instanceof RouteRemovedEvent routeRemovedEvent) {
+      routeContextService.onRouteRemoved(routeRemovedEvent.getRoute().getId());
+    }
+
+  }
+
+  /**
+   * Checks if the given Camel event is enabled for notification.
+   *
+   * @param event The CamelEvent to check.
+   * @return true if the event is enabled for notification, otherwise false.
+   */
+  @Override
+  public boolean isEnabled(CamelEvent event) {
+    return event instanceof CamelContextStartedEvent || event instanceof RouteAddedEvent
+        || event instanceof RouteRemovedEvent;
+  }
+
+}
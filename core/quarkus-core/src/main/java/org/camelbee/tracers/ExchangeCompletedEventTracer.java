@@ -17,11 +17,8 @@
 package org.camelbee.tracers;
 
 import static org.camelbee.constants.CamelBeeConstants.CAMELBEE_PRODUCED_EXCHANGE;
-import static org.camelbee.constants.CamelBeeConstants.CURRENT_ROUTE_TRACE_STACK;
-import static org.camelbee.constants.CamelBeeConstants.INITIAL_EXCHANGE_ID;
 
 import jakarta.enterprise.context.ApplicationScoped;
-import java.util.Deque;
 import org.apache.camel.Exchange;
 import org.apache.camel.spi.CamelEvent.ExchangeCompletedEvent;
 import org.apache.camel.support.DefaultExchange;
@@ -71,8 +68,8 @@ public class ExchangeCompletedEventTracer {
       }
 
       //  trace completed event only for the first created Exchange instance
-      if (exchange.getProperty(INITIAL_EXCHANGE_ID) == null
-          || !exchange.getProperty(INITIAL_EXCHANGE_ID, String.class).equals(exchange.getExchangeId())) {
+      final TraceState initialTraceState = TraceState.find(exchange);
+      if (initialTraceState == null || !exchange.getExchangeId().equals(initialTraceState.getInitialExchangeId())) {
         return null;
       }
 
@@ -89,14 +86,19 @@ public class ExchangeCompletedEventTracer {
 
   private Message processCompletedMessage(Exchange exchange, String responseCompletedBody, String requestHeaders) {
 
-    Deque<String> routeStack = (Deque<String>) exchange.getProperty(CURRENT_ROUTE_TRACE_STACK);
+    final TraceState traceState = TraceState.of(exchange);
 
-    final String currentRoute = routeStack.pop();
+    RouteStack routeStack = traceState.getRouteStack();
+
+    final String currentRoute = routeStack.peek();
+    routeStack = routeStack.pop();
     final String callerRoute = routeStack.peek();
 
+    traceState.setRouteStack(routeStack);
+
     MessageType messageType = MessageType.RESPONSE;
 
-    String errorMessage = TracerUtils.handleError(exchange);
+    String errorMessage = TracerUtils.handleError(exchange, traceState);
 
     if (errorMessage != null) {
       messageType = MessageType.ERROR_RESPONSE;
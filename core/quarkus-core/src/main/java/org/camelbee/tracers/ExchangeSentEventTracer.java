@@ -17,13 +17,9 @@
 package org.camelbee.tracers;
 
 import static org.camelbee.constants.CamelBeeConstants.CAMELBEE_PRODUCED_EXCHANGE;
-import static org.camelbee.constants.CamelBeeConstants.CURRENT_ROUTE_NAME;
-import static org.camelbee.constants.CamelBeeConstants.CURRENT_ROUTE_TRACE_STACK;
 import static org.camelbee.constants.CamelBeeConstants.DIRECT;
-import static org.camelbee.constants.CamelBeeConstants.LAST_DIRECT_ROUTE;
 
 import jakarta.enterprise.context.ApplicationScoped;
-import java.util.Deque;
 import org.apache.camel.Exchange;
 import org.apache.camel.spi.CamelEvent.ExchangeSentEvent;
 import org.apache.camel.support.DefaultExchange;
@@ -87,20 +83,25 @@ public class ExchangeSentEventTracer {
 
   private Message processSentMessage(Exchange exchange, String responseSentBody, String requestHeaders) {
 
-    Deque<String> routeStack = (Deque<String>) exchange.getProperty(CURRENT_ROUTE_TRACE_STACK);
+    final TraceState traceState = TraceState.of(exchange);
 
-    final String currentRoute = routeStack.pop();
+    RouteStack routeStack = traceState.getRouteStack();
+
+    final String currentRoute = routeStack.peek();
+    routeStack = routeStack.pop();
     String callerRoute = routeStack.peek();
 
+    traceState.setRouteStack(routeStack);
+
     /*
      set the previous route (callerRoute) as the current route
      which would be used in SendToRequestTracers
      */
-    exchange.setProperty(CURRENT_ROUTE_NAME, callerRoute);
+    traceState.setCurrentRouteName(callerRoute);
 
     MessageType messageType = MessageType.RESPONSE;
 
-    String errorMessage = TracerUtils.handleError(exchange);
+    String errorMessage = TracerUtils.handleError(exchange, traceState);
 
     if (errorMessage != null) {
       messageType = MessageType.ERROR_RESPONSE;
@@ -116,7 +117,7 @@ public class ExchangeSentEventTracer {
     if (endpointId == null && callerRoute != null && !callerRoute.startsWith(DIRECT) && !currentRoute.startsWith(DIRECT)) {
       //dynamicRouter with 2 times producer endpoint like mock:C and mock:D
       //change Caller route find the previous direcrRouteName
-      callerRoute = exchange.getProperty(LAST_DIRECT_ROUTE, String.class);
+      callerRoute = traceState.getLastDirectRoute();
     }
 
     return new Message(exchange.getExchangeId(), MessageEventType.SENT, responseSentBody, requestHeaders, callerRoute,
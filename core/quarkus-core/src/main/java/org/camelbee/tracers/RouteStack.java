@@ -0,0 +1,106 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.tracers;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Immutable route trace stack whose push and pop are O(1) and never copy.
+ * A push returns a new stack sharing this one as its tail, so the stacks of exchange copies created
+ * by multicast, recipientList or split share their parent's routes and cannot corrupt each other.
+ */
+public final class RouteStack {
+
+  /**
+   * The empty stack.
+   */
+  public static final RouteStack EMPTY = new RouteStack(null, null, 0);
+
+  private final String route;
+
+  private final RouteStack tail;
+
+  private final int size;
+
+  private RouteStack(String route, RouteStack tail, int size) {
+    this.route = route;
+    this.tail = tail;
+    this.size = size;
+  }
+
+  /**
+   * Creates a stack with a single route.
+   *
+   * @param route The route.
+   * @return the stack
+   */
+  public static RouteStack of(String route) {
+    return EMPTY.push(route);
+  }
+
+  /**
+   * Pushes the route.
+   *
+   * @param route The route.
+   * @return the new stack with the route on top of this one
+   */
+  public RouteStack push(String route) {
+    return new RouteStack(route, this, size + 1);
+  }
+
+  /**
+   * Pops the top route.
+   *
+   * @return the stack below the top route
+   * @throws NoSuchElementException if the stack is empty
+   */
+  public RouteStack pop() {
+    if (size == 0) {
+      throw new NoSuchElementException("Route stack is empty");
+    }
+    return tail;
+  }
+
+  /**
+   * Gets the top route.
+   *
+   * @return the top route, or null if the stack is empty
+   */
+  public String peek() {
+    return route;
+  }
+
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder("[");
+    for (RouteStack stack = this; stack.size > 0; stack = stack.tail) {
+      if (stack != this) {
+        builder.append(", ");
+      }
+      builder.append(stack.route);
+    }
+    return builder.append(']').toString();
+  }
+}
@@ -18,8 +18,10 @@ package org.camelbee.tracers;
 
 import io.quarkus.runtime.annotations.RegisterForReflection;
 import jakarta.enterprise.context.ApplicationScoped;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
+import org.apache.camel.Exchange;
 import org.apache.camel.spi.CamelEvent.ExchangeCompletedEvent;
 import org.apache.camel.spi.CamelEvent.ExchangeCreatedEvent;
 import org.apache.camel.spi.CamelEvent.ExchangeSendingEvent;
@@ -27,6 +29,7 @@ import org.apache.camel.spi.CamelEvent.ExchangeSentEvent;
 import org.camelbee.debugger.model.exchange.Message;
 import org.camelbee.debugger.service.MessageService;
 import org.camelbee.logging.LoggingService;
+import org.camelbee.logging.TraceFileSink;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 /**
@@ -39,6 +42,7 @@ public class TracerService {
   private boolean loggingEnabled;
   private boolean tracerEnabled;
   private final long tracerIdleTime;
+  private final double samplingRate;
   private final ExchangeCreatedEventTracer exchangeCreatedEventTracer;
   private final ExchangeSendingEventTracer exchangeSendingEventTracer;
   private final ExchangeSentEventTracer exchangeSentEventTracer;
@@ -46,6 +50,7 @@ public class TracerService {
 
   private final MessageService messageService;
   private final LoggingService loggingService;
+  private final TraceFileSink traceFileSink;
 
   private AtomicBoolean tracingActivated = new AtomicBoolean(false);
 
@@ -57,27 +62,34 @@ public class TracerService {
    * @param loggingEnabled               The loggingEnabled.
    * @param tracerEnabled                The tracerEnabled.
    * @param tracerIdleTime               The tracerIdleTime.
+   * @param samplingRate                 The fraction of the exchanges which are traced, between 0 and 1.
    * @param exchangeCreatedEventTracer   The exchangeCreatedEventTracer.
    * @param exchangeSendingEventTracer   The exchangeSendingEventTracer.
    * @param exchangeSentEventTracer      The exchangeSentEventTracer.
    * @param exchangeCompletedEventTracer The exchangeCompletedEventTracer.
+   * @param messageService               The messageService.
+   * @param loggingService               The loggingService.
+   * @param traceFileSink                The traceFileSink.
    */
   public TracerService(@ConfigProperty(name = "camelbee.logging-enabled", defaultValue = "false") boolean loggingEnabled,
       @ConfigProperty(name = "camelbee.tracer-enabled", defaultValue = "false") boolean tracerEnabled,
       @ConfigProperty(name = "camelbee.tracer-max-idle-time", defaultValue = "300000") long tracerIdleTime,
+      @ConfigProperty(name = "camelbee.tracer-sampling-rate", defaultValue = "1.0") double samplingRate,
       ExchangeCreatedEventTracer exchangeCreatedEventTracer,
       ExchangeSendingEventTracer exchangeSendingEventTracer, ExchangeSentEventTracer exchangeSentEventTracer,
       ExchangeCompletedEventTracer exchangeCompletedEventTracer, MessageService messageService,
-      LoggingService loggingService) {
+      LoggingService loggingService, TraceFileSink traceFileSink) {
     this.loggingEnabled = loggingEnabled;
     this.tracerEnabled = tracerEnabled;
     this.tracerIdleTime = tracerIdleTime;
+    this.samplingRate = samplingRate;
     this.exchangeCreatedEventTracer = exchangeCreatedEventTracer;
     this.exchangeSendingEventTracer = exchangeSendingEventTracer;
     this.exchangeSentEventTracer = exchangeSentEventTracer;
     this.exchangeCompletedEventTracer = exchangeCompletedEventTracer;
     this.messageService = messageService;
     this.loggingService = loggingService;
+    this.traceFileSink = traceFileSink;
   }
 
   /**
@@ -87,12 +99,18 @@ public class TracerService {
    */
   public void traceExchangeCreateEvent(ExchangeCreatedEvent exchangeCreatedEvent) {
 
+    if (!sample(exchangeCreatedEvent.getExchange())) {
+      return;
+    }
+
     Message message = exchangeCreatedEventTracer.traceEvent(exchangeCreatedEvent);
 
     if (loggingEnabled) {
       loggingService.logMessage(message, "Request received:", false);
     }
 
+    traceFileSink.offer(message);
+
     if (tracerEnabled && isTracingActivated()) {
       messageService.addMessage(message);
     }
@@ -106,12 +124,18 @@ public class TracerService {
    */
   public void traceExchangeSendingEvent(ExchangeSendingEvent exchangeSendingEvent) {
 
+    if (!isSampled(exchangeSendingEvent.getExchange())) {
+      return;
+    }
+
     Message message = exchangeSendingEventTracer.traceEvent(exchangeSendingEvent);
 
     if (loggingEnabled) {
       loggingService.logMessage(message, "Request sent:", false);
     }
 
+    traceFileSink.offer(message);
+
     if (tracerEnabled && isTracingActivated()) {
       messageService.addMessage(message);
     }
@@ -125,12 +149,18 @@ public class TracerService {
    */
   public void traceExchangeSentEvent(ExchangeSentEvent exchangeSentEvent) {
 
+    if (!isSampled(exchangeSentEvent.getExchange())) {
+      return;
+    }
+
     Message message = exchangeSentEventTracer.traceEvent(exchangeSentEvent);
 
     if (loggingEnabled) {
-      loggingService.logMessage(message, "Response received:", false);
+      loggingService.logMessage(message, "Response received:", false, exchangeSentEvent.getTimeTaken());
     }
 
+    traceFileSink.offer(message);
+
     if (tracerEnabled && isTracingActivated()) {
       messageService.addMessage(message);
     }
@@ -144,18 +174,56 @@ public class TracerService {
    */
   public void traceExchangeCompletedEvent(ExchangeCompletedEvent exchangeCompletedEvent) {
 
+    if (!isSampled(exchangeCompletedEvent.getExchange())) {
+      return;
+    }
+
     Message message = exchangeCompletedEventTracer.traceEvent(exchangeCompletedEvent);
 
     if (loggingEnabled) {
-      loggingService.logMessage(message, "Response completed:", false);
+      loggingService.logMessage(message, "Response completed:", false,
+          exchangeCompletedEvent.getExchange().getClock().elapsed());
     }
 
+    traceFileSink.offer(message);
+
     if (tracerEnabled && isTracingActivated()) {
       messageService.addMessage(message);
     }
 
   }
 
+  /**
+   * Decides once per exchange whether it is traced, an exchange which is not sampled is marked
+   * so that the following events of the exchange and of its copies are skipped as well.
+   *
+   * @param exchange The exchange.
+   * @return true if the exchange is traced.
+   */
+  private boolean sample(Exchange exchange) {
+
+    if (samplingRate >= 1 || TraceState.find(exchange) != null) {
+      return isSampled(exchange);
+    }
+
+    if (ThreadLocalRandom.current().nextDouble() < samplingRate) {
+      return true;
+    }
+
+    TraceState.create(exchange).setSampled(false);
+    return false;
+  }
+
+  private boolean isSampled(Exchange exchange) {
+
+    if (samplingRate >= 1) {
+      return true;
+    }
+
+    final TraceState traceState = TraceState.find(exchange);
+    return traceState == null || traceState.isSampled();
+  }
+
   /**
    * isTracingActivated.
    *
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.utils;
+
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Generator of the request and transaction ids.
+ * Implementations must be thread safe and should not block, they are called on the route threads.
+ */
+public interface IdGenerator {
+
+  /**
+   * Generates a new id.
+   *
+   * @return the id
+   */
+  UUID generate();
+
+  /**
+   * Gets the generator for the given type.
+   *
+   * @param type The type, one of uuidv7, ulid or random.
+   * @return the generator
+   * @throws IllegalArgumentException if the type is unknown
+   */
+  static IdGenerator of(String type) {
+    return switch (type.trim().toLowerCase(Locale.ROOT)) {
+      case "uuidv7" -> UuidV7Generator.INSTANCE;
+      case "ulid" -> UlidGenerator.INSTANCE;
+      case "random" -> UUID::randomUUID;
+      default -> throw new IllegalArgumentException("Unknown id generator: " + type);
+    };
+  }
+}
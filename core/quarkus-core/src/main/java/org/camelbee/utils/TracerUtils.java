@@ -16,9 +16,8 @@
 
 package org.camelbee.utils;
 
-import static org.camelbee.constants.CamelBeeConstants.CAMEL_FAILED_EVENT_IDENTITIY_HASHCODE;
-
 import org.apache.camel.Exchange;
+import org.camelbee.tracers.TraceState;
 
 /**
  * TracerUtils.
@@ -48,10 +47,11 @@ public class TracerUtils {
   /**
    * handleError in response tracers.
    *
-   * @param exchange The exchange.
+   * @param exchange   The exchange.
+   * @param traceState The trace state of the exchange.
    * @return The error message.
    */
-  public static String handleError(Exchange exchange) {
+  public static String handleError(Exchange exchange, TraceState traceState) {
 
     Exception cause = exchange.getProperty(Exchange.EXCEPTION_CAUGHT, Exception.class);
 
@@ -68,11 +68,8 @@ public class TracerUtils {
       */
       Integer eventIdentityHashCode = System.identityHashCode(cause);
 
-      Object previousEventIdentityHashCode = exchange
-          .getProperty(CAMEL_FAILED_EVENT_IDENTITIY_HASHCODE);
-
-      if (!eventIdentityHashCode.equals(previousEventIdentityHashCode)) {
-        exchange.setProperty(CAMEL_FAILED_EVENT_IDENTITIY_HASHCODE, eventIdentityHashCode);
+      if (!eventIdentityHashCode.equals(traceState.getFailedEventIdentityHashCode())) {
+        traceState.setFailedEventIdentityHashCode(eventIdentityHashCode);
 
         errorMessage = cause.getLocalizedMessage();
       }
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.utils;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates ULIDs: 48 bits of unix epoch milliseconds followed by 80 random bits, carried in a UUID
+ * so they fit the existing headers. Use {@link #format(UUID)} for the 26 character Crockford base32 form.
+ * The random bits come from ThreadLocalRandom, so the ids are unique, not unpredictable.
+ */
+public final class UlidGenerator implements IdGenerator {
+
+  public static final UlidGenerator INSTANCE = new UlidGenerator();
+
+  static final char[] CROCKFORD_BASE32 = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+
+  private static final int ULID_LENGTH = 26;
+
+  private UlidGenerator() {
+  }
+
+  @Override
+  public UUID generate() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long mostSigBits = (System.currentTimeMillis() << 16) | (random.nextLong() & 0xFFFFL);
+    return new UUID(mostSigBits, random.nextLong());
+  }
+
+  /**
+   * Formats the 128 bits of the id as a ULID string.
+   *
+   * @param id The id.
+   * @return the 26 character Crockford base32 string
+   */
+  public static String format(UUID id) {
+    long msb = id.getMostSignificantBits();
+    long lsb = id.getLeastSignificantBits();
+    char[] chars = new char[ULID_LENGTH];
+    // 128 bits in 26 characters of 5 bits, the first character carries the 3 highest bits
+    for (int i = ULID_LENGTH - 1; i >= 0; i--) {
+      chars[i] = CROCKFORD_BASE32[(int) (lsb & 0x1F)];
+      lsb = (lsb >>> 5) | (msb << 59);
+      msb >>>= 5;
+    }
+    return new String(chars);
+  }
+}
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.utils;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Generates time ordered version 7 UUIDs (RFC 9562): 48 bits of unix epoch milliseconds followed by 74 random bits.
+ * The random bits come from ThreadLocalRandom, which does not contend between threads like the SecureRandom
+ * behind UUID.randomUUID. The ids are unique, not unpredictable, so they must not be used as secrets.
+ */
+public final class UuidV7Generator implements IdGenerator {
+
+  public static final UuidV7Generator INSTANCE = new UuidV7Generator();
+
+  private UuidV7Generator() {
+  }
+
+  @Override
+  public UUID generate() {
+    ThreadLocalRandom random = ThreadLocalRandom.current();
+    long mostSigBits = (System.currentTimeMillis() << 16) | 0x7000L | (random.nextLong() & 0x0FFFL);
+    long leastSigBits = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+    return new UUID(mostSigBits, leastSigBits);
+  }
+}
@@ -18,27 +18,38 @@ package org.camelbee.debugger.controller;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.Response;
+import jakarta.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 import org.apache.camel.CamelContext;
 import org.camelbee.constants.CamelBeeConstants;
 import org.camelbee.debugger.model.exchange.Message;
 import org.camelbee.debugger.model.exchange.MessageEventType;
-import org.camelbee.debugger.model.exchange.MessageList;
 import org.camelbee.debugger.model.exchange.MessageType;
-import org.camelbee.debugger.model.route.CamelBeeContext;
 import org.camelbee.debugger.model.route.CamelRoute;
 import org.camelbee.debugger.model.route.CamelRouteOutput;
 import org.camelbee.debugger.service.MessageService;
+import org.camelbee.debugger.service.MessageStreamWriter;
+import org.camelbee.debugger.service.PayloadEncoder;
 import org.camelbee.debugger.service.RouteContextService;
+import org.camelbee.debugger.service.RoutesResponseCache;
 import org.eclipse.microprofile.config.Config;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 @ExtendWith(MockitoExtension.class)
@@ -56,6 +67,14 @@ class ContextControllerTest {
   @Mock
   private Config config;
 
+  @Spy
+  private RoutesResponseCache routesResponseCache = new RoutesResponseCache(new PayloadEncoder(new ObjectMapper()));
+
+  @Spy
+  private MessageStreamWriter messageStreamWriter = new MessageStreamWriter(new PayloadEncoder(new ObjectMapper()));
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
   @InjectMocks
   private ContextController contextController;
 
@@ -69,7 +88,7 @@ class ContextControllerTest {
   }
 
   @Test
-  void getWidgetsShouldReturnRoutesAndSystemInfo() {
+  void getWidgetsShouldReturnRoutesAndSystemInfo() throws Exception {
     // Arrange
     List<CamelRouteOutput> nestedOutputs = Arrays.asList(
         new CamelRouteOutput("nested1", "Nested Output 1", ",", "log", null),
@@ -94,65 +113,62 @@ class ContextControllerTest {
     when(camelContext.getVersion()).thenReturn("3.18.0");
 
     // Act
-    Response response = contextController.getWidgets();
+    Response response = contextController.getWidgets(null, null, null);
 
     // Assert
     assertEquals(200, response.getStatus());
-    CamelBeeContext context = (CamelBeeContext) response.getEntity();
-    assertNotNull(context);
-    assertEquals("TestContext", context.getName());
-    assertEquals(mockRoutes, context.getRoutes());
-    assertEquals("Test Vendor - 11.0.1", context.getJvm());
-    assertEquals("3.18.0", context.getCamelVersion());
-    assertTrue(context.getFramework().startsWith(CamelBeeConstants.FRAMEWORK));
-    assertNotNull(context.getJvmInputParameters());
-    assertNotNull(context.getGarbageCollectors());
-
-    List<CamelRoute> routes = context.getRoutes();
+    JsonNode context = readEntity(response);
+    assertEquals("TestContext", context.get("name").asText());
+    assertEquals("Test Vendor - 11.0.1", context.get("jvm").asText());
+    assertEquals("3.18.0", context.get("camelVersion").asText());
+    assertTrue(context.get("framework").asText().startsWith(CamelBeeConstants.FRAMEWORK));
+    assertTrue(context.hasNonNull("jvmInputParameters"));
+    assertTrue(context.hasNonNull("garbageCollectors"));
+
+    JsonNode routes = context.get("routes");
     assertEquals(2, routes.size());
 
-    CamelRoute route1 = routes.get(0);
-    assertEquals(TEST_ROUTE_ID_1, route1.getId());
-    assertEquals("direct:start1", route1.getInput());
-    assertEquals(2, route1.getOutputs().size());
-    assertFalse(route1.getRest());
-    assertEquals("direct:error1", route1.getErrorHandler());
+    JsonNode route1 = routes.get(0);
+    assertEquals(TEST_ROUTE_ID_1, route1.get("id").asText());
+    assertEquals("direct:start1", route1.get("input").asText());
+    assertEquals(2, route1.get("outputs").size());
+    assertFalse(route1.get("rest").asBoolean());
+    assertEquals("direct:error1", route1.get("errorHandler").asText());
 
     // Verify first route outputs in detail
-    CamelRouteOutput firstOutput = route1.getOutputs().get(0);
-    assertEquals("output1", firstOutput.getId());
-    assertEquals("First Output", firstOutput.getDescription());
-    assertEquals("|", firstOutput.getDelimiter());
-    assertEquals("direct", firstOutput.getType());
-    assertNotNull(firstOutput.getOutputs());
-    assertEquals(2, firstOutput.getOutputs().size());
+    JsonNode firstOutput = route1.get("outputs").get(0);
+    assertEquals("output1", firstOutput.get("id").asText());
+    assertEquals("First Output", firstOutput.get("description").asText());
+    assertEquals("|", firstOutput.get("delimiter").asText());
+    assertEquals("direct", firstOutput.get("type").asText());
+    assertEquals(2, firstOutput.get("outputs").size());
 
     // Verify nested outputs
-    CamelRouteOutput nestedOutput = firstOutput.getOutputs().get(0);
-    assertEquals("nested1", nestedOutput.getId());
-    assertEquals("Nested Output 1", nestedOutput.getDescription());
-    assertEquals(",", nestedOutput.getDelimiter());
-    assertEquals("log", nestedOutput.getType());
-    assertNull(nestedOutput.getOutputs());
-
-    CamelRoute route2 = routes.get(1);
-    assertEquals(TEST_ROUTE_ID_2, route2.getId());
-    assertEquals("direct:start2", route2.getInput());
-    assertEquals(1, route2.getOutputs().size());
-    assertTrue(route2.getRest());
-    assertEquals("direct:error2", route2.getErrorHandler());
+    JsonNode nestedOutput = firstOutput.get("outputs").get(0);
+    assertEquals("nested1", nestedOutput.get("id").asText());
+    assertEquals("Nested Output 1", nestedOutput.get("description").asText());
+    assertEquals(",", nestedOutput.get("delimiter").asText());
+    assertEquals("log", nestedOutput.get("type").asText());
+    assertTrue(nestedOutput.get("outputs").isNull());
+
+    JsonNode route2 = routes.get(1);
+    assertEquals(TEST_ROUTE_ID_2, route2.get("id").asText());
+    assertEquals("direct:start2", route2.get("input").asText());
+    assertEquals(1, route2.get("outputs").size());
+    assertTrue(route2.get("rest").asBoolean());
+    assertEquals("direct:error2", route2.get("errorHandler").asText());
 
     // Verify second route output
-    CamelRouteOutput route2Output = route2.getOutputs().get(0);
-    assertEquals("output3", route2Output.getId());
-    assertEquals("Third Output", route2Output.getDescription());
-    assertEquals("-", route2Output.getDelimiter());
-    assertEquals("vm", route2Output.getType());
-    assertNull(route2Output.getOutputs());
+    JsonNode route2Output = route2.get("outputs").get(0);
+    assertEquals("output3", route2Output.get("id").asText());
+    assertEquals("Third Output", route2Output.get("description").asText());
+    assertEquals("-", route2Output.get("delimiter").asText());
+    assertEquals("vm", route2Output.get("type").asText());
+    assertTrue(route2Output.get("outputs").isNull());
   }
 
   @Test
-  void getMessagesShouldReturnMessageListWithDifferentEventTypes() {
+  void getMessagesShouldReturnMessageListWithDifferentEventTypes() throws Exception {
     // Arrange
     List<Message> mockMessages = Arrays.asList(
         new Message("id1", MessageEventType.CREATED, "body1", "headers1", TEST_ROUTE_ID_1, "endpoint1", "endpointId1", MessageType.REQUEST, null),
@@ -163,35 +179,35 @@ class ContextControllerTest {
     when(messageService.getMessageList()).thenReturn(mockMessages);
 
     // Act
-    Response response = contextController.getMessages();
+    Response response = contextController.getMessages(null, null);
 
     // Assert
     assertEquals(200, response.getStatus());
-    MessageList messageList = (MessageList) response.getEntity();
-    assertNotNull(messageList);
-    assertEquals(4, messageList.getMessages().size());
+    JsonNode messages = readStreamedEntity(response).get("messages");
+    assertNotNull(messages);
+    assertEquals(4, messages.size());
 
     // Verify different message event types
-    assertEquals(MessageEventType.CREATED, messageList.getMessages().get(0).getExchangeEventType());
-    assertEquals(MessageEventType.SENDING, messageList.getMessages().get(1).getExchangeEventType());
-    assertEquals(MessageEventType.SENT, messageList.getMessages().get(2).getExchangeEventType());
-    assertEquals(MessageEventType.COMPLETED, messageList.getMessages().get(3).getExchangeEventType());
+    assertEquals("CREATED", messages.get(0).get("exchangeEventType").asText());
+    assertEquals("SENDING", messages.get(1).get("exchangeEventType").asText());
+    assertEquals("SENT", messages.get(2).get("exchangeEventType").asText());
+    assertEquals("COMPLETED", messages.get(3).get("exchangeEventType").asText());
 
     // Verify other message properties
-    Message firstMessage = messageList.getMessages().get(0);
-    assertEquals("id1", firstMessage.getExchangeId());
-    assertEquals("body1", firstMessage.getMessageBody());
-    assertEquals("headers1", firstMessage.getHeaders());
-    assertEquals(TEST_ROUTE_ID_1, firstMessage.getRouteId());
-    assertEquals("endpoint1", firstMessage.getEndpoint());
-    assertEquals("endpointId1", firstMessage.getEndpointId());
-    assertEquals(MessageType.REQUEST, firstMessage.getMessageType());
-    assertNull(firstMessage.getException());
-    assertNotNull(firstMessage.getTimeStamp());
+    JsonNode firstMessage = messages.get(0);
+    assertEquals("id1", firstMessage.get("exchangeId").asText());
+    assertEquals("body1", firstMessage.get("messageBody").asText());
+    assertEquals("headers1", firstMessage.get("headers").asText());
+    assertEquals(TEST_ROUTE_ID_1, firstMessage.get("routeId").asText());
+    assertEquals("endpoint1", firstMessage.get("endpoint").asText());
+    assertEquals("endpointId1", firstMessage.get("endpointId").asText());
+    assertEquals("REQUEST", firstMessage.get("messageType").asText());
+    assertTrue(firstMessage.get("exception").isNull());
+    assertEquals(mockMessages.get(0).getTimeStamp(), firstMessage.get("timeStamp").asText());
   }
 
   @Test
-  void getMessagesShouldHandleMessagesWithNullEventType() {
+  void getMessagesShouldHandleMessagesWithNullEventType() throws Exception {
     // Arrange
     List<Message> mockMessages = Arrays.asList(
         new Message("id1", null, "body1", "headers1", TEST_ROUTE_ID_1, "endpoint1", "endpointId1", MessageType.REQUEST, null)
@@ -199,29 +215,29 @@ class ContextControllerTest {
     when(messageService.getMessageList()).thenReturn(mockMessages);
 
     // Act
-    Response response = contextController.getMessages();
+    Response response = contextController.getMessages(null, null);
 
     // Assert
     assertEquals(200, response.getStatus());
-    MessageList messageList = (MessageList) response.getEntity();
-    assertNotNull(messageList);
-    assertEquals(1, messageList.getMessages().size());
-    assertNull(messageList.getMessages().get(0).getExchangeEventType());
+    JsonNode messages = readStreamedEntity(response).get("messages");
+    assertNotNull(messages);
+    assertEquals(1, messages.size());
+    assertTrue(messages.get(0).get("exchangeEventType").isNull());
   }
 
   @Test
-  void getMessagesShouldReturnEmptyListWhenNoMessages() {
+  void getMessagesShouldReturnEmptyListWhenNoMessages() throws Exception {
     // Arrange
     when(messageService.getMessageList()).thenReturn(new ArrayList<>());
 
     // Act
-    Response response = contextController.getMessages();
+    Response response = contextController.getMessages(null, null);
 
     // Assert
     assertEquals(200, response.getStatus());
-    MessageList messageList = (MessageList) response.getEntity();
-    assertNotNull(messageList);
-    assertTrue(messageList.getMessages().isEmpty());
+    JsonNode messages = readStreamedEntity(response).get("messages");
+    assertNotNull(messages);
+    assertTrue(messages.isEmpty());
   }
 
   @Test
@@ -236,24 +252,23 @@ class ContextControllerTest {
   }
 
   @Test
-  void getWidgetsShouldHandleEmptyRoutes() {
+  void getWidgetsShouldHandleEmptyRoutes() throws Exception {
     // Arrange
     when(routeContextService.getCamelRoutes()).thenReturn(new ArrayList<>());
     when(camelContext.getName()).thenReturn("TestContext");
     when(camelContext.getVersion()).thenReturn("3.18.0");
 
     // Act
-    Response response = contextController.getWidgets();
+    Response response = contextController.getWidgets(null, null, null);
 
     // Assert
     assertEquals(200, response.getStatus());
-    CamelBeeContext context = (CamelBeeContext) response.getEntity();
-    assertNotNull(context);
-    assertTrue(context.getRoutes().isEmpty());
+    JsonNode context = readEntity(response);
+    assertTrue(context.get("routes").isEmpty());
   }
 
   @Test
-  void getWidgetsShouldHandleNullRouteOutputs() {
+  void getWidgetsShouldHandleNullRouteOutputs() throws Exception {
     // Arrange
     List<CamelRoute> mockRoutes = Arrays.asList(
         new CamelRoute(TEST_ROUTE_ID_1, "direct:start1", null, false, "direct:error1")
@@ -264,30 +279,136 @@ class ContextControllerTest {
     when(camelContext.getVersion()).thenReturn("3.18.0");
 
     // Act
-    Response response = contextController.getWidgets();
+    Response response = contextController.getWidgets(null, null, null);
 
     // Assert
     assertEquals(200, response.getStatus());
-    CamelBeeContext context = (CamelBeeContext) response.getEntity();
-    assertNotNull(context);
-    assertEquals(1, context.getRoutes().size());
-    assertNull(context.getRoutes().get(0).getOutputs());
+    JsonNode context = readEntity(response);
+    assertEquals(1, context.get("routes").size());
+    assertTrue(context.get("routes").get(0).get("outputs").isNull());
   }
 
   @Test
-  void getWidgetsShouldIncludeSystemProperties() {
+  void getWidgetsShouldIncludeSystemProperties() throws Exception {
     // Arrange
     when(routeContextService.getCamelRoutes()).thenReturn(new ArrayList<>());
     when(camelContext.getName()).thenReturn("TestContext");
     when(camelContext.getVersion()).thenReturn("3.18.0");
 
     // Act
-    Response response = contextController.getWidgets();
+    Response response = contextController.getWidgets(null, null, null);
 
     // Assert
     assertEquals(200, response.getStatus());
-    CamelBeeContext context = (CamelBeeContext) response.getEntity();
+    JsonNode context = readEntity(response);
     assertNotNull(context);
 
   }
+
+  @Test
+  void getWidgetsShouldCacheResponseAndAnswerNotModified() {
+    // Arrange
+    List<CamelRoute> mockRoutes = new ArrayList<>();
+    when(routeContextService.getCamelRoutes()).thenReturn(mockRoutes);
+    when(camelContext.getName()).thenReturn("TestContext");
+
+    // Act
+    Response first = contextController.getWidgets(null, null, null);
+    String etag = first.getHeaderString(HttpHeaders.ETAG);
+    Response second = contextController.getWidgets(null, null, null);
+    Response notModified = contextController.getWidgets(null, etag, null);
+    Response otherVersion = contextController.getWidgets(null, "W/\"other\"", null);
+
+    // Assert
+    assertNotNull(etag);
+    assertSame(first.getEntity(), second.getEntity());
+    assertEquals(304, notModified.getStatus());
+    assertNull(notModified.getEntity());
+    assertEquals(etag, notModified.getHeaderString(HttpHeaders.ETAG));
+    assertEquals(200, otherVersion.getStatus());
+    verify(camelContext, times(1)).getName();
+  }
+
+  @Test
+  void getWidgetsShouldRebuildResponseWhenTopologyChanges() {
+    // Arrange
+    when(routeContextService.getCamelRoutes())
+        .thenReturn(new ArrayList<>())
+        .thenReturn(List.of(new CamelRoute(TEST_ROUTE_ID_1, "direct:start1", null, false, null)));
+
+    // Act
+    Response first = contextController.getWidgets(null, null, null);
+    Response second = contextController.getWidgets(null, first.getHeaderString(HttpHeaders.ETAG), null);
+
+    // Assert
+    assertEquals(200, second.getStatus());
+    assertNotEquals(first.getHeaderString(HttpHeaders.ETAG), second.getHeaderString(HttpHeaders.ETAG));
+  }
+
+  @Test
+  void getWidgetsShouldReturnGzipWhenAccepted() throws Exception {
+    // Arrange
+    when(routeContextService.getCamelRoutes()).thenReturn(new ArrayList<>());
+    when(camelContext.getName()).thenReturn("TestContext");
+
+    // Act
+    Response response = contextController.getWidgets(null, null, "gzip, deflate");
+
+    // Assert
+    assertEquals("gzip", response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+    try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream((byte[]) response.getEntity()))) {
+      assertEquals("TestContext", objectMapper.readTree(gzip).get("name").asText());
+    }
+  }
+
+  @Test
+  void getWidgetsShouldReturnCborWhenAccepted() throws Exception {
+    // Arrange
+    when(routeContextService.getCamelRoutes()).thenReturn(new ArrayList<>());
+    when(camelContext.getName()).thenReturn("TestContext");
+
+    // Act
+    Response response = contextController.getWidgets("application/cbor", null, null);
+
+    // Assert
+    assertEquals(PayloadEncoder.CBOR_MEDIA_TYPE, response.getMediaType().toString());
+    JsonNode tree = new ObjectMapper(new CBORFactory()).readTree((byte[]) response.getEntity());
+    assertEquals("TestContext", tree.get("name").asText());
+  }
+
+  @Test
+  void getMessagesShouldReturnColumnarJsonWhenAccepted() throws Exception {
+    // Arrange
+    when(messageService.getMessageList()).thenReturn(List.of(
+        new Message("id1", MessageEventType.CREATED, "body1", "headers1", TEST_ROUTE_ID_1, "endpoint1", "endpointId1", MessageType.REQUEST, null),
+        new Message("id2", MessageEventType.COMPLETED, "body2", "headers2", TEST_ROUTE_ID_1, "endpoint2", "endpointId2", MessageType.RESPONSE, null)));
+
+    // Act
+    Response response = contextController.getMessages(PayloadEncoder.COLUMNAR_JSON_MEDIA_TYPE, "gzip");
+
+    // Assert
+    assertEquals(PayloadEncoder.COLUMNAR_JSON_MEDIA_TYPE, response.getMediaType().toString());
+    assertEquals("gzip", response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+    try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(writeStreamedEntity(response)))) {
+      JsonNode columns = objectMapper.readTree(gzip).get("messages");
+      assertEquals("id1", columns.get("exchangeId").get(0).asText());
+      assertEquals("COMPLETED", columns.get("exchangeEventType").get(1).asText());
+    }
+  }
+
+  private byte[] writeStreamedEntity(Response response) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    ((StreamingOutput) response.getEntity()).write(out);
+    return out.toByteArray();
+  }
+
+  private JsonNode readStreamedEntity(Response response) throws IOException {
+    assertNull(response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+    return objectMapper.readTree(writeStreamedEntity(response));
+  }
+
+  private JsonNode readEntity(Response response) throws IOException {
+    assertNull(response.getHeaderString(HttpHeaders.CONTENT_ENCODING));
+    return objectMapper.readTree((byte[]) response.getEntity());
+  }
 }
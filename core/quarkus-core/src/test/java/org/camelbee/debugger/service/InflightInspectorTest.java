@@ -0,0 +1,80 @@
+package org.camelbee.debugger.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.camelbee.debugger.model.inflight.InflightReport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InflightInspectorTest {
+
+  private final DefaultCamelContext camelContext = new DefaultCamelContext();
+
+  private final CountDownLatch release = new CountDownLatch(1);
+
+  private final CountDownLatch entered = new CountDownLatch(1);
+
+  private InflightInspector inflightInspector;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    camelContext.addRoutes(new RouteBuilder() {
+
+      @Override
+      public void configure() {
+        from("direct:slow").routeId("slow").process(exchange -> {
+          entered.countDown();
+          release.await(5, TimeUnit.SECONDS);
+        }).id("waiting");
+        from("direct:fast").routeId("fast").log("fast");
+      }
+    });
+    inflightInspector = new InflightInspector(camelContext, true, 60000, Optional.of("slow=0"), 60000, 10);
+    inflightInspector.start();
+    camelContext.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    release.countDown();
+    inflightInspector.stop();
+    camelContext.stop();
+  }
+
+  @Test
+  void shouldDetectStuckExchangesByRouteThreshold() throws Exception {
+    // Arrange
+    ProducerTemplate producerTemplate = camelContext.createProducerTemplate();
+    CompletableFuture<Object> pending = producerTemplate.asyncRequestBody("direct:slow", "body");
+    assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+    // Act
+    final int stuck = inflightInspector.detectStuckExchanges();
+    final InflightReport report = inflightInspector.getReport(10);
+    release.countDown();
+    pending.get(5, TimeUnit.SECONDS);
+    final int stuckAfterRelease = inflightInspector.detectStuckExchanges();
+    final InflightReport reportAfterRelease = inflightInspector.getReport(10);
+
+    // Assert
+    assertEquals(1, stuck);
+    assertEquals(1, report.getInflightCount());
+    assertEquals("waiting", report.getRoutes().get("slow").get(0).getNodeId());
+    assertEquals(1, report.getStuckCountPerRoute().get("slow"));
+    assertEquals(0, stuckAfterRelease);
+    assertEquals(0, reportAfterRelease.getStuckCount());
+    assertEquals(1, reportAfterRelease.getStuckTotal());
+    assertEquals(1, reportAfterRelease.getStuckExchanges().size());
+    assertTrue(reportAfterRelease.getRoutes().isEmpty());
+  }
+
+}
@@ -0,0 +1,73 @@
+package org.camelbee.debugger.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Optional;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.camelbee.debugger.model.metrics.JvmMetrics;
+import org.junit.jupiter.api.Test;
+
+class JvmMetricsSamplerTest {
+
+  @Test
+  void shouldKeepLatestSamplesInOrder() {
+    // Arrange
+    JvmMetricsSampler sampler = sampler(1000, 3);
+
+    // Act
+    for (int i = 0; i < 5; i++) {
+      sampler.sample();
+    }
+    JvmMetrics metrics = sampler.getMetrics(null);
+
+    // Assert
+    assertEquals(1000, metrics.getIntervalMillis());
+    assertEquals(3, metrics.getTimestamps().length);
+    assertEquals(3, metrics.getHeapUsed().length);
+    assertEquals(3, metrics.getInflightExchanges().length);
+    assertEquals(3, metrics.getStuckExchanges().length);
+    assertTrue(metrics.getTimestamps()[0] <= metrics.getTimestamps()[1]);
+    assertTrue(metrics.getTimestamps()[1] <= metrics.getTimestamps()[2]);
+    assertTrue(metrics.getHeapUsed()[2] > 0);
+    assertTrue(metrics.getThreadCount()[2] > 0);
+    assertTrue(metrics.getLoadedClassCount()[2] > 0);
+  }
+
+  @Test
+  void shouldReturnSamplesOfWindow() throws Exception {
+    // Arrange
+    JvmMetricsSampler sampler = sampler(1000, 10);
+    sampler.sample();
+    Thread.sleep(50);
+    sampler.sample();
+
+    // Act
+    JvmMetrics window = sampler.getMetrics(25L);
+    JvmMetrics all = sampler.getMetrics(0L);
+
+    // Assert
+    assertEquals(1, window.getTimestamps().length);
+    assertEquals(2, all.getTimestamps().length);
+  }
+
+  @Test
+  void shouldReturnEmptyArraysWithoutSamples() {
+    // Arrange
+    JvmMetricsSampler sampler = sampler(1000, 10);
+
+    // Act
+    JvmMetrics metrics = sampler.getMetrics(60000L);
+
+    // Assert
+    assertEquals(0, metrics.getTimestamps().length);
+    assertEquals(0, metrics.getSystemCpuLoad().length);
+  }
+
+  private static JvmMetricsSampler sampler(long interval, int capacity) {
+    DefaultCamelContext camelContext = new DefaultCamelContext();
+    return new JvmMetricsSampler(camelContext, new InflightInspector(camelContext, false, 30000, Optional.empty(), 5000, 100),
+        false, interval, capacity);
+  }
+
+}
@@ -0,0 +1,145 @@
+package org.camelbee.debugger.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.camelbee.debugger.model.loadtest.LoadTestRequest;
+import org.camelbee.debugger.model.loadtest.LoadTestStatus;
+import org.camelbee.debugger.model.loadtest.LoadTestStatus.State;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LoadTestServiceTest {
+
+  private final DefaultCamelContext camelContext = new DefaultCamelContext();
+
+  private final AtomicInteger received = new AtomicInteger();
+
+  private LoadTestService loadTestService;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    camelContext.addRoutes(new RouteBuilder() {
+
+      @Override
+      public void configure() {
+        from("direct:target").routeId("target").process(exchange -> received.incrementAndGet());
+        from("direct:failing").routeId("failing").throwException(new IllegalStateException("failed"));
+      }
+    });
+    camelContext.start();
+    loadTestService = new LoadTestService(camelContext, camelContext.createProducerTemplate(), 100, 10, 2);
+  }
+
+  @AfterEach
+  void tearDown() {
+    loadTestService.stop();
+    camelContext.stop();
+  }
+
+  @Test
+  void shouldSendTotalCountConcurrently() throws Exception {
+    // Arrange
+    LoadTestRequest request = new LoadTestRequest(null, 50L, 5, null, null);
+
+    // Act
+    String id = loadTestService.start(request, camelContext.getEndpoint("direct:target"), Map.of("key", "value"), () -> "body").getId();
+    assertTrue(loadTestService.awaitCompletion(id, 10000));
+    LoadTestStatus status = loadTestService.getStatus(id);
+
+    // Assert
+    assertEquals(State.COMPLETED, status.getState());
+    assertEquals(50, received.get());
+    assertEquals(50, status.getSent());
+    assertEquals(50, status.getSucceeded());
+    assertEquals(0, status.getFailed());
+    assertEquals(50, Arrays.stream(status.getLatencyCounts()).sum());
+    assertEquals(status.getLatencyBucketsMillis().length + 1, status.getLatencyCounts().length);
+    assertTrue(status.getThroughput() > 0);
+  }
+
+  @Test
+  void shouldCountFailedExchanges() throws Exception {
+    // Arrange
+    LoadTestRequest request = new LoadTestRequest(null, 10L, 2, null, null);
+
+    // Act
+    String id = loadTestService.start(request, camelContext.getEndpoint("direct:failing"), Map.of(), () -> "body").getId();
+    assertTrue(loadTestService.awaitCompletion(id, 10000));
+
+    // Assert
+    assertEquals(10, loadTestService.getStatus(id).getFailed());
+  }
+
+  @Test
+  void shouldPaceAndCancelLoadTest() throws Exception {
+    // Arrange
+    LoadTestRequest request = new LoadTestRequest(null, null, 4, 20.0, 60L);
+
+    // Act
+    String id = loadTestService.start(request, camelContext.getEndpoint("direct:target"), Map.of(), () -> "body").getId();
+    Thread.sleep(200);
+    loadTestService.cancel(id);
+    assertTrue(loadTestService.awaitCompletion(id, 10000));
+    LoadTestStatus status = loadTestService.getStatus(id);
+
+    // Assert
+    assertEquals(State.CANCELLED, status.getState());
+    assertTrue(received.get() <= 10, "rate limited to 20 per second but received " + received.get());
+  }
+
+  @Test
+  void shouldRejectLoadTestsBeyondTheActiveLimit() throws Exception {
+    // Arrange
+    LoadTestRequest running = new LoadTestRequest(null, null, 1, 10.0, 60L);
+    loadTestService.start(running, camelContext.getEndpoint("direct:target"), Map.of(), () -> "body");
+    String id = loadTestService.start(running, camelContext.getEndpoint("direct:target"), Map.of(), () -> "body").getId();
+
+    // Act & Assert
+    assertThrows(RejectedExecutionException.class,
+        () -> loadTestService.start(running, camelContext.getEndpoint("direct:target"), Map.of(), () -> "body"));
+    loadTestService.cancel(id);
+    assertTrue(loadTestService.awaitCompletion(id, 10000));
+    assertNotNull(loadTestService.start(running, camelContext.getEndpoint("direct:target"), Map.of(), () -> "body"));
+  }
+
+  @Test
+  void shouldEvictTheOldestFinishedLoadTest() throws Exception {
+    // Arrange
+    LoadTestService service = new LoadTestService(camelContext, camelContext.createProducerTemplate(), 100, 2, 2);
+    String running = service.start(new LoadTestRequest(null, null, 1, 10.0, 60L), camelContext.getEndpoint("direct:target"),
+        Map.of(), () -> "body").getId();
+    String first = service.start(new LoadTestRequest(null, 1L, 1, null, null), camelContext.getEndpoint("direct:target"),
+        Map.of(), () -> "body").getId();
+    assertTrue(service.awaitCompletion(first, 10000));
+
+    // Act
+    String second = service.start(new LoadTestRequest(null, 1L, 1, null, null), camelContext.getEndpoint("direct:target"),
+        Map.of(), () -> "body").getId();
+
+    // Assert
+    assertNotNull(service.getStatus(running));
+    assertNull(service.getStatus(first));
+    assertNotNull(service.getStatus(second));
+    service.stop();
+  }
+
+  @Test
+  void shouldRejectInvalidRequests() {
+    assertThrows(IllegalArgumentException.class,
+        () -> loadTestService.start(new LoadTestRequest(null, null, 1, null, null), camelContext.getEndpoint("direct:target"), Map.of(), () -> "body"));
+    assertThrows(IllegalArgumentException.class,
+        () -> loadTestService.start(new LoadTestRequest(null, 1L, 101, null, null), camelContext.getEndpoint("direct:target"), Map.of(), () -> "body"));
+  }
+
+}
@@ -0,0 +1,86 @@
+package org.camelbee.debugger.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.GZIPInputStream;
+import org.camelbee.debugger.model.exchange.Message;
+import org.camelbee.debugger.model.exchange.MessageEventType;
+import org.camelbee.debugger.model.exchange.MessageList;
+import org.camelbee.debugger.model.exchange.MessageType;
+import org.camelbee.debugger.service.PayloadEncoder.Format;
+import org.junit.jupiter.api.Test;
+
+class MessageStreamWriterTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private final List<Message> messages = new CopyOnWriteArrayList<>();
+
+  MessageStreamWriterTest() {
+    for (int i = 0; i < 1000; i++) {
+      messages.add(new Message("id" + i, i % 2 == 0 ? MessageEventType.CREATED : null, "body \"" + i + "\"\n", "headers", "route",
+          "endpoint", null, MessageType.REQUEST, i % 10 == 0 ? "failed" : null));
+    }
+  }
+
+  @Test
+  void shouldStreamSameJsonAsObjectMapper() throws Exception {
+    // Act
+    byte[] streamed = write(Format.JSON, false);
+
+    // Assert
+    assertEquals(objectMapper.readTree(objectMapper.writeValueAsBytes(new MessageList(messages))), objectMapper.readTree(streamed));
+  }
+
+  @Test
+  void shouldStreamSameColumnsAsPayloadEncoder() throws Exception {
+    // Act
+    byte[] columnarJson = write(Format.COLUMNAR_JSON, true);
+    byte[] cbor = write(Format.CBOR, false);
+
+    // Assert
+    byte[] expected = new PayloadEncoder(objectMapper).encode(new MessageList(messages), Format.COLUMNAR_JSON);
+    try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(columnarJson))) {
+      assertEquals(objectMapper.readTree(expected), objectMapper.readTree(gzip));
+    }
+    assertEquals(objectMapper.readTree(expected), new ObjectMapper(new CBORFactory()).readTree(cbor));
+  }
+
+  @Test
+  void shouldStreamWithSettingsOfApplicationObjectMapper() throws Exception {
+    // Arrange
+    objectMapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    // Act
+    byte[] streamed = write(Format.JSON, false);
+
+    // Assert
+    assertEquals(new String(objectMapper.writeValueAsBytes(new MessageList(messages))), new String(streamed));
+    assertFalse(new String(streamed).contains("null"));
+  }
+
+  @Test
+  void shouldStreamEmptyMessageList() throws Exception {
+    // Arrange
+    messages.clear();
+
+    // Act & Assert
+    assertEquals("{\"messages\":[]}", new String(write(Format.JSON, false)));
+    assertEquals("{\"messages\":{}}", new String(write(Format.COLUMNAR_JSON, false)));
+  }
+
+  private byte[] write(Format format, boolean gzip) throws Exception {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new MessageStreamWriter(new PayloadEncoder(objectMapper)).write(messages, format, gzip, out);
+    return out.toByteArray();
+  }
+
+}
@@ -0,0 +1,95 @@
+package org.camelbee.debugger.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.io.ByteArrayInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.camelbee.debugger.model.exchange.Message;
+import org.camelbee.debugger.model.exchange.MessageEventType;
+import org.camelbee.debugger.model.exchange.MessageList;
+import org.camelbee.debugger.model.exchange.MessageType;
+import org.camelbee.debugger.service.PayloadEncoder.Format;
+import org.junit.jupiter.api.Test;
+
+class PayloadEncoderTest {
+
+  private final ObjectMapper objectMapper = new ObjectMapper();
+
+  private final PayloadEncoder payloadEncoder = new PayloadEncoder(objectMapper);
+
+  @Test
+  void shouldNegotiateFormatByQuality() {
+    assertEquals(Format.JSON, PayloadEncoder.negotiate(null));
+    assertEquals(Format.JSON, PayloadEncoder.negotiate("*/*"));
+    assertEquals(Format.CBOR, PayloadEncoder.negotiate("application/cbor"));
+    assertEquals(Format.COLUMNAR_JSON, PayloadEncoder.negotiate("application/json;q=0.5, application/vnd.camelbee.columnar+json"));
+    assertEquals(Format.JSON, PayloadEncoder.negotiate("application/cbor;q=0, application/json"));
+    assertEquals(Format.JSON, PayloadEncoder.negotiate("text/html"));
+  }
+
+  @Test
+  void shouldEncodeArraysOfObjectsAsColumns() throws Exception {
+    // Arrange
+    JsonNode tree = objectMapper.readTree("{\"name\":\"n\",\"rows\":[{\"a\":1,\"b\":\"x\"},{\"a\":2},{\"c\":true}],\"tags\":[\"t\"]}");
+
+    // Act
+    JsonNode columnar = PayloadEncoder.columnar(tree);
+
+    // Assert
+    assertEquals("n", columnar.get("name").asText());
+    assertEquals("[1,2,null]", columnar.get("rows").get("a").toString());
+    assertEquals("[\"x\",null,null]", columnar.get("rows").get("b").toString());
+    assertEquals("[null,null,true]", columnar.get("rows").get("c").toString());
+    assertEquals("[\"t\"]", columnar.get("tags").toString());
+  }
+
+  @Test
+  void shouldEncodeMessagesSmallerAsColumnarCbor() throws Exception {
+    // Arrange
+    List<Message> messages = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      messages.add(new Message("id" + i, MessageEventType.CREATED, "body" + i, "headers", "route", "endpoint", "endpointId",
+          MessageType.REQUEST, null));
+    }
+    MessageList messageList = new MessageList(messages);
+
+    // Act
+    byte[] json = payloadEncoder.encode(messageList, Format.JSON);
+    byte[] columnarJson = payloadEncoder.encode(messageList, Format.COLUMNAR_JSON);
+    byte[] cbor = payloadEncoder.encode(messageList, Format.CBOR);
+
+    // Assert
+    assertTrue(columnarJson.length < json.length);
+    assertTrue(cbor.length < columnarJson.length);
+    JsonNode decoded = new ObjectMapper(new CBORFactory()).readTree(cbor);
+    assertEquals("id99", decoded.get("messages").get("exchangeId").get(99).asText());
+    try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(PayloadEncoder.gzip(columnarJson)))) {
+      assertEquals(objectMapper.readTree(columnarJson), objectMapper.readTree(gzip));
+    }
+  }
+
+  @Test
+  void shouldEncodeWithTheConfigurationOfTheApplicationObjectMapper() throws Exception {
+    // Arrange
+    PayloadEncoder encoder = new PayloadEncoder(new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL));
+    MessageList messageList = new MessageList(List.of(new Message("id", MessageEventType.CREATED, "body", "headers", "route",
+        "endpoint", "endpointId", MessageType.REQUEST, null)));
+
+    // Act
+    JsonNode json = objectMapper.readTree(encoder.encode(messageList, Format.JSON));
+    JsonNode cbor = new ObjectMapper(new CBORFactory()).readTree(encoder.encode(messageList, Format.CBOR));
+
+    // Assert
+    assertFalse(json.get("messages").get(0).has("exception"));
+    assertEquals("id", cbor.get("messages").get("exchangeId").get(0).asText());
+  }
+
+}
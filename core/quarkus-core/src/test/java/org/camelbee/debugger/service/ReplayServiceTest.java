@@ -0,0 +1,284 @@
+package org.camelbee.debugger.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultComponent;
+import org.apache.camel.support.ProcessorEndpoint;
+import org.camelbee.debugger.model.exchange.Message;
+import org.camelbee.debugger.model.exchange.MessageEventType;
+import org.camelbee.debugger.model.exchange.MessageType;
+import org.camelbee.debugger.model.replay.ReplayRequest;
+import org.camelbee.debugger.model.replay.ReplayRouteStatus;
+import org.camelbee.debugger.model.replay.ReplayStatus;
+import org.camelbee.debugger.model.replay.ReplayStatus.State;
+import org.camelbee.debugger.model.route.CamelRoute;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ReplayServiceTest {
+
+  private final DefaultCamelContext camelContext = new DefaultCamelContext();
+
+  private final MessageService messageService = new MessageService(1000);
+
+  private final RouteContextService routeContextService = new RouteContextService();
+
+  private final AtomicReference<String> receivedHeader = new AtomicReference<>();
+
+  private final CountDownLatch targetReceived = new CountDownLatch(1);
+
+  private final CountDownLatch blockedEntered = new CountDownLatch(1);
+
+  private final CountDownLatch blockedRelease = new CountDownLatch(1);
+
+  private final AtomicInteger inflight = new AtomicInteger();
+
+  private final AtomicInteger maxInflight = new AtomicInteger();
+
+  private ReplayService replayService;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    camelContext.addRoutes(new RouteBuilder() {
+
+      @Override
+      public void configure() {
+        from("direct:target").routeId("target")
+            .process(exchange -> {
+              receivedHeader.set(exchange.getIn().getHeader("key", String.class));
+              targetReceived.countDown();
+            });
+        from("direct:blocked").routeId("blocked").process(exchange -> {
+          blockedEntered.countDown();
+          blockedRelease.await();
+        });
+        from("direct:slow").routeId("slow").process(exchange -> {
+          maxInflight.accumulateAndGet(inflight.incrementAndGet(), Math::max);
+          Thread.sleep(20);
+          inflight.decrementAndGet();
+        });
+      }
+    });
+    camelContext.start();
+    routeContextService.camelContext = camelContext;
+    replayService = new ReplayService(camelContext, camelContext.createProducerTemplate(),
+        new ProducerTargetRegistry(camelContext, routeContextService, new ObjectMapper()), messageService, new ObjectMapper(),
+        10, 1000, 10, 2);
+  }
+
+  @AfterEach
+  void tearDown() {
+    blockedRelease.countDown();
+    replayService.stop();
+    camelContext.stop();
+  }
+
+  @Test
+  void shouldReplayCapturedRequestsAndCompareLatencies() throws Exception {
+    // Arrange
+    messageService.addMessage(new Message("e1", MessageEventType.CREATED, "a", "key:value\n", "target", null, null,
+        MessageType.REQUEST, null));
+    messageService.addMessage(new Message("e1", MessageEventType.COMPLETED, "a", "", null, "target", null,
+        MessageType.RESPONSE, null));
+
+    // Act
+    String id = replayService.startCaptured(new ReplayRequest(null, null, null, 0.0, null, null)).getId();
+    assertTrue(replayService.awaitCompletion(id, 10000));
+    ReplayStatus status = replayService.getStatus(id);
+
+    // Assert
+    assertEquals(State.COMPLETED, status.getState());
+    assertEquals(1, status.getSent());
+    assertEquals("value", receivedHeader.get());
+    ReplayRouteStatus route = status.getRoutes().get(0);
+    assertEquals("target", route.getRouteId());
+    assertEquals(1, route.getSucceeded());
+    assertEquals(1, route.getOriginal().getCount());
+    assertEquals(1, route.getReplay().getCount());
+  }
+
+  @Test
+  void shouldReplayUploadedCaptureAtScaledSpeed() throws Exception {
+    // Arrange
+    String capture = """
+        {"exchangeId":"e1","exchangeEventType":"CREATED","routeId":"target","timeStamp":"1000","headers":null,"messageBody":"a"}
+        {"exchangeId":"e1","exchangeEventType":"COMPLETED","routeId":null,"timeStamp":"1010","headers":null,"messageBody":"a"}
+        {"exchangeId":"e2","exchangeEventType":"CREATED","routeId":"target","timeStamp":"1400","headers":null,"messageBody":"b"}
+        {"exchangeId":"e3","exchangeEventType":"CREATED","routeId":"unknown","timeStamp":"1200","headers":null,"messageBody":"c"}
+        """;
+
+    // Act
+    String id = replayService.startUploaded(capture, new ReplayRequest(null, null, null, 2.0, null, null)).getId();
+    assertTrue(replayService.awaitCompletion(id, 10000));
+    ReplayStatus status = replayService.getStatus(id);
+
+    // Assert
+    assertEquals(3, status.getTotal());
+    assertEquals(2, status.getSent());
+    assertEquals(1, status.getSkipped());
+    assertTrue(status.getElapsedMillis() >= 190, "replayed 400ms of traffic at 2x in " + status.getElapsedMillis() + "ms");
+    assertEquals(10, status.getRoutes().get(0).getOriginal().getMaxMillis());
+  }
+
+  @Test
+  void shouldLimitConcurrencyPerRoute() throws Exception {
+    // Arrange
+    StringBuilder capture = new StringBuilder("{\"messages\":[");
+    for (int i = 0; i < 10; i++) {
+      capture.append(i > 0 ? "," : "").append("{\"exchangeId\":\"e").append(i)
+          .append("\",\"exchangeEventType\":\"CREATED\",\"routeId\":\"slow\",\"timeStamp\":\"1000\"}");
+    }
+    capture.append("]}");
+
+    // Act
+    String id = replayService.startUploaded(capture.toString(), new ReplayRequest(null, null, List.of("slow"), 0.0, null,
+        Map.of("slow", 2))).getId();
+    assertTrue(replayService.awaitCompletion(id, 10000));
+
+    // Assert
+    assertEquals(10, replayService.getStatus(id).getRoutes().get(0).getSucceeded());
+    assertTrue(maxInflight.get() <= 2, "at most 2 requests in flight but was " + maxInflight.get());
+  }
+
+  @Test
+  void shouldSubmitAtMostTheConcurrencyOfTheRoute() throws Exception {
+    // Arrange
+    StringBuilder capture = new StringBuilder("{\"messages\":[");
+    for (int i = 0; i < 10; i++) {
+      capture.append(i > 0 ? "," : "").append("{\"exchangeId\":\"e").append(i)
+          .append("\",\"exchangeEventType\":\"CREATED\",\"routeId\":\"blocked\",\"timeStamp\":\"1000\"}");
+    }
+    capture.append("]}");
+
+    // Act
+    String id = replayService.startUploaded(capture.toString(), new ReplayRequest(null, null, List.of("blocked"), 0.0, null,
+        Map.of("blocked", 1))).getId();
+    assertTrue(blockedEntered.await(10, TimeUnit.SECONDS));
+    long sent = replayService.getStatus(id).getSent();
+    blockedRelease.countDown();
+    assertTrue(replayService.awaitCompletion(id, 10000));
+
+    // Assert
+    assertEquals(1, sent, "the dispatcher waits for a permit of the route");
+    assertEquals(10, replayService.getStatus(id).getSent());
+  }
+
+  @Test
+  void shouldNotDelayOtherRoutesWhileARouteWaitsForPermits() throws Exception {
+    // Arrange
+    String capture = """
+        {"exchangeId":"e1","exchangeEventType":"CREATED","routeId":"blocked","timeStamp":"1000"}
+        {"exchangeId":"e2","exchangeEventType":"CREATED","routeId":"blocked","timeStamp":"1000"}
+        {"exchangeId":"e3","exchangeEventType":"CREATED","routeId":"blocked","timeStamp":"1000"}
+        {"exchangeId":"e4","exchangeEventType":"CREATED","routeId":"target","timeStamp":"1001","headers":"key:value\\n"}
+        """;
+
+    // Act
+    String id = replayService.startUploaded(capture, new ReplayRequest(null, null, null, 0.0, null, Map.of("blocked", 1)))
+        .getId();
+    boolean received = targetReceived.await(10, TimeUnit.SECONDS);
+    long blockedSucceeded = routeStatus(id, "blocked").getSucceeded();
+    blockedRelease.countDown();
+    assertTrue(replayService.awaitCompletion(id, 10000));
+
+    // Assert
+    assertTrue(received, "the target route is replayed while the blocked route waits for its permits");
+    assertEquals(0, blockedSucceeded);
+    assertEquals("value", receivedHeader.get());
+    assertEquals(3, routeStatus(id, "blocked").getSucceeded());
+    assertEquals(1, routeStatus(id, "target").getSucceeded());
+  }
+
+  @Test
+  void shouldReplayRestRoutesThroughTheirHttpEndpoint() throws Exception {
+    // Arrange
+    List<String> received = new CopyOnWriteArrayList<>();
+    camelContext.addComponent("http", new DefaultComponent() {
+
+      @Override
+      protected Endpoint createEndpoint(String uri, String remaining, Map<String, Object> parameters) {
+        parameters.clear();
+        return new ProcessorEndpoint(uri, this, exchange -> received.add(uri + " " + exchange.getIn().getHeader(Exchange.HTTP_PATH)
+            + " " + exchange.getIn().getBody(String.class)));
+      }
+    });
+    camelContext.getPropertiesComponent().addOverrideProperty("quarkus.http.port", "8080");
+    RouteContextService restRoutes = mock(RouteContextService.class);
+    when(restRoutes.getCamelRoutes()).thenReturn(List.of(new CamelRoute("orders",
+        "From[rest://post:/api:/orders?consumerComponentName=platform-http&routeId=orders]", List.of(), true, null)));
+    ReplayService restReplayService = new ReplayService(camelContext, camelContext.createProducerTemplate(),
+        new ProducerTargetRegistry(camelContext, restRoutes, new ObjectMapper()), messageService, new ObjectMapper(),
+        10, 1000, 10, 2);
+    String capture = """
+        {"exchangeId":"e1","exchangeEventType":"CREATED","routeId":"orders","timeStamp":"1000",\
+        "headers":"CamelHttpMethod:POST\\nCamelHttpUri:/api/orders\\nCamelHttpPath:/orders\\n","messageBody":"order-1"}
+        """;
+
+    // Act
+    String id = restReplayService.startUploaded(capture, new ReplayRequest(null, null, null, 0.0, null, null)).getId();
+    assertTrue(restReplayService.awaitCompletion(id, 10000));
+
+    // Assert
+    assertEquals(List.of("http://localhost:8080/api/orders?throwExceptionOnFailure=false null order-1"), received);
+    assertEquals(1, restReplayService.getStatus(id).getRoutes().get(0).getSucceeded());
+  }
+
+  @Test
+  void shouldRejectReplaysBeyondTheActiveLimit() throws Exception {
+    // Arrange
+    String capture = """
+        {"exchangeId":"e1","exchangeEventType":"CREATED","routeId":"target","timeStamp":"1000","messageBody":"a"}
+        {"exchangeId":"e2","exchangeEventType":"CREATED","routeId":"target","timeStamp":"61000","messageBody":"b"}
+        """;
+    ReplayRequest request = new ReplayRequest(null, null, null, 1.0, null, null);
+    replayService.startUploaded(capture, request);
+    String id = replayService.startUploaded(capture, request).getId();
+
+    // Act & Assert
+    assertThrows(RejectedExecutionException.class, () -> replayService.startUploaded(capture, request));
+    replayService.cancel(id);
+    assertTrue(replayService.awaitCompletion(id, 10000));
+    assertEquals(State.RUNNING, replayService.startUploaded(capture, request).getState());
+  }
+
+  @Test
+  void shouldRejectInvalidRequests() {
+    assertThrows(IllegalArgumentException.class,
+        () -> replayService.startCaptured(new ReplayRequest(null, null, null, null, null, null)));
+    assertThrows(IllegalArgumentException.class,
+        () -> replayService.startUploaded("{\"exchangeEventType\":\"CREATED\",\"routeId\":\"target\"}",
+            new ReplayRequest(null, null, null, -1.0, null, null)));
+  }
+
+  @Test
+  void shouldParseCapturedHeaders() {
+    assertEquals(Map.of("a", "1", "b", "x:y"), ReplayService.parseHeaders("a:1\nb:x:y\n"));
+    assertTrue(ReplayService.parseHeaders(null).isEmpty());
+  }
+
+  private ReplayRouteStatus routeStatus(String id, String routeId) {
+    return replayService.getStatus(id).getRoutes().stream()
+        .filter(route -> routeId.equals(route.getRouteId()))
+        .findFirst()
+        .orElseThrow();
+  }
+
+}
@@ -0,0 +1,69 @@
+package org.camelbee.debugger.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.camelbee.debugger.model.route.CamelBeeContext;
+import org.camelbee.debugger.model.route.CamelRoute;
+import org.camelbee.debugger.service.RoutesResponseCache.CachedRoutes;
+import org.junit.jupiter.api.Test;
+
+class RoutesResponseCacheTest {
+
+  private final RoutesResponseCache routesResponseCache = new RoutesResponseCache(new PayloadEncoder(new ObjectMapper()));
+
+  @Test
+  void shouldBuildResponseOncePerSnapshot() {
+    // Arrange
+    List<CamelRoute> routes = List.of(new CamelRoute("route1", "direct:start", List.of(), false, null));
+    AtomicInteger builds = new AtomicInteger();
+
+    // Act
+    CachedRoutes first = routesResponseCache.get(routes, () -> context(routes, builds));
+    CachedRoutes second = routesResponseCache.get(routes, () -> context(routes, builds));
+    CachedRoutes changed = routesResponseCache.get(List.of(), () -> context(List.of(), builds));
+
+    // Assert
+    assertSame(first, second);
+    assertEquals(2, builds.get());
+    assertTrue(first.etag().startsWith("W/\""));
+    assertNotEquals(first.etag(), changed.etag());
+    assertTrue(first.gzip().length > 0);
+  }
+
+  @Test
+  void shouldMatchIfNoneMatchWeakly() {
+    // Arrange
+    CachedRoutes cachedRoutes = routesResponseCache.get(List.of(), () -> context(List.of(), new AtomicInteger()));
+    String opaqueTag = cachedRoutes.etag().substring(2);
+
+    // Act & Assert
+    assertTrue(cachedRoutes.matches(cachedRoutes.etag()));
+    assertTrue(cachedRoutes.matches(opaqueTag));
+    assertTrue(cachedRoutes.matches("\"other\", " + opaqueTag));
+    assertTrue(cachedRoutes.matches("*"));
+    assertFalse(cachedRoutes.matches("\"other\""));
+    assertFalse(cachedRoutes.matches(null));
+  }
+
+  @Test
+  void shouldDetectAcceptedGzip() {
+    assertTrue(RoutesResponseCache.acceptsGzip("gzip"));
+    assertTrue(RoutesResponseCache.acceptsGzip("deflate, GZIP;q=0.8"));
+    assertFalse(RoutesResponseCache.acceptsGzip("gzip;q=0"));
+    assertFalse(RoutesResponseCache.acceptsGzip("br, deflate"));
+    assertFalse(RoutesResponseCache.acceptsGzip(null));
+  }
+
+  private static CamelBeeContext context(List<CamelRoute> routes, AtomicInteger builds) {
+    builds.incrementAndGet();
+    return new CamelBeeContext(routes, "context", "jvm", "", "", "framework", "4.11.0");
+  }
+
+}
@@ -0,0 +1,49 @@
+package org.camelbee.tracers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.Test;
+
+class RouteStackTest {
+
+  @Test
+  void shouldPushAndPopInLifoOrder() {
+    // Arrange
+    RouteStack stack = RouteStack.of("direct:a").push("direct:b").push("mock:c");
+
+    // Act & Assert
+    assertEquals(3, stack.size());
+    assertEquals("mock:c", stack.peek());
+    assertEquals("direct:b", stack.pop().peek());
+    assertEquals("direct:a", stack.pop().pop().peek());
+    assertTrue(stack.pop().pop().pop().isEmpty());
+    assertEquals("[mock:c, direct:b, direct:a]", stack.toString());
+  }
+
+  @Test
+  void branchesShouldShareTheParentWithoutAffectingEachOther() {
+    // Arrange
+    RouteStack parent = RouteStack.of("direct:multicast");
+
+    // Act
+    RouteStack branch1 = parent.push("direct:branch1");
+    RouteStack branch2 = parent.push("direct:branch2");
+
+    // Assert
+    assertSame(parent, branch1.pop());
+    assertSame(parent, branch2.pop());
+    assertEquals("direct:multicast", parent.peek());
+    assertEquals(1, parent.size());
+  }
+
+  @Test
+  void emptyStackShouldBehaveLikeAnEmptyDeque() {
+    assertNull(RouteStack.EMPTY.peek());
+    assertThrows(NoSuchElementException.class, RouteStack.EMPTY::pop);
+  }
+}
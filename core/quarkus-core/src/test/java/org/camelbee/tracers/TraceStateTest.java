@@ -0,0 +1,59 @@
+package org.camelbee.tracers;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.Test;
+
+class TraceStateTest {
+
+  private final Exchange exchange = new DefaultExchange(new DefaultCamelContext());
+
+  @Test
+  void shouldReturnTheSameStateForTheOwningExchange() {
+    // Arrange
+    TraceState traceState = TraceState.create(exchange);
+
+    // Act & Assert
+    assertSame(traceState, TraceState.of(exchange));
+    assertSame(traceState, TraceState.find(exchange));
+    assertEquals(exchange.getExchangeId(), traceState.getExchangeId());
+  }
+
+  @Test
+  void shouldReturnNullWithoutState() {
+    assertNull(TraceState.of(exchange));
+    assertNull(TraceState.find(exchange));
+  }
+
+  @Test
+  void shouldBranchTheStateOfACopiedExchange() {
+    // Arrange
+    TraceState traceState = TraceState.create(exchange);
+    traceState.setInitialExchangeId(exchange.getExchangeId());
+    traceState.setCurrentRouteName("direct:multicast");
+    traceState.setRouteStack(RouteStack.of("direct:multicast"));
+    traceState.setFailedEventIdentityHashCode(42);
+    Exchange copy = exchange.copy();
+
+    // Act
+    TraceState branch = TraceState.of(copy);
+    branch.setRouteStack(branch.getRouteStack().push("direct:branch"));
+    branch.setCurrentRouteName("direct:branch");
+
+    // Assert
+    assertNotSame(traceState, branch);
+    assertSame(branch, TraceState.of(copy));
+    assertEquals(copy.getExchangeId(), branch.getExchangeId());
+    assertEquals(exchange.getExchangeId(), branch.getInitialExchangeId());
+    assertEquals(42, branch.getFailedEventIdentityHashCode());
+    assertSame(traceState.getRouteStack(), branch.getRouteStack().pop());
+    assertEquals("direct:multicast", traceState.getCurrentRouteName());
+    assertEquals(1, traceState.getRouteStack().size());
+  }
+}
@@ -0,0 +1,196 @@
+package org.camelbee.tracers;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static org.mockito.Mockito.mock;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.event.ExchangeCompletedEvent;
+import org.apache.camel.impl.event.ExchangeCreatedEvent;
+import org.apache.camel.impl.event.ExchangeSendingEvent;
+import org.apache.camel.impl.event.ExchangeSentEvent;
+import org.apache.camel.support.DefaultExchange;
+import org.camelbee.debugger.model.exchange.Message;
+import org.camelbee.debugger.service.MessageService;
+import org.camelbee.debugger.service.RouteContextService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Measures the bytes allocated per traced event by each event tracer and fails when the budget of the event is exceeded.
+ * The events are prepared before the measurement, so only the traceEvent call itself is counted.
+ * The budgets can be overridden with the camelbee.allocation-budget.(created|sending|sent|completed) system properties.
+ */
+class TracerAllocationBudgetTest {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(TracerAllocationBudgetTest.class);
+
+  private static final String ROUTE_ID = "budgetRoute";
+
+  private static final String ENDPOINT_URI = "direct:budgetEndpoint";
+
+  private static final String BODY = "x".repeat(256);
+
+  private static final int HEADER_COUNT = 5;
+
+  private static final int EVENTS_PER_ROUND = 5_000;
+
+  private static final int WARMUP_ROUNDS = 6;
+
+  private static final int MEASURED_ROUNDS = 3;
+
+  private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+  private static CamelContext camelContext;
+
+  private static Endpoint endpoint;
+
+  private final MessageService messageService = mock(MessageService.class);
+
+  private final ExchangeCreatedEventTracer createdTracer = new ExchangeCreatedEventTracer(messageService);
+  private final ExchangeSendingEventTracer sendingTracer = new ExchangeSendingEventTracer(messageService, mock(RouteContextService.class));
+  private final ExchangeSentEventTracer sentTracer = new ExchangeSentEventTracer(messageService);
+  private final ExchangeCompletedEventTracer completedTracer = new ExchangeCompletedEventTracer(messageService);
+
+  private Message lastMessage;
+
+  @BeforeAll
+  static void startCamelContext() {
+    camelContext = new DefaultCamelContext();
+    camelContext.start();
+    endpoint = camelContext.getEndpoint(ENDPOINT_URI);
+  }
+
+  @AfterAll
+  static void stopCamelContext() {
+    camelContext.stop();
+  }
+
+  @Test
+  void shouldStayWithinTheCreatedEventBudget() {
+    // Arrange
+    long budget = budget("created", 1792);
+
+    // Act
+    long allocated = allocatedBytesPerEvent(() -> new ExchangeCreatedEvent(newExchange()), createdTracer::traceEvent);
+
+    // Assert
+    assertWithinBudget("ExchangeCreatedEventTracer", allocated, budget);
+  }
+
+  @Test
+  void shouldStayWithinTheSendingEventBudget() {
+    // Arrange
+    long budget = budget("sending", 1280);
+
+    // Act
+    long allocated = allocatedBytesPerEvent(() -> new ExchangeSendingEvent(createdExchange(), endpoint), sendingTracer::traceEvent);
+
+    // Assert
+    assertWithinBudget("ExchangeSendingEventTracer", allocated, budget);
+  }
+
+  @Test
+  void shouldStayWithinTheSentEventBudget() {
+    // Arrange
+    long budget = budget("sent", 1280);
+
+    // Act
+    long allocated = allocatedBytesPerEvent(() -> new ExchangeSentEvent(sendingExchange(), endpoint, 0), sentTracer::traceEvent);
+
+    // Assert
+    assertWithinBudget("ExchangeSentEventTracer", allocated, budget);
+  }
+
+  @Test
+  void shouldStayWithinTheCompletedEventBudget() {
+    // Arrange
+    long budget = budget("completed", 1280);
+
+    // Act
+    long allocated = allocatedBytesPerEvent(() -> new ExchangeCompletedEvent(createdExchange()), completedTracer::traceEvent);
+
+    // Assert
+    assertWithinBudget("ExchangeCompletedEventTracer", allocated, budget);
+  }
+
+  /**
+   * Traces warm up rounds first so that the measured rounds run compiled code, the lowest measured round is returned
+   * since a round can only be disturbed into allocating more.
+   */
+  private <E> long allocatedBytesPerEvent(Supplier<E> eventFactory, Function<E, Message> tracer) {
+
+    assumeTrue(THREAD_MX_BEAN.isThreadAllocatedMemorySupported() && THREAD_MX_BEAN.isThreadAllocatedMemoryEnabled(),
+        "thread allocated memory is not supported by this JVM");
+
+    final long threadId = Thread.currentThread().threadId();
+    long lowest = Long.MAX_VALUE;
+
+    for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+
+      final List<E> events = new ArrayList<>(EVENTS_PER_ROUND);
+      for (int i = 0; i < EVENTS_PER_ROUND; i++) {
+        events.add(eventFactory.get());
+      }
+
+      final long before = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+      for (int i = 0; i < EVENTS_PER_ROUND; i++) {
+        lastMessage = tracer.apply(events.get(i));
+      }
+      final long after = THREAD_MX_BEAN.getThreadAllocatedBytes(threadId);
+
+      assertNotNull(lastMessage);
+
+      if (round >= WARMUP_ROUNDS) {
+        lowest = Math.min(lowest, (after - before) / EVENTS_PER_ROUND);
+      }
+    }
+
+    return lowest;
+  }
+
+  private static void assertWithinBudget(String tracer, long allocated, long budget) {
+    LOGGER.debug("{} allocates {} bytes per event, budget {} bytes", tracer, allocated, budget);
+    assertTrue(allocated <= budget,
+        () -> tracer + " allocates " + allocated + " bytes per event which exceeds the budget of " + budget + " bytes");
+  }
+
+  private static long budget(String event, long defaultBudget) {
+    return Long.getLong("camelbee.allocation-budget." + event, defaultBudget);
+  }
+
+  private Exchange newExchange() {
+    DefaultExchange exchange = new DefaultExchange(camelContext);
+    exchange.getExchangeExtension().setFromRouteId(ROUTE_ID);
+    exchange.getIn().setBody(BODY);
+    for (int i = 0; i < HEADER_COUNT; i++) {
+      exchange.getIn().setHeader("header" + i, "value" + i);
+    }
+    return exchange;
+  }
+
+  private Exchange createdExchange() {
+    Exchange exchange = newExchange();
+    createdTracer.traceEvent(new ExchangeCreatedEvent(exchange));
+    return exchange;
+  }
+
+  private Exchange sendingExchange() {
+    Exchange exchange = createdExchange();
+    sendingTracer.traceEvent(new ExchangeSendingEvent(exchange, endpoint));
+    return exchange;
+  }
+
+}
@@ -18,7 +18,9 @@ package org.camelbee.config;
 
 import org.apache.camel.CamelContext;
 import org.apache.camel.support.EventNotifierSupport;
+import org.camelbee.debugger.service.RouteContextService;
 import org.camelbee.notifier.CamelBeeEventNotifier;
+import org.camelbee.notifier.RouteTopologyEventNotifier;
 import org.camelbee.tracers.TracerService;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -42,4 +44,21 @@ public class CamelBeeEventNotifierConfigurer {
     camelContext.getManagementStrategy().addEventNotifier(camelBeeEventNotifier);
     return camelBeeEventNotifier;
   }
+
+  /**
+   * Creates the EventNotifierSupport bean which keeps the route topology snapshot up to date.
+   *
+   * @param camelContext        The camelContext.
+   * @param routeContextService The routeContextService.
+   * @return EventNotifierSupport bean.
+   */
+  @Bean
+  public EventNotifierSupport routeTopologyEventNotifier(CamelContext camelContext, RouteContextService routeContextService) {
+    final RouteTopologyEventNotifier routeTopologyEventNotifier = new RouteTopologyEventNotifier(routeContextService);
+    camelContext.getManagementStrategy().addEventNotifier(routeTopologyEventNotifier);
+    if (camelContext.isStarted()) {
+      routeContextService.rebuild();
+    }
+    return routeTopologyEventNotifier;
+  }
 }
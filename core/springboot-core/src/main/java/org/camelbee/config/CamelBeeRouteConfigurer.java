@@ -17,8 +17,11 @@
 package org.camelbee.config;
 
 import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.spi.ExecutorServiceManager;
 import org.apache.camel.spi.UnitOfWorkFactory;
 import org.camelbee.logging.CamelBeeUnitOfWork;
+import org.camelbee.utils.IdGenerator;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
@@ -27,6 +30,22 @@ import org.springframework.stereotype.Component;
 @Component
 public class CamelBeeRouteConfigurer {
 
+  private final boolean virtualThreadsEnabled;
+
+  private final IdGenerator idGenerator;
+
+  /**
+   * Constructor.
+   *
+   * @param virtualThreadsEnabled Whether the route thread pools run on virtual threads.
+   * @param idGenerator           The type of the request and transaction id generator, uuidv7, ulid or random.
+   */
+  public CamelBeeRouteConfigurer(@Value("${camelbee.virtual-threads-enabled:false}") boolean virtualThreadsEnabled,
+      @Value("${camelbee.id-generator:uuidv7}") String idGenerator) {
+    this.virtualThreadsEnabled = virtualThreadsEnabled;
+    this.idGenerator = IdGenerator.of(idGenerator);
+  }
+
   /**
    * Configures a route for a CamelBee enabled Camel application.
    *
@@ -36,7 +55,15 @@ public class CamelBeeRouteConfigurer {
 
     routeBuilder.getContext().setStreamCaching(true);
     routeBuilder.getContext().setUseMDCLogging(true);
-    routeBuilder.getContext().getCamelContextExtension().addContextPlugin(UnitOfWorkFactory.class, CamelBeeUnitOfWork::new);
+    routeBuilder.getContext().getCamelContextExtension().addContextPlugin(UnitOfWorkFactory.class,
+        exchange -> new CamelBeeUnitOfWork(exchange, idGenerator));
+
+    if (virtualThreadsEnabled) {
+      ExecutorServiceManager executorServiceManager = routeBuilder.getContext().getExecutorServiceManager();
+      if (!(executorServiceManager.getThreadPoolFactory() instanceof VirtualThreadPoolFactory)) {
+        executorServiceManager.setThreadPoolFactory(new VirtualThreadPoolFactory(executorServiceManager.getThreadPoolFactory()));
+      }
+    }
   }
 
 }
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.config;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import org.apache.camel.spi.ThreadPoolFactory;
+import org.apache.camel.spi.ThreadPoolProfile;
+
+/**
+ * Thread pool factory which runs the route thread pools (threads, multicast/split parallelProcessing,
+ * wireTap, seda consumers etc.) on virtual threads, one virtual thread per task.
+ * Scheduled pools stay on platform threads. The request and transaction ids follow the exchange,
+ * see {@link org.camelbee.logging.CamelBeeUnitOfWork}.
+ */
+public class VirtualThreadPoolFactory implements ThreadPoolFactory {
+
+  private static final String THREAD_NAME_PREFIX = "camelbee-virtual-";
+
+  private final ThreadFactory virtualThreadFactory = Thread.ofVirtual().name(THREAD_NAME_PREFIX, 0).factory();
+
+  private final ThreadPoolFactory scheduledThreadPoolFactory;
+
+  /**
+   * Constructor.
+   *
+   * @param scheduledThreadPoolFactory The factory of the scheduled thread pools.
+   */
+  public VirtualThreadPoolFactory(ThreadPoolFactory scheduledThreadPoolFactory) {
+    this.scheduledThreadPoolFactory = scheduledThreadPoolFactory;
+  }
+
+  @Override
+  public ExecutorService newCachedThreadPool(ThreadFactory threadFactory) {
+    return Executors.newThreadPerTaskExecutor(virtualThreadFactory);
+  }
+
+  @Override
+  public ExecutorService newThreadPool(ThreadPoolProfile profile, ThreadFactory threadFactory) {
+    return Executors.newThreadPerTaskExecutor(virtualThreadFactory);
+  }
+
+  @Override
+  public ScheduledExecutorService newScheduledThreadPool(ThreadPoolProfile profile, ThreadFactory threadFactory) {
+    return scheduledThreadPoolFactory.newScheduledThreadPool(profile, threadFactory);
+  }
+}
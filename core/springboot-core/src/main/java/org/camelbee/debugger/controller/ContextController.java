@@ -22,18 +22,29 @@ import java.util.List;
 import java.util.stream.Collectors;
 import org.apache.camel.CamelContext;
 import org.camelbee.constants.CamelBeeConstants;
-import org.camelbee.debugger.model.exchange.MessageList;
+import org.camelbee.debugger.model.exchange.Message;
 import org.camelbee.debugger.model.route.CamelBeeContext;
 import org.camelbee.debugger.model.route.CamelRoute;
 import org.camelbee.debugger.service.MessageService;
+import org.camelbee.debugger.service.MessageStreamWriter;
+import org.camelbee.debugger.service.PayloadEncoder;
+import org.camelbee.debugger.service.PayloadEncoder.Format;
 import org.camelbee.debugger.service.RouteContextService;
+import org.camelbee.debugger.service.RoutesResponseCache;
+import org.camelbee.debugger.service.RoutesResponseCache.CachedRoutes;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * ContextController exposes routes topology and messages.
@@ -43,6 +54,8 @@ import org.springframework.web.bind.annotation.RestController;
 @ConditionalOnProperty(value = "camelbee.context-enabled", havingValue = "true")
 public class ContextController {
 
+  private static final String VARY_HEADERS = HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING;
+
   @Autowired
   CamelContext camelContext;
 
@@ -52,16 +65,56 @@ public class ContextController {
   @Autowired
   RouteContextService routeContextService;
 
+  @Autowired
+  RoutesResponseCache routesResponseCache;
+
+  @Autowired
+  MessageStreamWriter messageStreamWriter;
+
   /**
    * Returns the Routes list of the camelContext and their outputs.
+   * The serialized response is cached per topology snapshot in the format negotiated with the Accept header,
+   * gzip compressed if the client accepts it and answered with 304 if the client already has the current version.
    *
+   * @param accept         The Accept header.
+   * @param ifNoneMatch    The If-None-Match header.
+   * @param acceptEncoding The Accept-Encoding header.
    * @return CamelBeeContext The routes topology.
    */
   @GetMapping(value = "/camelbee/routes")
-  public ResponseEntity<CamelBeeContext> getRoutes() {
+  public ResponseEntity<byte[]> getRoutes(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
 
     List<CamelRoute> routes = routeContextService.getCamelRoutes();
 
+    CachedRoutes cachedRoutes = routesResponseCache.get(routes, () -> createCamelBeeContext(routes));
+
+    if (cachedRoutes.matches(ifNoneMatch)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+          .eTag(cachedRoutes.etag())
+          .header(HttpHeaders.VARY, VARY_HEADERS)
+          .build();
+    }
+
+    Format format = PayloadEncoder.negotiate(accept);
+    boolean gzip = PayloadEncoder.acceptsGzip(acceptEncoding);
+
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(format.getMediaType()))
+        .eTag(cachedRoutes.etag())
+        .cacheControl(CacheControl.noCache())
+        .header(HttpHeaders.VARY, VARY_HEADERS);
+
+    if (gzip) {
+      response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+
+    return response.body(cachedRoutes.body(format, gzip));
+  }
+
+  private CamelBeeContext createCamelBeeContext(List<CamelRoute> routes) {
+
     String name = camelContext.getName();
 
     String jvm = "%s - %s".formatted(System.getProperty(CamelBeeConstants.SYSTEM_JVM_VENDOR),
@@ -78,12 +131,35 @@ public class ContextController {
     String garbageCollectors = ManagementFactory.getGarbageCollectorMXBeans().stream().map(GarbageCollectorMXBean::getName)
         .collect(Collectors.joining(", "));
 
-    return ResponseEntity.ok(new CamelBeeContext(routes, name, jvm, jvmInputParameters, garbageCollectors, framework, camelVersion));
+    return new CamelBeeContext(routes, name, jvm, jvmInputParameters, garbageCollectors, framework, camelVersion);
   }
 
+  /**
+   * Streams the traced messages in the format negotiated with the Accept header,
+   * gzip compressed if the client accepts it.
+   *
+   * @param accept         The Accept header.
+   * @param acceptEncoding The Accept-Encoding header.
+   * @return MessageList The traced messages.
+   */
   @GetMapping(value = "/camelbee/messages")
-  public ResponseEntity<MessageList> getMessages() {
-    return ResponseEntity.ok(new MessageList(messageService.getMessageList()));
+  public ResponseEntity<StreamingResponseBody> getMessages(@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+
+    Format format = PayloadEncoder.negotiate(accept);
+    boolean gzip = PayloadEncoder.acceptsGzip(acceptEncoding);
+
+    ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(format.getMediaType()))
+        .header(HttpHeaders.VARY, VARY_HEADERS);
+
+    if (gzip) {
+      response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+    }
+
+    List<Message> messages = messageService.getMessageList();
+
+    return response.body(out -> messageStreamWriter.write(messages, format, gzip, out));
   }
 
   /**
@@ -0,0 +1,51 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.debugger.controller;
+
+import org.camelbee.debugger.model.inflight.InflightReport;
+import org.camelbee.debugger.service.InflightInspector;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * InflightController exposes the inflight and the stuck exchanges.
+ */
+@RestController
+@CrossOrigin(origins = {"https://www.camelbee.io", "http://localhost:8083"})
+@ConditionalOnExpression("'${camelbee.context-enabled:false}' && '${camelbee.inflight-enabled:false}'")
+public class InflightController {
+
+  @Autowired
+  InflightInspector inflightInspector;
+
+  /**
+   * Returns the oldest inflight exchanges per route and the stuck exchanges.
+   *
+   * @param limit The maximum number of exchanges per route.
+   * @return InflightReport The inflight exchanges.
+   */
+  @GetMapping(value = "/camelbee/inflight", produces = "application/json")
+  public ResponseEntity<InflightReport> getInflight(@RequestParam(value = "limit", defaultValue = "10") int limit) {
+    return ResponseEntity.ok(inflightInspector.getReport(limit));
+  }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.debugger.controller;
+
+import java.util.concurrent.TimeUnit;
+import org.camelbee.debugger.model.metrics.JvmMetrics;
+import org.camelbee.debugger.service.JvmMetricsSampler;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * MetricsController exposes the sampled runtime metrics.
+ */
+@RestController
+@CrossOrigin(origins = {"https://www.camelbee.io", "http://localhost:8083"})
+@ConditionalOnProperty(value = "camelbee.context-enabled", havingValue = "true")
+public class MetricsController {
+
+  @Autowired
+  JvmMetricsSampler jvmMetricsSampler;
+
+  /**
+   * Returns the sampled JVM metrics as columnar arrays.
+   *
+   * @param window The window in seconds, all kept samples are returned if it is not given.
+   * @return JvmMetrics The samples.
+   */
+  @GetMapping(value = "/camelbee/metrics/jvm", produces = "application/json")
+  public ResponseEntity<JvmMetrics> getJvmMetrics(@RequestParam(value = "window", required = false) Long window) {
+    return ResponseEntity.ok(jvmMetricsSampler.getMetrics(window != null ? TimeUnit.SECONDS.toMillis(window) : null));
+  }
+
+}
@@ -16,28 +16,41 @@
 
 package org.camelbee.debugger.controller;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.validation.Valid;
+import java.util.List;
 import java.util.Map;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.stream.Collectors;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
 import org.apache.camel.ProducerTemplate;
+import org.apache.camel.ResolveEndpointFailedException;
 import org.apache.camel.builder.ExchangeBuilder;
 import org.apache.commons.lang3.StringUtils;
 import org.camelbee.constants.CamelBeeConstants;
+import org.camelbee.debugger.model.loadtest.LoadTestRequest;
+import org.camelbee.debugger.model.loadtest.LoadTestStatus;
+import org.camelbee.debugger.model.produce.ProduceJobStatus;
 import org.camelbee.debugger.model.produce.ProduceMessage;
+import org.camelbee.debugger.service.LoadTestService;
+import org.camelbee.debugger.service.ProduceJobService;
+import org.camelbee.debugger.service.ProducerTargetRegistry;
 import org.camelbee.tracers.TracerService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.core.env.Environment;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 /**
  * ProducerController.
@@ -47,21 +60,29 @@ import org.springframework.web.bind.annotation.RestController;
 @ConditionalOnExpression("'${camelbee.context-enabled:false}' && '${camelbee.producer-enabled:false}'")
 public class ProducerController {
 
+  private static final long LOADTEST_STREAM_INTERVAL_MILLIS = 1000;
+
   @Autowired
   CamelContext camelContext;
 
   @Autowired
   ProducerTemplate producerTemplate;
 
-  @Autowired
-  ObjectMapper objectMapper;
-
   @Autowired
   Environment env;
 
   @Autowired
   TracerService tracerService;
 
+  @Autowired
+  LoadTestService loadTestService;
+
+  @Autowired
+  ProducerTargetRegistry producerTargetRegistry;
+
+  @Autowired
+  ProduceJobService produceJobService;
+
   /**
    * Call the route.
    *
@@ -74,82 +95,219 @@ public class ProducerController {
     // first set the tracing status
     tracerService.activateTracing(Boolean.TRUE.equals(produceMessage.getTraceEnabled()));
 
-    Exchange exchange = ExchangeBuilder.anExchange(camelContext).build();
+    String response = "";
 
-    // setting this to exclude the events for this exchange from event notifiers
-    exchange.setProperty(CamelBeeConstants.CAMELBEE_PRODUCED_EXCHANGE, "true");
+    try {
 
-    Map<String, Object> defaultHeaders = produceMessage.getHeaders().getHeaders().stream()
-        .collect(Collectors.toMap(p -> p.getKey(), p -> p.getValue()));
+      Exchange exchange = createExchange(produceMessage);
 
-    exchange.getIn().setHeaders(defaultHeaders);
+      Exchange result = producerTemplate.send(producerTargetRegistry.getEndpoint(produceMessage.getRouteName()), exchange);
+      response = result.getMessage().getBody(String.class);
 
-    final Object request;
+    } catch (Exception e) {
+      response = e.getLocalizedMessage();
+    }
 
-    String response = "";
+    return ResponseEntity.ok(response);
+  }
+
+  /**
+   * Calls the route asynchronously and returns the id of the produce job right away.
+   *
+   * @param produceMessage The ProduceMessage.
+   * @return ProduceJobStatus The status of the submitted job.
+   */
+  @PostMapping(value = "/camelbee/produce/direct/async", produces = "application/json", consumes = "application/json")
+  public ResponseEntity<Object> produceDirectAsync(@Valid @RequestBody(required = true) ProduceMessage produceMessage) {
+    return submitProduceJob(List.of(produceMessage), 1);
+  }
+
+  /**
+   * Calls the routes of the messages in parallel and returns the id of the produce job right away.
+   *
+   * @param produceMessages The ProduceMessages.
+   * @param concurrency     The number of messages in flight at the same time.
+   * @return ProduceJobStatus The status of the submitted job.
+   */
+  @PostMapping(value = "/camelbee/produce/direct/batch", produces = "application/json", consumes = "application/json")
+  public ResponseEntity<Object> produceDirectBatch(@Valid @RequestBody(required = true) List<ProduceMessage> produceMessages,
+      @RequestParam(value = "concurrency", required = false) Integer concurrency) {
+    return submitProduceJob(produceMessages, concurrency);
+  }
+
+  /**
+   * Returns the status and the results of a produce job.
+   *
+   * @param id The id of the produce job.
+   * @return ProduceJobStatus The status.
+   */
+  @GetMapping(value = "/camelbee/produce/jobs/{id}", produces = "application/json")
+  public ResponseEntity<ProduceJobStatus> getProduceJob(@PathVariable("id") String id) {
+    ProduceJobStatus status = produceJobService.getStatus(id);
+    return status != null ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+  }
+
+  private ResponseEntity<Object> submitProduceJob(List<ProduceMessage> produceMessages, Integer concurrency) {
+
+    tracerService.activateTracing(produceMessages.stream().anyMatch(m -> Boolean.TRUE.equals(m.getTraceEnabled())));
 
     try {
+      return ResponseEntity.accepted().body(produceJobService.submit(produceMessages, concurrency, this::createExchange));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().body(e.getMessage());
+    } catch (RejectedExecutionException e) {
+      return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(e.getMessage());
+    }
+  }
+
+  /**
+   * Starts a load test which sends the message concurrently to the route.
+   *
+   * @param loadTestRequest The LoadTestRequest.
+   * @return LoadTestStatus The status of the started load test.
+   */
+  @PostMapping(value = "/camelbee/loadtest", produces = "application/json", consumes = "application/json")
+  public ResponseEntity<Object> startLoadTest(@Valid @RequestBody(required = true) LoadTestRequest loadTestRequest) {
+
+    ProduceMessage produceMessage = loadTestRequest.getProduceMessage();
 
-      if (produceMessage.getMediaType() != null && produceMessage.getMediaType().equals("json")
-          && !StringUtils.isEmpty(produceMessage.getClazz())) {
-        request = objectMapper.readValue(produceMessage.getMessage(), Class.forName(produceMessage.getClazz()));
+    if (produceMessage == null) {
+      return ResponseEntity.badRequest().body("produceMessage is required");
+    }
+
+    tracerService.activateTracing(Boolean.TRUE.equals(produceMessage.getTraceEnabled()));
 
-      } else if (produceMessage.getMediaType() != null && produceMessage.getMediaType().equals("xml")) {
+    try {
+      return ResponseEntity.ok(loadTestService.start(loadTestRequest, producerTargetRegistry.getEndpoint(produceMessage.getRouteName()),
+          createHeaders(produceMessage), () -> createRequest(produceMessage)));
+    } catch (IllegalArgumentException | ResolveEndpointFailedException e) {
+      return ResponseEntity.badRequest().body(e.getMessage());
+    } catch (RejectedExecutionException e) {
+      return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(e.getMessage());
+    }
+  }
 
-        request = produceMessage.getMessage();
+  /**
+   * Returns the status of a load test.
+   *
+   * @param id The id of the load test.
+   * @return LoadTestStatus The status.
+   */
+  @GetMapping(value = "/camelbee/loadtest/{id}", produces = "application/json")
+  public ResponseEntity<LoadTestStatus> getLoadTest(@PathVariable("id") String id) {
+    LoadTestStatus status = loadTestService.getStatus(id);
+    return status != null ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+  }
 
-      } else {
-        request = produceMessage.getMessage();
+  /**
+   * Streams the status of a load test as server sent events until it is finished.
+   *
+   * @param id The id of the load test.
+   * @return SseEmitter The status events.
+   */
+  @GetMapping(value = "/camelbee/loadtest/{id}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamLoadTest(@PathVariable("id") String id) {
+
+    SseEmitter emitter = new SseEmitter(0L);
+
+    Thread.ofVirtual().name("camelbee-loadtest-stream").start(() -> {
+      try {
+        boolean finished;
+        do {
+          finished = loadTestService.awaitCompletion(id, LOADTEST_STREAM_INTERVAL_MILLIS);
+          LoadTestStatus status = loadTestService.getStatus(id);
+          if (status != null) {
+            emitter.send(SseEmitter.event().name("status").data(status, MediaType.APPLICATION_JSON));
+          }
+        } while (!finished);
+        emitter.complete();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        emitter.completeWithError(e);
+      } catch (Exception e) {
+        emitter.completeWithError(e);
       }
+    });
 
-      exchange.getIn().setBody(request);
+    return emitter;
+  }
 
-      Exchange result = producerTemplate.send(adjustRouteName(produceMessage.getRouteName()), exchange);
-      response = result.getMessage().getBody(String.class);
+  /**
+   * Cancels a load test.
+   *
+   * @param id The id of the load test.
+   * @return LoadTestStatus The status.
+   */
+  @DeleteMapping(value = "/camelbee/loadtest/{id}", produces = "application/json")
+  public ResponseEntity<LoadTestStatus> cancelLoadTest(@PathVariable("id") String id) {
+    LoadTestStatus status = loadTestService.cancel(id);
+    return status != null ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+  }
 
-    } catch (Exception e) {
-      response = e.getLocalizedMessage();
-    }
+  /**
+   * Creates the exchange of a produce message.
+   *
+   * @param produceMessage The ProduceMessage.
+   * @return Exchange The exchange.
+   * @throws Exception if the json message can not be read.
+   */
+  private Exchange createExchange(ProduceMessage produceMessage) throws Exception {
 
-    return ResponseEntity.ok(response);
+    Exchange exchange = ExchangeBuilder.anExchange(camelContext).build();
+
+    // setting this to exclude the events for this exchange from event notifiers
+    exchange.setProperty(CamelBeeConstants.CAMELBEE_PRODUCED_EXCHANGE, "true");
+    exchange.getIn().setHeaders(createHeaders(produceMessage));
+    exchange.getIn().setBody(createRequest(produceMessage));
+
+    return exchange;
   }
 
   /**
-   * Replaces the placeholders with the actual environment variables.
+   * Creates the headers of the exchange.
    *
-   * @param routeName The route name.
-   * @return String The adjusted route name.
+   * @param produceMessage The ProduceMessage.
+   * @return Map The headers.
    */
-  public String adjustRouteName(String routeName) {
+  private Map<String, Object> createHeaders(ProduceMessage produceMessage) {
+    return produceMessage.getHeaders().getHeaders().stream()
+        .collect(Collectors.toMap(p -> p.getKey(), p -> p.getValue()));
+  }
 
-    String adjustedRouteName = null;
+  /**
+   * Creates the request body of the exchange.
+   *
+   * @param produceMessage The ProduceMessage.
+   * @return Object The request body.
+   * @throws Exception if the json message can not be read.
+   */
+  private Object createRequest(ProduceMessage produceMessage) throws Exception {
+
+    final Object request;
+
+    if (produceMessage.getMediaType() != null && produceMessage.getMediaType().equals("json")
+        && !StringUtils.isEmpty(produceMessage.getClazz())) {
+      request = producerTargetRegistry.readPayload(produceMessage.getMessage(), produceMessage.getClazz());
+
+    } else if (produceMessage.getMediaType() != null && produceMessage.getMediaType().equals("xml")) {
+
+      request = produceMessage.getMessage();
 
-    if (routeName.startsWith("From[rest:")) {
-      adjustedRouteName = "http:localhost:{{local.server.port}}" + applyPattern(routeName, "://[a-zA-Z]+:(/[^?]+)") + "?throwExceptionOnFailure=false";
-    } else if (routeName.startsWith("From[jpa:")) {
-      adjustedRouteName = applyPattern(routeName, "From\\[(jpa:[^?]+)");
     } else {
-      adjustedRouteName = applyPattern(routeName, "\\[([^\\]]+)\\]");
+      request = produceMessage.getMessage();
     }
 
-    return adjustedRouteName;
+    return request;
   }
 
   /**
-   * Applies regex pattern on the route name.
+   * Replaces the placeholders with the actual environment variables.
    *
-   * @param input      The route name.
-   * @param patternVal The regex.
-   * @return String The updated route name.
+   * @param routeName The route name.
+   * @return String The adjusted route name.
    */
-  public static String applyPattern(String input, String patternVal) {
-
-    Pattern pattern = Pattern.compile(patternVal);
-    Matcher matcher = pattern.matcher(input);
-    if (matcher.find()) {
-      return matcher.group(1);
-    }
-    return null;
+  public String adjustRouteName(String routeName) {
+    return ProducerTargetRegistry.adjustRouteName(routeName);
   }
 
 }
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.debugger.controller;
+
+import jakarta.validation.Valid;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import org.camelbee.debugger.model.replay.ReplayRequest;
+import org.camelbee.debugger.model.replay.ReplayStatus;
+import org.camelbee.debugger.service.ReplayService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * ReplayController replays captured traffic into the consumer routes.
+ */
+@RestController
+@CrossOrigin(origins = {"https://www.camelbee.io", "http://localhost:8083"})
+@ConditionalOnExpression("'${camelbee.context-enabled:false}' && '${camelbee.producer-enabled:false}'")
+public class ReplayController {
+
+  @Autowired
+  ReplayService replayService;
+
+  /**
+   * Replays the requests captured by the tracer in the given window.
+   *
+   * @param replayRequest The ReplayRequest.
+   * @return ReplayStatus The status of the started replay.
+   */
+  @PostMapping(value = "/camelbee/replay", produces = "application/json", consumes = "application/json")
+  public ResponseEntity<Object> replayCaptured(@Valid @RequestBody(required = true) ReplayRequest replayRequest) {
+    try {
+      return ResponseEntity.accepted().body(replayService.startCaptured(replayRequest));
+    } catch (IllegalArgumentException e) {
+      return ResponseEntity.badRequest().body(e.getMessage());
+    } catch (RejectedExecutionException e) {
+      return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(e.getMessage());
+    }
+  }
+
+  /**
+   * Replays the requests of an uploaded capture file.
+   *
+   * @param capture             The traced messages as JSON or the JSON Lines of the trace file sink.
+   * @param routeIds            The routes to replay, all routes if empty.
+   * @param speed               The speed factor of the original timing, 0 to replay as fast as possible.
+   * @param concurrencyPerRoute The number of concurrent requests per route.
+   * @return ReplayStatus The status of the started replay.
+   */
+  @PostMapping(value = "/camelbee/replay/upload", produces = "application/json")
+  public ResponseEntity<Object> replayUploaded(@RequestBody(required = true) String capture,
+      @RequestParam(value = "routeIds", required = false) List<String> routeIds,
+      @RequestParam(value = "speed", required = false) Double speed,
+      @RequestParam(value = "concurrencyPerRoute", required = false) Integer concurrencyPerRoute) {
+    try {
+      return ResponseEntity.accepted().body(replayService.startUploaded(capture,
+          new ReplayRequest(null, null, routeIds, speed, concurrencyPerRoute, null)));
+    } catch (IllegalArgumentException | IOException e) {
+      return ResponseEntity.badRequest().body(e.getMessage());
+    } catch (RejectedExecutionException e) {
+      return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(e.getMessage());
+    }
+  }
+
+  /**
+   * Returns the status of a replay with the latency comparison per route.
+   *
+   * @param id The id of the replay.
+   * @return ReplayStatus The status.
+   */
+  @GetMapping(value = "/camelbee/replay/{id}", produces = "application/json")
+  public ResponseEntity<ReplayStatus> getReplay(@PathVariable("id") String id) {
+    ReplayStatus status = replayService.getStatus(id);
+    return status != null ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+  }
+
+  /**
+   * Cancels a replay.
+   *
+   * @param id The id of the replay.
+   * @return ReplayStatus The status.
+   */
+  @DeleteMapping(value = "/camelbee/replay/{id}", produces = "application/json")
+  public ResponseEntity<ReplayStatus> cancelReplay(@PathVariable("id") String id) {
+    ReplayStatus status = replayService.cancel(id);
+    return status != null ? ResponseEntity.ok(status) : ResponseEntity.notFound().build();
+  }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.debugger.model.inflight;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * InflightReport, the oldest inflight exchanges per route and the detected stuck exchanges.
+ */
+public class InflightReport {
+
+  private final int inflightCount;
+
+  private final Map<String, List<InflightExchangeInfo>> routes;
+
+  private final int stuckCount;
+
+  private final long stuckTotal;
+
+  private final Map<String, Integer> stuckCountPerRoute;
+
+  private final List<InflightExchangeInfo> stuckExchanges;
+
+  /**
+   * Constructor.
+   *
+   * @param inflightCount      The number of inflight exchanges.
+   * @param routes             The oldest inflight exchanges per route id.
+   * @param stuckCount         The number of currently stuck exchanges.
+   * @param stuckTotal         The number of stuck exchanges detected since the start.
+   * @param stuckCountPerRoute The number of currently stuck exchanges per route id.
+   * @param stuckExchanges     The snapshots of the latest stuck exchanges.
+   */
+  public InflightReport(int inflightCount, Map<String, List<InflightExchangeInfo>> routes, int stuckCount,
+      long stuckTotal, Map<String, Integer> stuckCountPerRoute, List<InflightExchangeInfo> stuckExchanges) {
+    this.inflightCount = inflightCount;
+    this.routes = routes;
+    this.stuckCount = stuckCount;
+    this.stuckTotal = stuckTotal;
+    this.stuckCountPerRoute = stuckCountPerRoute;
+    this.stuckExchanges = stuckExchanges;
+  }
+
+  public int getInflightCount() {
+    return inflightCount;
+  }
+
+  public Map<String, List<InflightExchangeInfo>> getRoutes() {
+    return routes;
+  }
+
+  public int getStuckCount() {
+    return stuckCount;
+  }
+
+  public long getStuckTotal() {
+    return stuckTotal;
+  }
+
+  public Map<String, Integer> getStuckCountPerRoute() {
+    return stuckCountPerRoute;
+  }
+
+  public List<InflightExchangeInfo> getStuckExchanges() {
+    return stuckExchanges;
+  }
+}
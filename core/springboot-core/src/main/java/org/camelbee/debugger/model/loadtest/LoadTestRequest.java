@@ -0,0 +1,80 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.debugger.model.loadtest;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import org.camelbee.debugger.model.produce.ProduceMessage;
+
+/**
+ * LoadTestRequest.
+ */
+public class LoadTestRequest {
+
+  private final ProduceMessage produceMessage;
+
+  private final Long totalCount;
+
+  private final Integer concurrency;
+
+  private final Double ratePerSecond;
+
+  private final Long durationSeconds;
+
+  /**
+   * Constructor.
+   *
+   * @param produceMessage  The message template sent with each exchange.
+   * @param totalCount      The number of exchanges to send, unlimited if null.
+   * @param concurrency     The number of concurrent senders.
+   * @param ratePerSecond   The target rate of exchanges per second, unlimited if null.
+   * @param durationSeconds The maximum duration in seconds, unlimited if null.
+   */
+  @JsonCreator
+  public LoadTestRequest(
+      @JsonProperty("produceMessage") ProduceMessage produceMessage,
+      @JsonProperty("totalCount") Long totalCount,
+      @JsonProperty("concurrency") Integer concurrency,
+      @JsonProperty("ratePerSecond") Double ratePerSecond,
+      @JsonProperty("durationSeconds") Long durationSeconds) {
+    this.produceMessage = produceMessage;
+    this.totalCount = totalCount;
+    this.concurrency = concurrency;
+    this.ratePerSecond = ratePerSecond;
+    this.durationSeconds = durationSeconds;
+  }
+
+  public ProduceMessage getProduceMessage() {
+    return produceMessage;
+  }
+
+  public Long getTotalCount() {
+    return totalCount;
+  }
+
+  public Integer getConcurrency() {
+    return concurrency;
+  }
+
+  public Double getRatePerSecond() {
+    return ratePerSecond;
+  }
+
+  public Long getDurationSeconds() {
+    return durationSeconds;
+  }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.debugger.model.metrics;
+
+/**
+ * JvmMetrics, the sampled JVM runtime metrics as columnar arrays, index i of every array belongs to the same sample.
+ */
+public class JvmMetrics {
+
+  private final long intervalMillis;
+
+  private final long[] timestamps;
+
+  private final long[] heapUsed;
+
+  private final long[] heapCommitted;
+
+  private final long[] nonHeapUsed;
+
+  private final long[] gcCount;
+
+  private final long[] gcTimeMillis;
+
+  private final int[] threadCount;
+
+  private final int[] daemonThreadCount;
+
+  private final double[] processCpuLoad;
+
+  private final double[] systemCpuLoad;
+
+  private final int[] loadedClassCount;
+
+  private final int[] inflightExchanges;
+
+  private final int[] stuckExchanges;
+
+  /**
+   * Constructor.
+   *
+   * @param intervalMillis    The sampling interval in milliseconds.
+   * @param timestamps        The epoch milliseconds of the samples.
+   * @param heapUsed          The used heap in bytes.
+   * @param heapCommitted     The committed heap in bytes.
+   * @param nonHeapUsed       The used non heap memory in bytes.
+   * @param gcCount           The number of collections since the previous sample.
+   * @param gcTimeMillis      The collection time in milliseconds since the previous sample.
+   * @param threadCount       The number of live threads.
+   * @param daemonThreadCount The number of live daemon threads.
+   * @param processCpuLoad    The cpu load of the process between 0 and 1, negative if not available.
+   * @param systemCpuLoad     The cpu load of the system between 0 and 1, negative if not available.
+   * @param loadedClassCount  The number of loaded classes.
+   * @param inflightExchanges The number of inflight Camel exchanges.
+   * @param stuckExchanges    The number of stuck Camel exchanges.
+   */
+  public JvmMetrics(long intervalMillis, long[] timestamps, long[] heapUsed, long[] heapCommitted, long[] nonHeapUsed,
+      long[] gcCount, long[] gcTimeMillis, int[] threadCount, int[] daemonThreadCount, double[] processCpuLoad,
+      double[] systemCpuLoad, int[] loadedClassCount, int[] inflightExchanges, int[] stuckExchanges) {
+    this.intervalMillis = intervalMillis;
+    this.timestamps = timestamps;
+    this.heapUsed = heapUsed;
+    this.heapCommitted = heapCommitted;
+    this.nonHeapUsed = nonHeapUsed;
+    this.gcCount = gcCount;
+    this.gcTimeMillis = gcTimeMillis;
+    this.threadCount = threadCount;
+    this.daemonThreadCount = daemonThreadCount;
+    this.processCpuLoad = processCpuLoad;
+    this.systemCpuLoad = systemCpuLoad;
+    this.loadedClassCount = loadedClassCount;
+    this.inflightExchanges = inflightExchanges;
+    this.stuckExchanges = stuckExchanges;
+  }
+
+  public long getIntervalMillis() {
+    return intervalMillis;
+  }
+
+  public long[] getTimestamps() {
+    return timestamps;
+  }
+
+  public long[] getHeapUsed() {
+    return heapUsed;
+  }
+
+  public long[] getHeapCommitted() {
+    return heapCommitted;
+  }
+
+  public long[] getNonHeapUsed() {
+    return nonHeapUsed;
+  }
+
+  public long[] getGcCount() {
+    return gcCount;
+  }
+
+  public long[] getGcTimeMillis() {
+    return gcTimeMillis;
+  }
+
+  public int[] getThreadCount() {
+    return threadCount;
+  }
+
+  public int[] getDaemonThreadCount() {
+    return daemonThreadCount;
+  }
+
+  public double[] getProcessCpuLoad() {
+    return processCpuLoad;
+  }
+
+  public double[] getSystemCpuLoad() {
+    return systemCpuLoad;
+  }
+
+  public int[] getLoadedClassCount() {
+    return loadedClassCount;
+  }
+
+  public int[] getInflightExchanges() {
+    return inflightExchanges;
+  }
+
+  public int[] getStuckExchanges() {
+    return stuckExchanges;
+  }
+}
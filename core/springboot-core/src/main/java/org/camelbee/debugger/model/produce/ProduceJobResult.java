@@ -0,0 +1,62 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.debugger.model.produce;
+
+/**
+ * ProduceJobResult, the outcome of one message of a produce job.
+ */
+public class ProduceJobResult {
+
+  private final int index;
+
+  private final String response;
+
+  private final String error;
+
+  private final long durationMillis;
+
+  /**
+   * Constructor.
+   *
+   * @param index          The index of the message in the job.
+   * @param response       The response of the called route.
+   * @param error          The error message if the call failed.
+   * @param durationMillis The duration of the call in milliseconds.
+   */
+  public ProduceJobResult(int index, String response, String error, long durationMillis) {
+    this.index = index;
+    this.response = response;
+    this.error = error;
+    this.durationMillis = durationMillis;
+  }
+
+  public int getIndex() {
+    return index;
+  }
+
+  public String getResponse() {
+    return response;
+  }
+
+  public String getError() {
+    return error;
+  }
+
+  public long getDurationMillis() {
+    return durationMillis;
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.debugger.model.replay;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ReplayRequest.
+ */
+public class ReplayRequest {
+
+  private final Long from;
+
+  private final Long to;
+
+  private final List<String> routeIds;
+
+  private final Double speed;
+
+  private final Integer concurrencyPerRoute;
+
+  private final Map<String, Integer> routeConcurrency;
+
+  /**
+   * Constructor.
+   *
+   * @param from                The start of the captured window as epoch milliseconds, unlimited if null.
+   * @param to                  The end of the captured window as epoch milliseconds, unlimited if null.
+   * @param routeIds            The routes to replay, all routes if null or empty.
+   * @param speed               The speed factor of the original timing, 1 if null and as fast as possible if 0.
+   * @param concurrencyPerRoute The number of concurrent requests per route.
+   * @param routeConcurrency    The number of concurrent requests of specific routes.
+   */
+  @JsonCreator
+  public ReplayRequest(
+      @JsonProperty("from") Long from,
+      @JsonProperty("to") Long to,
+      @JsonProperty("routeIds") List<String> routeIds,
+      @JsonProperty("speed") Double speed,
+      @JsonProperty("concurrencyPerRoute") Integer concurrencyPerRoute,
+      @JsonProperty("routeConcurrency") Map<String, Integer> routeConcurrency) {
+    this.from = from;
+    this.to = to;
+    this.routeIds = routeIds;
+    this.speed = speed;
+    this.concurrencyPerRoute = concurrencyPerRoute;
+    this.routeConcurrency = routeConcurrency;
+  }
+
+  public Long getFrom() {
+    return from;
+  }
+
+  public Long getTo() {
+    return to;
+  }
+
+  public List<String> getRouteIds() {
+    return routeIds;
+  }
+
+  public Double getSpeed() {
+    return speed;
+  }
+
+  public Integer getConcurrencyPerRoute() {
+    return concurrencyPerRoute;
+  }
+
+  public Map<String, Integer> getRouteConcurrency() {
+    return routeConcurrency;
+  }
+}
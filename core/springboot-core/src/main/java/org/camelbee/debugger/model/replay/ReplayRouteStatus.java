@@ -0,0 +1,79 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.debugger.model.replay;
+
+/**
+ * ReplayRouteStatus, the replayed requests of a route with their latencies compared to the original run.
+ */
+public class ReplayRouteStatus {
+
+  private final String routeId;
+
+  private final long total;
+
+  private final long succeeded;
+
+  private final long failed;
+
+  private final LatencySummary original;
+
+  private final LatencySummary replay;
+
+  /**
+   * Constructor.
+   *
+   * @param routeId   The routeId.
+   * @param total     The number of requests to replay.
+   * @param succeeded The number of succeeded requests.
+   * @param failed    The number of failed requests.
+   * @param original  The latencies of the original run.
+   * @param replay    The latencies of the replay.
+   */
+  public ReplayRouteStatus(String routeId, long total, long succeeded, long failed, LatencySummary original,
+      LatencySummary replay) {
+    this.routeId = routeId;
+    this.total = total;
+    this.succeeded = succeeded;
+    this.failed = failed;
+    this.original = original;
+    this.replay = replay;
+  }
+
+  public String getRouteId() {
+    return routeId;
+  }
+
+  public long getTotal() {
+    return total;
+  }
+
+  public long getSucceeded() {
+    return succeeded;
+  }
+
+  public long getFailed() {
+    return failed;
+  }
+
+  public LatencySummary getOriginal() {
+    return original;
+  }
+
+  public LatencySummary getReplay() {
+    return replay;
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.debugger.model.replay;
+
+import java.util.List;
+
+/**
+ * ReplayStatus, the progress of a traffic replay with the latency comparison per route.
+ */
+public class ReplayStatus {
+
+  /**
+   * The state of a replay.
+   */
+  public enum State {
+    RUNNING, COMPLETED, CANCELLED
+  }
+
+  private final String id;
+
+  private final State state;
+
+  private final double speed;
+
+  private final long total;
+
+  private final long sent;
+
+  private final long skipped;
+
+  private final long elapsedMillis;
+
+  private final List<ReplayRouteStatus> routes;
+
+  /**
+   * Constructor.
+   *
+   * @param id            The id.
+   * @param state         The state.
+   * @param speed         The speed factor of the original timing, 0 if replayed as fast as possible.
+   * @param total         The number of captured requests.
+   * @param sent          The number of sent requests.
+   * @param skipped       The number of requests skipped because their route does not exist.
+   * @param elapsedMillis The elapsed time in milliseconds.
+   * @param routes        The status per route.
+   */
+  public ReplayStatus(String id, State state, double speed, long total, long sent, long skipped, long elapsedMillis,
+      List<ReplayRouteStatus> routes) {
+    this.id = id;
+    this.state = state;
+    this.speed = speed;
+    this.total = total;
+    this.sent = sent;
+    this.skipped = skipped;
+    this.elapsedMillis = elapsedMillis;
+    this.routes = routes;
+  }
+
+  public String getId() {
+    return id;
+  }
+
+  public State getState() {
+    return state;
+  }
+
+  public double getSpeed() {
+    return speed;
+  }
+
+  public long getTotal() {
+    return total;
+  }
+
+  public long getSent() {
+    return sent;
+  }
+
+  public long getSkipped() {
+    return skipped;
+  }
+
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+
+  public List<ReplayRouteStatus> getRoutes() {
+    return routes;
+  }
+}
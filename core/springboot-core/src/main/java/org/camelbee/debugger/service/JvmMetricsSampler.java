@@ -0,0 +1,257 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.debugger.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.lang.management.ClassLoadingMXBean;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.camel.CamelContext;
+import org.camelbee.debugger.model.metrics.JvmMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Samples the JVM runtime metrics at a fixed interval into fixed size primitive ring buffers,
+ * so that the recent history can be served without an external metrics store.
+ */
+@Component
+public class JvmMetricsSampler {
+
+  /**
+   * The logger.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(JvmMetricsSampler.class);
+
+  private final CamelContext camelContext;
+  private final InflightInspector inflightInspector;
+  private final boolean enabled;
+  private final long interval;
+  private final int capacity;
+
+  private final MemoryMXBean memoryMxBean = ManagementFactory.getMemoryMXBean();
+  private final ThreadMXBean threadMxBean = ManagementFactory.getThreadMXBean();
+  private final ClassLoadingMXBean classLoadingMxBean = ManagementFactory.getClassLoadingMXBean();
+  private final OperatingSystemMXBean operatingSystemMxBean = ManagementFactory.getOperatingSystemMXBean();
+  private final List<GarbageCollectorMXBean> garbageCollectorMxBeans = ManagementFactory.getGarbageCollectorMXBeans();
+
+  private final long[] timestamps;
+  private final long[] heapUsed;
+  private final long[] heapCommitted;
+  private final long[] nonHeapUsed;
+  private final long[] gcCount;
+  private final long[] gcTimeMillis;
+  private final int[] threadCount;
+  private final int[] daemonThreadCount;
+  private final double[] processCpuLoad;
+  private final double[] systemCpuLoad;
+  private final int[] loadedClassCount;
+  private final int[] inflightExchanges;
+  private final int[] stuckExchanges;
+
+  private int head;
+  private int size;
+
+  private long lastGcCount;
+  private long lastGcTimeMillis;
+
+  private ScheduledExecutorService scheduler;
+
+  /**
+   * Constructor.
+   *
+   * @param camelContext      The camelContext.
+   * @param inflightInspector The inflightInspector.
+   * @param enabled           The enabled.
+   * @param interval          The sampling interval in milliseconds.
+   * @param capacity          The number of samples kept.
+   */
+  public JvmMetricsSampler(CamelContext camelContext, InflightInspector inflightInspector,
+      @Value("${camelbee.jvm-metrics-enabled:false}") boolean enabled,
+      @Value("${camelbee.jvm-metrics-interval:1000}") long interval,
+      @Value("${camelbee.jvm-metrics-capacity:600}") int capacity) {
+    this.camelContext = camelContext;
+    this.inflightInspector = inflightInspector;
+    this.enabled = enabled;
+    this.interval = Math.max(1, interval);
+    this.capacity = Math.max(1, capacity);
+    this.timestamps = new long[this.capacity];
+    this.heapUsed = new long[this.capacity];
+    this.heapCommitted = new long[this.capacity];
+    this.nonHeapUsed = new long[this.capacity];
+    this.gcCount = new long[this.capacity];
+    this.gcTimeMillis = new long[this.capacity];
+    this.threadCount = new int[this.capacity];
+    this.daemonThreadCount = new int[this.capacity];
+    this.processCpuLoad = new double[this.capacity];
+    this.systemCpuLoad = new double[this.capacity];
+    this.loadedClassCount = new int[this.capacity];
+    this.inflightExchanges = new int[this.capacity];
+    this.stuckExchanges = new int[this.capacity];
+  }
+
+  /**
+   * Starts the sampler if the jvm metrics are enabled.
+   */
+  @PostConstruct
+  public void start() {
+    if (!enabled || scheduler != null) {
+      return;
+    }
+    lastGcCount = totalGcCount();
+    lastGcTimeMillis = totalGcTimeMillis();
+    scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread thread = new Thread(r, "camelbee-jvm-metrics");
+      thread.setDaemon(true);
+      return thread;
+    });
+    scheduler.scheduleAtFixedRate(this::sample, 0, interval, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Stops the sampler.
+   */
+  @PreDestroy
+  public void stop() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      scheduler = null;
+    }
+  }
+
+  /**
+   * Records one sample into the ring buffers, the oldest sample is overwritten when they are full.
+   */
+  public void sample() {
+    try {
+      final long gcCountTotal = totalGcCount();
+      final long gcTimeTotal = totalGcTimeMillis();
+      final double[] cpuLoad = cpuLoad();
+      final MemoryUsage heapUsage = memoryMxBean.getHeapMemoryUsage();
+
+      synchronized (this) {
+        timestamps[head] = System.currentTimeMillis();
+        heapUsed[head] = heapUsage.getUsed();
+        heapCommitted[head] = heapUsage.getCommitted();
+        nonHeapUsed[head] = memoryMxBean.getNonHeapMemoryUsage().getUsed();
+        gcCount[head] = gcCountTotal - lastGcCount;
+        gcTimeMillis[head] = gcTimeTotal - lastGcTimeMillis;
+        threadCount[head] = threadMxBean.getThreadCount();
+        daemonThreadCount[head] = threadMxBean.getDaemonThreadCount();
+        processCpuLoad[head] = cpuLoad[0];
+        systemCpuLoad[head] = cpuLoad[1];
+        loadedClassCount[head] = classLoadingMxBean.getLoadedClassCount();
+        inflightExchanges[head] = camelContext.getInflightRepository().size();
+        stuckExchanges[head] = inflightInspector.getStuckCount();
+
+        lastGcCount = gcCountTotal;
+        lastGcTimeMillis = gcTimeTotal;
+        head = (head + 1) % capacity;
+        size = Math.min(size + 1, capacity);
+      }
+    } catch (Exception e) {
+      LOGGER.warn("Could not sample the jvm metrics with exception: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Returns the samples of the given window as columnar arrays, the oldest sample first.
+   *
+   * @param windowMillis The window in milliseconds, all samples are returned if it is null or not positive.
+   * @return the samples.
+   */
+  public synchronized JvmMetrics getMetrics(Long windowMillis) {
+
+    int start = (head - size + capacity) % capacity;
+    int count = size;
+
+    if (windowMillis != null && windowMillis > 0) {
+      long from = System.currentTimeMillis() - windowMillis;
+      while (count > 0 && timestamps[start] < from) {
+        start = (start + 1) % capacity;
+        count--;
+      }
+    }
+
+    final int first = start;
+    final int length = count;
+
+    return new JvmMetrics(interval, copy(timestamps, first, length), copy(heapUsed, first, length),
+        copy(heapCommitted, first, length), copy(nonHeapUsed, first, length), copy(gcCount, first, length),
+        copy(gcTimeMillis, first, length), copy(threadCount, first, length), copy(daemonThreadCount, first, length),
+        copy(processCpuLoad, first, length), copy(systemCpuLoad, first, length),
+        copy(loadedClassCount, first, length), copy(inflightExchanges, first, length),
+        copy(stuckExchanges, first, length));
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  private long totalGcCount() {
+    return garbageCollectorMxBeans.stream().mapToLong(GarbageCollectorMXBean::getCollectionCount)
+        .filter(c -> c > 0).sum();
+  }
+
+  private long totalGcTimeMillis() {
+    return garbageCollectorMxBeans.stream().mapToLong(GarbageCollectorMXBean::getCollectionTime)
+        .filter(c -> c > 0).sum();
+  }
+
+  private double[] cpuLoad() {
+    if (operatingSystemMxBean instanceof com.sun.management.OperatingSystemMXBean sunOperatingSystemMxBean) {
+      return new double[]{sunOperatingSystemMxBean.getProcessCpuLoad(), sunOperatingSystemMxBean.getCpuLoad()};
+    }
+    return new double[]{-1, -1};
+  }
+
+  private long[] copy(long[] ring, int first, int length) {
+    long[] result = new long[length];
+    int tail = Math.min(length, capacity - first);
+    System.arraycopy(ring, first, result, 0, tail);
+    System.arraycopy(ring, 0, result, tail, length - tail);
+    return result;
+  }
+
+  private int[] copy(int[] ring, int first, int length) {
+    int[] result = new int[length];
+    int tail = Math.min(length, capacity - first);
+    System.arraycopy(ring, first, result, 0, tail);
+    System.arraycopy(ring, 0, result, tail, length - tail);
+    return result;
+  }
+
+  private double[] copy(double[] ring, int first, int length) {
+    double[] result = new double[length];
+    int tail = Math.min(length, capacity - first);
+    System.arraycopy(ring, first, result, 0, tail);
+    System.arraycopy(ring, 0, result, tail, length - tail);
+    return result;
+  }
+
+}
@@ -0,0 +1,367 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.debugger.service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.ExchangeBuilder;
+import org.camelbee.constants.CamelBeeConstants;
+import org.camelbee.debugger.model.loadtest.LoadTestRequest;
+import org.camelbee.debugger.model.loadtest.LoadTestStatus;
+import org.camelbee.debugger.model.loadtest.LoadTestStatus.State;
+import org.camelbee.utils.UuidResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs load tests against the consumer routes in process.
+ * Each load test sends exchanges through the ProducerTemplate from concurrent virtual threads, optionally paced to
+ * a target rate, until the total count is sent, the duration is over or it is cancelled.
+ */
+@Component
+public class LoadTestService {
+
+  /**
+   * The logger.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(LoadTestService.class);
+
+  private static final long[] LATENCY_BUCKETS_MILLIS = {1, 2, 5, 10, 20, 50, 100, 200, 500, 1000, 2000, 5000, 10000};
+
+  private final CamelContext camelContext;
+  private final ProducerTemplate producerTemplate;
+  private final int maxConcurrency;
+  private final int retainedLoadTests;
+  private final int maxActiveLoadTests;
+
+  private final Map<String, LoadTest> loadTests;
+
+  /**
+   * Constructor.
+   *
+   * @param camelContext       The camelContext.
+   * @param producerTemplate   The producerTemplate.
+   * @param maxConcurrency     The maximum number of concurrent senders of a load test.
+   * @param retainedLoadTests  The number of load tests kept for the status queries.
+   * @param maxActiveLoadTests The maximum number of load tests running at the same time.
+   */
+  public LoadTestService(CamelContext camelContext, ProducerTemplate producerTemplate,
+      @Value("${camelbee.loadtest-max-concurrency:1000}") int maxConcurrency,
+      @Value("${camelbee.loadtest-retained:10}") int retainedLoadTests,
+      @Value("${camelbee.loadtest-max-active:2}") int maxActiveLoadTests) {
+    this.camelContext = camelContext;
+    this.producerTemplate = producerTemplate;
+    this.maxConcurrency = Math.max(1, maxConcurrency);
+    this.retainedLoadTests = Math.max(1, retainedLoadTests);
+    this.maxActiveLoadTests = Math.max(1, maxActiveLoadTests);
+    this.loadTests = new LinkedHashMap<>();
+  }
+
+  /**
+   * Starts a load test.
+   *
+   * @param request     The load test request.
+   * @param endpoint    The consumer endpoint.
+   * @param headers     The headers of each exchange.
+   * @param bodyFactory Creates the body of each exchange.
+   * @return the status of the started load test.
+   * @throws IllegalArgumentException   if the request has neither a total count nor a duration or an invalid concurrency.
+   * @throws RejectedExecutionException if the maximum number of load tests is already running.
+   */
+  public LoadTestStatus start(LoadTestRequest request, Endpoint endpoint, Map<String, Object> headers,
+      Callable<Object> bodyFactory) {
+
+    if (request.getTotalCount() == null && request.getDurationSeconds() == null) {
+      throw new IllegalArgumentException("Either totalCount or durationSeconds is required");
+    }
+
+    int concurrency = request.getConcurrency() != null ? request.getConcurrency() : 1;
+
+    if (concurrency < 1 || concurrency > maxConcurrency) {
+      throw new IllegalArgumentException("concurrency must be between 1 and " + maxConcurrency);
+    }
+
+    LoadTest loadTest = new LoadTest(UuidResolver.generate().toString(), request, endpoint, headers, bodyFactory);
+
+    synchronized (loadTests) {
+      if (loadTests.values().stream().filter(LoadTest::isRunning).count() >= maxActiveLoadTests) {
+        throw new RejectedExecutionException("at most " + maxActiveLoadTests + " load tests can run at the same time");
+      }
+      loadTests.put(loadTest.id, loadTest);
+      evictFinished();
+    }
+
+    loadTest.start(concurrency);
+
+    return loadTest.status();
+  }
+
+  /**
+   * Returns the status of a load test.
+   *
+   * @param id The id of the load test.
+   * @return the status, or null if the load test is unknown.
+   */
+  public LoadTestStatus getStatus(String id) {
+    LoadTest loadTest = find(id);
+    return loadTest != null ? loadTest.status() : null;
+  }
+
+  /**
+   * Cancels a running load test.
+   *
+   * @param id The id of the load test.
+   * @return the status, or null if the load test is unknown.
+   */
+  public LoadTestStatus cancel(String id) {
+    LoadTest loadTest = find(id);
+    if (loadTest == null) {
+      return null;
+    }
+    loadTest.cancel();
+    return loadTest.status();
+  }
+
+  /**
+   * Waits until the load test is finished.
+   *
+   * @param id            The id of the load test.
+   * @param timeoutMillis The maximum time to wait in milliseconds.
+   * @return true if the load test is finished or unknown, false if it is still running.
+   * @throws InterruptedException if the waiting thread is interrupted.
+   */
+  public boolean awaitCompletion(String id, long timeoutMillis) throws InterruptedException {
+    LoadTest loadTest = find(id);
+    return loadTest == null || loadTest.finished.await(timeoutMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Cancels the running load tests.
+   */
+  @PreDestroy
+  public void stop() {
+    synchronized (loadTests) {
+      loadTests.values().forEach(LoadTest::cancel);
+    }
+  }
+
+  /**
+   * Removes the oldest finished load tests beyond the retained number, running load tests are kept.
+   */
+  private void evictFinished() {
+    Iterator<LoadTest> iterator = loadTests.values().iterator();
+    while (loadTests.size() > retainedLoadTests && iterator.hasNext()) {
+      if (!iterator.next().isRunning()) {
+        iterator.remove();
+      }
+    }
+  }
+
+  private LoadTest find(String id) {
+    synchronized (loadTests) {
+      return loadTests.get(id);
+    }
+  }
+
+  /**
+   * A running or finished load test.
+   */
+  private final class LoadTest {
+
+    private final String id;
+    private final Endpoint endpoint;
+    private final Map<String, Object> headers;
+    private final Callable<Object> bodyFactory;
+    private final long totalCount;
+    private final long intervalNanos;
+    private final long durationNanos;
+
+    private final AtomicLong issued = new AtomicLong();
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong latencySumNanos = new AtomicLong();
+    private final AtomicLong latencyMaxNanos = new AtomicLong();
+    private final AtomicLongArray latencyCounts = new AtomicLongArray(LATENCY_BUCKETS_MILLIS.length + 1);
+    private final AtomicLong nextSendNanos = new AtomicLong();
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    private volatile boolean cancelled;
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    private ExecutorService executor;
+
+    LoadTest(String id, LoadTestRequest request, Endpoint endpoint, Map<String, Object> headers,
+        Callable<Object> bodyFactory) {
+      this.id = id;
+      this.endpoint = endpoint;
+      this.headers = headers;
+      this.bodyFactory = bodyFactory;
+      this.totalCount = request.getTotalCount() != null ? request.getTotalCount() : Long.MAX_VALUE;
+      this.intervalNanos = request.getRatePerSecond() != null && request.getRatePerSecond() > 0
+          ? (long) (TimeUnit.SECONDS.toNanos(1) / request.getRatePerSecond()) : 0;
+      this.durationNanos = request.getDurationSeconds() != null
+          ? TimeUnit.SECONDS.toNanos(request.getDurationSeconds()) : Long.MAX_VALUE;
+    }
+
+    void start(int concurrency) {
+      startNanos = System.nanoTime();
+      nextSendNanos.set(startNanos);
+      executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("camelbee-loadtest-", 0).factory());
+      for (int i = 0; i < concurrency; i++) {
+        executor.execute(this::runSender);
+      }
+      executor.shutdown();
+      Thread.ofVirtual().name("camelbee-loadtest-" + id).start(this::awaitSenders);
+    }
+
+    void cancel() {
+      cancelled = true;
+      if (executor != null) {
+        executor.shutdownNow();
+      }
+    }
+
+    boolean isRunning() {
+      return finished.getCount() > 0;
+    }
+
+    private void awaitSenders() {
+      try {
+        while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+          LOGGER.trace("Load test {} is running", id);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } finally {
+        endNanos = System.nanoTime();
+        finished.countDown();
+        LOGGER.info("Load test {} finished: sent={} succeeded={} failed={}", id, issued.get(), succeeded.get(), failed.get());
+      }
+    }
+
+    private void runSender() {
+      while (!cancelled && !Thread.currentThread().isInterrupted()) {
+
+        if (System.nanoTime() - startNanos >= durationNanos || issued.incrementAndGet() > totalCount) {
+          return;
+        }
+
+        if (intervalNanos > 0) {
+          long sendAt = nextSendNanos.getAndAdd(intervalNanos);
+          long delay = sendAt - System.nanoTime();
+          if (delay > 0) {
+            LockSupport.parkNanos(delay);
+          }
+        }
+
+        send();
+      }
+    }
+
+    private void send() {
+
+      final long sendStart = System.nanoTime();
+
+      try {
+        Exchange exchange = ExchangeBuilder.anExchange(camelContext).build();
+        exchange.setProperty(CamelBeeConstants.CAMELBEE_PRODUCED_EXCHANGE, "true");
+        exchange.getIn().setHeaders(new HashMap<>(headers));
+        exchange.getIn().setBody(bodyFactory.call());
+
+        Exchange result = producerTemplate.send(endpoint, exchange);
+
+        Integer responseCode = result.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class);
+        if (result.isFailed() || responseCode != null && responseCode >= 400) {
+          failed.incrementAndGet();
+        } else {
+          succeeded.incrementAndGet();
+        }
+      } catch (Exception e) {
+        failed.incrementAndGet();
+      }
+
+      recordLatency(System.nanoTime() - sendStart);
+    }
+
+    private void recordLatency(long latencyNanos) {
+      latencySumNanos.addAndGet(latencyNanos);
+      latencyMaxNanos.accumulateAndGet(latencyNanos, Math::max);
+      long latencyMillis = TimeUnit.NANOSECONDS.toMillis(latencyNanos);
+      int bucket = 0;
+      while (bucket < LATENCY_BUCKETS_MILLIS.length && latencyMillis > LATENCY_BUCKETS_MILLIS[bucket]) {
+        bucket++;
+      }
+      latencyCounts.incrementAndGet(bucket);
+    }
+
+    LoadTestStatus status() {
+
+      long end = isRunning() ? System.nanoTime() : endNanos;
+      long elapsedNanos = Math.max(1, end - startNanos);
+
+      long[] counts = new long[latencyCounts.length()];
+      long completed = 0;
+      for (int i = 0; i < counts.length; i++) {
+        counts[i] = latencyCounts.get(i);
+        completed += counts[i];
+      }
+
+      State state = isRunning() ? State.RUNNING : cancelled ? State.CANCELLED : State.COMPLETED;
+
+      return new LoadTestStatus(id, state, Math.min(issued.get(), totalCount), succeeded.get(), failed.get(),
+          TimeUnit.NANOSECONDS.toMillis(elapsedNanos), completed * 1e9 / elapsedNanos, LATENCY_BUCKETS_MILLIS.clone(),
+          counts, completed > 0 ? latencySumNanos.get() / 1e6 / completed : 0,
+          TimeUnit.NANOSECONDS.toMillis(latencyMaxNanos.get()), percentile(counts, completed, 0.5),
+          percentile(counts, completed, 0.9), percentile(counts, completed, 0.99));
+    }
+
+    private long percentile(long[] counts, long completed, double quantile) {
+      if (completed == 0) {
+        return 0;
+      }
+      long rank = (long) Math.ceil(quantile * completed);
+      long cumulative = 0;
+      for (int i = 0; i < LATENCY_BUCKETS_MILLIS.length; i++) {
+        cumulative += counts[i];
+        if (cumulative >= rank) {
+          return LATENCY_BUCKETS_MILLIS[i];
+        }
+      }
+      return TimeUnit.NANOSECONDS.toMillis(latencyMaxNanos.get());
+    }
+  }
+
+}
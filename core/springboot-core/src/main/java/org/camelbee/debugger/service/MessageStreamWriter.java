@@ -0,0 +1,158 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.debugger.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+import org.camelbee.debugger.model.exchange.Message;
+import org.camelbee.debugger.service.PayloadEncoder.Format;
+import org.springframework.stereotype.Component;
+
+/**
+ * Streams the traced messages into the response with a Jackson JsonGenerator.
+ * The messages are taken from a snapshot of the store and written one by one, flushed every FLUSH_INTERVAL messages,
+ * so the response memory does not grow with the number of messages and the first bytes reach the client early.
+ * The generators and serializers come from the ObjectMapper of the application, the columns are the properties
+ * of its Message serializer.
+ */
+@Component
+public class MessageStreamWriter {
+
+  private static final int FLUSH_INTERVAL = 256;
+
+  private final PayloadEncoder payloadEncoder;
+
+  private final ObjectWriter rowWriter;
+
+  /**
+   * Constructor.
+   *
+   * @param payloadEncoder The payloadEncoder holding the ObjectMappers of the application.
+   */
+  public MessageStreamWriter(PayloadEncoder payloadEncoder) {
+    this.payloadEncoder = payloadEncoder;
+    // the generator is flushed periodically instead of after every message
+    this.rowWriter = payloadEncoder.mapper(Format.JSON).writerFor(Message.class)
+        .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+  }
+
+  /**
+   * Writes the messages as a MessageList in the given format.
+   *
+   * @param messages The message store, a snapshot of it is written.
+   * @param format   The format.
+   * @param gzip     Whether the output is gzip compressed.
+   * @param out      The response output stream.
+   * @throws IOException if the output stream can not be written.
+   */
+  public void write(List<Message> messages, Format format, boolean gzip, OutputStream out) throws IOException {
+
+    final Message[] snapshot = messages.toArray(new Message[0]);
+
+    if (!gzip) {
+      write(snapshot, format, out);
+      return;
+    }
+
+    final GZIPOutputStream gzipOut = new GZIPOutputStream(out, true);
+    write(snapshot, format, gzipOut);
+    gzipOut.finish();
+    gzipOut.flush();
+  }
+
+  private void write(Message[] snapshot, Format format, OutputStream out) throws IOException {
+
+    try (JsonGenerator generator = payloadEncoder.mapper(format).createGenerator(out)) {
+
+      generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+      generator.writeStartObject();
+      generator.writeFieldName("messages");
+
+      if (format == Format.JSON) {
+        writeRows(snapshot, generator);
+      } else {
+        writeColumns(snapshot, generator);
+      }
+
+      generator.writeEndObject();
+    }
+  }
+
+  private void writeRows(Message[] snapshot, JsonGenerator generator) throws IOException {
+
+    generator.writeStartArray();
+
+    for (int i = 0; i < snapshot.length; i++) {
+      rowWriter.writeValue(generator, snapshot[i]);
+      flushPeriodically(generator, i);
+    }
+
+    generator.writeEndArray();
+  }
+
+  private void writeColumns(Message[] snapshot, JsonGenerator generator) throws IOException {
+
+    generator.writeStartObject();
+
+    if (snapshot.length > 0) {
+
+      final SerializerProvider provider = payloadEncoder.mapper(Format.JSON).getSerializerProviderInstance();
+      final JsonSerializer<Object> serializer = provider.findValueSerializer(Message.class);
+
+      final List<PropertyWriter> properties = new ArrayList<>();
+      serializer.properties().forEachRemaining(properties::add);
+
+      for (PropertyWriter property : properties) {
+        generator.writeArrayFieldStart(property.getName());
+        for (int i = 0; i < snapshot.length; i++) {
+          writeElement(property, snapshot[i], generator, provider);
+          flushPeriodically(generator, i);
+        }
+        generator.writeEndArray();
+      }
+    }
+
+    generator.writeEndObject();
+  }
+
+  private static void writeElement(PropertyWriter property, Message message, JsonGenerator generator, SerializerProvider provider) throws IOException {
+    try {
+      property.serializeAsElement(message, generator, provider);
+    } catch (Exception e) {
+      throw e instanceof IOException ioException ? ioException
+          : JsonMappingException.from(generator, "Could not write the message property " + property.getName(), e);
+    }
+  }
+
+  private static void flushPeriodically(JsonGenerator generator, int index) throws IOException {
+    if ((index + 1) % FLUSH_INTERVAL == 0) {
+      generator.flush();
+    }
+  }
+
+}
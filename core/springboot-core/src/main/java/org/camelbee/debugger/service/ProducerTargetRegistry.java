@@ -0,0 +1,224 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.debugger.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Endpoint;
+import org.camelbee.debugger.model.route.CamelRoute;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registry of the producer targets of the consumer routes.
+ * The endpoint uris of the routes are derived once per topology snapshot from their "From[...]" descriptions,
+ * the endpoints are resolved on their first use and the ObjectReaders of the payload classes are cached,
+ * so a produce call costs only the route execution itself.
+ */
+@Component
+public class ProducerTargetRegistry {
+
+  private static final String REST_BASE_URI = "http:localhost:{{local.server.port}}";
+
+  private static final Pattern REST_PATH_PATTERN = Pattern.compile("://[a-zA-Z]+:(/[^?]+)");
+
+  private static final Pattern PLATFORM_HTTP_PATH_PATTERN = Pattern.compile("From\\[platform-http:/*([^?\\]]*)");
+
+  private static final Pattern JPA_URI_PATTERN = Pattern.compile("From\\[(jpa:[^?]+)");
+
+  private static final Pattern URI_PATTERN = Pattern.compile("\\[([^\\]]+)\\]");
+
+  private final CamelContext camelContext;
+  private final RouteContextService routeContextService;
+  private final ObjectMapper objectMapper;
+
+  private final Map<String, ObjectReader> objectReaders = new ConcurrentHashMap<>();
+
+  private volatile Targets targets;
+
+  /**
+   * Constructor.
+   *
+   * @param camelContext        The camelContext.
+   * @param routeContextService The routeContextService.
+   * @param objectMapper        The objectMapper.
+   */
+  public ProducerTargetRegistry(CamelContext camelContext, RouteContextService routeContextService,
+      ObjectMapper objectMapper) {
+    this.camelContext = camelContext;
+    this.routeContextService = routeContextService;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * Returns the endpoint of the consumer route.
+   *
+   * @param routeName The "From[...]" description of the consumer route.
+   * @return the endpoint.
+   * @throws IllegalArgumentException if no endpoint uri can be derived from the route name.
+   */
+  public Endpoint getEndpoint(String routeName) {
+
+    Targets current = currentTargets();
+
+    Endpoint endpoint = current.endpoints().get(routeName);
+
+    if (endpoint != null) {
+      return endpoint;
+    }
+
+    String uri = current.uris().get(routeName);
+
+    if (uri == null) {
+      // not a consumer route of the topology, resolved without caching
+      return camelContext.getEndpoint(requireUri(routeName, adjustRouteName(routeName)));
+    }
+
+    return current.endpoints().computeIfAbsent(routeName, k -> camelContext.getEndpoint(uri));
+  }
+
+  /**
+   * Returns the endpoint of the consumer route with the given id.
+   *
+   * @param routeId The id of the consumer route.
+   * @return the endpoint, or null if the topology has no route with the id.
+   * @throws IllegalArgumentException if no endpoint uri can be derived from the input of the route.
+   */
+  public Endpoint getRouteEndpoint(String routeId) {
+
+    String routeName = currentTargets().routeNames().get(routeId);
+
+    return routeName != null ? getEndpoint(routeName) : null;
+  }
+
+  /**
+   * Reads the json message as an instance of the payload class.
+   *
+   * @param message   The json message.
+   * @param className The name of the payload class.
+   * @return the payload.
+   * @throws IOException            if the message can not be read.
+   * @throws ClassNotFoundException if the payload class can not be found.
+   */
+  public Object readPayload(String message, String className) throws IOException, ClassNotFoundException {
+
+    ObjectReader objectReader = objectReaders.get(className);
+
+    if (objectReader == null) {
+      objectReader = objectMapper.readerFor(Class.forName(className));
+      objectReaders.putIfAbsent(className, objectReader);
+    }
+
+    return objectReader.readValue(message);
+  }
+
+  /**
+   * Replaces the placeholders with the actual environment variables.
+   *
+   * @param routeName The route name.
+   * @return String The adjusted route name.
+   */
+  public static String adjustRouteName(String routeName) {
+
+    String adjustedRouteName = null;
+
+    if (routeName.startsWith("From[rest:")) {
+      // the base path and the uri template of the rest definition are separated by a colon
+      String path = applyPattern(routeName, REST_PATH_PATTERN);
+      if (path != null) {
+        adjustedRouteName = REST_BASE_URI + path.replace(":/", "/") + "?throwExceptionOnFailure=false";
+      }
+    } else if (routeName.startsWith("From[platform-http:")) {
+      adjustedRouteName = REST_BASE_URI + "/" + applyPattern(routeName, PLATFORM_HTTP_PATH_PATTERN) + "?throwExceptionOnFailure=false";
+    } else if (routeName.startsWith("From[jpa:")) {
+      adjustedRouteName = applyPattern(routeName, JPA_URI_PATTERN);
+    } else {
+      adjustedRouteName = applyPattern(routeName, URI_PATTERN);
+    }
+
+    return adjustedRouteName;
+  }
+
+  /**
+   * Applies regex pattern on the route name.
+   *
+   * @param input   The route name.
+   * @param pattern The regex.
+   * @return String The updated route name.
+   */
+  public static String applyPattern(String input, Pattern pattern) {
+
+    Matcher matcher = pattern.matcher(input);
+    if (matcher.find()) {
+      return matcher.group(1);
+    }
+    return null;
+  }
+
+  private Targets currentTargets() {
+
+    List<CamelRoute> routes = routeContextService.getCamelRoutes();
+
+    Targets current = targets;
+
+    if (current == null || current.routes() != routes) {
+
+      Map<String, String> uris = new HashMap<>();
+      Map<String, String> routeNames = new HashMap<>();
+
+      for (CamelRoute route : routes) {
+        String uri = adjustRouteName(route.getInput());
+        if (uri != null) {
+          uris.put(route.getInput(), uri);
+        }
+        routeNames.put(route.getId(), route.getInput());
+      }
+
+      current = new Targets(routes, Map.copyOf(uris), Map.copyOf(routeNames), new ConcurrentHashMap<>());
+      targets = current;
+    }
+
+    return current;
+  }
+
+  private static String requireUri(String routeName, String uri) {
+    if (uri == null) {
+      throw new IllegalArgumentException("No endpoint uri found in the route name: " + routeName);
+    }
+    return uri;
+  }
+
+  /**
+   * The producer targets of a topology snapshot.
+   *
+   * @param routes     The topology snapshot.
+   * @param uris       The endpoint uris per route description.
+   * @param routeNames The route descriptions per route id.
+   * @param endpoints  The resolved endpoints per route description.
+   */
+  private record Targets(List<CamelRoute> routes, Map<String, String> uris, Map<String, String> routeNames,
+                         Map<String, Endpoint> endpoints) {
+  }
+
+}
@@ -0,0 +1,611 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.debugger.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.ExchangeBuilder;
+import org.camelbee.constants.CamelBeeConstants;
+import org.camelbee.debugger.model.exchange.Message;
+import org.camelbee.debugger.model.exchange.MessageEventType;
+import org.camelbee.debugger.model.replay.LatencySummary;
+import org.camelbee.debugger.model.replay.ReplayRequest;
+import org.camelbee.debugger.model.replay.ReplayRouteStatus;
+import org.camelbee.debugger.model.replay.ReplayStatus;
+import org.camelbee.debugger.model.replay.ReplayStatus.State;
+import org.camelbee.utils.UuidResolver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Replays captured traffic into the consumer routes.
+ * The requests are taken from the CREATED messages of the traced messages or of an uploaded capture file and sent
+ * through the ProducerTemplate to the producer target of their route, at their original timing, scaled by a speed
+ * factor or as fast as possible. The targets are resolved by the ProducerTargetRegistry, a rest route is called through
+ * its http endpoint without the http headers of the captured request. The latencies of the replay are compared with the original latencies which are the
+ * differences between the CREATED and COMPLETED messages of the same exchange.
+ */
+@Component
+public class ReplayService {
+
+  /**
+   * The logger.
+   */
+  private static final Logger LOGGER = LoggerFactory.getLogger(ReplayService.class);
+
+  private static final List<String> INBOUND_HTTP_HEADERS = List.of(Exchange.HTTP_URI, Exchange.HTTP_URL, Exchange.HTTP_PATH,
+      Exchange.REST_HTTP_URI);
+
+  private final CamelContext camelContext;
+  private final ProducerTemplate producerTemplate;
+  private final ProducerTargetRegistry producerTargetRegistry;
+  private final MessageService messageService;
+  private final ObjectMapper objectMapper;
+  private final int concurrencyPerRoute;
+  private final int maxRequests;
+  private final int retainedReplays;
+  private final int maxActiveReplays;
+
+  private final Map<String, Replay> replays;
+
+  /**
+   * Constructor.
+   *
+   * @param camelContext           The camelContext.
+   * @param producerTemplate       The producerTemplate.
+   * @param producerTargetRegistry The producerTargetRegistry.
+   * @param messageService         The messageService.
+   * @param objectMapper           The objectMapper.
+   * @param concurrencyPerRoute    The default number of concurrent requests per route.
+   * @param maxRequests            The maximum number of requests of a replay.
+   * @param retainedReplays        The number of replays kept for the status queries.
+   * @param maxActiveReplays       The maximum number of replays running at the same time.
+   */
+  public ReplayService(CamelContext camelContext, ProducerTemplate producerTemplate,
+      ProducerTargetRegistry producerTargetRegistry, MessageService messageService, ObjectMapper objectMapper,
+      @Value("${camelbee.replay-concurrency-per-route:10}") int concurrencyPerRoute,
+      @Value("${camelbee.replay-max-requests:100000}") int maxRequests,
+      @Value("${camelbee.replay-retained:10}") int retainedReplays,
+      @Value("${camelbee.replay-max-active:2}") int maxActiveReplays) {
+    this.camelContext = camelContext;
+    this.producerTemplate = producerTemplate;
+    this.producerTargetRegistry = producerTargetRegistry;
+    this.messageService = messageService;
+    this.objectMapper = objectMapper;
+    this.concurrencyPerRoute = Math.max(1, concurrencyPerRoute);
+    this.maxRequests = Math.max(1, maxRequests);
+    this.retainedReplays = Math.max(1, retainedReplays);
+    this.maxActiveReplays = Math.max(1, maxActiveReplays);
+    this.replays = new LinkedHashMap<>();
+  }
+
+  /**
+   * Replays the requests captured by the tracer.
+   *
+   * @param request The replay request.
+   * @return the status of the started replay.
+   * @throws IllegalArgumentException   if the window has no requests or the request is invalid.
+   * @throws RejectedExecutionException if the maximum number of replays is already running.
+   */
+  public ReplayStatus startCaptured(ReplayRequest request) {
+
+    final List<CapturedEvent> events = new ArrayList<>();
+
+    for (Message message : messageService.getMessageList()) {
+      events.add(new CapturedEvent(message.getExchangeId(), message.getExchangeEventType(), message.getRouteId(),
+          message.getHeaders(), message.getMessageBody(), parseTimestamp(message.getTimeStamp())));
+    }
+
+    return start(events, request);
+  }
+
+  /**
+   * Replays the requests of a capture file.
+   * The file is either the JSON of the traced messages or the JSON Lines written by the trace file sink.
+   *
+   * @param capture The content of the capture file.
+   * @param request The replay request.
+   * @return the status of the started replay.
+   * @throws IOException                if the capture can not be parsed.
+   * @throws IllegalArgumentException   if the capture has no requests or the request is invalid.
+   * @throws RejectedExecutionException if the maximum number of replays is already running.
+   */
+  public ReplayStatus startUploaded(String capture, ReplayRequest request) throws IOException {
+
+    final List<CapturedEvent> events = new ArrayList<>();
+
+    try (MappingIterator<JsonNode> iterator = objectMapper.readerFor(JsonNode.class).readValues(capture)) {
+      while (iterator.hasNextValue()) {
+        JsonNode node = iterator.nextValue();
+        JsonNode items = node.isArray() ? node : node.get("messages");
+        if (items != null) {
+          items.forEach(item -> events.add(toCapturedEvent(item)));
+        } else {
+          events.add(toCapturedEvent(node));
+        }
+      }
+    }
+
+    return start(events, request);
+  }
+
+  /**
+   * Returns the status of a replay.
+   *
+   * @param id The id of the replay.
+   * @return the status, or null if the replay is unknown.
+   */
+  public ReplayStatus getStatus(String id) {
+    Replay replay = find(id);
+    return replay != null ? replay.status() : null;
+  }
+
+  /**
+   * Cancels a running replay.
+   *
+   * @param id The id of the replay.
+   * @return the status, or null if the replay is unknown.
+   */
+  public ReplayStatus cancel(String id) {
+    Replay replay = find(id);
+    if (replay == null) {
+      return null;
+    }
+    replay.cancel();
+    return replay.status();
+  }
+
+  /**
+   * Waits until the replay is finished.
+   *
+   * @param id            The id of the replay.
+   * @param timeoutMillis The maximum time to wait in milliseconds.
+   * @return true if the replay is finished or unknown, false if it is still running.
+   * @throws InterruptedException if the waiting thread is interrupted.
+   */
+  public boolean awaitCompletion(String id, long timeoutMillis) throws InterruptedException {
+    Replay replay = find(id);
+    return replay == null || replay.finished.await(timeoutMillis, TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * Cancels the running replays.
+   */
+  @PreDestroy
+  public void stop() {
+    synchronized (replays) {
+      replays.values().forEach(Replay::cancel);
+    }
+  }
+
+  /**
+   * Removes the oldest finished replays beyond the retained number, running replays are kept.
+   */
+  private void evictFinished() {
+    Iterator<Replay> iterator = replays.values().iterator();
+    while (replays.size() > retainedReplays && iterator.hasNext()) {
+      if (!iterator.next().isRunning()) {
+        iterator.remove();
+      }
+    }
+  }
+
+  private Replay find(String id) {
+    synchronized (replays) {
+      return replays.get(id);
+    }
+  }
+
+  private ReplayStatus start(List<CapturedEvent> events, ReplayRequest request) {
+
+    final double speed = request.getSpeed() != null ? request.getSpeed() : 1;
+
+    if (speed < 0) {
+      throw new IllegalArgumentException("speed must not be negative");
+    }
+
+    final List<CapturedRequest> requests = collectRequests(events, request);
+
+    if (requests.isEmpty() || requests.size() > maxRequests) {
+      throw new IllegalArgumentException("the number of captured requests must be between 1 and " + maxRequests);
+    }
+
+    final Map<String, RouteRun> routeRuns = new LinkedHashMap<>();
+
+    for (CapturedRequest capturedRequest : requests) {
+      routeRuns.computeIfAbsent(capturedRequest.routeId(), routeId -> {
+        Integer concurrency = request.getRouteConcurrency() != null ? request.getRouteConcurrency().get(routeId) : null;
+        if (concurrency == null) {
+          concurrency = request.getConcurrencyPerRoute() != null ? request.getConcurrencyPerRoute() : concurrencyPerRoute;
+        }
+        if (concurrency < 1) {
+          throw new IllegalArgumentException("concurrency of route " + routeId + " must be at least 1");
+        }
+        return new RouteRun(routeId, resolveEndpoint(routeId), concurrency);
+      }).add(capturedRequest);
+    }
+
+    Replay replay = new Replay(UuidResolver.generate().toString(), requests, routeRuns, speed);
+
+    synchronized (replays) {
+      if (replays.values().stream().filter(Replay::isRunning).count() >= maxActiveReplays) {
+        throw new RejectedExecutionException("at most " + maxActiveReplays + " replays can run at the same time");
+      }
+      replays.put(replay.id, replay);
+      evictFinished();
+    }
+
+    replay.start();
+
+    return replay.status();
+  }
+
+  private Endpoint resolveEndpoint(String routeId) {
+    try {
+      return producerTargetRegistry.getRouteEndpoint(routeId);
+    } catch (RuntimeException e) {
+      LOGGER.warn("Could not resolve the replay target of route: {} with exception: {}", routeId, e.getMessage());
+      return null;
+    }
+  }
+
+  private static List<CapturedRequest> collectRequests(List<CapturedEvent> events, ReplayRequest request) {
+
+    final Map<String, Long> completedTimestamps = new HashMap<>();
+
+    for (CapturedEvent event : events) {
+      if (event.type() == MessageEventType.COMPLETED && event.exchangeId() != null) {
+        completedTimestamps.putIfAbsent(event.exchangeId(), event.timestamp());
+      }
+    }
+
+    final List<CapturedRequest> requests = new ArrayList<>();
+
+    for (CapturedEvent event : events) {
+      if (event.type() != MessageEventType.CREATED || event.routeId() == null
+          || request.getFrom() != null && event.timestamp() < request.getFrom()
+          || request.getTo() != null && event.timestamp() > request.getTo()
+          || request.getRouteIds() != null && !request.getRouteIds().isEmpty() && !request.getRouteIds().contains(event.routeId())) {
+        continue;
+      }
+      Long completed = completedTimestamps.get(event.exchangeId());
+      requests.add(new CapturedRequest(event.routeId(), parseHeaders(event.headers()), event.body(), event.timestamp(),
+          completed != null ? completed - event.timestamp() : -1));
+    }
+
+    requests.sort(Comparator.comparingLong(CapturedRequest::timestamp));
+
+    return requests;
+  }
+
+  private static CapturedEvent toCapturedEvent(JsonNode node) {
+
+    MessageEventType type = null;
+    try {
+      type = MessageEventType.valueOf(node.path("exchangeEventType").asText());
+    } catch (IllegalArgumentException e) {
+      LOGGER.trace("Ignoring captured event without a known type: {}", node);
+    }
+
+    return new CapturedEvent(textOrNull(node, "exchangeId"), type, textOrNull(node, "routeId"), textOrNull(node, "headers"),
+        textOrNull(node, "messageBody"), node.path("timeStamp").asLong());
+  }
+
+  private static String textOrNull(JsonNode node, String field) {
+    JsonNode value = node.get(field);
+    return value == null || value.isNull() ? null : value.asText();
+  }
+
+  private static long parseTimestamp(String timeStamp) {
+    try {
+      return Long.parseLong(timeStamp);
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  /**
+   * Parses the headers captured as name:value lines.
+   *
+   * @param headers The captured headers.
+   * @return the headers.
+   */
+  static Map<String, Object> parseHeaders(String headers) {
+
+    final Map<String, Object> parsed = new HashMap<>();
+
+    if (headers == null) {
+      return parsed;
+    }
+
+    for (String line : headers.split("\n")) {
+      int separator = line.indexOf(':');
+      if (separator > 0) {
+        parsed.put(line.substring(0, separator), line.substring(separator + 1));
+      }
+    }
+
+    return parsed;
+  }
+
+  private static LatencySummary summarize(List<Long> latencies) {
+
+    if (latencies.isEmpty()) {
+      return new LatencySummary(0, 0, 0, 0, 0, 0);
+    }
+
+    final List<Long> sorted = new ArrayList<>(latencies);
+    Collections.sort(sorted);
+
+    long sum = 0;
+    for (long latency : sorted) {
+      sum += latency;
+    }
+
+    return new LatencySummary(sorted.size(), (double) sum / sorted.size(), percentile(sorted, 0.5), percentile(sorted, 0.9),
+        percentile(sorted, 0.99), sorted.get(sorted.size() - 1));
+  }
+
+  private static long percentile(List<Long> sorted, double quantile) {
+    return sorted.get((int) Math.max(0, Math.ceil(quantile * sorted.size()) - 1));
+  }
+
+  /**
+   * A captured message.
+   *
+   * @param exchangeId The exchangeId.
+   * @param type       The event type.
+   * @param routeId    The routeId.
+   * @param headers    The captured headers.
+   * @param body       The captured body.
+   * @param timestamp  The epoch milliseconds of the capture.
+   */
+  private record CapturedEvent(String exchangeId, MessageEventType type, String routeId, String headers, String body,
+                               long timestamp) {
+  }
+
+  /**
+   * A captured request to replay.
+   *
+   * @param routeId               The routeId.
+   * @param headers               The headers.
+   * @param body                  The body.
+   * @param timestamp             The epoch milliseconds of the original request.
+   * @param originalLatencyMillis The original latency in milliseconds or a negative value if not known.
+   */
+  private record CapturedRequest(String routeId, Map<String, Object> headers, String body, long timestamp,
+                                 long originalLatencyMillis) {
+  }
+
+  /**
+   * The requests of one route in a replay.
+   */
+  private final class RouteRun {
+
+    private final String routeId;
+    private final Endpoint endpoint;
+    private final boolean http;
+    private final Semaphore permits;
+    private final List<CapturedRequest> requests = new ArrayList<>();
+    private final List<Long> originalLatencies = new ArrayList<>();
+    private final List<Long> replayLatencies = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicLong succeeded = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    RouteRun(String routeId, Endpoint endpoint, int concurrency) {
+      this.routeId = routeId;
+      this.endpoint = endpoint;
+      this.http = endpoint != null && endpoint.getEndpointUri().startsWith("http");
+      this.permits = new Semaphore(concurrency);
+    }
+
+    void add(CapturedRequest capturedRequest) {
+      requests.add(capturedRequest);
+      if (capturedRequest.originalLatencyMillis() >= 0) {
+        originalLatencies.add(capturedRequest.originalLatencyMillis());
+      }
+    }
+
+    void send(CapturedRequest capturedRequest) {
+
+      final long sendStart = System.nanoTime();
+
+      try {
+        Exchange exchange = ExchangeBuilder.anExchange(camelContext).build();
+        exchange.setProperty(CamelBeeConstants.CAMELBEE_PRODUCED_EXCHANGE, "true");
+        exchange.getIn().setHeaders(new HashMap<>(capturedRequest.headers()));
+        if (http) {
+          // the captured uri and path would override the target of the http producer
+          INBOUND_HTTP_HEADERS.forEach(exchange.getIn()::removeHeader);
+        }
+        exchange.getIn().setBody(capturedRequest.body());
+
+        Exchange result = producerTemplate.send(endpoint, exchange);
+
+        Integer responseCode = result.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE, Integer.class);
+        if (result.isFailed() || responseCode != null && responseCode >= 400) {
+          failed.incrementAndGet();
+        } else {
+          succeeded.incrementAndGet();
+        }
+      } catch (Exception e) {
+        failed.incrementAndGet();
+      } finally {
+        permits.release();
+      }
+
+      replayLatencies.add(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - sendStart));
+    }
+
+    ReplayRouteStatus status() {
+      return new ReplayRouteStatus(routeId, requests.size(), succeeded.get(), failed.get(), summarize(originalLatencies),
+          summarize(replayLatencies));
+    }
+  }
+
+  /**
+   * A running or finished replay.
+   */
+  private final class Replay {
+
+    private final String id;
+    private final List<CapturedRequest> requests;
+    private final Map<String, RouteRun> routeRuns;
+    private final double speed;
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    private volatile boolean cancelled;
+    private volatile long startNanos;
+    private volatile long endNanos;
+
+    private ExecutorService executor;
+    private Thread dispatcher;
+
+    Replay(String id, List<CapturedRequest> requests, Map<String, RouteRun> routeRuns, double speed) {
+      this.id = id;
+      this.requests = requests;
+      this.routeRuns = routeRuns;
+      this.speed = speed;
+    }
+
+    void start() {
+      startNanos = System.nanoTime();
+      executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("camelbee-replay-", 0).factory());
+      dispatcher = Thread.ofVirtual().name("camelbee-replay-" + id).start(this::dispatch);
+    }
+
+    void cancel() {
+      cancelled = true;
+      if (dispatcher != null) {
+        dispatcher.interrupt();
+      }
+      if (executor != null) {
+        executor.shutdownNow();
+      }
+    }
+
+    boolean isRunning() {
+      return finished.getCount() > 0;
+    }
+
+    private void dispatch() {
+
+      final long firstTimestamp = requests.get(0).timestamp();
+      final List<Thread> routeDispatchers = new ArrayList<>();
+
+      try {
+        // every route is dispatched by its own thread, a route waiting for its permits does not delay the other routes
+        for (RouteRun routeRun : routeRuns.values()) {
+          if (routeRun.endpoint == null) {
+            skipped.addAndGet(routeRun.requests.size());
+          } else {
+            routeDispatchers.add(Thread.ofVirtual().name("camelbee-replay-" + id + "-" + routeRun.routeId)
+                .start(() -> dispatch(routeRun, firstTimestamp)));
+          }
+        }
+
+        for (Thread routeDispatcher : routeDispatchers) {
+          routeDispatcher.join();
+        }
+
+        executor.shutdown();
+        while (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+          LOGGER.trace("Replay {} is running", id);
+        }
+
+      } catch (InterruptedException e) {
+        routeDispatchers.forEach(Thread::interrupt);
+        Thread.currentThread().interrupt();
+      } catch (RuntimeException e) {
+        LOGGER.warn("Replay {} stopped with exception: {}", id, e);
+      } finally {
+        endNanos = System.nanoTime();
+        finished.countDown();
+        LOGGER.info("Replay {} finished: total={} sent={} skipped={}", id, requests.size(), sent.get(), skipped.get());
+      }
+    }
+
+    private void dispatch(RouteRun routeRun, long firstTimestamp) {
+
+      try {
+        for (CapturedRequest capturedRequest : routeRun.requests) {
+
+          if (speed > 0) {
+            long dueNanos = startNanos + (long) (TimeUnit.MILLISECONDS.toNanos(capturedRequest.timestamp() - firstTimestamp) / speed);
+            long delay = dueNanos - System.nanoTime();
+            while (!cancelled && delay > 0) {
+              LockSupport.parkNanos(delay);
+              delay = dueNanos - System.nanoTime();
+            }
+          }
+
+          if (cancelled) {
+            break;
+          }
+
+          // at most the concurrency of the route is submitted, the dispatcher of the route waits for a permit
+          routeRun.permits.acquire();
+          sent.incrementAndGet();
+          executor.execute(() -> routeRun.send(capturedRequest));
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      } catch (RejectedExecutionException e) {
+        LOGGER.trace("Replay {} of route {} is cancelled", id, routeRun.routeId);
+      }
+    }
+
+    ReplayStatus status() {
+
+      final long end = isRunning() ? System.nanoTime() : endNanos;
+
+      final State state = isRunning() ? State.RUNNING : cancelled ? State.CANCELLED : State.COMPLETED;
+
+      return new ReplayStatus(id, state, speed, requests.size(), sent.get(), skipped.get(),
+          TimeUnit.NANOSECONDS.toMillis(end - startNanos), routeRuns.values().stream().map(RouteRun::status).toList());
+    }
+  }
+
+}
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.debugger.service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.camelbee.debugger.model.route.CamelBeeContext;
+import org.camelbee.debugger.model.route.CamelRoute;
+import org.camelbee.debugger.service.PayloadEncoder.Format;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches the serialized /camelbee/routes response per topology snapshot.
+ * The JSON and the gzip compressed bytes are built once for each snapshot published by the RouteContextService,
+ * together with a weak ETag derived from the content so that clients can revalidate with If-None-Match.
+ * The other formats of the PayloadEncoder are encoded on their first request and kept with the snapshot, they share
+ * the weak ETag since they are semantically equivalent representations.
+ */
+@Component
+public class RoutesResponseCache {
+
+  private static final int ETAG_HASH_BYTES = 16;
+
+  private final PayloadEncoder payloadEncoder;
+
+  private volatile CachedRoutes cachedRoutes;
+
+  /**
+   * Constructor.
+   *
+   * @param payloadEncoder The payloadEncoder.
+   */
+  public RoutesResponseCache(PayloadEncoder payloadEncoder) {
+    this.payloadEncoder = payloadEncoder;
+  }
+
+  /**
+   * Returns the cached response of the given topology snapshot, builds it if the snapshot has changed.
+   *
+   * @param routes          The topology snapshot.
+   * @param contextSupplier Supplies the CamelBeeContext of the snapshot if the response has to be built.
+   * @return the cached response.
+   */
+  public CachedRoutes get(List<CamelRoute> routes, Supplier<CamelBeeContext> contextSupplier) {
+
+    CachedRoutes cached = cachedRoutes;
+
+    if (cached != null && cached.routes() == routes) {
+      return cached;
+    }
+
+    CamelBeeContext context = contextSupplier.get();
+
+    byte[] json = payloadEncoder.encode(context, Format.JSON);
+
+    cached = new CachedRoutes(routes, etag(json), json, PayloadEncoder.gzip(json), context, new ConcurrentHashMap<>(),
+        payloadEncoder);
+
+    cachedRoutes = cached;
+
+    return cached;
+  }
+
+  private static String etag(byte[] json) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+      return "W/\"" + HexFormat.of().formatHex(digest, 0, ETAG_HASH_BYTES) + "\"";
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  /**
+   * Checks if the Accept-Encoding header allows a gzip compressed response.
+   *
+   * @param acceptEncoding The Accept-Encoding header.
+   * @return true if gzip is accepted.
+   */
+  public static boolean acceptsGzip(String acceptEncoding) {
+    return PayloadEncoder.acceptsGzip(acceptEncoding);
+  }
+
+  /**
+   * The cached response of a topology snapshot.
+   *
+   * @param routes  The topology snapshot.
+   * @param etag    The weak ETag of the response.
+   * @param json    The serialized response.
+   * @param gzip    The gzip compressed serialized response.
+   * @param context The topology of the snapshot.
+   * @param encoded The responses encoded in the other formats.
+   * @param encoder The encoder of the other formats.
+   */
+  public record CachedRoutes(List<CamelRoute> routes, String etag, byte[] json, byte[] gzip, CamelBeeContext context,
+                             Map<String, byte[]> encoded, PayloadEncoder encoder) {
+
+    /**
+     * Returns the response in the given format, encodes it on the first request.
+     *
+     * @param format The format.
+     * @param gzip   Whether the response is gzip compressed.
+     * @return the encoded response.
+     */
+    public byte[] body(Format format, boolean gzip) {
+
+      if (format == Format.JSON) {
+        return gzip ? gzip() : json();
+      }
+
+      return encoded.computeIfAbsent(format.name() + (gzip ? ".gzip" : ""), key -> {
+        byte[] body = encoder.encode(context, format);
+        return gzip ? PayloadEncoder.gzip(body) : body;
+      });
+    }
+
+    /**
+     * Checks if the If-None-Match header matches the ETag, compared weakly.
+     *
+     * @param ifNoneMatch The If-None-Match header.
+     * @return true if the client has the current version.
+     */
+    public boolean matches(String ifNoneMatch) {
+
+      if (ifNoneMatch == null) {
+        return false;
+      }
+
+      String opaqueTag = etag.substring(2);
+
+      for (String tag : ifNoneMatch.split(",")) {
+        String candidate = tag.trim();
+        if ("*".equals(candidate) || opaqueTag.equals(candidate.startsWith("W/") ? candidate.substring(2) : candidate)) {
+          return true;
+        }
+      }
+
+      return false;
+    }
+  }
+
+}
@@ -38,6 +38,17 @@ public class LoggingService {
       SIZE
   };
 
+  private final LogRateLimiter logRateLimiter;
+
+  /**
+   * Constructor.
+   *
+   * @param logRateLimiter The logRateLimiter.
+   */
+  public LoggingService(LogRateLimiter logRateLimiter) {
+    this.logRateLimiter = logRateLimiter;
+  }
+
   /**
    * Logs a message with MDC context information.
    *
@@ -47,11 +58,27 @@ public class LoggingService {
    * @throws IllegalArgumentException if message is null
    */
   public void logMessage(Message message, String logMessage, boolean clearMdc) {
+    logMessage(message, logMessage, clearMdc, -1);
+  }
+
+  /**
+   * Logs a message with MDC context information unless it is suppressed by the rate limiter of its endpoint.
+   *
+   * @param message       The message to be logged
+   * @param logMessage    Custom log message (optional)
+   * @param clearMdc      Whether to clear MDC context after logging
+   * @param latencyMillis The latency of the event in milliseconds or a negative value if not known
+   */
+  public void logMessage(Message message, String logMessage, boolean clearMdc, long latencyMillis) {
 
     if (message == null || message.getEndpoint() == null || message.getEndpoint().startsWith("direct:")) {
       return;
     }
 
+    if (!logRateLimiter.tryAcquire(message, latencyMillis)) {
+      return;
+    }
+
     try {
       setMdcContext(message);
       logger.info(determineLogMessage(logMessage));
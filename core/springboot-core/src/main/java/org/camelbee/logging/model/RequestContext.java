@@ -0,0 +1,64 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.logging.model;
+
+import java.util.UUID;
+import org.apache.camel.Exchange;
+import org.camelbee.constants.CamelBeeConstants;
+
+/**
+ * Immutable request and transaction ids of an exchange.
+ * The context is carried as an exchange property instead of a thread local, so it is copied into the sub exchanges
+ * of multicast, split, wireTap and seda and stays correct when the routing continues on another (virtual) thread.
+ * The string forms of the ids are computed once, as they are bound to the MDC before every processing step.
+ *
+ * @param requestId           The request id.
+ * @param transactionId       The transaction id.
+ * @param requestIdString     The request id as a string.
+ * @param transactionIdString The transaction id as a string.
+ */
+public record RequestContext(UUID requestId, UUID transactionId, String requestIdString, String transactionIdString) {
+
+  /**
+   * Creates the context of the given ids.
+   *
+   * @param requestId     The request id.
+   * @param transactionId The transaction id.
+   */
+  public RequestContext(UUID requestId, UUID transactionId) {
+    this(requestId, transactionId, requestId.toString(), transactionId.toString());
+  }
+
+  /**
+   * Attaches the context to the exchange.
+   *
+   * @param exchange The exchange.
+   */
+  public void attach(Exchange exchange) {
+    exchange.setProperty(CamelBeeConstants.REQUEST_CONTEXT, this);
+  }
+
+  /**
+   * Gets the context carried by the exchange.
+   *
+   * @param exchange The exchange.
+   * @return the context, or null if the exchange does not carry one
+   */
+  public static RequestContext from(Exchange exchange) {
+    return exchange.getProperty(CamelBeeConstants.REQUEST_CONTEXT, RequestContext.class);
+  }
+}
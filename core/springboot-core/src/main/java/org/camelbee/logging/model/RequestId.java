@@ -2,14 +2,17 @@ package org.camelbee.logging.model;
 
 import java.util.Optional;
 import java.util.UUID;
+import org.apache.camel.Exchange;
+import org.camelbee.logging.LoggingAttribute;
+import org.camelbee.logging.MdcContext;
 
 /**
- * Thread-local storage for request IDs.
+ * Access to the request IDs.
+ * The exchange bound {@link RequestContext} is the source of truth, the current thread view is the MDC
+ * which CamelBeeUnitOfWork restores before each processor, so there is no thread local of its own to leak.
  */
 public final class RequestId {
 
-  private static final ThreadLocal<UUID> REQUEST_ID = new ThreadLocal<>();
-
   private RequestId() {
     throw new AssertionError("Utility class should not be instantiated");
   }
@@ -20,7 +23,7 @@ public final class RequestId {
    * @param requestId the request ID to set
    */
   public static void set(UUID requestId) {
-    REQUEST_ID.set(requestId);
+    MdcContext.set(LoggingAttribute.REQUEST_ID, requestId != null ? requestId.toString() : null);
   }
 
   /**
@@ -30,15 +33,27 @@ public final class RequestId {
    * @throws IllegalStateException if no request ID is set
    */
   public static String get() {
-    return Optional.ofNullable(REQUEST_ID.get())
-        .map(UUID::toString)
+    return Optional.ofNullable(MdcContext.get(LoggingAttribute.REQUEST_ID))
         .orElseThrow(() -> new IllegalStateException("No request ID set for current thread"));
   }
 
+  /**
+   * Gets the request ID carried by the exchange, independent of the thread the exchange is processed on.
+   *
+   * @param exchange the exchange
+   * @return the request ID as a string
+   * @throws IllegalStateException if the exchange does not carry a request ID
+   */
+  public static String get(Exchange exchange) {
+    return Optional.ofNullable(RequestContext.from(exchange))
+        .map(RequestContext::requestIdString)
+        .orElseThrow(() -> new IllegalStateException("No request ID set for exchange"));
+  }
+
   /**
    * Removes the request ID from the current thread.
    */
   public static void remove() {
-    REQUEST_ID.remove();
+    MdcContext.clear(LoggingAttribute.REQUEST_ID);
   }
 }
@@ -2,14 +2,17 @@ package org.camelbee.logging.model;
 
 import java.util.Optional;
 import java.util.UUID;
+import org.apache.camel.Exchange;
+import org.camelbee.logging.LoggingAttribute;
+import org.camelbee.logging.MdcContext;
 
 /**
- * Thread-local storage for transaction IDs.
+ * Access to the transaction IDs.
+ * The exchange bound {@link RequestContext} is the source of truth, the current thread view is the MDC
+ * which CamelBeeUnitOfWork restores before each processor, so there is no thread local of its own to leak.
  */
 public final class TransactionId {
 
-  private static final ThreadLocal<UUID> TRANSACTION_ID = new ThreadLocal<>();
-
   private TransactionId() {
     throw new AssertionError("Utility class should not be instantiated");
   }
@@ -20,7 +23,7 @@ public final class TransactionId {
    * @param transactionId the transaction ID to set
    */
   public static void set(UUID transactionId) {
-    TRANSACTION_ID.set(transactionId);
+    MdcContext.set(LoggingAttribute.TRANSACTION_ID, transactionId != null ? transactionId.toString() : null);
   }
 
   /**
@@ -30,15 +33,27 @@ public final class TransactionId {
    * @throws IllegalStateException if no transaction ID is set
    */
   public static String get() {
-    return Optional.ofNullable(TRANSACTION_ID.get())
-        .map(UUID::toString)
+    return Optional.ofNullable(MdcContext.get(LoggingAttribute.TRANSACTION_ID))
         .orElseThrow(() -> new IllegalStateException("No transaction ID set for current thread"));
   }
 
+  /**
+   * Gets the transaction ID carried by the exchange, independent of the thread the exchange is processed on.
+   *
+   * @param exchange the exchange
+   * @return the transaction ID as a string
+   * @throws IllegalStateException if the exchange does not carry a transaction ID
+   */
+  public static String get(Exchange exchange) {
+    return Optional.ofNullable(RequestContext.from(exchange))
+        .map(RequestContext::transactionIdString)
+        .orElseThrow(() -> new IllegalStateException("No transaction ID set for exchange"));
+  }
+
   /**
    * Removes the transaction ID from the current thread.
    */
   public static void remove() {
-    TRANSACTION_ID.remove();
+    MdcContext.clear(LoggingAttribute.TRANSACTION_ID);
   }
-}
\ No newline at end of file
+}
@@ -17,12 +17,7 @@
 package org.camelbee.tracers;
 
 import static org.camelbee.constants.CamelBeeConstants.CAMELBEE_PRODUCED_EXCHANGE;
-import static org.camelbee.constants.CamelBeeConstants.CURRENT_ROUTE_NAME;
-import static org.camelbee.constants.CamelBeeConstants.CURRENT_ROUTE_TRACE_STACK;
-import static org.camelbee.constants.CamelBeeConstants.INITIAL_EXCHANGE_ID;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
 import org.apache.camel.Exchange;
 import org.apache.camel.spi.CamelEvent.ExchangeCreatedEvent;
 import org.apache.camel.support.DefaultExchange;
@@ -63,10 +58,14 @@ public class ExchangeCreatedEventTracer {
     Exchange exchange = event.getExchange();
 
     //  trace only the first created Exchange instance not the duplicates
-    if (exchange.getProperty(INITIAL_EXCHANGE_ID) != null) {
+    TraceState traceState = TraceState.find(exchange);
+    if (traceState != null && traceState.getInitialExchangeId() != null) {
       return null;
     }
-    exchange.setProperty(INITIAL_EXCHANGE_ID, exchange.getExchangeId());
+
+    // the state may already exist when the sending event of a producer template came first
+    traceState = traceState != null ? TraceState.of(exchange) : TraceState.create(exchange);
+    traceState.setInitialExchangeId(exchange.getExchangeId());
 
     /*
      endpoint called from ProducerController is also intercepted here
@@ -82,7 +81,7 @@ public class ExchangeCreatedEventTracer {
 
       final var requestHeaders = ExchangeUtils.getHeaders(exchange);
 
-      return addCreatedMessage(exchange, directRequestBody, requestHeaders);
+      return addCreatedMessage(exchange, traceState, directRequestBody, requestHeaders);
 
     } catch (Exception e) {
       LOGGER.warn("Could not trace ExchangeCreatedEvent: {} with exception: {}", exchange, e);
@@ -91,7 +90,7 @@ public class ExchangeCreatedEventTracer {
 
   }
 
-  private Message addCreatedMessage(Exchange exchange, String directRequestBody, String requestHeaders) {
+  private Message addCreatedMessage(Exchange exchange, TraceState traceState, String directRequestBody, String requestHeaders) {
 
     final String currentRouteName = (String) exchange.getProperty(Exchange.TO_ENDPOINT);
 
@@ -104,13 +103,10 @@ public class ExchangeCreatedEventTracer {
 
     if (initialRoute != null) {
 
-      Deque<String> routeStack = new ArrayDeque<>();
-      routeStack.push(initialRoute);
-
-      exchange.setProperty(CURRENT_ROUTE_TRACE_STACK, routeStack);
+      traceState.setRouteStack(RouteStack.of(initialRoute));
     }
 
-    exchange.setProperty(CURRENT_ROUTE_NAME, currentRouteName != null ? currentRouteName : initialRoute);
+    traceState.setCurrentRouteName(currentRouteName != null ? currentRouteName : initialRoute);
 
     final String endpointId = ((DefaultExchange) exchange).getExchangeExtension().getHistoryNodeId();
 
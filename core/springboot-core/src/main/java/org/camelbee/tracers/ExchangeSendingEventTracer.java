@@ -17,14 +17,8 @@
 package org.camelbee.tracers;
 
 import static org.camelbee.constants.CamelBeeConstants.CAMELBEE_PRODUCED_EXCHANGE;
-import static org.camelbee.constants.CamelBeeConstants.CURRENT_ROUTE_NAME;
-import static org.camelbee.constants.CamelBeeConstants.CURRENT_ROUTE_TRACE_STACK;
 import static org.camelbee.constants.CamelBeeConstants.DIRECT;
-import static org.camelbee.constants.CamelBeeConstants.LAST_DIRECT_ROUTE;
-import static org.camelbee.constants.CamelBeeConstants.PREVIOUS_EXCHANGE_ID;
 
-import java.util.ArrayDeque;
-import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
 import org.apache.camel.Exchange;
@@ -101,85 +95,63 @@ public class ExchangeSendingEventTracer {
 
     final String endpointId = ((DefaultExchange) exchange).getExchangeExtension().getHistoryNodeId();
 
-    String currentRoute = endpointUri;
+    final String currentRoute = endpointUri;
 
-    Deque<String> routeStack = (Deque<String>) exchange.getProperty(CURRENT_ROUTE_TRACE_STACK);
+    TraceState traceState = TraceState.of(exchange);
+
+    if (traceState == null) {
+      traceState = TraceState.create(exchange);
+    }
+
+    RouteStack routeStack = traceState.getRouteStack();
 
     /*
      if null then in the initial ExchangeCreatedEvent the exchange.getFromRouteId() was null
      which happens with the platform-http producer component
      */
     if (routeStack == null) {
-      routeStack = initializeRouteStack(exchange, endpointId);
+      routeStack = initializeRouteStack(exchange, traceState, endpointId);
     }
 
-    Deque<String> clonedRouteStack;
-
-    clonedRouteStack = adjustStack(exchange, routeStack);
-
-    final String currentRouteProperty = (String) exchange.getProperty(CURRENT_ROUTE_NAME);
+    final String currentRouteProperty = traceState.getCurrentRouteName();
 
-    clonedRouteStack.push(currentRoute);
-
-    exchange.setProperty(CURRENT_ROUTE_TRACE_STACK, clonedRouteStack);
+    /*
+     the stack is immutable, exchange copies (multicast, recipientList, split) get their own top
+     on the shared tail so there is nothing to clone when the exchangeId changes
+     */
+    traceState.setRouteStack(routeStack.push(currentRoute));
 
-    exchange.setProperty(CURRENT_ROUTE_NAME, currentRoute);
+    traceState.setCurrentRouteName(currentRoute);
 
     if (currentRouteProperty.startsWith(DIRECT)) {
-      exchange.setProperty(LAST_DIRECT_ROUTE, currentRouteProperty);
+      traceState.setLastDirectRoute(currentRouteProperty);
     }
     String routeId = null;
     if (endpointId == null && !currentRouteProperty.startsWith(DIRECT) && !currentRoute.startsWith(DIRECT)) {
       //dynamicRouter with 2 times producer endpoint next to each other like mock:D,mock:C
       //change Caller route find the previous directRouteName
-      routeId = exchange.getProperty(LAST_DIRECT_ROUTE, String.class);
+      routeId = traceState.getLastDirectRoute();
     } else {
       routeId = currentRouteProperty;
     }
 
     // if custom error is thrown then we need to handle that one as well.
-    String errorMessage = TracerUtils.handleError(exchange);
+    String errorMessage = TracerUtils.handleError(exchange, traceState);
 
     return new Message(exchange.getExchangeId(), MessageEventType.SENDING, requestBody, requestHeaders, routeId,
         currentRoute, endpointId, MessageType.REQUEST, errorMessage);
   }
 
-  private Deque<String> adjustStack(Exchange exchange, Deque<String> routeStack) {
-    Deque<String> clonedRouteStack;
-    String previousExchangeId = (String) exchange.getProperty(PREVIOUS_EXCHANGE_ID);
-
-    if (previousExchangeId != null && !previousExchangeId.equalsIgnoreCase(exchange.getExchangeId())) {
-
-      /* clone the stack only if the exchangeId has changed
-       which means there is a new cloned exchange with exchangeId
-       */
-      clonedRouteStack = new ArrayDeque<>(routeStack);
-
-    } else {
-
-      /*
-       if the exchangeId is the same even it is a cloned exchange (which happens with the routeslip and dynamicRouter)
-       dont clone the stack because it is still the same routestack which is executed serially
-       */
-      clonedRouteStack = routeStack;
-    }
-
-    exchange.setProperty(PREVIOUS_EXCHANGE_ID, exchange.getExchangeId());
-    return clonedRouteStack;
-  }
-
-  private Deque<String> initializeRouteStack(Exchange exchange, String endpointId) {
+  private RouteStack initializeRouteStack(Exchange exchange, TraceState traceState, String endpointId) {
     //find the actual consumer routeId
     final String actualCurrentRoute = getCallerRouteIdFromRouteContext(endpointId);
 
-    Deque<String> routeStack;
-    routeStack = new ArrayDeque<>();
-    routeStack.push(actualCurrentRoute);
+    RouteStack routeStack = RouteStack.of(actualCurrentRoute);
 
     /*
-     set CURRENT_ROUTE_NAME property which was not set in the ExchangeCreatedEvent
+     set the current route name which was not set in the ExchangeCreatedEvent
      */
-    exchange.setProperty(CURRENT_ROUTE_NAME, actualCurrentRoute);
+    traceState.setCurrentRouteName(actualCurrentRoute);
 
     /*
      for only one time fix the empty routeId of the
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2023 Rahmi Ege Karaosmanoglu
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.camelbee.tracers;
+
+import org.apache.camel.Exchange;
+import org.camelbee.constants.CamelBeeConstants;
+
+/**
+ * Tracing state of an exchange kept under a single exchange property.
+ * Exchange copies (multicast, recipientList, split) inherit the property by reference, the first event
+ * of a copy branches the state so each exchangeId writes only its own instance (copy on branch).
+ * Branching copies only the fields, the route stack is shared structurally. Not thread safe,
+ * an instance is only touched by the events of its own exchange.
+ */
+public final class TraceState {
+
+  private final String exchangeId;
+
+  private String initialExchangeId;
+
+  private String currentRouteName;
+
+  private RouteStack routeStack;
+
+  private String lastDirectRoute;
+
+  private Integer failedEventIdentityHashCode;
+
+  private boolean sampled = true;
+
+  private TraceState(String exchangeId) {
+    this.exchangeId = exchangeId;
+  }
+
+  /**
+   * Creates a new state and attaches it to the exchange.
+   *
+   * @param exchange The exchange.
+   * @return the state
+   */
+  public static TraceState create(Exchange exchange) {
+    TraceState traceState = new TraceState(exchange.getExchangeId());
+    exchange.setProperty(CamelBeeConstants.TRACE_STATE, traceState);
+    return traceState;
+  }
+
+  /**
+   * Gets the state attached to the exchange as it is, without branching.
+   *
+   * @param exchange The exchange.
+   * @return the state, or null if the exchange has none
+   */
+  public static TraceState find(Exchange exchange) {
+    return exchange.getProperty(CamelBeeConstants.TRACE_STATE, TraceState.class);
+  }
+
+  /**
+   * Gets the state of the exchange, branching the inherited state of a copied exchange on first access.
+   *
+   * @param exchange The exchange.
+   * @return the state owned by the exchange, or null if the exchange has none
+   */
+  public static TraceState of(Exchange exchange) {
+    TraceState traceState = find(exchange);
+
+    if (traceState == null || traceState.exchangeId.equals(exchange.getExchangeId())) {
+      return traceState;
+    }
+
+    TraceState branch = traceState.branch(exchange.getExchangeId());
+    exchange.setProperty(CamelBeeConstants.TRACE_STATE, branch);
+    return branch;
+  }
+
+  private TraceState branch(String branchExchangeId) {
+    TraceState branch = new TraceState(branchExchangeId);
+    branch.initialExchangeId = initialExchangeId;
+    branch.currentRouteName = currentRouteName;
+    branch.routeStack = routeStack;
+    branch.lastDirectRoute = lastDirectRoute;
+    branch.failedEventIdentityHashCode = failedEventIdentityHashCode;
+    branch.sampled = sampled;
+    return branch;
+  }
+
+  public String getExchangeId() {
+    return exchangeId;
+  }
+
+  public String getInitialExchangeId() {
+    return initialExchangeId;
+  }
+
+  public void setInitialExchangeId(String initialExchangeId) {
+    this.initialExchangeId = initialExchangeId;
+  }
+
+  public String getCurrentRouteName() {
+    return currentRouteName;
+  }
+
+  public void setCurrentRouteName(String currentRouteName) {
+    this.currentRouteName = currentRouteName;
+  }
+
+  public RouteStack getRouteStack() {
+    return routeStack;
+  }
+
+  public void setRouteStack(RouteStack routeStack) {
+    this.routeStack = routeStack;
+  }
+
+  public String getLastDirectRoute() {
+    return lastDirectRoute;
+  }
+
+  public void setLastDirectRoute(String lastDirectRoute) {
+    this.lastDirectRoute = lastDirectRoute;
+  }
+
+  public Integer getFailedEventIdentityHashCode() {
+    return failedEventIdentityHashCode;
+  }
+
+  public void setFailedEventIdentityHashCode(Integer failedEventIdentityHashCode) {
+    this.failedEventIdentityHashCode = failedEventIdentityHashCode;
+  }
+
+  public boolean isSampled() {
+    return sampled;
+  }
+
+  public void setSampled(boolean sampled) {
+    this.sampled = sampled;
+  }
+}
@@ -1,5 +1,6 @@
 package org.camelbee.utils;
 
+import java.util.Arrays;
 import java.util.Optional;
 import java.util.UUID;
 import org.apache.commons.lang3.StringUtils;
@@ -14,6 +15,21 @@ public final class UuidResolver {
 
   private static final Logger logger = LoggerFactory.getLogger(UuidResolver.class);
 
+  private static final int UUID_LENGTH = 36;
+
+  private static final int ULID_LENGTH = 26;
+
+  private static final byte[] ULID_VALUES = new byte[128];
+
+  static {
+    Arrays.fill(ULID_VALUES, (byte) -1);
+    for (int i = 0; i < UlidGenerator.CROCKFORD_BASE32.length; i++) {
+      char c = UlidGenerator.CROCKFORD_BASE32[i];
+      ULID_VALUES[c] = (byte) i;
+      ULID_VALUES[Character.toLowerCase(c)] = (byte) i;
+    }
+  }
+
   private UuidResolver() {
     throw new AssertionError("Utility class should not be instantiated");
   }
@@ -25,12 +41,24 @@ public final class UuidResolver {
    * @return a valid UUID, either parsed from input or newly generated
    */
   public static UUID resolveOrGenerate(String value) {
-    return parseUuid(value)
-        .orElseGet(() -> {
-          UUID generated = UUID.randomUUID();
-          logger.debug("Generated new UUID: {}", generated);
-          return generated;
-        });
+    return resolveOrGenerate(value, UuidV7Generator.INSTANCE);
+  }
+
+  /**
+   * Resolves a UUID from a string value, generating a new id with the given generator if the input is invalid.
+   *
+   * @param value       the string to parse as UUID or ULID
+   * @param idGenerator the generator of the new id
+   * @return a valid UUID, either parsed from input or newly generated
+   */
+  public static UUID resolveOrGenerate(String value, IdGenerator idGenerator) {
+    UUID uuid = parse(value);
+    if (uuid != null) {
+      return uuid;
+    }
+    UUID generated = idGenerator.generate();
+    logger.debug("Generated new UUID: {}", generated);
+    return generated;
   }
 
   /**
@@ -40,29 +68,106 @@ public final class UuidResolver {
    * @return an Optional containing the parsed UUID, or empty if parsing failed
    */
   public static Optional<UUID> parseUuid(String value) {
+    return Optional.ofNullable(parse(value));
+  }
+
+  /**
+   * Parses a canonical 36 character UUID or a 26 character ULID without throwing on invalid input.
+   *
+   * @param value the string to parse
+   * @return the parsed UUID, or null if the value is blank or invalid
+   */
+  public static UUID parse(String value) {
     if (StringUtils.isBlank(value)) {
       logger.trace("Input value is blank, no UUID to parse");
-      return Optional.empty();
+      return null;
     }
 
-    try {
-      UUID uuid = UUID.fromString(value);
-      logger.trace("Successfully parsed UUID: {}", uuid);
-      return Optional.of(uuid);
-    } catch (IllegalArgumentException e) {
+    UUID uuid = switch (value.length()) {
+      case UUID_LENGTH -> parseCanonical(value);
+      case ULID_LENGTH -> parseUlid(value);
+      default -> null;
+    };
+
+    if (uuid == null) {
       logger.warn("Failed to parse UUID from value: {}", value);
-      return Optional.empty();
     }
+    return uuid;
   }
 
   /**
-   * Generates a new random UUID.
+   * Generates a new time ordered UUID.
    *
    * @return a newly generated UUID
    */
   public static UUID generate() {
-    UUID uuid = UUID.randomUUID();
+    UUID uuid = UuidV7Generator.INSTANCE.generate();
     logger.trace("Generated new UUID: {}", uuid);
     return uuid;
   }
+
+  private static UUID parseCanonical(String value) {
+    if (value.charAt(8) != '-' || value.charAt(13) != '-' || value.charAt(18) != '-' || value.charAt(23) != '-') {
+      return null;
+    }
+
+    long mostSigBits = 0;
+    long leastSigBits = 0;
+    int digits = 0;
+
+    for (int i = 0; i < UUID_LENGTH; i++) {
+      if (i == 8 || i == 13 || i == 18 || i == 23) {
+        continue;
+      }
+      int digit = decodeHexChar(value.charAt(i));
+      if (digit < 0) {
+        return null;
+      }
+      if (digits < 16) {
+        mostSigBits = (mostSigBits << 4) | digit;
+      } else {
+        leastSigBits = (leastSigBits << 4) | digit;
+      }
+      digits++;
+    }
+    return new UUID(mostSigBits, leastSigBits);
+  }
+
+  private static UUID parseUlid(String value) {
+    // the first character carries only the 3 highest bits
+    int first = decodeUlidChar(value.charAt(0));
+    if (first < 0 || first > 7) {
+      return null;
+    }
+
+    long mostSigBits = first;
+    long leastSigBits = 0;
+
+    for (int i = 1; i < ULID_LENGTH; i++) {
+      int digit = decodeUlidChar(value.charAt(i));
+      if (digit < 0) {
+        return null;
+      }
+      mostSigBits = (mostSigBits << 5) | (leastSigBits >>> 59);
+      leastSigBits = (leastSigBits << 5) | digit;
+    }
+    return new UUID(mostSigBits, leastSigBits);
+  }
+
+  private static int decodeHexChar(char c) {
+    if (c >= '0' && c <= '9') {
+      return c - '0';
+    }
+    if (c >= 'a' && c <= 'f') {
+      return c - 'a' + 10;
+    }
+    if (c >= 'A' && c <= 'F') {
+      return c - 'A' + 10;
+    }
+    return -1;
+  }
+
+  private static int decodeUlidChar(char c) {
+    return c < ULID_VALUES.length ? ULID_VALUES[c] : -1;
+  }
 }
\ No newline at end of file
@@ -25,7 +25,9 @@ import org.apache.camel.component.mock.MockEndpoint;
 import org.apache.camel.test.spring.junit5.CamelSpringBootTest;
 import org.camelbee.debugger.service.MessageService;
 import org.camelbee.debugger.service.RouteContextService;
+import org.camelbee.logging.LogRateLimiter;
 import org.camelbee.logging.LoggingService;
+import org.camelbee.logging.TraceFileSink;
 import org.camelbee.tracers.ExchangeCompletedEventTracer;
 import org.camelbee.tracers.ExchangeCreatedEventTracer;
 import org.camelbee.tracers.ExchangeSendingEventTracer;
@@ -44,6 +46,8 @@ import org.springframework.test.annotation.DirtiesContext;
 @Import({TracerService.class,
     MessageService.class,
     LoggingService.class,
+    LogRateLimiter.class,
+    TraceFileSink.class,
     ExchangeCreatedEventTracer.class,
     ExchangeSendingEventTracer.class,
     ExchangeSentEventTracer.class,
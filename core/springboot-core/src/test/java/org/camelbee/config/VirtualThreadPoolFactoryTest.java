@@ -0,0 +1,61 @@
+package org.camelbee.config;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.support.DefaultThreadPoolFactory;
+import org.junit.jupiter.api.Test;
+
+class VirtualThreadPoolFactoryTest {
+
+  private final VirtualThreadPoolFactory factory = new VirtualThreadPoolFactory(new DefaultThreadPoolFactory());
+
+  @Test
+  void shouldRunThreadPoolTasksOnVirtualThreads() throws ExecutionException, InterruptedException {
+    // Arrange
+    ExecutorService executorService = factory.newThreadPool(new ThreadPoolProfile("test"), Executors.defaultThreadFactory());
+
+    // Act & Assert
+    try {
+      assertTrue(executorService.submit(() -> Thread.currentThread().isVirtual()).get());
+    } finally {
+      executorService.shutdown();
+    }
+  }
+
+  @Test
+  void shouldRunCachedThreadPoolTasksOnVirtualThreads() throws ExecutionException, InterruptedException {
+    // Arrange
+    ExecutorService executorService = factory.newCachedThreadPool(Executors.defaultThreadFactory());
+
+    // Act & Assert
+    try {
+      assertTrue(executorService.submit(() -> Thread.currentThread().isVirtual()).get());
+    } finally {
+      executorService.shutdown();
+    }
+  }
+
+  @Test
+  void shouldKeepScheduledThreadPoolsOnPlatformThreads() throws ExecutionException, InterruptedException {
+    // Arrange
+    ThreadPoolProfile profile = new ThreadPoolProfile("test");
+    profile.setPoolSize(1);
+    profile.setMaxPoolSize(1);
+    profile.setMaxQueueSize(-1);
+    ScheduledExecutorService executorService = factory.newScheduledThreadPool(profile, Executors.defaultThreadFactory());
+
+    // Act & Assert
+    try {
+      assertFalse(executorService.schedule(() -> Thread.currentThread().isVirtual(), 1, TimeUnit.MILLISECONDS).get());
+    } finally {
+      executorService.shutdown();
+    }
+  }
+}
@@ -0,0 +1,170 @@
+package org.camelbee.debugger.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.ExchangeBuilder;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.camelbee.debugger.model.produce.ProduceJobStatus;
+import org.camelbee.debugger.model.produce.ProduceJobStatus.State;
+import org.camelbee.debugger.model.produce.ProduceMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ProduceJobServiceTest {
+
+  private final DefaultCamelContext camelContext = new DefaultCamelContext();
+
+  private final RouteContextService routeContextService = new RouteContextService();
+
+  private final AtomicInteger inflight = new AtomicInteger();
+
+  private final AtomicInteger maxInflight = new AtomicInteger();
+
+  private ProduceJobService produceJobService;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    routeContextService.camelContext = camelContext;
+    camelContext.addRoutes(new RouteBuilder() {
+
+      @Override
+      public void configure() {
+        from("direct:target").routeId("target").setBody(simple("reply-${body}"));
+        from("direct:failing").routeId("failing").throwException(new IllegalStateException("failed"));
+        from("direct:slow").routeId("slow").process(exchange -> {
+          maxInflight.accumulateAndGet(inflight.incrementAndGet(), Math::max);
+          Thread.sleep(20);
+          inflight.decrementAndGet();
+        });
+      }
+    });
+    camelContext.start();
+    produceJobService = new ProduceJobService(camelContext.createProducerTemplate(),
+        new ProducerTargetRegistry(camelContext, routeContextService, new ObjectMapper()), 4, 100, 10, 2);
+  }
+
+  @AfterEach
+  void tearDown() {
+    produceJobService.stop();
+    camelContext.stop();
+  }
+
+  @Test
+  void shouldSendMessageAsynchronously() throws Exception {
+    // Act
+    String id = produceJobService.submit(List.of(message("From[direct:target]", "a")), 1, this::createExchange).getId();
+    assertTrue(produceJobService.awaitCompletion(id, 10000));
+    ProduceJobStatus status = produceJobService.getStatus(id);
+
+    // Assert
+    assertEquals(State.COMPLETED, status.getState());
+    assertEquals(1, status.getCompleted());
+    assertEquals(0, status.getFailed());
+    assertEquals("reply-a", status.getResults().get(0).getResponse());
+    assertNull(status.getResults().get(0).getError());
+  }
+
+  @Test
+  void shouldSendBatchWithBoundedConcurrency() throws Exception {
+    // Arrange
+    List<ProduceMessage> messages = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      messages.add(message("From[direct:slow]", "m" + i));
+    }
+
+    // Act
+    String id = produceJobService.submit(messages, 3, this::createExchange).getId();
+    assertTrue(produceJobService.awaitCompletion(id, 10000));
+    ProduceJobStatus status = produceJobService.getStatus(id);
+
+    // Assert
+    assertEquals(20, status.getCompleted());
+    assertEquals(20, status.getResults().size());
+    assertEquals(19, status.getResults().get(19).getIndex());
+    assertTrue(maxInflight.get() <= 3, "at most 3 messages in flight but was " + maxInflight.get());
+  }
+
+  @Test
+  void shouldRecordFailedMessages() throws Exception {
+    // Act
+    String id = produceJobService.submit(List.of(message("From[direct:failing]", "a"), message("From[direct:target]", "b")),
+        null, this::createExchange).getId();
+    assertTrue(produceJobService.awaitCompletion(id, 10000));
+    ProduceJobStatus status = produceJobService.getStatus(id);
+
+    // Assert
+    assertEquals(2, status.getCompleted());
+    assertEquals(1, status.getFailed());
+    assertNotNull(status.getResults().get(0).getError());
+    assertEquals("reply-b", status.getResults().get(1).getResponse());
+  }
+
+  @Test
+  void shouldReportCancelledJobs() throws Exception {
+    // Arrange
+    List<ProduceMessage> messages = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      messages.add(message("From[direct:slow]", "m" + i));
+    }
+    String id = produceJobService.submit(messages, 1, this::createExchange).getId();
+
+    // Act
+    produceJobService.stop();
+    assertTrue(produceJobService.awaitCompletion(id, 10000));
+    ProduceJobStatus status = produceJobService.getStatus(id);
+
+    // Assert
+    assertEquals(State.CANCELLED, status.getState());
+    assertEquals(50, status.getCompleted());
+    assertTrue(status.getFailed() > 0);
+    assertEquals("cancelled", status.getResults().get(49).getError());
+  }
+
+  @Test
+  void shouldRejectJobsBeyondTheActiveLimit() throws Exception {
+    // Arrange
+    List<ProduceMessage> messages = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      messages.add(message("From[direct:slow]", "m" + i));
+    }
+    String first = produceJobService.submit(messages, 1, this::createExchange).getId();
+    String second = produceJobService.submit(messages, 1, this::createExchange).getId();
+
+    // Act & Assert
+    assertThrows(RejectedExecutionException.class, () -> produceJobService.submit(messages, 1, this::createExchange));
+    produceJobService.stop();
+    assertTrue(produceJobService.awaitCompletion(first, 10000));
+    assertTrue(produceJobService.awaitCompletion(second, 10000));
+    assertNotNull(produceJobService.submit(List.of(message("From[direct:target]", "a")), 1, this::createExchange));
+  }
+
+  @Test
+  void shouldRejectInvalidRequests() {
+    List<ProduceMessage> messages = List.of(message("From[direct:target]", "a"));
+
+    assertThrows(IllegalArgumentException.class, () -> produceJobService.submit(List.of(), null, this::createExchange));
+    assertThrows(IllegalArgumentException.class, () -> produceJobService.submit(messages, 5, this::createExchange));
+    assertNull(produceJobService.getStatus("unknown"));
+  }
+
+  private ProduceMessage message(String routeName, String body) {
+    return new ProduceMessage(routeName, body, null, null, null, null);
+  }
+
+  private Exchange createExchange(ProduceMessage produceMessage) {
+    return ExchangeBuilder.anExchange(camelContext).withBody(produceMessage.getMessage()).build();
+  }
+
+}
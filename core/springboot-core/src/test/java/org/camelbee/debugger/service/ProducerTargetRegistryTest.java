@@ -0,0 +1,107 @@
+package org.camelbee.debugger.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.camel.Endpoint;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ProducerTargetRegistryTest {
+
+  private final DefaultCamelContext camelContext = new DefaultCamelContext();
+
+  private final RouteContextService routeContextService = new RouteContextService();
+
+  private ProducerTargetRegistry producerTargetRegistry;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    routeContextService.camelContext = camelContext;
+    camelContext.addRoutes(new RouteBuilder() {
+
+      @Override
+      public void configure() {
+        from("direct:first").routeId("first").log("first");
+      }
+    });
+    camelContext.start();
+    producerTargetRegistry = new ProducerTargetRegistry(camelContext, routeContextService, new ObjectMapper());
+  }
+
+  @AfterEach
+  void tearDown() {
+    camelContext.stop();
+  }
+
+  @Test
+  void shouldResolveEndpointOncePerTopology() {
+    // Act
+    Endpoint first = producerTargetRegistry.getEndpoint("From[direct:first]");
+    Endpoint second = producerTargetRegistry.getEndpoint("From[direct:first]");
+    routeContextService.rebuild();
+    Endpoint afterRebuild = producerTargetRegistry.getEndpoint("From[direct:first]");
+
+    // Assert
+    assertEquals("direct://first", first.getEndpointUri());
+    assertSame(first, second);
+    assertSame(first, afterRebuild);
+    assertNotSame(first, producerTargetRegistry.getEndpoint("From[direct:other]"));
+  }
+
+  @Test
+  void shouldRejectRouteNameWithoutUri() {
+    assertThrows(IllegalArgumentException.class, () -> producerTargetRegistry.getEndpoint("unknown"));
+  }
+
+  @Test
+  void shouldAdjustRouteNames() {
+    assertEquals("direct:first", ProducerTargetRegistry.adjustRouteName("From[direct:first]"));
+    assertEquals("jpa:org.example.Entity", ProducerTargetRegistry.adjustRouteName("From[jpa:org.example.Entity?delay=1000]"));
+    assertEquals("/api/orders", ProducerTargetRegistry.adjustRouteName("From[rest://post:/api/orders?consumes=json]")
+        .replaceAll("^http:localhost:\\{\\{[a-z.]+}}|\\?throwExceptionOnFailure=false$", ""));
+    assertEquals("/api/orders", ProducerTargetRegistry.adjustRouteName("From[rest://post:/api:/orders?routeId=orders]")
+        .replaceAll("^http:localhost:\\{\\{[a-z.]+}}|\\?throwExceptionOnFailure=false$", ""));
+    assertEquals("/api/orders", ProducerTargetRegistry.adjustRouteName("From[platform-http:/api/orders?httpMethodRestrict=POST]")
+        .replaceAll("^http:localhost:\\{\\{[a-z.]+}}|\\?throwExceptionOnFailure=false$", ""));
+  }
+
+  @Test
+  void shouldResolveEndpointOfRouteId() {
+    // Act
+    Endpoint endpoint = producerTargetRegistry.getRouteEndpoint("first");
+
+    // Assert
+    assertSame(producerTargetRegistry.getEndpoint("From[direct:first]"), endpoint);
+    assertNull(producerTargetRegistry.getRouteEndpoint("unknown"));
+  }
+
+  @Test
+  void shouldReadPayloadWithCachedReader() throws Exception {
+    // Act
+    Object first = producerTargetRegistry.readPayload("{\"name\":\"first\"}", Payload.class.getName());
+    Object second = producerTargetRegistry.readPayload("{\"name\":\"second\"}", Payload.class.getName());
+
+    // Assert
+    assertEquals("first", assertInstanceOf(Payload.class, first).name);
+    assertEquals("second", assertInstanceOf(Payload.class, second).name);
+    assertThrows(ClassNotFoundException.class, () -> producerTargetRegistry.readPayload("{}", "org.example.Missing"));
+  }
+
+  /**
+   * Payload.
+   */
+  public static class Payload {
+
+    public String name;
+  }
+
+}
@@ -0,0 +1,80 @@
+package org.camelbee.debugger.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.camelbee.debugger.model.route.CamelRoute;
+import org.camelbee.notifier.RouteTopologyEventNotifier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class RouteContextServiceTest {
+
+  private final DefaultCamelContext camelContext = new DefaultCamelContext();
+
+  private final RouteContextService routeContextService = new RouteContextService();
+
+  @BeforeEach
+  void setUp() throws Exception {
+    routeContextService.camelContext = camelContext;
+    camelContext.getManagementStrategy().addEventNotifier(new RouteTopologyEventNotifier(routeContextService));
+    camelContext.addRoutes(new RouteBuilder() {
+
+      @Override
+      public void configure() {
+        from("direct:first").routeId("first").to("direct:second");
+        from("direct:second").routeId("second").log("second");
+      }
+    });
+    camelContext.start();
+  }
+
+  @AfterEach
+  void tearDown() {
+    camelContext.stop();
+  }
+
+  @Test
+  void shouldPublishImmutableSnapshotOnStart() {
+    // Act
+    List<CamelRoute> routes = routeContextService.getCamelRoutes();
+
+    // Assert
+    assertEquals(List.of("first", "second"), routes.stream().map(CamelRoute::getId).toList());
+    assertEquals("To[direct:second]", routes.get(0).getOutputs().get(0).getDescription());
+    assertSame(routes, routeContextService.getCamelRoutes());
+    assertThrows(UnsupportedOperationException.class, () -> routes.add(routes.get(0)));
+  }
+
+  @Test
+  void shouldRebuildSnapshotWhenRoutesChange() throws Exception {
+    // Arrange
+    List<CamelRoute> before = routeContextService.getCamelRoutes();
+
+    // Act
+    camelContext.addRoutes(new RouteBuilder() {
+
+      @Override
+      public void configure() {
+        from("direct:third").routeId("third").to("direct:first");
+      }
+    });
+    final List<CamelRoute> afterAdd = routeContextService.getCamelRoutes();
+    camelContext.getRouteController().stopRoute("first");
+    camelContext.removeRoute("first");
+    final List<CamelRoute> afterRemove = routeContextService.getCamelRoutes();
+
+    // Assert
+    assertNotSame(before, afterAdd);
+    assertEquals(List.of("first", "second", "third"), afterAdd.stream().map(CamelRoute::getId).toList());
+    assertSame(before.get(1).getOutputs(), afterAdd.get(1).getOutputs());
+    assertEquals(List.of("second", "third"), afterRemove.stream().map(CamelRoute::getId).toList());
+  }
+
+}
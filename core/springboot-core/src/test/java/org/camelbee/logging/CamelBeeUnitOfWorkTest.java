@@ -0,0 +1,128 @@
+package org.camelbee.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.camelbee.logging.model.RequestContext;
+import org.camelbee.logging.model.RequestId;
+import org.camelbee.logging.model.TransactionId;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class CamelBeeUnitOfWorkTest {
+
+  private final CamelContext camelContext = new DefaultCamelContext();
+
+  @AfterEach
+  void tearDown() {
+    MdcContext.clearAll();
+  }
+
+  @Test
+  void shouldAttachContextToPrimaryExchange() {
+    // Arrange
+    Exchange exchange = new DefaultExchange(camelContext);
+
+    // Act
+    new CamelBeeUnitOfWork(exchange);
+
+    // Assert
+    RequestContext context = RequestContext.from(exchange);
+    assertNotNull(context);
+    assertEquals(context.requestId().toString(), exchange.getMessage().getHeader(LoggingAttribute.REQUEST_ID.getAttributeName()));
+    assertEquals(context.requestId().toString(), RequestId.get(exchange));
+    assertEquals(context.requestId().toString(), RequestId.get());
+    assertEquals(context.transactionId().toString(), TransactionId.get());
+  }
+
+  @Test
+  void shouldKeepTransactionIdFromHeader() {
+    // Arrange
+    Exchange exchange = new DefaultExchange(camelContext);
+    exchange.getMessage().setHeader(LoggingAttribute.TRANSACTION_ID.getAttributeName(), "5f0c6a1e-2a4b-4c1d-9e3f-7a8b9c0d1e2f");
+
+    // Act
+    new CamelBeeUnitOfWork(exchange);
+
+    // Assert
+    assertEquals("5f0c6a1e-2a4b-4c1d-9e3f-7a8b9c0d1e2f", TransactionId.get(exchange));
+  }
+
+  @Test
+  void shouldReuseContextForCopiedExchange() {
+    // Arrange
+    Exchange exchange = new DefaultExchange(camelContext);
+    new CamelBeeUnitOfWork(exchange);
+    Exchange copy = exchange.copy();
+    MdcContext.clearAll();
+
+    // Act
+    new CamelBeeUnitOfWork(copy);
+
+    // Assert
+    assertSame(RequestContext.from(exchange), RequestContext.from(copy));
+    assertEquals(RequestId.get(exchange), RequestId.get());
+  }
+
+  @Test
+  void shouldBindTheIdStringsOfTheContext() {
+    // Arrange
+    Exchange exchange = new DefaultExchange(camelContext);
+    CamelBeeUnitOfWork unitOfWork = new CamelBeeUnitOfWork(exchange);
+    RequestContext context = RequestContext.from(exchange);
+
+    // Act
+    unitOfWork.beforeProcess(e -> {
+    }, exchange, doneSync -> {
+    });
+
+    // Assert
+    assertSame(context.requestIdString(), RequestId.get());
+    assertSame(context.transactionIdString(), TransactionId.get());
+    assertSame(context.requestIdString(), RequestId.get(exchange));
+  }
+
+  @Test
+  void shouldRestoreIdsOnAnotherThread() throws InterruptedException {
+    // Arrange
+    Exchange exchange = new DefaultExchange(camelContext);
+    CamelBeeUnitOfWork unitOfWork = new CamelBeeUnitOfWork(exchange);
+    AtomicReference<String> after = new AtomicReference<>();
+
+    // Act
+    Thread thread = Thread.ofVirtual().start(() -> {
+      MdcContext.clearAll();
+      unitOfWork.beforeProcess(e -> {
+      }, exchange, doneSync -> {
+      });
+      after.set(RequestId.get());
+    });
+    thread.join();
+
+    // Assert
+    assertEquals(RequestId.get(exchange), after.get());
+  }
+
+  @Test
+  void shouldClearIdsWhenProcessingContinuesAsync() {
+    // Arrange
+    Exchange exchange = new DefaultExchange(camelContext);
+    CamelBeeUnitOfWork unitOfWork = new CamelBeeUnitOfWork(exchange);
+
+    // Act
+    unitOfWork.afterProcess(e -> {
+    }, exchange, doneSync -> {
+    }, false);
+
+    // Assert
+    assertNull(MdcContext.get(LoggingAttribute.REQUEST_ID));
+    assertNotNull(RequestId.get(exchange));
+  }
+}
@@ -0,0 +1,85 @@
+package org.camelbee.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.camelbee.debugger.model.exchange.Message;
+import org.camelbee.debugger.model.exchange.MessageEventType;
+import org.camelbee.debugger.model.exchange.MessageType;
+import org.junit.jupiter.api.Test;
+
+class LogRateLimiterTest {
+
+  @Test
+  void shouldAlwaysAcquireWhenDisabled() {
+    // Arrange
+    LogRateLimiter limiter = new LogRateLimiter(false, 0.001, 1, 60000);
+
+    // Act & Assert
+    for (int i = 0; i < 10; i++) {
+      assertTrue(limiter.tryAcquire(newMessage("kafka:topic", MessageType.RESPONSE, null), 5));
+    }
+    assertEquals(0, limiter.emitSummaries());
+  }
+
+  @Test
+  void shouldSuppressEventsAboveBurstPerEndpoint() {
+    // Arrange
+    LogRateLimiter limiter = new LogRateLimiter(true, 0.001, 2, 60000);
+
+    // Act & Assert
+    assertTrue(limiter.tryAcquire(newMessage("kafka:topic", MessageType.REQUEST, null), -1));
+    assertTrue(limiter.tryAcquire(newMessage("kafka:topic", MessageType.RESPONSE, null), 10));
+    assertFalse(limiter.tryAcquire(newMessage("kafka:topic", MessageType.RESPONSE, null), 20));
+
+    // the other endpoint has its own bucket
+    assertTrue(limiter.tryAcquire(newMessage("jms:queue", MessageType.REQUEST, null), -1));
+  }
+
+  @Test
+  void shouldAlwaysLetErrorsThrough() {
+    // Arrange
+    LogRateLimiter limiter = new LogRateLimiter(true, 0.001, 1, 60000);
+    limiter.tryAcquire(newMessage("kafka:topic", MessageType.REQUEST, null), -1);
+
+    // Act & Assert
+    assertTrue(limiter.tryAcquire(newMessage("kafka:topic", MessageType.ERROR_RESPONSE, "failed"), 30));
+    assertTrue(limiter.tryAcquire(newMessage("kafka:topic", MessageType.REQUEST, "failed"), -1));
+  }
+
+  @Test
+  void shouldEmitSummariesOnlyForEndpointsWithSuppressedEvents() {
+    // Arrange
+    LogRateLimiter limiter = new LogRateLimiter(true, 0.001, 1, 60000);
+    limiter.tryAcquire(newMessage("kafka:topic", MessageType.REQUEST, null), -1);
+    limiter.tryAcquire(newMessage("kafka:topic", MessageType.RESPONSE, null), 10);
+    limiter.tryAcquire(newMessage("jms:queue", MessageType.REQUEST, null), -1);
+
+    // Act & Assert
+    assertEquals(1, limiter.emitSummaries());
+    assertEquals(0, limiter.emitSummaries());
+  }
+
+  @Test
+  void shouldDropWindowsOfIdleEndpoints() {
+    // Arrange
+    LogRateLimiter limiter = new LogRateLimiter(true, 100, 10, 60000);
+    limiter.tryAcquire(newMessage("http://host/orders/1", MessageType.REQUEST, null), -1);
+    limiter.tryAcquire(newMessage("http://host/orders/2", MessageType.REQUEST, null), -1);
+    limiter.emitSummaries();
+    limiter.tryAcquire(newMessage("http://host/orders/2", MessageType.RESPONSE, null), 10);
+
+    // Act
+    limiter.emitSummaries();
+
+    // Assert
+    assertEquals(1, limiter.getWindowCount());
+    limiter.emitSummaries();
+    assertEquals(0, limiter.getWindowCount());
+  }
+
+  private Message newMessage(String endpoint, MessageType messageType, String exception) {
+    return new Message("id1", MessageEventType.SENT, "body", "", "route1", endpoint, "endpoint1", messageType, exception);
+  }
+}
@@ -0,0 +1,122 @@
+package org.camelbee.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import org.camelbee.debugger.model.exchange.Message;
+import org.camelbee.debugger.model.exchange.MessageEventType;
+import org.camelbee.debugger.model.exchange.MessageType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TraceFileSinkTest {
+
+  @TempDir
+  Path tempDir;
+
+  @Test
+  void shouldWriteMessagesAsJsonLines() throws IOException {
+    // Arrange
+    TraceFileSink sink = new TraceFileSink(true, tempDir.toString(), 1024 * 1024, 5, 100, 10);
+
+    // Act
+    sink.offer(newMessage("id1", "body \"quoted\"\nnext line"));
+    sink.offer(newMessage("id2", "body2"));
+    sink.start();
+    sink.stop();
+
+    // Assert
+    List<Path> files = listTraceFiles();
+    assertEquals(1, files.size());
+    List<String> lines = Files.readAllLines(files.get(0));
+    assertEquals(2, lines.size());
+    assertTrue(lines.get(0).startsWith("{\"exchangeId\":\"id1\",\"exchangeEventType\":\"CREATED\""));
+    assertTrue(lines.get(0).contains("\"messageBody\":\"body \\\"quoted\\\"\\nnext line\""));
+    assertTrue(lines.get(0).contains("\"exception\":null"));
+    assertTrue(lines.get(1).contains("\"exchangeId\":\"id2\""));
+  }
+
+  @Test
+  void shouldRollFilesAndKeepMaxFiles() throws IOException {
+    // Arrange
+    TraceFileSink sink = new TraceFileSink(true, tempDir.toString(), 1, 2, 100, 1);
+
+    // Act
+    for (int i = 0; i < 5; i++) {
+      sink.offer(newMessage("id" + i, "body"));
+    }
+    sink.start();
+    sink.stop();
+
+    // Assert
+    assertEquals(2, listTraceFiles().size());
+  }
+
+  @Test
+  void shouldKeepWritingAfterAMessageFailsToEncode() throws IOException {
+    // Arrange
+    TraceFileSink sink = new TraceFileSink(true, tempDir.toString(), 1024 * 1024, 5, 100, 10);
+    Message broken = mock(Message.class);
+    when(broken.getExchangeId()).thenThrow(new IllegalStateException("broken"));
+
+    // Act
+    sink.offer(newMessage("id1", "body1"));
+    sink.offer(broken);
+    sink.offer(newMessage("id2", "body2"));
+    sink.start();
+    sink.stop();
+
+    // Assert
+    List<String> lines = Files.readAllLines(listTraceFiles().get(0));
+    assertEquals(2, lines.size());
+    assertTrue(lines.get(0).contains("\"exchangeId\":\"id1\""));
+    assertTrue(lines.get(1).contains("\"exchangeId\":\"id2\""));
+  }
+
+  @Test
+  void shouldDropMessagesWhenQueueIsFull() {
+    // Arrange
+    TraceFileSink sink = new TraceFileSink(true, tempDir.toString(), 1024, 1, 1, 1);
+
+    // Act
+    sink.offer(newMessage("id1", "body"));
+    sink.offer(newMessage("id2", "body"));
+
+    // Assert
+    assertEquals(1, sink.getDroppedCount());
+  }
+
+  @Test
+  void shouldIgnoreMessagesWhenDisabled() throws IOException {
+    // Arrange
+    TraceFileSink sink = new TraceFileSink(false, tempDir.toString(), 1024, 1, 1, 1);
+
+    // Act
+    sink.start();
+    sink.offer(newMessage("id1", "body"));
+    sink.offer(newMessage("id2", "body"));
+    sink.stop();
+
+    // Assert
+    assertEquals(0, sink.getDroppedCount());
+    assertTrue(listTraceFiles().isEmpty());
+  }
+
+  private Message newMessage(String exchangeId, String body) {
+    return new Message(exchangeId, MessageEventType.CREATED, body, "header1:value1\n", "route1", "direct:test",
+        "endpoint1", MessageType.REQUEST, null);
+  }
+
+  private List<Path> listTraceFiles() throws IOException {
+    try (Stream<Path> stream = Files.list(tempDir)) {
+      return stream.filter(p -> p.getFileName().toString().endsWith(".jsonl")).toList();
+    }
+  }
+}
@@ -0,0 +1,80 @@
+package org.camelbee.tracers;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.event.ExchangeCreatedEvent;
+import org.apache.camel.impl.event.ExchangeSendingEvent;
+import org.apache.camel.spi.CamelEvent;
+import org.apache.camel.support.DefaultExchange;
+import org.camelbee.debugger.service.MessageService;
+import org.camelbee.logging.LoggingService;
+import org.camelbee.logging.TraceFileSink;
+import org.junit.jupiter.api.Test;
+
+class TracerServiceTest {
+
+  private final ExchangeCreatedEventTracer createdTracer = mock(ExchangeCreatedEventTracer.class);
+  private final ExchangeSendingEventTracer sendingTracer = mock(ExchangeSendingEventTracer.class);
+  private final ExchangeSentEventTracer sentTracer = mock(ExchangeSentEventTracer.class);
+  private final ExchangeCompletedEventTracer completedTracer = mock(ExchangeCompletedEventTracer.class);
+
+  private final Exchange exchange = new DefaultExchange(new DefaultCamelContext());
+
+  private TracerService tracerService(double samplingRate) {
+    return new TracerService(false, true, 300000, samplingRate, createdTracer, sendingTracer, sentTracer, completedTracer,
+        mock(MessageService.class), mock(LoggingService.class), mock(TraceFileSink.class));
+  }
+
+  @Test
+  void shouldTraceEveryExchangeWithoutSampling() {
+    // Arrange
+    TracerService tracerService = tracerService(1.0);
+
+    // Act
+    tracerService.traceExchangeCreateEvent(new ExchangeCreatedEvent(exchange));
+    tracerService.traceExchangeSendingEvent(new ExchangeSendingEvent(exchange, null));
+
+    // Assert
+    verify(createdTracer).traceEvent(any(CamelEvent.ExchangeCreatedEvent.class));
+    verify(sendingTracer).traceEvent(any(CamelEvent.ExchangeSendingEvent.class));
+    assertNull(TraceState.find(exchange));
+  }
+
+  @Test
+  void shouldSkipAllEventsOfAnUnsampledExchange() {
+    // Arrange
+    TracerService tracerService = tracerService(0.0);
+
+    // Act
+    tracerService.traceExchangeCreateEvent(new ExchangeCreatedEvent(exchange));
+    tracerService.traceExchangeSendingEvent(new ExchangeSendingEvent(exchange, null));
+
+    // Assert
+    verify(createdTracer, never()).traceEvent(any(CamelEvent.ExchangeCreatedEvent.class));
+    verify(sendingTracer, never()).traceEvent(any(CamelEvent.ExchangeSendingEvent.class));
+    assertFalse(TraceState.find(exchange).isSampled());
+  }
+
+  @Test
+  void shouldSkipTheCopiesOfAnUnsampledExchange() {
+    // Arrange
+    TracerService tracerService = tracerService(0.0);
+    tracerService.traceExchangeCreateEvent(new ExchangeCreatedEvent(exchange));
+    Exchange copy = exchange.copy();
+
+    // Act
+    tracerService.traceExchangeCreateEvent(new ExchangeCreatedEvent(copy));
+
+    // Assert
+    verify(createdTracer, never()).traceEvent(any(CamelEvent.ExchangeCreatedEvent.class));
+    assertFalse(TraceState.of(copy).isSampled());
+  }
+
+}
@@ -0,0 +1,63 @@
+package org.camelbee.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class IdGeneratorTest {
+
+  @Test
+  void uuidV7ShouldCarryVersionVariantAndTimestamp() {
+    // Arrange
+    long before = System.currentTimeMillis();
+
+    // Act
+    UUID uuid = IdGenerator.of("uuidv7").generate();
+
+    // Assert
+    assertEquals(7, uuid.version());
+    assertEquals(2, uuid.variant());
+    long timestamp = uuid.getMostSignificantBits() >>> 16;
+    assertTrue(timestamp >= before && timestamp <= System.currentTimeMillis());
+  }
+
+  @Test
+  void uuidV7ShouldBeTimeOrderedAcrossMilliseconds() throws InterruptedException {
+    // Arrange
+    UUID first = UuidV7Generator.INSTANCE.generate();
+    Thread.sleep(2);
+
+    // Act
+    UUID second = UuidV7Generator.INSTANCE.generate();
+
+    // Assert
+    assertTrue(first.toString().compareTo(second.toString()) < 0);
+  }
+
+  @Test
+  void ulidShouldRoundTripThroughItsStringForm() {
+    // Arrange
+    UUID ulid = IdGenerator.of("ULID").generate();
+
+    // Act
+    String formatted = UlidGenerator.format(ulid);
+
+    // Assert
+    assertEquals(26, formatted.length());
+    assertEquals(ulid, UuidResolver.parse(formatted));
+    assertEquals(System.currentTimeMillis() / 1000, (ulid.getMostSignificantBits() >>> 16) / 1000, 1);
+  }
+
+  @Test
+  void shouldSupportRandomUuids() {
+    assertEquals(4, IdGenerator.of("random").generate().version());
+  }
+
+  @Test
+  void shouldRejectUnknownGenerator() {
+    assertThrows(IllegalArgumentException.class, () -> IdGenerator.of("snowflake"));
+  }
+}
@@ -1,18 +1,15 @@
 package org.camelbee.utils;
 
-import static org.camelbee.constants.CamelBeeConstants.CAMEL_FAILED_EVENT_IDENTITIY_HASHCODE;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
-import static org.mockito.Mockito.anyInt;
-import static org.mockito.Mockito.eq;
-import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.HashMap;
 import java.util.Map;
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
+import org.camelbee.tracers.TraceState;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
@@ -68,7 +65,7 @@ class TracerUtilsTest {
     when(exchange.getException()).thenReturn(null);
 
     // Act
-    String result = TracerUtils.handleError(exchange);
+    String result = TracerUtils.handleError(exchange, TraceState.create(exchange));
 
     // Assert
     assertNull(result);
@@ -80,14 +77,14 @@ class TracerUtilsTest {
     Exception testException = new RuntimeException("Test error message");
 
     when(exchange.getProperty(Exchange.EXCEPTION_CAUGHT, Exception.class)).thenReturn(testException);
-    when(exchange.getProperty(CAMEL_FAILED_EVENT_IDENTITIY_HASHCODE)).thenReturn(null);
+    TraceState traceState = TraceState.create(exchange);
 
     // Act
-    String result = TracerUtils.handleError(exchange);
+    String result = TracerUtils.handleError(exchange, traceState);
 
     // Assert
     assertEquals("Test error message", result);
-    verify(exchange).setProperty(eq(CAMEL_FAILED_EVENT_IDENTITIY_HASHCODE), anyInt());
+    assertEquals(System.identityHashCode(testException), traceState.getFailedEventIdentityHashCode());
   }
 
   @Test
@@ -97,10 +94,11 @@ class TracerUtilsTest {
     int exceptionHashCode = System.identityHashCode(testException);
 
     when(exchange.getProperty(Exchange.EXCEPTION_CAUGHT, Exception.class)).thenReturn(testException);
-    when(exchange.getProperty(CAMEL_FAILED_EVENT_IDENTITIY_HASHCODE)).thenReturn(exceptionHashCode);
+    TraceState traceState = TraceState.create(exchange);
+    traceState.setFailedEventIdentityHashCode(exceptionHashCode);
 
     // Act
-    String result = TracerUtils.handleError(exchange);
+    String result = TracerUtils.handleError(exchange, traceState);
 
     // Assert
     assertNull(result);
@@ -113,13 +111,13 @@ class TracerUtilsTest {
 
     when(exchange.getProperty(Exchange.EXCEPTION_CAUGHT, Exception.class)).thenReturn(null);
     when(exchange.getException()).thenReturn(testException);
-    when(exchange.getProperty(CAMEL_FAILED_EVENT_IDENTITIY_HASHCODE)).thenReturn(null);
+    TraceState traceState = TraceState.create(exchange);
 
     // Act
-    String result = TracerUtils.handleError(exchange);
+    String result = TracerUtils.handleError(exchange, traceState);
 
     // Assert
     assertEquals("Test error message", result);
-    verify(exchange).setProperty(eq(CAMEL_FAILED_EVENT_IDENTITIY_HASHCODE), anyInt());
+    assertEquals(System.identityHashCode(testException), traceState.getFailedEventIdentityHashCode());
   }
 }
@@ -0,0 +1,55 @@
+package org.camelbee.utils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+
+class UuidResolverTest {
+
+  @Test
+  void shouldParseCanonicalUuid() {
+    // Arrange
+    UUID uuid = UUID.randomUUID();
+
+    // Act & Assert
+    assertEquals(uuid, UuidResolver.parse(uuid.toString()));
+    assertEquals(uuid, UuidResolver.parse(uuid.toString().toUpperCase()));
+    assertEquals(uuid, UuidResolver.parseUuid(uuid.toString()).orElseThrow());
+  }
+
+  @Test
+  void shouldReturnNullForInvalidValues() {
+    assertNull(UuidResolver.parse(null));
+    assertNull(UuidResolver.parse(" "));
+    assertNull(UuidResolver.parse("not-a-uuid"));
+    assertNull(UuidResolver.parse("5f0c6a1e-2a4b-4c1d-9e3f-7a8b9c0d1e2g"));
+    assertNull(UuidResolver.parse("5f0c6a1e22a4b-4c1d-9e3f-7a8b9c0d1e2f"));
+    assertNull(UuidResolver.parse("1-2-3-4-5"));
+    assertNull(UuidResolver.parse("8ZZZZZZZZZZZZZZZZZZZZZZZZZ"));
+    assertTrue(UuidResolver.parseUuid("invalid").isEmpty());
+  }
+
+  @Test
+  void shouldParseUlid() {
+    // Arrange & Act
+    UUID uuid = UuidResolver.parse("01ARZ3NDEKTSV4RRFFQ69G5FAV");
+
+    // Assert
+    assertNotNull(uuid);
+    assertEquals(1469922850259L, uuid.getMostSignificantBits() >>> 16);
+    assertEquals("01ARZ3NDEKTSV4RRFFQ69G5FAV", UlidGenerator.format(uuid));
+  }
+
+  @Test
+  void shouldGenerateWithGivenGeneratorForInvalidValue() {
+    // Arrange
+    UUID generated = UUID.randomUUID();
+
+    // Act & Assert
+    assertEquals(generated, UuidResolver.resolveOrGenerate("invalid", () -> generated));
+  }
+}
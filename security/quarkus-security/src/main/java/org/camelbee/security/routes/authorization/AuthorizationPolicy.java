@@ -0,0 +1,148 @@
+package org.camelbee.security.routes.authorization;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+import org.apache.camel.Exchange;
+import org.apache.camel.Predicate;
+import org.apache.camel.Processor;
+import org.camelbee.security.routes.exception.InsufficientPrivilegesException;
+import org.camelbee.security.routes.metrics.SecurityMetrics;
+
+/**
+ * Authorization policy compiled once from a declarative expression such as
+ * "role:admin and scope:musicians.write or role:superuser".
+ * The expression is a disjunction ("or") of conjunctions ("and") of "role:NAME" and "scope:NAME" terms,
+ * "and" binding stronger than "or". The check of a request costs one set lookup per term of the policy,
+ * independent of the number of roles and scopes of the token.
+ * Can be used as a Predicate, e.g. in a filter or choice, or as a Processor rejecting the exchange
+ * with an InsufficientPrivilegesException.
+ */
+public final class AuthorizationPolicy implements Predicate, Processor {
+
+  private static final Pattern OR = Pattern.compile("\\s+or\\s+");
+
+  private static final Pattern AND = Pattern.compile("\\s+and\\s+");
+
+  private static final String ROLE_PREFIX = "role:";
+
+  private static final String SCOPE_PREFIX = "scope:";
+
+  /** The expression the policy was compiled from. */
+  private final String expression;
+
+  /** The alternatives, the policy is satisfied if any of them is. */
+  private final Clause[] clauses;
+
+  private AuthorizationPolicy(String expression, Clause[] clauses) {
+    this.expression = expression;
+    this.clauses = clauses;
+  }
+
+  /**
+   * Compiles an authorization policy.
+   *
+   * @param expression the policy expression
+   * @return the compiled policy
+   * @throws IllegalArgumentException if the expression is empty or contains an unknown term
+   */
+  public static AuthorizationPolicy of(String expression) {
+    if (expression == null || expression.isBlank()) {
+      throw new IllegalArgumentException("Authorization policy must not be empty");
+    }
+
+    final String[] alternatives = OR.split(expression.trim());
+    final Clause[] clauses = new Clause[alternatives.length];
+
+    for (int i = 0; i < alternatives.length; i++) {
+      final List<String> roles = new ArrayList<>();
+      final List<String> scopes = new ArrayList<>();
+
+      for (String term : AND.split(alternatives[i].trim())) {
+        if (term.startsWith(ROLE_PREFIX) && term.length() > ROLE_PREFIX.length()) {
+          roles.add(term.substring(ROLE_PREFIX.length()));
+        } else if (term.startsWith(SCOPE_PREFIX) && term.length() > SCOPE_PREFIX.length()) {
+          scopes.add(term.substring(SCOPE_PREFIX.length()));
+        } else {
+          throw new IllegalArgumentException("Invalid term '" + term + "' in authorization policy: " + expression);
+        }
+      }
+
+      clauses[i] = new Clause(roles.toArray(new String[0]), scopes.toArray(new String[0]));
+    }
+
+    return new AuthorizationPolicy(expression, clauses);
+  }
+
+  /**
+   * Checks the policy against the roles and scopes of the validated JWT of the exchange.
+   *
+   * @param exchange the Camel exchange containing JWT properties
+   * @return true if the policy is satisfied, false otherwise
+   */
+  @Override
+  public boolean matches(Exchange exchange) {
+    return isSatisfiedBy(exchange.getProperty("jwt.roles", List.class), exchange.getProperty("jwt.scopes", List.class));
+  }
+
+  /**
+   * Checks the policy against the given roles and scopes.
+   *
+   * @param roles  the roles, may be null
+   * @param scopes the scopes, may be null
+   * @return true if the policy is satisfied, false otherwise
+   */
+  public boolean isSatisfiedBy(Collection<?> roles, Collection<?> scopes) {
+    for (Clause clause : clauses) {
+      if (clause.isSatisfiedBy(roles, scopes)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Rejects the exchange if the policy is not satisfied.
+   *
+   * @param exchange the Camel exchange
+   * @throws InsufficientPrivilegesException if the policy is not satisfied
+   */
+  @Override
+  public void process(Exchange exchange) {
+    if (!matches(exchange)) {
+      SecurityMetrics.recordAuthorizationFailure(exchange, "ERROR-AUTH012");
+      throw new InsufficientPrivilegesException("ERROR-AUTH012", "Insufficient privileges - requires " + expression);
+    }
+  }
+
+  @Override
+  public String toString() {
+    return expression;
+  }
+
+  /**
+   * The roles and scopes which are all required by one alternative of the policy.
+   */
+  private record Clause(String[] roles, String[] scopes) {
+
+    boolean isSatisfiedBy(Collection<?> grantedRoles, Collection<?> grantedScopes) {
+      return containsAll(grantedRoles, roles) && containsAll(grantedScopes, scopes);
+    }
+
+    private static boolean containsAll(Collection<?> granted, String[] required) {
+      if (required.length == 0) {
+        return true;
+      }
+      if (granted == null) {
+        return false;
+      }
+      for (String value : required) {
+        if (!granted.contains(value)) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+}
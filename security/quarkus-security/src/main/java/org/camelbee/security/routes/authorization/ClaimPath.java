@@ -0,0 +1,72 @@
+package org.camelbee.security.routes.authorization;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A claim path in dotted notation, e.g. "realm_access.roles", split into its segments once at startup
+ * so that resolving it against the claims of a token does not parse the path again.
+ */
+public final class ClaimPath {
+
+  /** The path in dotted notation. */
+  private final String path;
+
+  /** The segments of the path. */
+  private final String[] segments;
+
+  private ClaimPath(String path) {
+    this.path = path;
+    this.segments = path.split("\\.");
+  }
+
+  /**
+   * Parses a claim path.
+   *
+   * @param path the path in dotted notation
+   * @return the claim path
+   */
+  public static ClaimPath parse(String path) {
+    return new ClaimPath(path);
+  }
+
+  /**
+   * Parses the configured claim paths.
+   *
+   * @param paths the paths in dotted notation, may be null
+   * @return the claim paths
+   */
+  public static List<ClaimPath> parseAll(List<String> paths) {
+    if (paths == null) {
+      return List.of();
+    }
+    return paths.stream().map(ClaimPath::parse).toList();
+  }
+
+  /**
+   * Retrieves the value of the path from a claims map.
+   *
+   * @param claims the claims map
+   * @return the retrieved value, or null if not found
+   */
+  public Object resolve(Map<String, Object> claims) {
+    Object current = claims;
+
+    for (String segment : segments) {
+      if (!(current instanceof Map<?, ?> map)) {
+        return null;
+      }
+      current = map.get(segment);
+      if (current == null) {
+        return null;
+      }
+    }
+
+    return current;
+  }
+
+  @Override
+  public String toString() {
+    return path;
+  }
+}
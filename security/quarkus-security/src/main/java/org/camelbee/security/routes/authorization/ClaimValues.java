@@ -0,0 +1,57 @@
+package org.camelbee.security.routes.authorization;
+
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.RandomAccess;
+import java.util.Set;
+
+/**
+ * Immutable list of the distinct roles or scopes of a token, backed by a hash set so that contains is a
+ * constant-time lookup. Being a list it keeps the jwt.roles and jwt.scopes exchange properties compatible.
+ */
+public final class ClaimValues extends AbstractList<String> implements RandomAccess {
+
+  private static final ClaimValues EMPTY = new ClaimValues(new String[0], Set.of());
+
+  /** The values in insertion order. */
+  private final String[] values;
+
+  /** The values for the lookups. */
+  private final Set<String> index;
+
+  private ClaimValues(String[] values, Set<String> index) {
+    this.values = values;
+    this.index = index;
+  }
+
+  /**
+   * Creates the claim values, duplicates and null values are dropped.
+   *
+   * @param values the values
+   * @return the claim values
+   */
+  public static ClaimValues of(Collection<String> values) {
+    if (values == null || values.isEmpty()) {
+      return EMPTY;
+    }
+    final Set<String> distinct = new LinkedHashSet<>(values);
+    distinct.remove(null);
+    return new ClaimValues(distinct.toArray(new String[0]), Set.copyOf(distinct));
+  }
+
+  @Override
+  public String get(int index) {
+    return values[index];
+  }
+
+  @Override
+  public int size() {
+    return values.length;
+  }
+
+  @Override
+  public boolean contains(Object value) {
+    return value instanceof String && index.contains(value);
+  }
+}
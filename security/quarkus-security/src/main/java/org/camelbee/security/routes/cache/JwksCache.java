@@ -1,29 +1,59 @@
 package org.camelbee.security.routes.cache;
 
+import com.nimbusds.jose.JWSAlgorithm;
 import com.nimbusds.jose.jwk.JWKSet;
 import io.quarkus.arc.properties.IfBuildProperty;
 import jakarta.enterprise.context.ApplicationScoped;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import org.eclipse.microprofile.config.inject.ConfigProperty;
 
 /**
  * A component that manages caching of JSON Web Key Sets (JWKS).
- * This cache implements a time-based invalidation strategy and provides
- * methods to manage and query the JWKS cache state.
+ * The JWKS is refreshed in the background ahead of its expiry, a single refresh runs at a time
+ * and the cached JWKSet is served until a refresh succeeds.
  */
 @ApplicationScoped
 @IfBuildProperty(name = "camelbee.security.enabled", stringValue = "true")
 public class JwksCache {
 
-  /** Cache to store JWKSet with their identifiers. */
-  private static final ConcurrentHashMap<String, JWKSet> jwksCache = new ConcurrentHashMap<>();
+  /** Share of the cache duration after which the JWKS is refreshed ahead of its expiry. */
+  private static final double REFRESH_AHEAD_RATIO = 0.8;
 
   /** Cache duration in milliseconds. */
   @ConfigProperty(name = "camelbee.security.jwks-cache-duration", defaultValue = "3600000")
   private long cacheDuration;
 
+  /** Minimum time in milliseconds between two refresh attempts once a JWKSet is cached. */
+  @ConfigProperty(name = "camelbee.security.jwks-min-refresh-interval", defaultValue = "10000")
+  private long minRefreshInterval;
+
+  /** Maximum time in milliseconds a request waits for the initial JWKS load. */
+  @ConfigProperty(name = "camelbee.security.jwks-initial-load-timeout", defaultValue = "10000")
+  private long initialLoadTimeout;
+
+  /** The signature algorithm accepted by the JWT processors. */
+  @ConfigProperty(name = "camelbee.security.algorithm", defaultValue = "RS256")
+  private String algorithm;
+
+  /** The current JWKSet together with its JWT processor, both are swapped at once. */
+  private final AtomicReference<JwksVersion> currentVersion = new AtomicReference<>();
+
+  /** Single-flight guard, the refresh in flight which is completed when it ends, null if none is in flight. */
+  private final AtomicReference<CompletableFuture<Void>> refreshInFlight = new AtomicReference<>();
+
   /** Timestamp of the last cache update. */
-  private static long lastFetchTime = 0;
+  private volatile long lastFetchTime;
+
+  /** Timestamp of the last refresh attempt, successful or not. */
+  private volatile long lastAttemptTime;
+
+  /** Start of the refresh in flight in nanoseconds. */
+  private volatile long refreshStartNanos;
+
+  /** Set when a token with an unknown key id is seen. */
+  private volatile boolean refreshRequested;
 
   /**
    * Updates the cache with a new JWKSet.
@@ -32,8 +62,9 @@ public class JwksCache {
    * @param jwkSet The JWKSet to be cached
    */
   public void updateCache(JWKSet jwkSet) {
-    jwksCache.put("current", jwkSet);
+    currentVersion.set(new JwksVersion(jwkSet, JWSAlgorithm.parse(algorithm)));
     lastFetchTime = System.currentTimeMillis();
+    refreshRequested = false;
   }
 
   /**
@@ -42,17 +73,26 @@ public class JwksCache {
    * @return The currently cached JWKSet, or null if no JWKSet is cached
    */
   public JWKSet getCurrentJwkSet() {
-    return jwksCache.get("current");
+    final JwksVersion version = currentVersion.get();
+    return version != null ? version.getJwkSet() : null;
   }
 
   /**
-   * Determines whether the cache needs to be refreshed based on cache emptiness
-   * and time elapsed since last fetch.
+   * Determines whether the background refresh should call the JWKS endpoint.
+   * The cache is refreshed when it is empty, when it reaches the refresh ahead share of its duration
+   * or when a refresh is requested, in the last two cases at most once per minimum refresh interval.
    *
-   * @return true if the cache is empty or has expired, false otherwise
+   * @return true if the JWKS should be fetched, false otherwise
    */
   public boolean shouldRefresh() {
-    return jwksCache.isEmpty() || System.currentTimeMillis() - lastFetchTime > cacheDuration;
+    if (!hasValidCache()) {
+      return true;
+    }
+    final long now = System.currentTimeMillis();
+    if (now - lastAttemptTime < minRefreshInterval) {
+      return false;
+    }
+    return refreshRequested || now - lastFetchTime >= cacheDuration * REFRESH_AHEAD_RATIO;
   }
 
   /**
@@ -61,6 +101,101 @@ public class JwksCache {
    * @return true if the cache contains a current JWKSet, false otherwise
    */
   public boolean hasValidCache() {
-    return jwksCache.containsKey("current");
+    return currentVersion.get() != null;
+  }
+
+  /**
+   * Requests a refresh, e.g. when a token is signed with a key id which is not in the cached JWKSet.
+   * The refresh is done by the background refresh, at most once per minimum refresh interval.
+   */
+  public void requestRefresh() {
+    refreshRequested = true;
+  }
+
+  /**
+   * Returns the cached JWKSet, loading it first while nothing is cached yet.
+   * A request which finds a load in flight waits for it, at most the initial load timeout,
+   * so concurrent requests on a cold start share a single call to the JWKS endpoint.
+   *
+   * @param load starts a refresh, returns at once if another one is in flight
+   * @return The cached JWKSet, or null if the initial load failed or timed out
+   */
+  public JWKSet loadJwkSet(Runnable load) {
+    final JWKSet jwkSet = getCurrentJwkSet();
+    if (jwkSet != null) {
+      return jwkSet;
+    }
+    load.run();
+    final CompletableFuture<Void> refresh = refreshInFlight.get();
+    if (refresh != null) {
+      refresh.copy().completeOnTimeout(null, initialLoadTimeout, TimeUnit.MILLISECONDS).join();
+    }
+    return getCurrentJwkSet();
+  }
+
+  /**
+   * Starts a refresh unless another one is in flight.
+   *
+   * @return true if the caller should fetch the JWKS and call finishRefresh afterwards
+   */
+  public boolean tryStartRefresh() {
+    if (!refreshInFlight.compareAndSet(null, new CompletableFuture<>())) {
+      return false;
+    }
+    lastAttemptTime = System.currentTimeMillis();
+    refreshStartNanos = System.nanoTime();
+    return true;
+  }
+
+  /**
+   * Ends the refresh started with tryStartRefresh.
+   */
+  public void finishRefresh() {
+    final CompletableFuture<Void> refresh = refreshInFlight.getAndSet(null);
+    if (refresh != null) {
+      refresh.complete(null);
+    }
+  }
+
+  /**
+   * Returns the time elapsed since the refresh in flight was started.
+   *
+   * @return the elapsed time in nanoseconds
+   */
+  public long getRefreshElapsedNanos() {
+    return System.nanoTime() - refreshStartNanos;
+  }
+
+  /**
+   * Returns the age of the cached JWKSet.
+   *
+   * @return the age in milliseconds, or -1 if no JWKSet is cached
+   */
+  public long getCacheAge() {
+    return hasValidCache() ? System.currentTimeMillis() - lastFetchTime : -1;
+  }
+
+  /**
+   * Checks if a refresh is in flight.
+   *
+   * @return true if a refresh is in flight, false otherwise
+   */
+  public boolean isRefreshing() {
+    return refreshInFlight.get() != null;
+  }
+
+  /**
+   * Returns the JWT processor of the given JWKSet.
+   * The processor of the current JWKSet is built once per JWKS version, any other JWKSet gets a new processor.
+   *
+   * @param jwkSet The JWKSet the token is validated with
+   * @return The JwksVersion of the JWKSet
+   */
+  public JwksVersion getVersion(JWKSet jwkSet) {
+    final JwksVersion version = currentVersion.get();
+    if (version != null && version.getJwkSet() == jwkSet) {
+      return version;
+    }
+    return new JwksVersion(jwkSet, JWSAlgorithm.parse(algorithm));
   }
-}
\ No newline at end of file
+}
@@ -0,0 +1,139 @@
+package org.camelbee.security.routes.cache;
+
+import com.nimbusds.jose.JOSEException;
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.jwk.JWK;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyConverter;
+import com.nimbusds.jose.jwk.KeyType;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jose.proc.JWSKeySelector;
+import com.nimbusds.jose.proc.SecurityContext;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.proc.ConfigurableJWTProcessor;
+import com.nimbusds.jwt.proc.DefaultJWTProcessor;
+import java.security.Key;
+import java.security.PublicKey;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.crypto.SecretKey;
+
+/**
+ * The JWT processor of one JWKS version.
+ * The verification keys are converted once when the version is created and indexed by their key id,
+ * so validating a token costs the signature verification and a map lookup. Immutable and thread safe.
+ */
+public final class JwksVersion implements JWSKeySelector<SecurityContext> {
+
+  /** The JWKSet this version is built from. */
+  private final JWKSet jwkSet;
+
+  /** The only accepted signature algorithm. */
+  private final JWSAlgorithm algorithm;
+
+  /** All verification keys of the algorithm, used for tokens without a key id. */
+  private final List<Key> keys;
+
+  /** The verification keys indexed by their key id. */
+  private final Map<String, List<Key>> keysByKid;
+
+  /** The processor using this version as its key selector. */
+  private final ConfigurableJWTProcessor<SecurityContext> processor;
+
+  /**
+   * Creates the version and converts the keys of the JWKSet which can verify the given algorithm.
+   *
+   * @param jwkSet    The JWKSet.
+   * @param algorithm The accepted signature algorithm.
+   */
+  public JwksVersion(JWKSet jwkSet, JWSAlgorithm algorithm) {
+    this.jwkSet = jwkSet;
+    this.algorithm = algorithm;
+
+    final KeyType keyType = KeyType.forAlgorithm(algorithm);
+    final List<Key> allKeys = new ArrayList<>();
+    final Map<String, List<Key>> kidKeys = new HashMap<>();
+
+    for (JWK jwk : jwkSet.getKeys()) {
+      if (!isVerificationKey(jwk, keyType)) {
+        continue;
+      }
+      final List<Key> converted = toVerificationKeys(jwk);
+      allKeys.addAll(converted);
+      if (jwk.getKeyID() != null) {
+        kidKeys.computeIfAbsent(jwk.getKeyID(), k -> new ArrayList<>()).addAll(converted);
+      }
+    }
+
+    this.keys = List.copyOf(allKeys);
+    final Map<String, List<Key>> immutableKidKeys = new HashMap<>();
+    kidKeys.forEach((kid, kidKeyList) -> immutableKidKeys.put(kid, List.copyOf(kidKeyList)));
+    this.keysByKid = Map.copyOf(immutableKidKeys);
+
+    this.processor = new DefaultJWTProcessor<>();
+    this.processor.setJWSKeySelector(this);
+  }
+
+  /**
+   * Verifies the signature of the token and returns its claims.
+   *
+   * @param token The serialized JWT.
+   * @return The claims of the token.
+   * @throws ParseException   if the token cannot be parsed.
+   * @throws BadJOSEException if the token is rejected.
+   * @throws JOSEException    if the signature cannot be verified.
+   */
+  public JWTClaimsSet process(String token) throws ParseException, BadJOSEException, JOSEException {
+    return processor.process(token, null);
+  }
+
+  /**
+   * Selects the pre-converted keys for the header, nothing when the header uses another algorithm.
+   *
+   * @param header  The JWS header.
+   * @param context The security context, not used.
+   * @return The candidate verification keys.
+   */
+  @Override
+  public List<Key> selectJWSKeys(JWSHeader header, SecurityContext context) {
+    if (!algorithm.equals(header.getAlgorithm())) {
+      return List.of();
+    }
+    final String kid = header.getKeyID();
+    if (kid == null) {
+      return keys;
+    }
+    return keysByKid.getOrDefault(kid, List.of());
+  }
+
+  /**
+   * Checks if this version has a verification key with the given key id.
+   *
+   * @param kid The key id.
+   * @return true if a key with the key id exists.
+   */
+  public boolean hasKey(String kid) {
+    return keysByKid.containsKey(kid);
+  }
+
+  public JWKSet getJwkSet() {
+    return jwkSet;
+  }
+
+  private boolean isVerificationKey(JWK jwk, KeyType keyType) {
+    return keyType.equals(jwk.getKeyType())
+        && (jwk.getKeyUse() == null || KeyUse.SIGNATURE.equals(jwk.getKeyUse()))
+        && (jwk.getAlgorithm() == null || algorithm.equals(jwk.getAlgorithm()));
+  }
+
+  private static List<Key> toVerificationKeys(JWK jwk) {
+    return KeyConverter.toJavaKeys(List.of(jwk)).stream()
+        .filter(key -> key instanceof PublicKey || key instanceof SecretKey)
+        .toList();
+  }
+}
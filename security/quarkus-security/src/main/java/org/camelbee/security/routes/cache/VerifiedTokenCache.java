@@ -0,0 +1,171 @@
+package org.camelbee.security.routes.cache;
+
+import com.nimbusds.jwt.JWTClaimsSet;
+import io.quarkus.arc.properties.IfBuildProperty;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.camelbee.security.routes.authorization.ClaimValues;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Optional bounded cache of verified tokens keyed by the SHA-256 digest of the token.
+ * Repeated requests with the same bearer token skip the signature verification, the claim validation
+ * and the role and scope extraction. The whole cache is dropped when the JWKS version changes.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "camelbee.security.enabled", stringValue = "true")
+public class VerifiedTokenCache {
+
+  /** The entries in access order, the least recently used entry is evicted first. */
+  private final Map<String, VerifiedToken> entries;
+
+  /** Flag to enable or disable the cache. */
+  private final boolean enabled;
+
+  /** Maximum age of an entry in milliseconds. */
+  private final long maxAge;
+
+  /** Clock skew tolerance in milliseconds added to the expiration time of the token. */
+  private final long clockSkewMillis;
+
+  /** The JWKS version the entries were verified with. */
+  private JwksVersion jwksVersion;
+
+  /**
+   * Constructor.
+   *
+   * @param enabled   The enabled.
+   * @param maxSize   The maximum number of cached tokens.
+   * @param maxAge    The maximum age of an entry in milliseconds.
+   * @param clockSkew The clock skew tolerance in seconds.
+   */
+  public VerifiedTokenCache(@ConfigProperty(name = "camelbee.security.token-cache-enabled", defaultValue = "false") boolean enabled,
+      @ConfigProperty(name = "camelbee.security.token-cache-max-size", defaultValue = "10000") int maxSize,
+      @ConfigProperty(name = "camelbee.security.token-cache-max-age", defaultValue = "300000") long maxAge,
+      @ConfigProperty(name = "camelbee.security.clock-skew", defaultValue = "30") int clockSkew) {
+    this.enabled = enabled;
+    this.maxAge = maxAge;
+    this.clockSkewMillis = clockSkew * 1000L;
+    this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+        return size() > maxSize;
+      }
+    };
+  }
+
+  /**
+   * Returns the verified token if it was verified with the given JWKS version and has not expired.
+   * The cache is cleared when the JWKS version changes.
+   *
+   * @param token       The serialized JWT.
+   * @param jwksVersion The current JWKS version.
+   * @return The verified token or null if it is not cached.
+   */
+  public VerifiedToken get(String token, JwksVersion jwksVersion) {
+
+    if (!enabled) {
+      return null;
+    }
+
+    final String key = digest(token);
+
+    synchronized (entries) {
+
+      if (invalidateOnRotation(jwksVersion)) {
+        return null;
+      }
+
+      final VerifiedToken verifiedToken = entries.get(key);
+      if (verifiedToken == null) {
+        return null;
+      }
+      if (verifiedToken.expiresAt() <= System.currentTimeMillis()) {
+        entries.remove(key);
+        return null;
+      }
+      return verifiedToken;
+    }
+  }
+
+  /**
+   * Caches a verified token until the earlier of its expiration time plus the clock skew and the maximum age.
+   *
+   * @param token       The serialized JWT.
+   * @param jwksVersion The JWKS version the token is verified with.
+   * @param claims      The validated claims.
+   * @param roles       The extracted roles.
+   * @param scopes      The extracted scopes.
+   */
+  public void put(String token, JwksVersion jwksVersion, JWTClaimsSet claims, ClaimValues roles, ClaimValues scopes) {
+
+    if (!enabled) {
+      return;
+    }
+
+    long expiresAt = System.currentTimeMillis() + maxAge;
+    final Date exp = claims.getExpirationTime();
+    if (exp != null) {
+      expiresAt = Math.min(expiresAt, exp.getTime() + clockSkewMillis);
+    }
+
+    final VerifiedToken verifiedToken = new VerifiedToken(claims, roles, scopes, expiresAt);
+    final String key = digest(token);
+
+    synchronized (entries) {
+      invalidateOnRotation(jwksVersion);
+      entries.put(key, verifiedToken);
+    }
+  }
+
+  /**
+   * Returns the number of cached tokens.
+   *
+   * @return The number of cached tokens.
+   */
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  private boolean invalidateOnRotation(JwksVersion currentVersion) {
+    if (jwksVersion == currentVersion) {
+      return false;
+    }
+    entries.clear();
+    jwksVersion = currentVersion;
+    return true;
+  }
+
+  private static String digest(String token) {
+    try {
+      final byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+      return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 is not available", e);
+    }
+  }
+
+  /**
+   * A verified token.
+   *
+   * @param claims    The validated claims.
+   * @param roles     The extracted roles.
+   * @param scopes    The extracted scopes.
+   * @param expiresAt The time in milliseconds after which the entry is not used anymore.
+   */
+  public record VerifiedToken(JWTClaimsSet claims, ClaimValues roles, ClaimValues scopes, long expiresAt) {
+  }
+}
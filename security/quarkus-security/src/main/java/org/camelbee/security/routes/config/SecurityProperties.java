@@ -45,6 +45,55 @@ public interface SecurityProperties {
   @WithDefault("2000")
   int jwksCacheDuration();
 
+  /**
+   * Interval in milliseconds in which the JWKS cache is checked for a background refresh.
+   */
+  @WithName("jwks-refresh-check-interval")
+  @WithDefault("1000")
+  long jwksRefreshCheckInterval();
+
+  /**
+   * Delay in milliseconds before the first background JWKS refresh check.
+   */
+  @WithName("jwks-refresh-initial-delay")
+  @WithDefault("0")
+  long jwksRefreshInitialDelay();
+
+  /**
+   * Minimum interval in milliseconds between two JWKS fetch attempts.
+   */
+  @WithName("jwks-min-refresh-interval")
+  @WithDefault("10000")
+  long jwksMinRefreshInterval();
+
+  /**
+   * Maximum time in milliseconds a request waits for the initial JWKS load.
+   */
+  @WithName("jwks-initial-load-timeout")
+  @WithDefault("10000")
+  long jwksInitialLoadTimeout();
+
+  /**
+   * Whether verified tokens are cached.
+   */
+  @WithName("token-cache-enabled")
+  @WithDefault("false")
+  boolean tokenCacheEnabled();
+
+  /**
+   * Maximum number of cached verified tokens.
+   */
+  @WithName("token-cache-max-size")
+  @WithDefault("10000")
+  int tokenCacheMaxSize();
+
+  /**
+   * Maximum age in milliseconds of a cached verified token.
+   */
+  @WithName("token-cache-max-age")
+  @WithDefault("300000")
+  long tokenCacheMaxAge();
+
   /**
    * List of JWT claim paths to extract role information.
    */
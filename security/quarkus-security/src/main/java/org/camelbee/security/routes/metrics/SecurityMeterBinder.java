@@ -0,0 +1,86 @@
+package org.camelbee.security.routes.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.quarkus.arc.Unremovable;
+import io.quarkus.arc.properties.IfBuildProperty;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Binds the security metrics to the Micrometer registry of the application.
+ * The meters read the counters and histograms of SecurityMetrics, nothing is recorded twice.
+ */
+@ApplicationScoped
+@Unremovable
+@RequiredArgsConstructor
+@IfBuildProperty(name = "camelbee.security.enabled", stringValue = "true")
+public class SecurityMeterBinder implements MeterBinder {
+
+  private static final double[] PERCENTILES = {0.5, 0.95, 0.99};
+
+  private final SecurityMetrics securityMetrics;
+
+  @Override
+  public void bindTo(MeterRegistry registry) {
+
+    FunctionCounter.builder("camelbee.security.validations", securityMetrics, SecurityMetrics::getValidationSuccessCount)
+        .description("Validated JWTs")
+        .tag("outcome", "success")
+        .register(registry);
+
+    FunctionCounter.builder("camelbee.security.validations", securityMetrics, SecurityMetrics::getValidationCacheHitCount)
+        .description("Validated JWTs")
+        .tag("outcome", "cached")
+        .register(registry);
+
+    for (String errorCode : SecurityMetrics.ERROR_CODES) {
+      bindErrorCounter(registry, errorCode);
+    }
+    bindErrorCounter(registry, SecurityMetrics.OTHER_ERROR);
+
+    FunctionCounter.builder("camelbee.security.jwks.refreshes", securityMetrics, SecurityMetrics::getJwksRefreshSuccessCount)
+        .description("JWKS refreshes")
+        .tag("outcome", "success")
+        .register(registry);
+
+    FunctionCounter.builder("camelbee.security.jwks.refreshes", securityMetrics, SecurityMetrics::getJwksRefreshFailureCount)
+        .description("JWKS refreshes")
+        .tag("outcome", "failure")
+        .register(registry);
+
+    Gauge.builder("camelbee.security.jwks.cache.age", securityMetrics, SecurityMetrics::getJwksCacheAge)
+        .description("Age of the cached JWKS, -1 if no JWKS is cached")
+        .baseUnit("milliseconds")
+        .register(registry);
+
+    bindLatency(registry, "camelbee.security.validation", "JWT validation", securityMetrics.getValidationLatency());
+    bindLatency(registry, "camelbee.security.jwks.fetch", "JWKS fetch", securityMetrics.getJwksFetchLatency());
+  }
+
+  private void bindErrorCounter(MeterRegistry registry, String errorCode) {
+    FunctionCounter.builder("camelbee.security.errors", securityMetrics, m -> m.getErrorCount(errorCode))
+        .description("Security failures per error code")
+        .tag("code", errorCode)
+        .register(registry);
+  }
+
+  private static void bindLatency(MeterRegistry registry, String name, String description, LatencyHistogram histogram) {
+
+    FunctionTimer.builder(name, histogram, LatencyHistogram::getCount, LatencyHistogram::getTotalNanos, TimeUnit.NANOSECONDS)
+        .description(description + " latency")
+        .register(registry);
+
+    for (double percentile : PERCENTILES) {
+      Gauge.builder(name + ".percentile", histogram, h -> h.getPercentileMicros(percentile))
+          .description(description + " latency percentile, upper bound of its histogram bucket")
+          .tag("percentile", String.valueOf(percentile))
+          .baseUnit("microseconds")
+          .register(registry);
+    }
+  }
+}
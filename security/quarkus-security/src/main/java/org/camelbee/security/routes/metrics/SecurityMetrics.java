@@ -0,0 +1,246 @@
+package org.camelbee.security.routes.metrics;
+
+import io.quarkus.arc.properties.IfBuildProperty;
+import jakarta.enterprise.context.ApplicationScoped;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+import org.apache.camel.Exchange;
+import org.camelbee.security.routes.cache.JwksCache;
+import org.camelbee.security.routes.exception.AuthenticationFailedException;
+import org.camelbee.security.routes.exception.InsufficientPrivilegesException;
+import org.camelbee.security.routes.exception.InvalidRequestException;
+import org.camelbee.security.routes.exception.InvalidTokenException;
+import org.camelbee.security.routes.exception.TokenExpiredException;
+import org.camelbee.security.routes.exception.TokenValidationException;
+
+/**
+ * Counters and latency histograms of the JWT validation, the authorization checks and the JWKS refreshes.
+ * Recording only adds to LongAdders, the values are read by the CamelBee metrics endpoint and the Micrometer binder.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "camelbee.security.enabled", stringValue = "true")
+public class SecurityMetrics {
+
+  /** The error codes of the security module, ERROR-AUTH001 to ERROR-AUTH012. */
+  public static final List<String> ERROR_CODES = IntStream.rangeClosed(1, 12)
+      .mapToObj(i -> String.format("ERROR-AUTH%03d", i))
+      .toList();
+
+  /** The key of the failures without a known error code. */
+  public static final String OTHER_ERROR = "other";
+
+  private static final String ERROR_CODE_PREFIX = "ERROR-AUTH";
+
+  private final JwksCache jwksCache;
+
+  private final LongAdder validationSuccesses = new LongAdder();
+
+  private final LongAdder validationCacheHits = new LongAdder();
+
+  /** Failures per error code, the last slot counts the failures without a known error code. */
+  private final LongAdder[] errors = new LongAdder[ERROR_CODES.size() + 1];
+
+  private final LongAdder jwksRefreshSuccesses = new LongAdder();
+
+  private final LongAdder jwksRefreshFailures = new LongAdder();
+
+  private final LatencyHistogram validationLatency = new LatencyHistogram();
+
+  private final LatencyHistogram jwksFetchLatency = new LatencyHistogram();
+
+  /**
+   * Constructor.
+   *
+   * @param jwksCache The jwksCache.
+   */
+  public SecurityMetrics(JwksCache jwksCache) {
+    this.jwksCache = jwksCache;
+    for (int i = 0; i < errors.length; i++) {
+      errors[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * Records a successful JWT validation.
+   *
+   * @param nanos  The validation latency in nanoseconds.
+   * @param cached Whether the token was found in the verified token cache.
+   */
+  public void recordValidation(long nanos, boolean cached) {
+    validationLatency.record(nanos);
+    if (cached) {
+      validationCacheHits.increment();
+    } else {
+      validationSuccesses.increment();
+    }
+  }
+
+  /**
+   * Records a failed JWT validation.
+   *
+   * @param nanos     The validation latency in nanoseconds.
+   * @param exception The exception the validation failed with.
+   */
+  public void recordValidationFailure(long nanos, Throwable exception) {
+    validationLatency.record(nanos);
+    recordError(errorCodeOf(exception));
+  }
+
+  /**
+   * Records a failure by its error code.
+   *
+   * @param errorCode The error code, e.g. ERROR-AUTH010.
+   */
+  public void recordError(String errorCode) {
+    errors[indexOf(errorCode)].increment();
+  }
+
+  /**
+   * Records a JWKS refresh.
+   *
+   * @param nanos   The latency of the JWKS fetch in nanoseconds.
+   * @param success Whether the JWKS was fetched and cached.
+   */
+  public void recordJwksRefresh(long nanos, boolean success) {
+    jwksFetchLatency.record(nanos);
+    if (success) {
+      jwksRefreshSuccesses.increment();
+    } else {
+      jwksRefreshFailures.increment();
+    }
+  }
+
+  /**
+   * Records an authorization failure with the SecurityMetrics of the Camel registry, if there is one.
+   * Meant for the static authorization checks which have no reference to the bean, the lookup is only
+   * done on the failure path.
+   *
+   * @param exchange  The exchange.
+   * @param errorCode The error code.
+   */
+  public static void recordAuthorizationFailure(Exchange exchange, String errorCode) {
+    final SecurityMetrics metrics = exchange.getContext().getRegistry().findSingleByType(SecurityMetrics.class);
+    if (metrics != null) {
+      metrics.recordError(errorCode);
+    }
+  }
+
+  /**
+   * Returns the error code of a security exception.
+   *
+   * @param exception The exception.
+   * @return The error code, or null if the exception is not a security exception.
+   */
+  public static String errorCodeOf(Throwable exception) {
+    if (exception instanceof InvalidTokenException e) {
+      return e.getErrorCode();
+    } else if (exception instanceof TokenValidationException e) {
+      return e.getErrorCode();
+    } else if (exception instanceof TokenExpiredException e) {
+      return e.getErrorCode();
+    } else if (exception instanceof AuthenticationFailedException e) {
+      return e.getErrorCode();
+    } else if (exception instanceof InsufficientPrivilegesException e) {
+      return e.getErrorCode();
+    } else if (exception instanceof InvalidRequestException e) {
+      return e.getErrorCode();
+    }
+    return null;
+  }
+
+  public long getValidationSuccessCount() {
+    return validationSuccesses.sum();
+  }
+
+  public long getValidationCacheHitCount() {
+    return validationCacheHits.sum();
+  }
+
+  /**
+   * Returns the number of failures of an error code.
+   *
+   * @param errorCode The error code, or OTHER_ERROR.
+   * @return The number of failures.
+   */
+  public long getErrorCount(String errorCode) {
+    return errors[indexOf(errorCode)].sum();
+  }
+
+  public long getJwksRefreshSuccessCount() {
+    return jwksRefreshSuccesses.sum();
+  }
+
+  public long getJwksRefreshFailureCount() {
+    return jwksRefreshFailures.sum();
+  }
+
+  /**
+   * Returns the age of the cached JWKS.
+   *
+   * @return The age in milliseconds, or -1 if no JWKS is cached.
+   */
+  public long getJwksCacheAge() {
+    return jwksCache.getCacheAge();
+  }
+
+  public LatencyHistogram getValidationLatency() {
+    return validationLatency;
+  }
+
+  public LatencyHistogram getJwksFetchLatency() {
+    return jwksFetchLatency;
+  }
+
+  /**
+   * Takes a snapshot of the metrics.
+   *
+   * @return The snapshot.
+   */
+  public Snapshot snapshot() {
+    final Map<String, Long> errorCounts = new LinkedHashMap<>();
+    for (String errorCode : ERROR_CODES) {
+      errorCounts.put(errorCode, getErrorCount(errorCode));
+    }
+    errorCounts.put(OTHER_ERROR, getErrorCount(OTHER_ERROR));
+
+    return new Snapshot(getValidationSuccessCount(), getValidationCacheHitCount(),
+        Collections.unmodifiableMap(errorCounts), getJwksRefreshSuccessCount(), getJwksRefreshFailureCount(),
+        getJwksCacheAge(), validationLatency.snapshot(), jwksFetchLatency.snapshot());
+  }
+
+  private static int indexOf(String errorCode) {
+    if (errorCode == null || errorCode.length() != ERROR_CODE_PREFIX.length() + 3 || !errorCode.startsWith(ERROR_CODE_PREFIX)) {
+      return ERROR_CODES.size();
+    }
+    int number = 0;
+    for (int i = ERROR_CODE_PREFIX.length(); i < errorCode.length(); i++) {
+      final char c = errorCode.charAt(i);
+      if (c < '0' || c > '9') {
+        return ERROR_CODES.size();
+      }
+      number = number * 10 + c - '0';
+    }
+    return number >= 1 && number <= ERROR_CODES.size() ? number - 1 : ERROR_CODES.size();
+  }
+
+  /**
+   * Snapshot of the security metrics.
+   *
+   * @param validationSuccessCount  The number of tokens validated.
+   * @param validationCacheHitCount The number of tokens found in the verified token cache.
+   * @param errorCounts             The number of failures per error code.
+   * @param jwksRefreshSuccessCount The number of successful JWKS refreshes.
+   * @param jwksRefreshFailureCount The number of failed JWKS refreshes.
+   * @param jwksCacheAgeMillis      The age of the cached JWKS in milliseconds, -1 if no JWKS is cached.
+   * @param validationLatency       The latency of the JWT validation.
+   * @param jwksFetchLatency        The latency of the JWKS fetches.
+   */
+  public record Snapshot(long validationSuccessCount, long validationCacheHitCount, Map<String, Long> errorCounts,
+                         long jwksRefreshSuccessCount, long jwksRefreshFailureCount, long jwksCacheAgeMillis,
+                         LatencyHistogram.Snapshot validationLatency, LatencyHistogram.Snapshot jwksFetchLatency) {
+  }
+}
@@ -0,0 +1,33 @@
+package org.camelbee.security.routes.metrics;
+
+import io.quarkus.arc.properties.IfBuildProperty;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.GET;
+import jakarta.ws.rs.Path;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.Response;
+
+/**
+ * SecurityMetricsController exposes the security metrics next to the other CamelBee metrics.
+ */
+@Path("/")
+@IfBuildProperty(name = "camelbee.security.enabled", stringValue = "true")
+@IfBuildProperty(name = "camelbee.context-enabled", stringValue = "true")
+public class SecurityMetricsController {
+
+  @Inject
+  SecurityMetrics securityMetrics;
+
+  /**
+   * Returns the JWT validation counters and latencies and the JWKS refresh metrics.
+   *
+   * @return Response The snapshot.
+   */
+  @GET
+  @Produces("application/json")
+  @Path("/camelbee/metrics/security")
+  public Response getSecurityMetrics() {
+    return Response.ok(securityMetrics.snapshot()).build();
+  }
+
+}
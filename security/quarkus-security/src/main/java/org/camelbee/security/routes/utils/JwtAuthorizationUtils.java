@@ -4,6 +4,7 @@ import java.util.Arrays;
 import java.util.List;
 import org.apache.camel.Exchange;
 import org.camelbee.security.routes.exception.InsufficientPrivilegesException;
+import org.camelbee.security.routes.metrics.SecurityMetrics;
 
 /**
  * Utility class for JWT authorization operations.
@@ -124,6 +125,7 @@ public class JwtAuthorizationUtils {
    */
   public static void requireRole(Exchange exchange, String role) {
     if (!hasRole(exchange, role)) {
+      SecurityMetrics.recordAuthorizationFailure(exchange, "ERROR-AUTH010");
       throw new InsufficientPrivilegesException(
           "ERROR-AUTH010", "Insufficient privileges - missing role: " + role
       );
@@ -139,6 +141,7 @@ public class JwtAuthorizationUtils {
    */
   public static void requireScope(Exchange exchange, String scope) {
     if (!hasScope(exchange, scope)) {
+      SecurityMetrics.recordAuthorizationFailure(exchange, "ERROR-AUTH011");
       throw new InsufficientPrivilegesException(
           "ERROR-AUTH011", "Insufficient privileges - missing scope: " + scope
       );
@@ -155,6 +158,7 @@ public class JwtAuthorizationUtils {
    */
   public static void requireRoleAndScope(Exchange exchange, String role, String scope) {
     if (!hasRole(exchange, role) || !hasScope(exchange, scope)) {
+      SecurityMetrics.recordAuthorizationFailure(exchange, "ERROR-AUTH012");
       throw new InsufficientPrivilegesException(
           "ERROR-AUTH012", "Insufficient privileges - requires role and scope"
       );
@@ -0,0 +1,97 @@
+package org.camelbee.security.routes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+import org.apache.camel.Exchange;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.support.DefaultExchange;
+import org.camelbee.security.routes.authorization.AuthorizationPolicy;
+import org.camelbee.security.routes.authorization.ClaimPath;
+import org.camelbee.security.routes.authorization.ClaimValues;
+import org.camelbee.security.routes.exception.InsufficientPrivilegesException;
+import org.junit.jupiter.api.Test;
+
+class AuthorizationPolicyTest {
+
+  @Test
+  void shouldRequireAllTermsOfAConjunction() {
+    // Arrange
+    AuthorizationPolicy policy = AuthorizationPolicy.of("role:admin and scope:write");
+
+    // Act & Assert
+    assertThat(policy.isSatisfiedBy(ClaimValues.of(List.of("admin")), ClaimValues.of(List.of("read", "write"))))
+        .isTrue();
+    assertThat(policy.isSatisfiedBy(ClaimValues.of(List.of("admin")), ClaimValues.of(List.of("read")))).isFalse();
+    assertThat(policy.isSatisfiedBy(ClaimValues.of(List.of("editor")), ClaimValues.of(List.of("write")))).isFalse();
+    assertThat(policy.isSatisfiedBy(null, null)).isFalse();
+  }
+
+  @Test
+  void shouldAcceptAnyAlternativeOfADisjunction() {
+    // Arrange
+    AuthorizationPolicy policy = AuthorizationPolicy.of("role:admin and scope:write or role:superuser");
+
+    // Act & Assert
+    assertThat(policy.isSatisfiedBy(ClaimValues.of(List.of("superuser")), null)).isTrue();
+    assertThat(policy.isSatisfiedBy(ClaimValues.of(List.of("admin")), ClaimValues.of(List.of("write")))).isTrue();
+    assertThat(policy.isSatisfiedBy(ClaimValues.of(List.of("admin")), null)).isFalse();
+  }
+
+  @Test
+  void shouldRejectAnInvalidExpression() {
+    // Act & Assert
+    assertThatThrownBy(() -> AuthorizationPolicy.of(" "))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> AuthorizationPolicy.of("role:admin and group:editors"))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("group:editors");
+    assertThatThrownBy(() -> AuthorizationPolicy.of("role:"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void shouldRejectTheExchangeWhenThePolicyIsNotSatisfied() throws Exception {
+    // Arrange
+    AuthorizationPolicy policy = AuthorizationPolicy.of("role:admin and scope:write");
+    Exchange exchange = new DefaultExchange(new DefaultCamelContext());
+    exchange.setProperty("jwt.roles", ClaimValues.of(List.of("admin")));
+    exchange.setProperty("jwt.scopes", ClaimValues.of(List.of("write")));
+
+    // Act
+    policy.process(exchange);
+    exchange.setProperty("jwt.scopes", List.of("read"));
+
+    // Assert
+    assertThat(policy.matches(exchange)).isFalse();
+    assertThatThrownBy(() -> policy.process(exchange))
+        .isInstanceOf(InsufficientPrivilegesException.class)
+        .hasMessageContaining("role:admin and scope:write");
+  }
+
+  @Test
+  void shouldKeepTheDistinctValuesInOrder() {
+    // Act
+    ClaimValues values = ClaimValues.of(List.of("admin", "editor", "admin"));
+
+    // Assert
+    assertThat(values).containsExactly("admin", "editor");
+    assertThat(values.contains("editor")).isTrue();
+    assertThat(values.contains("viewer")).isFalse();
+    assertThat(values.contains(null)).isFalse();
+  }
+
+  @Test
+  void shouldResolveANestedClaimPath() {
+    // Arrange
+    ClaimPath path = ClaimPath.parse("resource_access.account.roles");
+    Map<String, Object> claims = Map.of("resource_access", Map.of("account", Map.of("roles", List.of("viewer"))));
+
+    // Act & Assert
+    assertThat(path.resolve(claims)).isEqualTo(List.of("viewer"));
+    assertThat(path.resolve(Map.of("resource_access", "account"))).isNull();
+    assertThat(ClaimPath.parse("scope").resolve(Map.of("scope", "read write"))).isEqualTo("read write");
+  }
+}
@@ -2,122 +2,241 @@ package org.camelbee.security.routes;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
 import com.nimbusds.jose.jwk.JWKSet;
 import com.nimbusds.jose.jwk.RSAKey;
 import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
 import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
 import io.quarkus.test.junit.TestProfile;
 import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
 import org.apache.camel.CamelContext;
-import org.apache.camel.EndpointInject;
 import org.apache.camel.Exchange;
-import org.apache.camel.Produce;
 import org.apache.camel.ProducerTemplate;
-import org.apache.camel.builder.AdviceWith;
 import org.apache.camel.builder.ExchangeBuilder;
-import org.apache.camel.component.mock.MockEndpoint;
-import org.apache.camel.quarkus.test.CamelQuarkusTestSupport;
 import org.camelbee.security.routes.cache.JwksCache;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeAll;
-import org.junit.jupiter.api.Order;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 
+/**
+ * Tests the background JWKS refresh against a local stub of the JWKS endpoint.
+ */
 @QuarkusTest
-@TestProfile(FetchJwksRouteTest.class)
+@TestProfile(FetchJwksRouteTest.Profile.class)
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
-public class FetchJwksRouteTest extends CamelQuarkusTestSupport {
+class FetchJwksRouteTest {
 
-  @Produce("direct:fetchJWKS")
-  protected ProducerTemplate producerTemplate;
+  private static final long TIMEOUT = 5000;
 
-  @EndpointInject("mock:jwks")
-  protected MockEndpoint mockJwksEndpoint;
+  private static final int IDP_PORT = 18089;
 
-  @Inject
-  private JwksCache jwksCache;
+  private RSAKey rsaKey;
+
+  private JwksStubServer idp;
 
   @Inject
-  private CamelContext camelContext;
+  ProducerTemplate producerTemplate;
 
-  private Exchange exchange;
-  private RSAKey rsaKey;
-  private String jwksResponse;
+  @Inject
+  JwksCache jwksCache;
 
-  private boolean isSetUp = false;
+  @Inject
+  CamelContext camelContext;
 
   @BeforeAll
-  public void setUp() throws Exception {
-
-    if (!isSetUp) {
+  void startIdp() throws Exception {
+    rsaKey = new RSAKeyGenerator(2048).keyID("123").generate();
+    idp = new JwksStubServer(IDP_PORT, new JWKSet(rsaKey.toPublicJWK()));
+  }
 
-      rsaKey = new RSAKeyGenerator(2048)
-          .keyID("123")
-          .generate();
+  @AfterAll
+  void stopIdp() {
+    idp.stop();
+  }
 
-      JWKSet jwkSet = new JWKSet(rsaKey.toPublicJWK());
-      jwksResponse = jwkSet.toString();
+  @AfterEach
+  void resetIdp() throws Exception {
+    idp.setJwkSet(new JWKSet(rsaKey.toPublicJWK()));
+    idp.setDelayMillis(0);
+    idp.setFailing(false);
+    awaitCondition(() -> !jwksCache.isRefreshing());
+  }
 
-      exchange = ExchangeBuilder.anExchange(camelContext).build();
+  @Test
+  void shouldLoadTheJwksInTheBackgroundAtStartup() throws Exception {
+    // Act
+    awaitCondition(jwksCache::hasValidCache);
 
-      mockJwksEndpoint.whenAnyExchangeReceived(
-          e -> {
-            e.getIn().setBody(jwksResponse, String.class);
-          }
-      );
+    // Assert
+    assertThat(jwksCache.getCurrentJwkSet().getKeys()).isNotEmpty();
+  }
 
-      AdviceWith.adviceWith(camelContext, "jwks-retrieval",
-          advice -> {
-            advice.weaveById("invokeJwksUrlEnpoint")
-                .replace()
-                .to("mock:jwks");
-          });
+  @Test
+  void shouldServeTheCachedJwksWithoutCallingTheIdp() throws Exception {
+    // Arrange
+    awaitCondition(jwksCache::hasValidCache);
+    JWKSet cachedJwks = jwksCache.getCurrentJwkSet();
+    int hits = idp.hits();
 
-      isSetUp = true;
+    // Act
+    List<Exchange> responses = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      responses.add(producerTemplate.send("direct:fetchJWKS", ExchangeBuilder.anExchange(camelContext).build()));
     }
 
-//    mockJwksEndpoint.reset();
-
+    // Assert
+    assertThat(idp.hits()).isEqualTo(hits);
+    assertThat(responses).allSatisfy(response -> assertThat(response.getProperty("jwkSet")).isSameAs(cachedJwks));
   }
 
   @Test
-  @Order(1)
-  void testSuccessfulJwksFetch() throws Exception {
+  void shouldRefreshAheadOfExpiry() throws Exception {
+    // Arrange
+    awaitCondition(jwksCache::hasValidCache);
+    JWKSet loadedJwks = jwksCache.getCurrentJwkSet();
+    long loadedAt = System.currentTimeMillis();
+
+    // Act
+    awaitCondition(() -> jwksCache.getCurrentJwkSet() != loadedJwks);
 
-    mockJwksEndpoint.expectedMessageCount(1);
-    producerTemplate.send(exchange);
-    mockJwksEndpoint.assertIsSatisfied();
+    // Assert
+    assertThat(System.currentTimeMillis() - loadedAt).isLessThan(3000);
+  }
 
+  @Test
+  void shouldServeTheCachedJwksWhileTheIdpIsSlow() throws Exception {
+    // Arrange
+    awaitCondition(jwksCache::hasValidCache);
     JWKSet cachedJwks = jwksCache.getCurrentJwkSet();
-    assertThat(cachedJwks).isNotNull();
-    assertThat(cachedJwks.getKeys()).hasSize(1);
-    assertThat(cachedJwks.getKeyByKeyId("123")).isNotNull();
+    int hits = idp.hits();
+    idp.setDelayMillis(1500);
+    jwksCache.requestRefresh();
+    awaitCondition(() -> idp.hits() > hits);
+
+    // Act
+    long start = System.currentTimeMillis();
+    Exchange response = producerTemplate.send("direct:fetchJWKS", ExchangeBuilder.anExchange(camelContext).build());
+    long elapsed = System.currentTimeMillis() - start;
+
+    // Assert
+    assertThat(elapsed).isLessThan(500);
+    assertThat(response.getProperty("jwkSet")).isSameAs(cachedJwks);
   }
 
   @Test
-  @Order(2)
-  void testCacheReuse() throws Exception {
-    mockJwksEndpoint.reset();
-    // The JWKS cache was populated by testSuccessfulJwksFetch()
-    mockJwksEndpoint.expectedMessageCount(0);
-    producerTemplate.send(exchange);
-    mockJwksEndpoint.assertIsSatisfied();
+  void shouldCallTheIdpOnceForConcurrentRefreshes() throws Exception {
+    // Arrange
+    awaitCondition(jwksCache::hasValidCache);
+    int hits = idp.hits();
+    idp.setDelayMillis(500);
+
+    // Act
+    List<CompletableFuture<Void>> refreshes = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      refreshes.add(CompletableFuture.runAsync(
+          () -> producerTemplate.send("direct:refreshJWKS", ExchangeBuilder.anExchange(camelContext).build())));
+    }
+    CompletableFuture.allOf(refreshes.toArray(new CompletableFuture[0])).get();
+
+    // Assert
+    assertThat(idp.hits()).isEqualTo(hits + 1);
   }
 
   @Test
-  @Order(3)
-  void testCacheExpiry() throws Exception {
-
-    Thread.sleep(3000); // Wait just over cache duration
-    mockJwksEndpoint.reset();
-    mockJwksEndpoint.expectedMessageCount(1);
-    producerTemplate.send(exchange);
-    mockJwksEndpoint.assertIsSatisfied();
+  void shouldKeepTheCachedJwksWhenTheRefreshFails() throws Exception {
+    // Arrange
+    awaitCondition(jwksCache::hasValidCache);
+    JWKSet cachedJwks = jwksCache.getCurrentJwkSet();
+    int hits = idp.hits();
+    idp.setFailing(true);
+
+    // Act
+    jwksCache.requestRefresh();
+    awaitCondition(() -> idp.hits() > hits);
+    Exchange response = producerTemplate.send("direct:fetchJWKS", ExchangeBuilder.anExchange(camelContext).build());
+
+    // Assert
+    assertThat(response.getException()).isNull();
+    assertThat(response.getProperty("jwkSet")).isSameAs(cachedJwks);
+  }
+
+  @Test
+  void shouldRefreshOnceOnAnUnknownKid() throws Exception {
+    // Arrange
+    awaitCondition(jwksCache::hasValidCache);
+    RSAKey rotatedKey = new RSAKeyGenerator(2048).keyID("456").generate();
+    idp.setJwkSet(new JWKSet(rotatedKey.toPublicJWK()));
+    String token = sign(rotatedKey);
+    int hits = idp.hits();
+
+    // Act
+    Exchange rejected = validate(token);
+    for (int i = 0; i < 10; i++) {
+      validate(token);
+    }
+    awaitCondition(() -> jwksCache.getCurrentJwkSet().getKeyByKeyId("456") != null);
+    Exchange accepted = validate(token);
+
+    // Assert
+    assertThat(rejected.getException()).hasMessageContaining("Token validation failed");
+    assertThat(accepted.getException()).isNull();
+    assertThat(accepted.getProperty("jwt.validated", Boolean.class)).isTrue();
+    assertThat(idp.hits()).isEqualTo(hits + 1);
   }
 
-  @Override
-  public String getConfigProfile() {
-    return "test";
+  private Exchange validate(String token) {
+    Exchange exchange = ExchangeBuilder.anExchange(camelContext).build();
+    exchange.getIn().setHeader("Authorization", "Bearer " + token);
+    return producerTemplate.send("direct:validateJWT", exchange);
+  }
+
+  private String sign(RSAKey key) throws Exception {
+    JWTClaimsSet claims = new JWTClaimsSet.Builder()
+        .subject("user123")
+        .issuer("test-issuer")
+        .audience("test-audience")
+        .expirationTime(new Date(System.currentTimeMillis() + 60000))
+        .build();
+
+    SignedJWT signedJwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+    signedJwt.sign(new RSASSASigner(key));
+    return signedJwt.serialize();
+  }
+
+  private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TIMEOUT;
+    while (!condition.getAsBoolean()) {
+      assertThat(System.currentTimeMillis()).as("condition not met within %d ms", TIMEOUT).isLessThan(deadline);
+      Thread.sleep(20);
+    }
+  }
+
+  /**
+   * Points the JWKS url to the stub and shortens the refresh intervals.
+   */
+  public static class Profile implements QuarkusTestProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return Map.of(
+          "camelbee.security.jwks-url", "localhost:" + IDP_PORT + JwksStubServer.PATH,
+          "camelbee.security.jwks-cache-duration", "3000",
+          "camelbee.security.jwks-refresh-check-interval", "100",
+          "camelbee.security.jwks-min-refresh-interval", "1000");
+    }
   }
 
 }
@@ -0,0 +1,118 @@
+package org.camelbee.security.routes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import java.util.Date;
+import java.util.Map;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.ExchangeBuilder;
+import org.camelbee.security.routes.cache.JwksCache;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/**
+ * Tests the JWT validation while no JWKS is cached yet, the background refresh is held back so the
+ * request path has to load the JWKS itself.
+ */
+@QuarkusTest
+@TestProfile(JwksColdStartTest.Profile.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class JwksColdStartTest {
+
+  private static final int IDP_PORT = 18090;
+
+  private RSAKey rsaKey;
+
+  private JwksStubServer idp;
+
+  @Inject
+  ProducerTemplate producerTemplate;
+
+  @Inject
+  JwksCache jwksCache;
+
+  @Inject
+  CamelContext camelContext;
+
+  @BeforeAll
+  void startIdp() throws Exception {
+    rsaKey = new RSAKeyGenerator(2048).keyID("123").generate();
+    idp = new JwksStubServer(IDP_PORT, new JWKSet(rsaKey.toPublicJWK()));
+  }
+
+  @AfterAll
+  void stopIdp() {
+    idp.stop();
+  }
+
+  @Test
+  void shouldKeepTheMessageOfTheCallerWhenLoadingTheJwks() throws Exception {
+    // Arrange
+    assertThat(jwksCache.hasValidCache()).isFalse();
+    int hits = idp.hits();
+    Exchange exchange = ExchangeBuilder.anExchange(camelContext)
+        .withBody("{\"orderId\":42}")
+        .withHeader("Authorization", "Bearer " + sign())
+        .withHeader(Exchange.CONTENT_TYPE, "application/json")
+        .withHeader(Exchange.HTTP_METHOD, "POST")
+        .withHeader(Exchange.HTTP_PATH, "/orders")
+        .build();
+
+    // Act
+    Exchange response = producerTemplate.send("direct:validateJWT", exchange);
+
+    // Assert
+    assertThat(response.getException()).isNull();
+    assertThat(response.getProperty("jwt.validated", Boolean.class)).isTrue();
+    assertThat(response.getMessage().getBody(String.class)).isEqualTo("{\"orderId\":42}");
+    assertThat(response.getMessage().getHeader(Exchange.CONTENT_TYPE)).isEqualTo("application/json");
+    assertThat(response.getMessage().getHeader(Exchange.HTTP_METHOD)).isEqualTo("POST");
+    assertThat(response.getMessage().getHeader(Exchange.HTTP_PATH)).isEqualTo("/orders");
+    assertThat(response.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE)).isNull();
+    assertThat(jwksCache.hasValidCache()).isTrue();
+    assertThat(idp.hits()).isEqualTo(hits + 1);
+  }
+
+  private String sign() throws Exception {
+    JWTClaimsSet claims = new JWTClaimsSet.Builder()
+        .subject("user123")
+        .issuer("test-issuer")
+        .audience("test-audience")
+        .expirationTime(new Date(System.currentTimeMillis() + 60000))
+        .build();
+
+    SignedJWT signedJwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(rsaKey.getKeyID()).build(), claims);
+    signedJwt.sign(new RSASSASigner(rsaKey));
+    return signedJwt.serialize();
+  }
+
+  /**
+   * Points the JWKS url to the stub and holds back the background refresh.
+   */
+  public static class Profile implements QuarkusTestProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return Map.of(
+          "camelbee.security.jwks-url", "localhost:" + IDP_PORT + JwksStubServer.PATH,
+          "camelbee.security.jwks-refresh-initial-delay", "3600000");
+    }
+  }
+
+}
@@ -0,0 +1,122 @@
+package org.camelbee.security.routes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.quarkus.test.junit.QuarkusTest;
+import io.quarkus.test.junit.QuarkusTestProfile;
+import io.quarkus.test.junit.TestProfile;
+import jakarta.inject.Inject;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.ExchangeBuilder;
+import org.camelbee.security.routes.cache.JwksCache;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/**
+ * Tests concurrent JWT validations while no JWKS is cached yet and the JWKS endpoint is slow,
+ * the background refresh is held back so the requests have to load the JWKS themselves.
+ */
+@QuarkusTest
+@TestProfile(JwksConcurrentColdStartTest.Profile.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class JwksConcurrentColdStartTest {
+
+  private static final int IDP_PORT = 18091;
+
+  private RSAKey rsaKey;
+
+  private JwksStubServer idp;
+
+  @Inject
+  ProducerTemplate producerTemplate;
+
+  @Inject
+  JwksCache jwksCache;
+
+  @Inject
+  CamelContext camelContext;
+
+  @BeforeAll
+  void startIdp() throws Exception {
+    rsaKey = new RSAKeyGenerator(2048).keyID("123").generate();
+    idp = new JwksStubServer(IDP_PORT, new JWKSet(rsaKey.toPublicJWK()));
+  }
+
+  @AfterAll
+  void stopIdp() {
+    idp.stop();
+  }
+
+  @Test
+  void shouldLetConcurrentRequestsWaitForTheInitialLoad() throws Exception {
+    // Arrange
+    assertThat(jwksCache.hasValidCache()).isFalse();
+    int hits = idp.hits();
+    idp.setDelayMillis(500);
+    String token = sign();
+
+    // Act
+    List<CompletableFuture<Exchange>> requests = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      requests.add(CompletableFuture.supplyAsync(() -> {
+        Exchange exchange = ExchangeBuilder.anExchange(camelContext)
+            .withHeader("Authorization", "Bearer " + token)
+            .build();
+        return producerTemplate.send("direct:validateJWT", exchange);
+      }));
+    }
+    CompletableFuture.allOf(requests.toArray(new CompletableFuture[0])).get();
+
+    // Assert
+    assertThat(requests).allSatisfy(request -> {
+      Exchange response = request.get();
+      assertThat(response.getException()).isNull();
+      assertThat(response.getProperty("jwt.validated", Boolean.class)).isTrue();
+    });
+    assertThat(idp.hits()).isEqualTo(hits + 1);
+  }
+
+  private String sign() throws Exception {
+    JWTClaimsSet claims = new JWTClaimsSet.Builder()
+        .subject("user123")
+        .issuer("test-issuer")
+        .audience("test-audience")
+        .expirationTime(new Date(System.currentTimeMillis() + 60000))
+        .build();
+
+    SignedJWT signedJwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(rsaKey.getKeyID()).build(), claims);
+    signedJwt.sign(new RSASSASigner(rsaKey));
+    return signedJwt.serialize();
+  }
+
+  /**
+   * Points the JWKS url to the stub and holds back the background refresh.
+   */
+  public static class Profile implements QuarkusTestProfile {
+
+    @Override
+    public Map<String, String> getConfigOverrides() {
+      return Map.of(
+          "camelbee.security.jwks-url", "localhost:" + IDP_PORT + JwksStubServer.PATH,
+          "camelbee.security.jwks-refresh-initial-delay", "3600000");
+    }
+  }
+
+}
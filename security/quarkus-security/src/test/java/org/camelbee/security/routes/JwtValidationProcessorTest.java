@@ -0,0 +1,151 @@
+package org.camelbee.security.routes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import io.quarkus.test.junit.QuarkusTest;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import java.util.Date;
+import java.util.List;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.ExchangeBuilder;
+import org.apache.camel.builder.RouteBuilder;
+import org.camelbee.security.routes.cache.JwksCache;
+import org.camelbee.security.routes.metrics.SecurityMetrics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+/**
+ * Tests the JWT validation processor attached to a route of the application.
+ */
+@QuarkusTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class JwtValidationProcessorTest {
+
+  @Inject
+  ProducerTemplate producerTemplate;
+
+  @Inject
+  JwksCache jwksCache;
+
+  @Inject
+  CamelContext camelContext;
+
+  @Inject
+  SecurityMetrics securityMetrics;
+
+  private String validToken;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    RSAKey rsaKey = new RSAKeyGenerator(2048).keyID("123").generate();
+    jwksCache.updateCache(new JWKSet(rsaKey.toPublicJWK()));
+
+    JWTClaimsSet claims = new JWTClaimsSet.Builder()
+        .subject("user123")
+        .issuer("test-issuer")
+        .audience("test-audience")
+        .expirationTime(new Date(System.currentTimeMillis() + 60000))
+        .claim("scope", "read write")
+        .claim("roles", List.of("admin", "editor"))
+        .build();
+
+    SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(rsaKey.getKeyID()).build(), claims);
+    jwt.sign(new RSASSASigner(rsaKey));
+    validToken = jwt.serialize();
+  }
+
+  @Test
+  void shouldValidateInPlaceWithoutTouchingTheMessage() {
+    // Arrange
+    Exchange exchange = ExchangeBuilder.anExchange(camelContext)
+        .withBody("{\"name\":\"musician\"}")
+        .withHeader("Authorization", "Bearer " + validToken)
+        .withHeader(Exchange.CONTENT_TYPE, "application/json")
+        .build();
+
+    // Act
+    Exchange response = producerTemplate.send("direct:securedEndpoint", exchange);
+
+    // Assert
+    assertThat(response.getException()).isNull();
+    assertThat(response.getMessage().getBody(String.class)).isEqualTo("{\"name\":\"musician\"}");
+    assertThat(response.getMessage().getHeader(Exchange.CONTENT_TYPE)).isEqualTo("application/json");
+    assertThat(response.getProperty("jwt.validated", Boolean.class)).isTrue();
+    assertThat(response.getProperty("jwt.sub", String.class)).isEqualTo("user123");
+    assertThat(response.getProperty("jwt.roles", List.class)).contains("admin", "editor");
+    assertThat(response.getProperty("jwt.scopes", List.class)).contains("read", "write");
+    assertThat(response.getProperty("jwkSet")).isNull();
+  }
+
+  @Test
+  void shouldRejectAMissingAuthorizationHeader() {
+    // Arrange
+    Exchange exchange = ExchangeBuilder.anExchange(camelContext).withBody("body").build();
+
+    // Act
+    Exchange response = producerTemplate.send("direct:securedEndpoint", exchange);
+
+    // Assert
+    assertThat(response.getException()).hasMessageContaining("Authorization header is missing");
+    assertThat(response.getProperty("jwt.validated")).isNull();
+  }
+
+  @Test
+  void shouldRejectAnInvalidToken() {
+    // Arrange
+    Exchange exchange = ExchangeBuilder.anExchange(camelContext)
+        .withHeader("Authorization", "Bearer invalid.token.here")
+        .build();
+
+    // Act
+    Exchange response = producerTemplate.send("direct:securedEndpoint", exchange);
+
+    // Assert
+    assertThat(response.getException()).hasMessageContaining("Token validation failed");
+    assertThat(response.getProperty("jwt.validated")).isNull();
+  }
+
+  @Test
+  void shouldRecordTheOutcomesInTheSecurityMetrics() {
+    // Arrange
+    long successes = securityMetrics.getValidationSuccessCount() + securityMetrics.getValidationCacheHitCount();
+    long failures = securityMetrics.getErrorCount("ERROR-AUTH007");
+    long latencies = securityMetrics.getValidationLatency().getCount();
+
+    // Act
+    producerTemplate.send("direct:securedEndpoint", ExchangeBuilder.anExchange(camelContext).withHeader("Authorization", "Bearer " + validToken).build());
+    producerTemplate.send("direct:securedEndpoint", ExchangeBuilder.anExchange(camelContext).withHeader("Authorization", "Bearer invalid.token.here").build());
+
+    // Assert
+    assertThat(securityMetrics.getValidationSuccessCount() + securityMetrics.getValidationCacheHitCount())
+        .isEqualTo(successes + 1);
+    assertThat(securityMetrics.getErrorCount("ERROR-AUTH007")).isEqualTo(failures + 1);
+    assertThat(securityMetrics.getValidationLatency().getCount()).isEqualTo(latencies + 2);
+  }
+
+  /**
+   * Application route secured by the processor.
+   */
+  @ApplicationScoped
+  static class SecuredRoute extends RouteBuilder {
+
+    @Override
+    public void configure() {
+      from("direct:securedEndpoint")
+          .errorHandler(noErrorHandler())
+          .process("jwtValidationProcessor");
+    }
+  }
+}
@@ -0,0 +1,150 @@
+package org.camelbee.security.routes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import java.util.Date;
+import java.util.List;
+import org.camelbee.security.routes.authorization.ClaimValues;
+import org.camelbee.security.routes.cache.JwksVersion;
+import org.camelbee.security.routes.cache.VerifiedTokenCache;
+import org.camelbee.security.routes.cache.VerifiedTokenCache.VerifiedToken;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class VerifiedTokenCacheTest {
+
+  private static final long MAX_AGE = 60000;
+
+  private static final ClaimValues NONE = ClaimValues.of(List.of());
+
+  private JwksVersion jwksVersion;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    jwksVersion = new JwksVersion(new JWKSet(new RSAKeyGenerator(2048).keyID("123").generate().toPublicJWK()),
+        JWSAlgorithm.RS256);
+  }
+
+  @Test
+  void shouldReturnACachedToken() {
+    // Arrange
+    VerifiedTokenCache cache = new VerifiedTokenCache(true, 10, MAX_AGE, 0);
+    JWTClaimsSet claims = claimsExpiringIn(MAX_AGE);
+    cache.put("token", jwksVersion, claims, ClaimValues.of(List.of("admin")), ClaimValues.of(List.of("read")));
+
+    // Act
+    VerifiedToken verifiedToken = cache.get("token", jwksVersion);
+
+    // Assert
+    assertThat(verifiedToken).isNotNull();
+    assertThat(verifiedToken.claims()).isSameAs(claims);
+    assertThat(verifiedToken.roles()).containsExactly("admin");
+    assertThat(verifiedToken.scopes()).containsExactly("read");
+    assertThat(cache.get("other-token", jwksVersion)).isNull();
+  }
+
+  @Test
+  void shouldReturnTheClaimValuesOfACachedToken() {
+    // Arrange
+    VerifiedTokenCache cache = new VerifiedTokenCache(true, 10, MAX_AGE, 0);
+    ClaimValues roles = ClaimValues.of(List.of("admin", "editor"));
+    ClaimValues scopes = ClaimValues.of(List.of("read"));
+    cache.put("token", jwksVersion, claimsExpiringIn(MAX_AGE), roles, scopes);
+
+    // Act
+    VerifiedToken verifiedToken = cache.get("token", jwksVersion);
+
+    // Assert
+    assertThat(verifiedToken.roles()).isSameAs(roles);
+    assertThat(verifiedToken.scopes()).isSameAs(scopes);
+    assertThat(verifiedToken.roles().contains("editor")).isTrue();
+  }
+
+  @Test
+  void shouldNotCacheWhenDisabled() {
+    // Arrange
+    VerifiedTokenCache cache = new VerifiedTokenCache(false, 10, MAX_AGE, 0);
+    cache.put("token", jwksVersion, claimsExpiringIn(MAX_AGE), NONE, NONE);
+
+    // Act & Assert
+    assertThat(cache.get("token", jwksVersion)).isNull();
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void shouldExpireAtTheExpirationTimeOfTheToken() {
+    // Arrange
+    VerifiedTokenCache cache = new VerifiedTokenCache(true, 10, MAX_AGE, 0);
+    cache.put("token", jwksVersion, claimsExpiringIn(-1000), NONE, NONE);
+
+    // Act & Assert
+    assertThat(cache.get("token", jwksVersion)).isNull();
+    assertThat(cache.size()).isZero();
+  }
+
+  @Test
+  void shouldKeepAnExpiredTokenWithinTheClockSkew() {
+    // Arrange
+    VerifiedTokenCache cache = new VerifiedTokenCache(true, 10, MAX_AGE, 30);
+    cache.put("token", jwksVersion, claimsExpiringIn(-1000), NONE, NONE);
+
+    // Act & Assert
+    assertThat(cache.get("token", jwksVersion)).isNotNull();
+  }
+
+  @Test
+  void shouldExpireAtTheMaxAge() {
+    // Arrange
+    VerifiedTokenCache cache = new VerifiedTokenCache(true, 10, 0, 0);
+    cache.put("token", jwksVersion, claimsExpiringIn(MAX_AGE), NONE, NONE);
+
+    // Act & Assert
+    assertThat(cache.get("token", jwksVersion)).isNull();
+  }
+
+  @Test
+  void shouldEvictTheLeastRecentlyUsedToken() {
+    // Arrange
+    VerifiedTokenCache cache = new VerifiedTokenCache(true, 2, MAX_AGE, 0);
+    cache.put("first", jwksVersion, claimsExpiringIn(MAX_AGE), NONE, NONE);
+    cache.put("second", jwksVersion, claimsExpiringIn(MAX_AGE), NONE, NONE);
+    cache.get("first", jwksVersion);
+
+    // Act
+    cache.put("third", jwksVersion, claimsExpiringIn(MAX_AGE), NONE, NONE);
+
+    // Assert
+    assertThat(cache.size()).isEqualTo(2);
+    assertThat(cache.get("first", jwksVersion)).isNotNull();
+    assertThat(cache.get("second", jwksVersion)).isNull();
+    assertThat(cache.get("third", jwksVersion)).isNotNull();
+  }
+
+  @Test
+  void shouldBeInvalidatedOnJwksRotation() throws Exception {
+    // Arrange
+    VerifiedTokenCache cache = new VerifiedTokenCache(true, 10, MAX_AGE, 0);
+    cache.put("token", jwksVersion, claimsExpiringIn(MAX_AGE), NONE, NONE);
+    JwksVersion rotatedVersion = new JwksVersion(
+        new JWKSet(new RSAKeyGenerator(2048).keyID("456").generate().toPublicJWK()), JWSAlgorithm.RS256);
+
+    // Act
+    VerifiedToken verifiedToken = cache.get("token", rotatedVersion);
+
+    // Assert
+    assertThat(verifiedToken).isNull();
+    assertThat(cache.size()).isZero();
+  }
+
+  private JWTClaimsSet claimsExpiringIn(long millis) {
+    return new JWTClaimsSet.Builder()
+        .subject("user123")
+        .expirationTime(new Date(System.currentTimeMillis() + millis))
+        .build();
+  }
+
+}
@@ -0,0 +1,128 @@
+package org.camelbee.security.routes.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with fixed bucket bounds, recording costs one bucket search and two adds.
+ * The percentiles are estimated as the upper bound of the bucket the percentile falls into.
+ */
+public final class LatencyHistogram {
+
+  /** Upper bounds of the buckets in microseconds, the last bucket is unbounded. */
+  private static final long[] UPPER_BOUNDS_MICROS = {
+      50, 100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000, 250_000, 500_000, 1_000_000,
+      2_500_000, 5_000_000, 10_000_000, Long.MAX_VALUE
+  };
+
+  private final LongAdder[] counts = new LongAdder[UPPER_BOUNDS_MICROS.length];
+
+  private final LongAdder totalNanos = new LongAdder();
+
+  /**
+   * Constructor.
+   */
+  public LatencyHistogram() {
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = new LongAdder();
+    }
+  }
+
+  /**
+   * Records a latency.
+   *
+   * @param nanos The latency in nanoseconds.
+   */
+  public void record(long nanos) {
+    final long micros = TimeUnit.NANOSECONDS.toMicros(Math.max(0, nanos));
+    int bucket = 0;
+    while (micros > UPPER_BOUNDS_MICROS[bucket]) {
+      bucket++;
+    }
+    counts[bucket].increment();
+    totalNanos.add(nanos);
+  }
+
+  /**
+   * Returns the number of recorded latencies.
+   *
+   * @return The count.
+   */
+  public long getCount() {
+    long count = 0;
+    for (LongAdder bucketCount : counts) {
+      count += bucketCount.sum();
+    }
+    return count;
+  }
+
+  public long getTotalNanos() {
+    return totalNanos.sum();
+  }
+
+  /**
+   * Estimates a percentile.
+   *
+   * @param percentile The percentile between 0 and 1.
+   * @return The upper bound of the bucket of the percentile in microseconds, 0 if nothing is recorded.
+   */
+  public long getPercentileMicros(double percentile) {
+    return percentile(sums(), getCount(), percentile);
+  }
+
+  /**
+   * Takes a snapshot of the histogram.
+   *
+   * @return The snapshot.
+   */
+  public Snapshot snapshot() {
+    final long[] bucketCounts = sums();
+    long count = 0;
+    for (long bucketCount : bucketCounts) {
+      count += bucketCount;
+    }
+    final long[] upperBounds = new long[UPPER_BOUNDS_MICROS.length - 1];
+    System.arraycopy(UPPER_BOUNDS_MICROS, 0, upperBounds, 0, upperBounds.length);
+
+    return new Snapshot(count, TimeUnit.NANOSECONDS.toMicros(totalNanos.sum()), percentile(bucketCounts, count, 0.5),
+        percentile(bucketCounts, count, 0.95), percentile(bucketCounts, count, 0.99), upperBounds, bucketCounts);
+  }
+
+  private long[] sums() {
+    final long[] sums = new long[counts.length];
+    for (int i = 0; i < counts.length; i++) {
+      sums[i] = counts[i].sum();
+    }
+    return sums;
+  }
+
+  private static long percentile(long[] bucketCounts, long count, double percentile) {
+    if (count == 0) {
+      return 0;
+    }
+    final long rank = (long) Math.ceil(percentile * count);
+    long seen = 0;
+    for (int i = 0; i < bucketCounts.length - 1; i++) {
+      seen += bucketCounts[i];
+      if (seen >= rank) {
+        return UPPER_BOUNDS_MICROS[i];
+      }
+    }
+    return UPPER_BOUNDS_MICROS[UPPER_BOUNDS_MICROS.length - 2];
+  }
+
+  /**
+   * Snapshot of the histogram.
+   *
+   * @param count             The number of recorded latencies.
+   * @param totalMicros       The sum of the recorded latencies in microseconds.
+   * @param p50Micros         The estimated median in microseconds.
+   * @param p95Micros         The estimated 95th percentile in microseconds.
+   * @param p99Micros         The estimated 99th percentile in microseconds.
+   * @param upperBoundsMicros The upper bounds of the buckets in microseconds, the last bucket is unbounded.
+   * @param bucketCounts      The number of latencies per bucket, one more than the upper bounds.
+   */
+  public record Snapshot(long count, long totalMicros, long p50Micros, long p95Micros, long p99Micros,
+                         long[] upperBoundsMicros, long[] bucketCounts) {
+  }
+}
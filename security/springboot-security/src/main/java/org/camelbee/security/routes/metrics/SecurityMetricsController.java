@@ -0,0 +1,31 @@
+package org.camelbee.security.routes.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * SecurityMetricsController exposes the security metrics next to the other CamelBee metrics.
+ */
+@RestController
+@CrossOrigin(origins = {"https://www.camelbee.io", "http://localhost:8083"})
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = {"camelbee.security.enabled", "camelbee.context-enabled"}, havingValue = "true")
+public class SecurityMetricsController {
+
+  private final SecurityMetrics securityMetrics;
+
+  /**
+   * Returns the JWT validation counters and latencies and the JWKS refresh metrics.
+   *
+   * @return SecurityMetrics.Snapshot The snapshot.
+   */
+  @GetMapping(value = "/camelbee/metrics/security", produces = "application/json")
+  public ResponseEntity<SecurityMetrics.Snapshot> getSecurityMetrics() {
+    return ResponseEntity.ok(securityMetrics.snapshot());
+  }
+
+}
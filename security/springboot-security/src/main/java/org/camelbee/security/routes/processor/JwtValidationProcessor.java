@@ -0,0 +1,332 @@
+package org.camelbee.security.routes.processor;
+
+import com.nimbusds.jose.JWSObject;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jwt.JWTClaimsSet;
+import java.text.ParseException;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.ProducerTemplate;
+import org.camelbee.security.routes.authorization.ClaimPath;
+import org.camelbee.security.routes.authorization.ClaimValues;
+import org.camelbee.security.routes.cache.JwksCache;
+import org.camelbee.security.routes.cache.JwksVersion;
+import org.camelbee.security.routes.cache.VerifiedTokenCache;
+import org.camelbee.security.routes.cache.VerifiedTokenCache.VerifiedToken;
+import org.camelbee.security.routes.config.SecurityProperties;
+import org.camelbee.security.routes.exception.AuthenticationFailedException;
+import org.camelbee.security.routes.exception.InvalidTokenException;
+import org.camelbee.security.routes.exception.TokenExpiredException;
+import org.camelbee.security.routes.exception.TokenValidationException;
+import org.camelbee.security.routes.metrics.SecurityMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Processor for in-place JWT validation.
+ * Validates the JWT of the Authorization header against the cached JWKS and stores the claims, roles and scopes
+ * in exchange properties, the message body and headers are not touched. Being a bean named jwtValidationProcessor
+ * it can be added to any route, e.g. the route behind a REST DSL operation, with process("jwtValidationProcessor").
+ */
+@Component
+@Slf4j
+@ConditionalOnProperty(value = "camelbee.security.enabled", havingValue = "true")
+public class JwtValidationProcessor implements Processor {
+
+  /**
+   * Security configuration properties.
+   */
+  private final SecurityProperties securityProperties;
+
+  /**
+   * Cache of the JWKS and the JWT processor of its current version.
+   */
+  private final JwksCache jwksCache;
+
+  /**
+   * Optional cache of the already verified tokens.
+   */
+  private final VerifiedTokenCache verifiedTokenCache;
+
+  /**
+   * Producer template for the initial JWKS fetch.
+   */
+  private final ProducerTemplate producerTemplate;
+
+  /**
+   * Counters and latencies of the validations.
+   */
+  private final SecurityMetrics securityMetrics;
+
+  /**
+   * The role claim paths, parsed once.
+   */
+  private final List<ClaimPath> roleClaimPaths;
+
+  /**
+   * The scope claim paths, parsed once.
+   */
+  private final List<ClaimPath> scopeClaimPaths;
+
+  /**
+   * Constructor.
+   *
+   * @param securityProperties The securityProperties.
+   * @param jwksCache          The jwksCache.
+   * @param verifiedTokenCache The verifiedTokenCache.
+   * @param producerTemplate   The producerTemplate.
+   * @param securityMetrics    The securityMetrics.
+   */
+  public JwtValidationProcessor(SecurityProperties securityProperties, JwksCache jwksCache,
+      VerifiedTokenCache verifiedTokenCache, ProducerTemplate producerTemplate, SecurityMetrics securityMetrics) {
+    this.securityProperties = securityProperties;
+    this.jwksCache = jwksCache;
+    this.verifiedTokenCache = verifiedTokenCache;
+    this.producerTemplate = producerTemplate;
+    this.securityMetrics = securityMetrics;
+    this.roleClaimPaths = ClaimPath.parseAll(securityProperties.getRoleClaims());
+    this.scopeClaimPaths = ClaimPath.parseAll(securityProperties.getScopeClaims());
+  }
+
+  /**
+   * Validates the JWT against the cached JWKS.
+   * The JWKS is fetched synchronously only if the cache has not been loaded yet, concurrent requests wait for that fetch.
+   *
+   * @param exchange the Camel exchange
+   */
+  @Override
+  public void process(Exchange exchange) {
+    validate(exchange, jwksCache.loadJwkSet(() -> producerTemplate.sendBody("direct:refreshJWKS", null)));
+  }
+
+  /**
+   * Validates the JWT against the given JWKS and stores the claims, roles and scopes in exchange properties.
+   *
+   * @param exchange the Camel exchange
+   * @param jwkSet   the JWKS the token is validated with
+   * @throws InvalidTokenException         if the Authorization header is missing or malformed
+   * @throws AuthenticationFailedException if the JWKS is not available
+   * @throws TokenValidationException      if the token fails validation
+   */
+  public void validate(Exchange exchange, JWKSet jwkSet) {
+    final long start = System.nanoTime();
+    try {
+      boolean cached = validateToken(exchange, jwkSet);
+      securityMetrics.recordValidation(System.nanoTime() - start, cached);
+    } catch (RuntimeException e) {
+      securityMetrics.recordValidationFailure(System.nanoTime() - start, e);
+      throw e;
+    }
+  }
+
+  /**
+   * Validates the JWT and stores the claims, roles and scopes in exchange properties.
+   *
+   * @param exchange the Camel exchange
+   * @param jwkSet   the JWKS the token is validated with
+   * @return true if the token was found in the verified token cache, false otherwise
+   */
+  private boolean validateToken(Exchange exchange, JWKSet jwkSet) {
+    String token = extractToken(exchange);
+    if (jwkSet == null) {
+      throw new AuthenticationFailedException("ERROR-AUTH002", "JWKS not available");
+    }
+
+    // Validate token with the processor of the JWKS version
+    JwksVersion jwksVersion = jwksCache.getVersion(jwkSet);
+
+    JWTClaimsSet claims;
+    ClaimValues roles;
+    ClaimValues scopes;
+
+    VerifiedToken verifiedToken = verifiedTokenCache.get(token, jwksVersion);
+    if (verifiedToken != null) {
+      claims = verifiedToken.claims();
+      roles = verifiedToken.roles();
+      scopes = verifiedToken.scopes();
+    } else {
+      try {
+        claims = jwksVersion.process(token);
+      } catch (Exception e) {
+        requestRefreshOnUnknownKid(token, jwksVersion);
+        throw new TokenValidationException("ERROR-AUTH007", "Token validation failed", e);
+      }
+
+      validateClaims(claims);
+
+      // Extract roles and scopes
+      roles = extractRoles(claims);
+      scopes = extractScopes(claims);
+
+      verifiedTokenCache.put(token, jwksVersion, claims, roles, scopes);
+    }
+
+    // Store claims
+    exchange.setProperty("jwt.claims", claims);
+    exchange.setProperty("jwt.iss", claims.getIssuer());
+    exchange.setProperty("jwt.sub", claims.getSubject());
+    exchange.setProperty("jwt.exp", claims.getExpirationTime());
+    exchange.setProperty("jwt.iat", claims.getIssueTime());
+    exchange.setProperty("jwt.nbf", claims.getNotBeforeTime());
+    exchange.setProperty("jwt.jti", claims.getJWTID());
+
+    exchange.setProperty("jwt.roles", roles);
+    exchange.setProperty("jwt.scopes", scopes);
+    exchange.setProperty("jwt.validated", true);
+
+    log.debug("JWT validated successfully. Subject: {}, Roles: {}, Scopes: {}",
+        claims.getSubject(), roles, scopes);
+
+    return verifiedToken != null;
+  }
+
+  /**
+   * Extracts the JWT token from the Authorization header.
+   *
+   * @param exchange the Camel exchange
+   * @return the extracted JWT token
+   * @throws InvalidTokenException if the Authorization header is missing or malformed
+   */
+  private String extractToken(Exchange exchange) {
+    String token = exchange.getIn().getHeader("Authorization", String.class);
+    if (token == null) {
+      throw new InvalidTokenException("ERROR-AUTH001", "Authorization header is missing");
+    }
+    if (!token.startsWith("Bearer ")) {
+      throw new InvalidTokenException("ERROR-AUTH001", "Authorization header is malformed");
+    }
+    return token.substring(7);
+  }
+
+  /**
+   * Requests a JWKS refresh when the token is signed with a key id which is not in the JWKS version,
+   * the signing keys may have been rotated. The refresh runs in the background and is rate limited by the cache.
+   *
+   * @param token       the JWT token
+   * @param jwksVersion the JWKS version the token was validated with
+   */
+  private void requestRefreshOnUnknownKid(String token, JwksVersion jwksVersion) {
+    try {
+      String kid = JWSObject.parse(token).getHeader().getKeyID();
+      if (kid != null && !jwksVersion.hasKey(kid)) {
+        log.debug("Unknown key id {}, requesting a JWKS refresh", kid);
+        jwksCache.requestRefresh();
+      }
+    } catch (ParseException e) {
+      log.debug("Could not read the key id of the token: {}", e.getMessage());
+    }
+  }
+
+  /**
+   * Validates the JWT claims against configured expectations.
+   *
+   * @param claims the JWT claims set to validate
+   * @throws TokenValidationException if the token fails validation
+   * @throws TokenExpiredException    if the token has expired
+   */
+  private void validateClaims(JWTClaimsSet claims) {
+    long now = System.currentTimeMillis();
+    long skewMillis = securityProperties.getClockSkew() * 1000L;
+
+    // Validate issuer
+    if (!securityProperties.getIssuer().equals(claims.getIssuer())) {
+      throw new TokenValidationException("ERROR-AUTH003", "Invalid token issuer");
+    }
+
+    // Validate audience
+    List<String> audience = claims.getAudience();
+    if (audience == null || audience.isEmpty() || !securityProperties.getAudience().equals(audience.getFirst())) {
+      throw new TokenValidationException("ERROR-AUTH004", "Invalid token audience");
+    }
+
+    // Validate expiration with skew
+    Date exp = claims.getExpirationTime();
+    if (exp != null && now > (exp.getTime() + skewMillis)) {
+      throw new TokenExpiredException("ERROR-AUTH005", "Token has expired");
+    }
+
+    // Validate not-before with skew
+    Date nbf = claims.getNotBeforeTime();
+    if (nbf != null && now < (nbf.getTime() - skewMillis)) {
+      throw new TokenValidationException("ERROR-AUTH006", "Token not yet valid");
+    }
+  }
+
+  /**
+   * Extracts role information from JWT claims based on configured claim paths.
+   *
+   * @param claims the JWT claims set
+   * @return list of extracted roles with constant-time lookups
+   */
+  private ClaimValues extractRoles(JWTClaimsSet claims) {
+    Map<String, Object> allClaims = claims.getClaims();
+    Set<String> roles = new HashSet<>();
+
+    log.debug("Extracting roles from claims with paths: {}", roleClaimPaths);
+
+    for (ClaimPath path : roleClaimPaths) {
+      Object value = path.resolve(allClaims);
+
+      if (value != null) {
+        log.debug("Found value for role path '{}': {}", path, value);
+
+        if (value instanceof List<?>) {
+          for (Object item : (List<?>) value) {
+            roles.add(String.valueOf(item));
+          }
+        } else if (value instanceof String) {
+          roles.addAll(Arrays.asList(((String) value).split(" ")));
+        } else if (value instanceof Map<?, ?> map) {
+          Object nested = map.get("roles");
+          if (nested instanceof List<?>) {
+            for (Object r : (List<?>) nested) {
+              roles.add(String.valueOf(r));
+            }
+          }
+        }
+      }
+    }
+
+    log.debug("Extracted roles: {}", roles);
+    return ClaimValues.of(roles);
+  }
+
+  /**
+   * Extracts scope information from JWT claims based on configured claim paths.
+   *
+   * @param claims the JWT claims set
+   * @return list of extracted scopes with constant-time lookups
+   */
+  private ClaimValues extractScopes(JWTClaimsSet claims) {
+    Map<String, Object> allClaims = claims.getClaims();
+    Set<String> scopes = new HashSet<>();
+
+    log.debug("Extracting scopes from claims with paths: {}", scopeClaimPaths);
+
+    for (ClaimPath path : scopeClaimPaths) {
+      Object value = path.resolve(allClaims);
+
+      if (value != null) {
+        log.debug("Found value for scope path '{}': {}", path, value);
+
+        if (value instanceof String str) {
+          scopes.addAll(Arrays.asList(str.split(" ")));
+        } else if (value instanceof List<?>) {
+          for (Object item : (List<?>) value) {
+            scopes.add(String.valueOf(item));
+          }
+        }
+      }
+    }
+
+    log.debug("Extracted scopes: {}", scopes);
+    return ClaimValues.of(scopes);
+  }
+}
@@ -4,15 +4,19 @@ import com.nimbusds.jose.jwk.JWKSet;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.camel.Exchange;
+import org.apache.camel.LoggingLevel;
+import org.apache.camel.ProducerTemplate;
 import org.apache.camel.builder.RouteBuilder;
 import org.camelbee.security.routes.cache.JwksCache;
+import org.camelbee.security.routes.metrics.SecurityMetrics;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
 /**
  * Camel route for fetching and caching JSON Web Key Sets (JWKS).
  * This route manages the retrieval of JWKS from a configured endpoint and handles caching
- * to optimize performance and reduce external calls.
+ * to optimize performance and reduce external calls, the JWKS is refreshed in the background
+ * so that requests do not wait for the JWKS endpoint.
  */
 @Component
 @RequiredArgsConstructor
@@ -26,8 +30,20 @@ public class FetchJwksRoute extends RouteBuilder {
   private final JwksCache jwksCache;
 
   /**
-   * Configures the JWKS fetching route.
-   * The route performs the following steps:
+   * Counters and latencies of the JWKS refreshes.
+   */
+  private final SecurityMetrics securityMetrics;
+
+  /**
+   * Producer template for the initial JWKS fetch, which runs on its own exchange.
+   */
+  private final ProducerTemplate producerTemplate;
+
+  /**
+   * Configures the JWKS routes.
+   * The request path only reads the cached JWKS, it calls the JWKS endpoint itself only while nothing is cached yet.
+   * A timer refreshes the JWKS in the background ahead of its expiry or when a refresh is requested,
+   * a failed refresh keeps the cached JWKS.
    *
    * @throws Exception if route configuration fails
    */
@@ -37,8 +53,22 @@ public class FetchJwksRoute extends RouteBuilder {
     from("direct:fetchJWKS")
         .id("jwks-retrieval")
         .errorHandler(noErrorHandler())
-        .choice()
-        .when(this::shouldRefreshJwks)
+        // the initial fetch runs on its own exchange, the message of the caller is not touched
+        .process(exchange -> exchange.setProperty("jwkSet",
+            jwksCache.loadJwkSet(() -> producerTemplate.sendBody("direct:refreshJWKS", null))));
+
+    // background JWKS refresh route
+    from("timer:camelbee-jwks-refresh?delay={{camelbee.security.jwks-refresh-initial-delay:0}}&period={{camelbee.security.jwks-refresh-check-interval:1000}}")
+        .id("jwks-scheduled-refresh")
+        .filter(exchange -> jwksCache.shouldRefresh())
+        .to("direct:refreshJWKS");
+
+    // single-flight JWKS refresh route
+    from("direct:refreshJWKS")
+        .id("jwks-refresh")
+        .errorHandler(noErrorHandler())
+        .filter(exchange -> jwksCache.tryStartRefresh())
+        .doTry()
         .removeHeader(Exchange.HTTP_PATH)
         .removeHeader(Exchange.HTTP_URL)
         .setHeader(Exchange.HTTP_METHOD, constant("GET"))
@@ -47,23 +77,14 @@ public class FetchJwksRoute extends RouteBuilder {
           String jwksJson = exchange.getIn().getBody(String.class);
           JWKSet jwkSet = JWKSet.parse(jwksJson);
           jwksCache.updateCache(jwkSet);
-          exchange.setProperty("jwkSet", jwkSet);
+          securityMetrics.recordJwksRefresh(jwksCache.getRefreshElapsedNanos(), true);
         })
-        .endChoice()
+        .doCatch(Exception.class)
+        .process(exchange -> securityMetrics.recordJwksRefresh(jwksCache.getRefreshElapsedNanos(), false))
+        .log(LoggingLevel.WARN, "Could not refresh the JWKS, the cached JWKS is kept: ${exception.message}")
+        .doFinally()
+        .process(exchange -> jwksCache.finishRefresh())
+        .end()
         .end();
   }
-
-  /**
-   * Determines if JWKS should be refreshed based on cache state.
-   * If valid cache exists, sets the cached JWKS in the exchange property.
-   *
-   * @param exchange The Camel exchange
-   * @return true if JWKS should be refreshed, false otherwise
-   */
-  private boolean shouldRefreshJwks(final Exchange exchange) {
-    if (jwksCache.hasValidCache()) {
-      exchange.setProperty("jwkSet", jwksCache.getCurrentJwkSet());
-    }
-    return jwksCache.shouldRefresh();
-  }
 }
@@ -2,42 +2,59 @@ package org.camelbee.security.routes;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
 import com.nimbusds.jose.jwk.JWKSet;
 import com.nimbusds.jose.jwk.RSAKey;
 import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.BooleanSupplier;
 import org.apache.camel.CamelContext;
-import org.apache.camel.EndpointInject;
 import org.apache.camel.Exchange;
 import org.apache.camel.Produce;
 import org.apache.camel.ProducerTemplate;
-import org.apache.camel.builder.AdviceWith;
 import org.apache.camel.builder.ExchangeBuilder;
-import org.apache.camel.component.mock.MockEndpoint;
 import org.apache.camel.test.spring.junit5.CamelSpringBootTest;
-import org.apache.camel.test.spring.junit5.UseAdviceWith;
 import org.camelbee.security.routes.cache.JwksCache;
+import org.camelbee.security.routes.cache.VerifiedTokenCache;
 import org.camelbee.security.routes.config.SecurityProperties;
+import org.camelbee.security.routes.metrics.SecurityMetrics;
+import org.camelbee.security.routes.processor.JwtValidationProcessor;
 import org.camelbee.security.routes.routes.FetchJwksRoute;
 import org.camelbee.security.routes.routes.JwtValidationRoute;
-import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 
+/**
+ * Tests the background JWKS refresh against a local stub of the JWKS endpoint.
+ */
 @CamelSpringBootTest
 @EnableAutoConfiguration(exclude = {DataSourceAutoConfiguration.class})
 @SpringBootTest(
     properties = {
         "camelbee.security.enabled=true",
-        "camelbee.security.jwks-url=http://test-auth-server/.well-known/jwks.json",
         "camelbee.security.issuer=test-issuer",
         "camelbee.security.audience=test-audience",
-        "camelbee.security.jwks-cache-duration=2000",
+        "camelbee.security.jwks-cache-duration=3000",
+        "camelbee.security.jwks-refresh-check-interval=100",
+        "camelbee.security.jwks-min-refresh-interval=1000",
         "camelbee.security.role-claims=roles,resource_access.account.roles",
         "camelbee.security.scope-claims=scope,scp,scopes",
         "camelbee.security.clock-skew=30"
@@ -46,85 +63,201 @@ import org.springframework.test.annotation.DirtiesContext.ClassMode;
         JwksCache.class,
         FetchJwksRoute.class,
         JwtValidationRoute.class,
-        SecurityProperties.class
+        VerifiedTokenCache.class,
+        SecurityProperties.class,
+        JwtValidationProcessor.class,
+        SecurityMetrics.class
     }
 )
-@UseAdviceWith
 @DirtiesContext(classMode = ClassMode.AFTER_EACH_TEST_METHOD)
 class FetchJwksRouteTest {
 
+  private static final long TIMEOUT = 5000;
+
+  private static RSAKey rsaKey;
+
+  private static JwksStubServer idp;
+
   @Produce("direct:fetchJWKS")
   protected ProducerTemplate producerTemplate;
 
-  @EndpointInject("mock:jwks")
-  protected MockEndpoint mockJwksEndpoint;
-
   @Autowired
   private JwksCache jwksCache;
 
   @Autowired
   private CamelContext camelContext;
 
-  private Exchange exchange;
-  private RSAKey rsaKey;
-  private String jwksResponse;
+  @BeforeAll
+  static void startIdp() throws Exception {
+    rsaKey = new RSAKeyGenerator(2048).keyID("123").generate();
+    idp = new JwksStubServer(0, new JWKSet(rsaKey.toPublicJWK()));
+  }
+
+  @AfterAll
+  static void stopIdp() {
+    idp.stop();
+  }
 
-  @BeforeEach
-  void setUp() throws Exception {
-    rsaKey = new RSAKeyGenerator(2048)
-        .keyID("123")
-        .generate();
+  @DynamicPropertySource
+  static void jwksUrl(DynamicPropertyRegistry registry) {
+    registry.add("camelbee.security.jwks-url", idp::jwksUrl);
+  }
+
+  @AfterEach
+  void resetIdp() throws Exception {
+    idp.setJwkSet(new JWKSet(rsaKey.toPublicJWK()));
+    idp.setDelayMillis(0);
+    idp.setFailing(false);
+    awaitCondition(() -> !jwksCache.isRefreshing());
+  }
 
-    JWKSet jwkSet = new JWKSet(rsaKey.toPublicJWK());
-    jwksResponse = jwkSet.toString();
+  @Test
+  void shouldLoadTheJwksInTheBackgroundAtStartup() throws Exception {
+    // Act
+    awaitCondition(jwksCache::hasValidCache);
 
-    AdviceWith.adviceWith(camelContext, "jwks-retrieval",
-        advice -> {
-          advice.weaveById("invokeJwksUrlEnpoint")
-              .replace()
-              .to("mock:jwks");
-        });
+    // Assert
+    assertThat(jwksCache.getCurrentJwkSet().getKeys()).isNotEmpty();
+  }
 
-    exchange = ExchangeBuilder.anExchange(camelContext).build();
+  @Test
+  void shouldServeTheCachedJwksWithoutCallingTheIdp() throws Exception {
+    // Arrange
+    awaitCondition(jwksCache::hasValidCache);
+    JWKSet cachedJwks = jwksCache.getCurrentJwkSet();
+    int hits = idp.hits();
 
-    mockJwksEndpoint.whenAnyExchangeReceived(
-        e -> e.getIn().setBody(jwksResponse, String.class)
-    );
+    // Act
+    List<Exchange> responses = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      responses.add(producerTemplate.send(ExchangeBuilder.anExchange(camelContext).build()));
+    }
 
-    camelContext.start();
+    // Assert
+    assertThat(idp.hits()).isEqualTo(hits);
+    assertThat(responses).allSatisfy(response -> assertThat(response.getProperty("jwkSet")).isSameAs(cachedJwks));
   }
 
   @Test
-  @Order(1)
-  void testSuccessfulJwksFetch() throws Exception {
-    mockJwksEndpoint.expectedMessageCount(1);
-    producerTemplate.send(exchange);
-    mockJwksEndpoint.assertIsSatisfied();
+  void shouldRefreshAheadOfExpiry() throws Exception {
+    // Arrange
+    awaitCondition(jwksCache::hasValidCache);
+    JWKSet loadedJwks = jwksCache.getCurrentJwkSet();
+    long loadedAt = System.currentTimeMillis();
 
+    // Act
+    awaitCondition(() -> jwksCache.getCurrentJwkSet() != loadedJwks);
+
+    // Assert
+    assertThat(System.currentTimeMillis() - loadedAt).isLessThan(3000);
+  }
+
+  @Test
+  void shouldServeTheCachedJwksWhileTheIdpIsSlow() throws Exception {
+    // Arrange
+    awaitCondition(jwksCache::hasValidCache);
     JWKSet cachedJwks = jwksCache.getCurrentJwkSet();
-    assertThat(cachedJwks).isNotNull();
-    assertThat(cachedJwks.getKeys()).hasSize(1);
-    assertThat(cachedJwks.getKeyByKeyId("123")).isNotNull();
+    int hits = idp.hits();
+    idp.setDelayMillis(1500);
+    jwksCache.requestRefresh();
+    awaitCondition(() -> idp.hits() > hits);
+
+    // Act
+    long start = System.currentTimeMillis();
+    Exchange response = producerTemplate.send(ExchangeBuilder.anExchange(camelContext).build());
+    long elapsed = System.currentTimeMillis() - start;
+
+    // Assert
+    assertThat(elapsed).isLessThan(500);
+    assertThat(response.getProperty("jwkSet")).isSameAs(cachedJwks);
+  }
+
+  @Test
+  void shouldCallTheIdpOnceForConcurrentRefreshes() throws Exception {
+    // Arrange
+    awaitCondition(jwksCache::hasValidCache);
+    int hits = idp.hits();
+    idp.setDelayMillis(500);
+
+    // Act
+    List<CompletableFuture<Void>> refreshes = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      refreshes.add(CompletableFuture.runAsync(
+          () -> producerTemplate.send("direct:refreshJWKS", ExchangeBuilder.anExchange(camelContext).build())));
+    }
+    CompletableFuture.allOf(refreshes.toArray(new CompletableFuture[0])).get();
+
+    // Assert
+    assertThat(idp.hits()).isEqualTo(hits + 1);
   }
 
   @Test
-  @Order(2)
-  void testCacheReuse() throws Exception {
+  void shouldKeepTheCachedJwksWhenTheRefreshFails() throws Exception {
+    // Arrange
+    awaitCondition(jwksCache::hasValidCache);
+    JWKSet cachedJwks = jwksCache.getCurrentJwkSet();
+    int hits = idp.hits();
+    idp.setFailing(true);
 
-    // The JWKS cache was populated by testSuccessfulJwksFetch()
-    mockJwksEndpoint.expectedMessageCount(0);
-    producerTemplate.send(exchange);
-    mockJwksEndpoint.assertIsSatisfied();
+    // Act
+    jwksCache.requestRefresh();
+    awaitCondition(() -> idp.hits() > hits);
+    Exchange response = producerTemplate.send(ExchangeBuilder.anExchange(camelContext).build());
+
+    // Assert
+    assertThat(response.getException()).isNull();
+    assertThat(response.getProperty("jwkSet")).isSameAs(cachedJwks);
   }
 
   @Test
-  @Order(3)
-  void testCacheExpiry() throws Exception {
+  void shouldRefreshOnceOnAnUnknownKid() throws Exception {
+    // Arrange
+    awaitCondition(jwksCache::hasValidCache);
+    RSAKey rotatedKey = new RSAKeyGenerator(2048).keyID("456").generate();
+    idp.setJwkSet(new JWKSet(rotatedKey.toPublicJWK()));
+    String token = sign(rotatedKey);
+    int hits = idp.hits();
 
-    Thread.sleep(3000); // Wait just over cache duration
+    // Act
+    Exchange rejected = validate(token);
+    for (int i = 0; i < 10; i++) {
+      validate(token);
+    }
+    awaitCondition(() -> jwksCache.getCurrentJwkSet().getKeyByKeyId("456") != null);
+    Exchange accepted = validate(token);
 
-    mockJwksEndpoint.expectedMessageCount(1);
-    producerTemplate.send(exchange);
-    mockJwksEndpoint.assertIsSatisfied();
+    // Assert
+    assertThat(rejected.getException()).hasMessageContaining("Token validation failed");
+    assertThat(accepted.getException()).isNull();
+    assertThat(accepted.getProperty("jwt.validated", Boolean.class)).isTrue();
+    assertThat(idp.hits()).isEqualTo(hits + 1);
   }
+
+  private Exchange validate(String token) {
+    Exchange exchange = ExchangeBuilder.anExchange(camelContext).build();
+    exchange.getIn().setHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token);
+    return producerTemplate.send("direct:validateJWT", exchange);
+  }
+
+  private String sign(RSAKey key) throws Exception {
+    JWTClaimsSet claims = new JWTClaimsSet.Builder()
+        .subject("user123")
+        .issuer("test-issuer")
+        .audience("test-audience")
+        .expirationTime(new Date(System.currentTimeMillis() + 60000))
+        .build();
+
+    SignedJWT signedJwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(key.getKeyID()).build(), claims);
+    signedJwt.sign(new RSASSASigner(key));
+    return signedJwt.serialize();
+  }
+
+  private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.currentTimeMillis() + TIMEOUT;
+    while (!condition.getAsBoolean()) {
+      assertThat(System.currentTimeMillis()).as("condition not met within %d ms", TIMEOUT).isLessThan(deadline);
+      Thread.sleep(20);
+    }
+  }
+
 }
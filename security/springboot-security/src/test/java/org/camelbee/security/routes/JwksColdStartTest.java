@@ -0,0 +1,139 @@
+package org.camelbee.security.routes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import java.util.Date;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Produce;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.ExchangeBuilder;
+import org.apache.camel.test.spring.junit5.CamelSpringBootTest;
+import org.camelbee.security.routes.cache.JwksCache;
+import org.camelbee.security.routes.cache.VerifiedTokenCache;
+import org.camelbee.security.routes.config.SecurityProperties;
+import org.camelbee.security.routes.metrics.SecurityMetrics;
+import org.camelbee.security.routes.processor.JwtValidationProcessor;
+import org.camelbee.security.routes.routes.FetchJwksRoute;
+import org.camelbee.security.routes.routes.JwtValidationRoute;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Tests the JWT validation while no JWKS is cached yet, the background refresh is held back so the
+ * request path has to load the JWKS itself.
+ */
+@CamelSpringBootTest
+@EnableAutoConfiguration(exclude = {DataSourceAutoConfiguration.class})
+@SpringBootTest(
+    properties = {
+        "camelbee.security.enabled=true",
+        "camelbee.security.issuer=test-issuer",
+        "camelbee.security.audience=test-audience",
+        "camelbee.security.jwks-refresh-initial-delay=3600000",
+        "camelbee.security.role-claims=roles,resource_access.account.roles",
+        "camelbee.security.scope-claims=scope,scp,scopes",
+        "camelbee.security.clock-skew=30"
+    },
+    classes = {
+        JwksCache.class,
+        FetchJwksRoute.class,
+        JwtValidationRoute.class,
+        VerifiedTokenCache.class,
+        SecurityProperties.class,
+        JwtValidationProcessor.class,
+        SecurityMetrics.class
+    }
+)
+@DirtiesContext(classMode = ClassMode.AFTER_EACH_TEST_METHOD)
+class JwksColdStartTest {
+
+  private static RSAKey rsaKey;
+
+  private static JwksStubServer idp;
+
+  @Produce("direct:validateJWT")
+  protected ProducerTemplate producerTemplate;
+
+  @Autowired
+  private JwksCache jwksCache;
+
+  @Autowired
+  private CamelContext camelContext;
+
+  @BeforeAll
+  static void startIdp() throws Exception {
+    rsaKey = new RSAKeyGenerator(2048).keyID("123").generate();
+    idp = new JwksStubServer(0, new JWKSet(rsaKey.toPublicJWK()));
+  }
+
+  @AfterAll
+  static void stopIdp() {
+    idp.stop();
+  }
+
+  @DynamicPropertySource
+  static void jwksUrl(DynamicPropertyRegistry registry) {
+    registry.add("camelbee.security.jwks-url", idp::jwksUrl);
+  }
+
+  @Test
+  void shouldKeepTheMessageOfTheCallerWhenLoadingTheJwks() throws Exception {
+    // Arrange
+    assertThat(jwksCache.hasValidCache()).isFalse();
+    int hits = idp.hits();
+    Exchange exchange = ExchangeBuilder.anExchange(camelContext)
+        .withBody("{\"orderId\":42}")
+        .withHeader(HttpHeaders.AUTHORIZATION, "Bearer " + sign())
+        .withHeader(Exchange.CONTENT_TYPE, "application/json")
+        .withHeader(Exchange.HTTP_METHOD, "POST")
+        .withHeader(Exchange.HTTP_PATH, "/orders")
+        .build();
+
+    // Act
+    Exchange response = producerTemplate.send(exchange);
+
+    // Assert
+    assertThat(response.getException()).isNull();
+    assertThat(response.getProperty("jwt.validated", Boolean.class)).isTrue();
+    assertThat(response.getMessage().getBody(String.class)).isEqualTo("{\"orderId\":42}");
+    assertThat(response.getMessage().getHeader(Exchange.CONTENT_TYPE)).isEqualTo("application/json");
+    assertThat(response.getMessage().getHeader(Exchange.HTTP_METHOD)).isEqualTo("POST");
+    assertThat(response.getMessage().getHeader(Exchange.HTTP_PATH)).isEqualTo("/orders");
+    assertThat(response.getMessage().getHeader(Exchange.HTTP_RESPONSE_CODE)).isNull();
+    assertThat(jwksCache.hasValidCache()).isTrue();
+    assertThat(idp.hits()).isEqualTo(hits + 1);
+  }
+
+  private String sign() throws Exception {
+    JWTClaimsSet claims = new JWTClaimsSet.Builder()
+        .subject("user123")
+        .issuer("test-issuer")
+        .audience("test-audience")
+        .expirationTime(new Date(System.currentTimeMillis() + 60000))
+        .build();
+
+    SignedJWT signedJwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(rsaKey.getKeyID()).build(), claims);
+    signedJwt.sign(new RSASSASigner(rsaKey));
+    return signedJwt.serialize();
+  }
+
+}
@@ -0,0 +1,143 @@
+package org.camelbee.security.routes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Produce;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.ExchangeBuilder;
+import org.apache.camel.test.spring.junit5.CamelSpringBootTest;
+import org.camelbee.security.routes.cache.JwksCache;
+import org.camelbee.security.routes.cache.VerifiedTokenCache;
+import org.camelbee.security.routes.config.SecurityProperties;
+import org.camelbee.security.routes.metrics.SecurityMetrics;
+import org.camelbee.security.routes.processor.JwtValidationProcessor;
+import org.camelbee.security.routes.routes.FetchJwksRoute;
+import org.camelbee.security.routes.routes.JwtValidationRoute;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.annotation.DirtiesContext.ClassMode;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Tests concurrent JWT validations while no JWKS is cached yet and the JWKS endpoint is slow,
+ * the background refresh is held back so the requests have to load the JWKS themselves.
+ */
+@CamelSpringBootTest
+@EnableAutoConfiguration(exclude = {DataSourceAutoConfiguration.class})
+@SpringBootTest(
+    properties = {
+        "camelbee.security.enabled=true",
+        "camelbee.security.issuer=test-issuer",
+        "camelbee.security.audience=test-audience",
+        "camelbee.security.jwks-refresh-initial-delay=3600000",
+        "camelbee.security.role-claims=roles,resource_access.account.roles",
+        "camelbee.security.scope-claims=scope,scp,scopes",
+        "camelbee.security.clock-skew=30"
+    },
+    classes = {
+        JwksCache.class,
+        FetchJwksRoute.class,
+        JwtValidationRoute.class,
+        VerifiedTokenCache.class,
+        SecurityProperties.class,
+        JwtValidationProcessor.class,
+        SecurityMetrics.class
+    }
+)
+@DirtiesContext(classMode = ClassMode.AFTER_EACH_TEST_METHOD)
+class JwksConcurrentColdStartTest {
+
+  private static RSAKey rsaKey;
+
+  private static JwksStubServer idp;
+
+  @Produce("direct:validateJWT")
+  protected ProducerTemplate producerTemplate;
+
+  @Autowired
+  private JwksCache jwksCache;
+
+  @Autowired
+  private CamelContext camelContext;
+
+  @BeforeAll
+  static void startIdp() throws Exception {
+    rsaKey = new RSAKeyGenerator(2048).keyID("123").generate();
+    idp = new JwksStubServer(0, new JWKSet(rsaKey.toPublicJWK()));
+  }
+
+  @AfterAll
+  static void stopIdp() {
+    idp.stop();
+  }
+
+  @DynamicPropertySource
+  static void jwksUrl(DynamicPropertyRegistry registry) {
+    registry.add("camelbee.security.jwks-url", idp::jwksUrl);
+  }
+
+  @Test
+  void shouldLetConcurrentRequestsWaitForTheInitialLoad() throws Exception {
+    // Arrange
+    assertThat(jwksCache.hasValidCache()).isFalse();
+    int hits = idp.hits();
+    idp.setDelayMillis(500);
+    String token = sign();
+
+    // Act
+    List<CompletableFuture<Exchange>> requests = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      requests.add(CompletableFuture.supplyAsync(() -> {
+        Exchange exchange = ExchangeBuilder.anExchange(camelContext)
+            .withHeader(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+            .build();
+        return producerTemplate.send(exchange);
+      }));
+    }
+    CompletableFuture.allOf(requests.toArray(new CompletableFuture[0])).get();
+
+    // Assert
+    assertThat(requests).allSatisfy(request -> {
+      Exchange response = request.get();
+      assertThat(response.getException()).isNull();
+      assertThat(response.getProperty("jwt.validated", Boolean.class)).isTrue();
+    });
+    assertThat(idp.hits()).isEqualTo(hits + 1);
+  }
+
+  private String sign() throws Exception {
+    JWTClaimsSet claims = new JWTClaimsSet.Builder()
+        .subject("user123")
+        .issuer("test-issuer")
+        .audience("test-audience")
+        .expirationTime(new Date(System.currentTimeMillis() + 60000))
+        .build();
+
+    SignedJWT signedJwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(rsaKey.getKeyID()).build(), claims);
+    signedJwt.sign(new RSASSASigner(rsaKey));
+    return signedJwt.serialize();
+  }
+
+}
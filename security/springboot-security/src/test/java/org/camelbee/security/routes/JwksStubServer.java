@@ -0,0 +1,86 @@
+package org.camelbee.security.routes;
+
+import com.nimbusds.jose.jwk.JWKSet;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stub of the JWKS endpoint of an identity provider, counts the calls and can delay or fail the responses.
+ */
+class JwksStubServer {
+
+  static final String PATH = "/jwks.json";
+
+  private final HttpServer server;
+
+  private final AtomicInteger hits = new AtomicInteger();
+
+  private volatile JWKSet jwkSet;
+
+  private volatile long delayMillis;
+
+  private volatile boolean failing;
+
+  JwksStubServer(int port, JWKSet jwkSet) throws IOException {
+    this.jwkSet = jwkSet;
+    this.server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+    this.server.createContext(PATH, exchange -> {
+      hits.incrementAndGet();
+      sleep(delayMillis);
+      byte[] response = jwkSet().toString().getBytes(StandardCharsets.UTF_8);
+      exchange.getResponseHeaders().add("Content-Type", "application/json");
+      exchange.sendResponseHeaders(failing ? 503 : 200, response.length);
+      try (OutputStream body = exchange.getResponseBody()) {
+        body.write(response);
+      }
+    });
+    this.server.start();
+  }
+
+  /**
+   * The value of the camelbee.security.jwks-url property, the route adds the scheme.
+   */
+  String jwksUrl() {
+    return "localhost:" + server.getAddress().getPort() + PATH;
+  }
+
+  int hits() {
+    return hits.get();
+  }
+
+  JWKSet jwkSet() {
+    return jwkSet;
+  }
+
+  void setJwkSet(JWKSet jwkSet) {
+    this.jwkSet = jwkSet;
+  }
+
+  void setDelayMillis(long delayMillis) {
+    this.delayMillis = delayMillis;
+  }
+
+  void setFailing(boolean failing) {
+    this.failing = failing;
+  }
+
+  void stop() {
+    server.stop(0);
+  }
+
+  private static void sleep(long millis) {
+    if (millis <= 0) {
+      return;
+    }
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+}
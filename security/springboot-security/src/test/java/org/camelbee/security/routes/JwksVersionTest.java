@@ -0,0 +1,95 @@
+package org.camelbee.security.routes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.KeyUse;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jose.proc.BadJOSEException;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import java.util.Date;
+import java.util.List;
+import org.camelbee.security.routes.cache.JwksVersion;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JwksVersionTest {
+
+  private RSAKey signingKey;
+  private RSAKey otherKey;
+  private JwksVersion jwksVersion;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    signingKey = new RSAKeyGenerator(2048).keyID("signing").generate();
+    otherKey = new RSAKeyGenerator(2048).keyID("other").keyUse(KeyUse.ENCRYPTION).generate();
+    jwksVersion = new JwksVersion(new JWKSet(List.of(signingKey.toPublicJWK(), otherKey.toPublicJWK())), JWSAlgorithm.RS256);
+  }
+
+  @Test
+  void shouldValidateATokenSignedWithTheKeyOfItsKid() throws Exception {
+    // Arrange
+    String token = sign(signingKey, JWSAlgorithm.RS256, "signing");
+
+    // Act
+    JWTClaimsSet claims = jwksVersion.process(token);
+
+    // Assert
+    assertThat(claims.getSubject()).isEqualTo("user123");
+  }
+
+  @Test
+  void shouldValidateATokenWithoutKid() throws Exception {
+    // Arrange
+    String token = sign(signingKey, JWSAlgorithm.RS256, null);
+
+    // Act
+    JWTClaimsSet claims = jwksVersion.process(token);
+
+    // Assert
+    assertThat(claims.getSubject()).isEqualTo("user123");
+  }
+
+  @Test
+  void shouldRejectATokenWithAnUnknownKid() throws Exception {
+    // Arrange
+    String token = sign(signingKey, JWSAlgorithm.RS256, "unknown");
+
+    // Act & Assert
+    assertThatThrownBy(() -> jwksVersion.process(token)).isInstanceOf(BadJOSEException.class);
+  }
+
+  @Test
+  void shouldRejectATokenWithAnotherAlgorithm() throws Exception {
+    // Arrange
+    String token = sign(signingKey, JWSAlgorithm.RS512, "signing");
+
+    // Act & Assert
+    assertThatThrownBy(() -> jwksVersion.process(token)).isInstanceOf(BadJOSEException.class);
+  }
+
+  @Test
+  void shouldIndexOnlyTheSignatureKeys() {
+    // Act & Assert
+    assertThat(jwksVersion.hasKey("signing")).isTrue();
+    assertThat(jwksVersion.hasKey("other")).isFalse();
+  }
+
+  private String sign(RSAKey key, JWSAlgorithm algorithm, String kid) throws Exception {
+    JWTClaimsSet claims = new JWTClaimsSet.Builder()
+        .subject("user123")
+        .expirationTime(new Date(System.currentTimeMillis() + 60000))
+        .build();
+
+    SignedJWT signedJwt = new SignedJWT(new JWSHeader.Builder(algorithm).keyID(kid).build(), claims);
+    signedJwt.sign(new RSASSASigner(key));
+    return signedJwt.serialize();
+  }
+
+}
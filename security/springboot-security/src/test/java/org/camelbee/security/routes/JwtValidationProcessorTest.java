@@ -0,0 +1,177 @@
+package org.camelbee.security.routes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.nimbusds.jose.JWSAlgorithm;
+import com.nimbusds.jose.JWSHeader;
+import com.nimbusds.jose.crypto.RSASSASigner;
+import com.nimbusds.jose.jwk.JWKSet;
+import com.nimbusds.jose.jwk.RSAKey;
+import com.nimbusds.jose.jwk.gen.RSAKeyGenerator;
+import com.nimbusds.jwt.JWTClaimsSet;
+import com.nimbusds.jwt.SignedJWT;
+import java.util.Date;
+import java.util.List;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Produce;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.ExchangeBuilder;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.test.spring.junit5.CamelSpringBootTest;
+import org.camelbee.security.routes.cache.JwksCache;
+import org.camelbee.security.routes.cache.VerifiedTokenCache;
+import org.camelbee.security.routes.config.SecurityProperties;
+import org.camelbee.security.routes.metrics.SecurityMetrics;
+import org.camelbee.security.routes.processor.JwtValidationProcessor;
+import org.camelbee.security.routes.routes.FetchJwksRoute;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+
+/**
+ * Tests the JWT validation processor attached to a route of the application.
+ */
+@CamelSpringBootTest
+@EnableAutoConfiguration(exclude = {DataSourceAutoConfiguration.class})
+@SpringBootTest(
+    properties = {
+        "camelbee.security.enabled=true",
+        "camelbee.security.jwks-url=http://test-auth-server/.well-known/jwks.json",
+        "camelbee.security.issuer=test-issuer",
+        "camelbee.security.audience=test-audience",
+        "camelbee.security.jwks-cache-duration=3600000",
+        "camelbee.security.role-claims=roles,resource_access.account.roles",
+        "camelbee.security.scope-claims=scope,scp,scopes",
+        "camelbee.security.clock-skew=30"
+    },
+    classes = {
+        JwksCache.class,
+        FetchJwksRoute.class,
+        VerifiedTokenCache.class,
+        SecurityProperties.class,
+        JwtValidationProcessor.class,
+        SecurityMetrics.class,
+        JwtValidationProcessorTest.SecuredRoute.class
+    }
+)
+class JwtValidationProcessorTest {
+
+  @Produce("direct:securedEndpoint")
+  protected ProducerTemplate producerTemplate;
+
+  @Autowired
+  private JwksCache jwksCache;
+
+  @Autowired
+  private CamelContext camelContext;
+
+  @Autowired
+  private SecurityMetrics securityMetrics;
+
+  private String validToken;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    RSAKey rsaKey = new RSAKeyGenerator(2048).keyID("123").generate();
+    jwksCache.updateCache(new JWKSet(rsaKey.toPublicJWK()));
+
+    JWTClaimsSet claims = new JWTClaimsSet.Builder()
+        .subject("user123")
+        .issuer("test-issuer")
+        .audience("test-audience")
+        .expirationTime(new Date(System.currentTimeMillis() + 60000))
+        .claim("scope", "read write")
+        .claim("roles", List.of("admin", "editor"))
+        .build();
+
+    SignedJWT jwt = new SignedJWT(new JWSHeader.Builder(JWSAlgorithm.RS256).keyID(rsaKey.getKeyID()).build(), claims);
+    jwt.sign(new RSASSASigner(rsaKey));
+    validToken = jwt.serialize();
+  }
+
+  @Test
+  void shouldValidateInPlaceWithoutTouchingTheMessage() {
+    // Arrange
+    Exchange exchange = ExchangeBuilder.anExchange(camelContext)
+        .withBody("{\"name\":\"musician\"}")
+        .withHeader("Authorization", "Bearer " + validToken)
+        .withHeader(Exchange.CONTENT_TYPE, "application/json")
+        .build();
+
+    // Act
+    Exchange response = producerTemplate.send(exchange);
+
+    // Assert
+    assertThat(response.getException()).isNull();
+    assertThat(response.getMessage().getBody(String.class)).isEqualTo("{\"name\":\"musician\"}");
+    assertThat(response.getMessage().getHeader(Exchange.CONTENT_TYPE)).isEqualTo("application/json");
+    assertThat(response.getProperty("jwt.validated", Boolean.class)).isTrue();
+    assertThat(response.getProperty("jwt.sub", String.class)).isEqualTo("user123");
+    assertThat(response.getProperty("jwt.roles", List.class)).contains("admin", "editor");
+    assertThat(response.getProperty("jwt.scopes", List.class)).contains("read", "write");
+    assertThat(response.getProperty("jwkSet")).isNull();
+  }
+
+  @Test
+  void shouldRejectAMissingAuthorizationHeader() {
+    // Arrange
+    Exchange exchange = ExchangeBuilder.anExchange(camelContext).withBody("body").build();
+
+    // Act
+    Exchange response = producerTemplate.send(exchange);
+
+    // Assert
+    assertThat(response.getException()).hasMessageContaining("Authorization header is missing");
+    assertThat(response.getProperty("jwt.validated")).isNull();
+  }
+
+  @Test
+  void shouldRejectAnInvalidToken() {
+    // Arrange
+    Exchange exchange = ExchangeBuilder.anExchange(camelContext)
+        .withHeader("Authorization", "Bearer invalid.token.here")
+        .build();
+
+    // Act
+    Exchange response = producerTemplate.send(exchange);
+
+    // Assert
+    assertThat(response.getException()).hasMessageContaining("Token validation failed");
+    assertThat(response.getProperty("jwt.validated")).isNull();
+  }
+
+  @Test
+  void shouldRecordTheOutcomesInTheSecurityMetrics() {
+    // Arrange
+    long successes = securityMetrics.getValidationSuccessCount() + securityMetrics.getValidationCacheHitCount();
+    long failures = securityMetrics.getErrorCount("ERROR-AUTH007");
+    long latencies = securityMetrics.getValidationLatency().getCount();
+
+    // Act
+    producerTemplate.send(ExchangeBuilder.anExchange(camelContext).withHeader("Authorization", "Bearer " + validToken).build());
+    producerTemplate.send(ExchangeBuilder.anExchange(camelContext).withHeader("Authorization", "Bearer invalid.token.here").build());
+
+    // Assert
+    assertThat(securityMetrics.getValidationSuccessCount() + securityMetrics.getValidationCacheHitCount())
+        .isEqualTo(successes + 1);
+    assertThat(securityMetrics.getErrorCount("ERROR-AUTH007")).isEqualTo(failures + 1);
+    assertThat(securityMetrics.getValidationLatency().getCount()).isEqualTo(latencies + 2);
+  }
+
+  /**
+   * Application route secured by the processor.
+   */
+  static class SecuredRoute extends RouteBuilder {
+
+    @Override
+    public void configure() {
+      from("direct:securedEndpoint")
+          .errorHandler(noErrorHandler())
+          .process("jwtValidationProcessor");
+    }
+  }
+}
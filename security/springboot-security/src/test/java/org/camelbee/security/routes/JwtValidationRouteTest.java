@@ -27,7 +27,10 @@ import org.apache.camel.component.mock.MockEndpoint;
 import org.apache.camel.test.spring.junit5.CamelSpringBootTest;
 import org.apache.camel.test.spring.junit5.UseAdviceWith;
 import org.camelbee.security.routes.cache.JwksCache;
+import org.camelbee.security.routes.cache.VerifiedTokenCache;
 import org.camelbee.security.routes.config.SecurityProperties;
+import org.camelbee.security.routes.metrics.SecurityMetrics;
+import org.camelbee.security.routes.processor.JwtValidationProcessor;
 import org.camelbee.security.routes.routes.FetchJwksRoute;
 import org.camelbee.security.routes.routes.JwtValidationRoute;
 import org.junit.jupiter.api.BeforeEach;
@@ -60,7 +63,10 @@ import org.springframework.test.annotation.DirtiesContext.ClassMode;
         JwksCache.class,
         FetchJwksRoute.class,
         JwtValidationRoute.class,
-        SecurityProperties.class
+        VerifiedTokenCache.class,
+        SecurityProperties.class,
+        JwtValidationProcessor.class,
+        SecurityMetrics.class
     }
 )
 @UseAdviceWith
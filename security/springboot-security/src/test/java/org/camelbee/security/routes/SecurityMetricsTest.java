@@ -0,0 +1,85 @@
+package org.camelbee.security.routes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.camelbee.security.routes.cache.JwksCache;
+import org.camelbee.security.routes.exception.InsufficientPrivilegesException;
+import org.camelbee.security.routes.exception.TokenExpiredException;
+import org.camelbee.security.routes.metrics.LatencyHistogram;
+import org.camelbee.security.routes.metrics.SecurityMeterBinder;
+import org.camelbee.security.routes.metrics.SecurityMetrics;
+import org.junit.jupiter.api.Test;
+
+class SecurityMetricsTest {
+
+  @Test
+  void shouldCountTheOutcomesPerErrorCode() {
+    // Arrange
+    SecurityMetrics metrics = new SecurityMetrics(new JwksCache());
+
+    // Act
+    metrics.recordValidation(TimeUnit.MICROSECONDS.toNanos(200), false);
+    metrics.recordValidation(TimeUnit.MICROSECONDS.toNanos(20), true);
+    metrics.recordValidationFailure(TimeUnit.MICROSECONDS.toNanos(300), new TokenExpiredException("ERROR-AUTH005", "Token has expired"));
+    metrics.recordValidationFailure(TimeUnit.MICROSECONDS.toNanos(300), new IllegalStateException("boom"));
+    metrics.recordError(new InsufficientPrivilegesException("ERROR-AUTH012", "denied").getErrorCode());
+
+    // Assert
+    SecurityMetrics.Snapshot snapshot = metrics.snapshot();
+    assertThat(snapshot.validationSuccessCount()).isEqualTo(1);
+    assertThat(snapshot.validationCacheHitCount()).isEqualTo(1);
+    assertThat(snapshot.errorCounts()).hasSize(13)
+        .containsEntry("ERROR-AUTH001", 0L)
+        .containsEntry("ERROR-AUTH005", 1L)
+        .containsEntry("ERROR-AUTH012", 1L)
+        .containsEntry(SecurityMetrics.OTHER_ERROR, 1L);
+    assertThat(snapshot.validationLatency().count()).isEqualTo(4);
+    assertThat(snapshot.jwksCacheAgeMillis()).isEqualTo(-1);
+  }
+
+  @Test
+  void shouldEstimateThePercentilesFromTheBuckets() {
+    // Arrange
+    LatencyHistogram histogram = new LatencyHistogram();
+
+    // Act
+    for (int i = 0; i < 90; i++) {
+      histogram.record(TimeUnit.MICROSECONDS.toNanos(80));
+    }
+    for (int i = 0; i < 10; i++) {
+      histogram.record(TimeUnit.MILLISECONDS.toNanos(20));
+    }
+
+    // Assert
+    LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+    assertThat(snapshot.count()).isEqualTo(100);
+    assertThat(snapshot.p50Micros()).isEqualTo(100);
+    assertThat(snapshot.p95Micros()).isEqualTo(25_000);
+    assertThat(snapshot.bucketCounts()).hasSize(snapshot.upperBoundsMicros().length + 1);
+    assertThat(snapshot.totalMicros()).isEqualTo(90 * 80 + 10 * 20_000);
+  }
+
+  @Test
+  void shouldBindTheMetricsToMicrometer() {
+    // Arrange
+    SecurityMetrics metrics = new SecurityMetrics(new JwksCache());
+    SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    new SecurityMeterBinder(metrics).bindTo(registry);
+
+    // Act
+    metrics.recordValidation(TimeUnit.MILLISECONDS.toNanos(1), false);
+    metrics.recordError("ERROR-AUTH001");
+    metrics.recordJwksRefresh(TimeUnit.MILLISECONDS.toNanos(40), false);
+
+    // Assert
+    assertThat(registry.get("camelbee.security.validations").tag("outcome", "success").functionCounter().count()).isEqualTo(1);
+    assertThat(registry.get("camelbee.security.errors").tag("code", "ERROR-AUTH001").functionCounter().count()).isEqualTo(1);
+    assertThat(registry.get("camelbee.security.errors").functionCounters()).hasSize(13);
+    assertThat(registry.get("camelbee.security.jwks.refreshes").tag("outcome", "failure").functionCounter().count()).isEqualTo(1);
+    assertThat(registry.get("camelbee.security.validation").functionTimer().count()).isEqualTo(1);
+    assertThat(registry.get("camelbee.security.jwks.fetch.percentile").tag("percentile", "0.99").gauge().value()).isEqualTo(50_000);
+    assertThat(registry.get("camelbee.security.jwks.cache.age").gauge().value()).isEqualTo(-1);
+  }
+}